@@ -31,7 +31,6 @@ import heros.ThreadSafe;
 import heros.solver.IDESolver;
 import java.util.*;
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -95,43 +94,36 @@ public class JimpleBasedInterproceduralCFG extends AbstractJimpleBasedICFG {
   protected final LoadingCache<Stmt, Collection<SootMethod>> stmtToCallees =
       IDESolver.DEFAULT_CACHE_BUILDER.build(loaderUnitToCallees);
 
+  /**
+   * the call sites of each method of the call graph with the kind of their call, see {@link
+   * #initializeCallSites()}
+   */
+  @DontSynchronize("written by single thread; read afterwards")
+  protected final Map<MethodSignature, List<CalleeMethodSignature>> calleeToCallSites =
+      new HashMap<>();
+
   protected CacheLoader<SootMethod, Collection<Stmt>> loaderMethodToCallers =
       new CacheLoader<SootMethod, Collection<Stmt>>() {
         @Nonnull
         @Override
         public Collection<Stmt> load(SootMethod method) {
-          ArrayList<Stmt> res = new ArrayList<>();
+          List<CalleeMethodSignature> callSites =
+              calleeToCallSites.getOrDefault(method.getSignature(), Collections.emptyList());
+          ArrayList<Stmt> res = new ArrayList<>(callSites.size());
           // only retain callers that are explicit call sites or
           // Thread.start()
-          Set<MethodSignature> callsToMethod = cg.callSourcesTo(method.getSignature());
-          for (MethodSignature methodSignature : callsToMethod) {
-            Stmt stmt = filterEdgeAndGetCallerStmt(methodSignature);
-            if (stmt != null) {
-              res.add(stmt);
+          for (CalleeMethodSignature callSite : callSites) {
+            CGEdgeUtil.CallGraphEdgeType edgeType = callSite.getEdgeType();
+            if (edgeType.isExplicit()
+                || edgeType.isFake()
+                || edgeType.isClinit()
+                || (includeReflectiveCalls && edgeType.isReflection())) {
+              res.add(callSite.getSourceStmt());
             }
           }
           res.trimToSize();
           return res;
         }
-
-        @Nullable
-        private Stmt filterEdgeAndGetCallerStmt(@Nonnull MethodSignature methodSignature) {
-          Set<Pair<MethodSignature, CalleeMethodSignature>> callEdges =
-              CGEdgeUtil.getCallEdges(view, cg);
-          for (Pair<MethodSignature, CalleeMethodSignature> callEdge : callEdges) {
-            CalleeMethodSignature callee = callEdge.getValue();
-            if (callee.getMethodSignature().equals(methodSignature)) {
-              CGEdgeUtil.CallGraphEdgeType edgeType = callee.getEdgeType();
-              if (edgeType.isExplicit()
-                  || edgeType.isFake()
-                  || edgeType.isClinit()
-                  || (includeReflectiveCalls && edgeType.isReflection())) {
-                return callee.getSourceStmt();
-              }
-            }
-          }
-          return null;
-        }
       };
 
   @SynchronizedBy("by use of synchronized LoadingCache class")
@@ -149,6 +141,7 @@ public class JimpleBasedInterproceduralCFG extends AbstractJimpleBasedICFG {
     this.mainMethodSignature = mainMethodSignature;
     cg = initCallGraph();
     initializeStmtToOwner();
+    initializeCallSites();
   }
 
   public String buildICFGGraph(CallGraph callGraph) {
@@ -203,6 +196,30 @@ public class JimpleBasedInterproceduralCFG extends AbstractJimpleBasedICFG {
     }
   }
 
+  /**
+   * Indexes the calls of the call graph by their target once, so that the callers of a method are
+   * found without walking the bodies of all methods.
+   */
+  protected void initializeCallSites() {
+    for (MethodSignature caller : cg.getMethodSignatures()) {
+      for (CallGraph.Call call : cg.callsFrom(caller)) {
+        MethodSignature callee = call.getTargetMethodSignature();
+        InvokableStmt stmt = call.getInvokableStmt();
+        CGEdgeUtil.CallGraphEdgeType edgeType;
+        if (callee.equals(callee.getDeclClassType().getStaticInitializer())
+            || !stmt.containsInvokeExpr()) {
+          // the call graph adds the calls to static initializers at the stmt that causes them
+          edgeType = CGEdgeUtil.CallGraphEdgeType.CLINIT;
+        } else {
+          edgeType = CGEdgeUtil.findCallGraphEdgeType(stmt.getInvokeExpr().get());
+        }
+        calleeToCallSites
+            .computeIfAbsent(callee, key -> new ArrayList<>())
+            .add(new CalleeMethodSignature(callee, edgeType, stmt));
+      }
+    }
+  }
+
   @Override
   public Collection<SootMethod> getCalleesOfCallAt(@Nonnull Stmt u) {
     return stmtToCallees.getUnchecked(u);
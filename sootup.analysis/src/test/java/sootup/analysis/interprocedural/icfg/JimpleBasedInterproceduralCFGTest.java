@@ -0,0 +1,54 @@
+package sootup.analysis.interprocedural.icfg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+@Tag("Java8")
+public class JimpleBasedInterproceduralCFGTest {
+
+  @Test
+  public void callersOfAreTheCallSites() {
+    JavaView view =
+        new JavaView(
+            Arrays.asList(
+                new DefaultRTJarAnalysisInputLocation(),
+                new JavaClassPathAnalysisInputLocation(
+                    "src/test/resources/taint/binary",
+                    SourceType.Application,
+                    Collections.emptyList())));
+    SootClass clazz =
+        view.getClass(view.getIdentifierFactory().getClassType("FunctionTaint")).get();
+    SootMethod entryPoint = method(clazz, "entryPoint");
+    JimpleBasedInterproceduralCFG icfg =
+        new JimpleBasedInterproceduralCFG(view, entryPoint.getSignature(), false, false);
+
+    for (String callee : Arrays.asList("source", "sink")) {
+      SootMethod method = method(clazz, callee);
+      Collection<Stmt> callers = icfg.getCallersOf(method);
+      assertEquals(1, callers.size(), callee);
+      Stmt callSite = callers.iterator().next();
+      assertEquals(entryPoint, icfg.getMethodOf(callSite));
+      assertEquals(
+          method.getSignature(),
+          callSite.asInvokableStmt().getInvokeExpr().get().getMethodSignature());
+    }
+    assertTrue(icfg.getCallersOf(entryPoint).isEmpty());
+  }
+
+  private static SootMethod method(SootClass clazz, String name) {
+    return clazz.getMethods().stream().filter(m -> m.getName().equals(name)).findFirst().get();
+  }
+}
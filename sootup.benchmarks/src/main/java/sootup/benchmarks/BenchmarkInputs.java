@@ -0,0 +1,115 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.java.bytecode.inputlocation.JrtFileSystemAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * The inputs of the benchmarks: jars of the shared-test-resources directory. The directory is
+ * expected at {@value #DEFAULT_RESOURCES_DIR}, i.e. relative to this module, unless the system
+ * property {@value #RESOURCES_DIR_PROPERTY} points to it.
+ */
+public final class BenchmarkInputs {
+
+  public static final String RESOURCES_DIR_PROPERTY = "sootup.benchmarks.resources";
+  public static final String DEFAULT_RESOURCES_DIR = "../shared-test-resources";
+
+  /** a small application with a main method; its main class is {@value #MINI_APP_MAIN_CLASS}. */
+  public static final String MINI_APP = "java-miniapps/MiniApp.jar";
+
+  public static final String MINI_APP_MAIN_CLASS = "MiniApp";
+
+  /** a mid-sized library */
+  public static final String JAVAX_JSON =
+      "jigsaw-examples/layer-hierarchy/jar/javax.json-1.0.4.jar";
+
+  /** an android library; references to the android framework are unresolvable */
+  public static final String JPUSH = "soot-1580/jpush-android_v3.0.5.jar";
+
+  private BenchmarkInputs() {}
+
+  @Nonnull
+  public static Path resolve(@Nonnull String resource) {
+    Path path =
+        Paths.get(System.getProperty(RESOURCES_DIR_PROPERTY, DEFAULT_RESOURCES_DIR))
+            .resolve(resource);
+    if (!Files.exists(path)) {
+      throw new IllegalStateException(
+          "Benchmark input "
+              + path.toAbsolutePath()
+              + " does not exist. Set -D"
+              + RESOURCES_DIR_PROPERTY
+              + " to the shared-test-resources directory.");
+    }
+    return path;
+  }
+
+  /** Returns the input location of the given jar as application code. */
+  @Nonnull
+  public static AnalysisInputLocation application(
+      @Nonnull String jar, @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    return PathBasedAnalysisInputLocation.create(
+        resolve(jar), SourceType.Application, bodyInterceptors);
+  }
+
+  /**
+   * Returns a view of the given jar and the JDK that runs the benchmark as library, both with the
+   * default body interceptors.
+   */
+  @Nonnull
+  public static JavaView viewWithJdk(@Nonnull String jar) {
+    return new JavaView(
+        Arrays.asList(
+            application(jar, BytecodeBodyInterceptors.Default.getBodyInterceptors()),
+            new JrtFileSystemAnalysisInputLocation(SourceType.Library)));
+  }
+
+  /** Returns the concrete methods of all classes of the view. */
+  @Nonnull
+  public static List<JavaSootMethod> concreteMethods(@Nonnull JavaView view) {
+    List<JavaSootMethod> methods = new ArrayList<>();
+    for (JavaSootClass clazz : view.getClasses()) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        if (method.isConcrete()) {
+          methods.add(method);
+        }
+      }
+    }
+    return methods;
+  }
+}
@@ -0,0 +1,104 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.model.Body;
+import sootup.core.transform.BodyInterceptor;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures each interceptor of {@link BytecodeBodyInterceptors#Default} on its own. The input of an
+ * interceptor are the bodies of a jar after all interceptors that precede it in the default list,
+ * i.e. the bodies it gets when the bytecode frontend applies the default interceptors.
+ *
+ * <p>Every invocation applies the interceptor to copies of the bodies; {@link #copyBodies} measures
+ * the copying alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BodyInterceptorBenchmark {
+
+  @Param({BenchmarkInputs.JAVAX_JSON, BenchmarkInputs.JPUSH})
+  public String jar;
+
+  @Param({
+    "NopEliminator",
+    "EmptySwitchEliminator",
+    "CastAndReturnInliner",
+    "LocalSplitter",
+    "Aggregator",
+    "CopyPropagator",
+    "ConstantPropagatorAndFolder",
+    "TypeAssigner"
+  })
+  public String interceptor;
+
+  private JavaView view;
+  private BodyInterceptor bodyInterceptor;
+  private final List<JavaSootMethod> methods = new ArrayList<>();
+  private final List<Body> bodies = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<BodyInterceptor> defaultInterceptors =
+        BytecodeBodyInterceptors.Default.getBodyInterceptors();
+    int idx = 0;
+    while (!defaultInterceptors.get(idx).getClass().getSimpleName().equals(interceptor)) {
+      idx++;
+    }
+    bodyInterceptor = defaultInterceptors.get(idx);
+
+    view = new JavaView(BenchmarkInputs.application(jar, defaultInterceptors.subList(0, idx)));
+    for (JavaSootMethod method : BenchmarkInputs.concreteMethods(view)) {
+      methods.add(method);
+      bodies.add(method.getBody());
+    }
+  }
+
+  @Benchmark
+  public void intercept(Blackhole blackhole) {
+    for (int i = 0; i < bodies.size(); i++) {
+      Body.BodyBuilder builder = Body.builder(bodies.get(i), methods.get(i).getModifiers());
+      bodyInterceptor.interceptBody(builder, view);
+      blackhole.consume(builder);
+    }
+  }
+
+  @Benchmark
+  public void copyBodies(Blackhole blackhole) {
+    for (int i = 0; i < bodies.size(); i++) {
+      blackhole.consume(Body.builder(bodies.get(i), methods.get(i).getModifiers()));
+    }
+  }
+}
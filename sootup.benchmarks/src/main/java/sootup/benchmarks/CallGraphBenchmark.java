@@ -0,0 +1,118 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import sootup.callgraph.CallGraph;
+import sootup.callgraph.CallGraphAlgorithm;
+import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
+import sootup.callgraph.DispatchCache;
+import sootup.callgraph.RapidTypeAnalysisAlgorithm;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the construction of a call graph with CHA and RTA, starting at the main method of an
+ * application that is analyzed together with the JDK, or at all methods of a library.
+ *
+ * <p>Without a {@link DispatchCache} (the default of the algorithms), every call is dispatched
+ * again. With a shared cache, the dispatch resolved by the previous invocations is reused; with a
+ * fresh one, every invocation resolves the dispatch of its calls again but caches it within the
+ * invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CallGraphBenchmark {
+
+  @Param({"CHA", "RTA"})
+  public String algorithm;
+
+  @Param({BenchmarkInputs.MINI_APP, BenchmarkInputs.JPUSH})
+  public String input;
+
+  @Param({"none", "shared", "fresh"})
+  public String dispatchCache;
+
+  private JavaView view;
+  private DispatchCache sharedCache;
+  private List<MethodSignature> entryPoints;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    view = BenchmarkInputs.viewWithJdk(input);
+    sharedCache = new DispatchCache();
+    if (input.equals(BenchmarkInputs.MINI_APP)) {
+      entryPoints =
+          Collections.singletonList(
+              view.getIdentifierFactory()
+                  .getMethodSignature(
+                      BenchmarkInputs.MINI_APP_MAIN_CLASS,
+                      "main",
+                      "void",
+                      Collections.singletonList("java.lang.String[]")));
+    } else {
+      entryPoints = new ArrayList<>();
+      for (JavaSootClass clazz : view.getClasses()) {
+        if (clazz.isApplicationClass()) {
+          for (JavaSootMethod method : clazz.getMethods()) {
+            if (method.isConcrete()) {
+              entryPoints.add(method.getSignature());
+            }
+          }
+        }
+      }
+    }
+    // resolves the reachable classes and bodies, so that the benchmark measures the algorithm
+    build();
+  }
+
+  @Benchmark
+  public CallGraph build() {
+    DispatchCache cache;
+    switch (dispatchCache) {
+      case "shared":
+        cache = sharedCache;
+        break;
+      case "fresh":
+        cache = new DispatchCache();
+        break;
+      default:
+        cache = DispatchCache.disabled();
+    }
+    CallGraphAlgorithm callGraphAlgorithm =
+        algorithm.equals("CHA")
+            ? new ClassHierarchyAnalysisAlgorithm(view, cache)
+            : new RapidTypeAnalysisAlgorithm(view, cache);
+    return callGraphAlgorithm.initialize(entryPoints);
+  }
+}
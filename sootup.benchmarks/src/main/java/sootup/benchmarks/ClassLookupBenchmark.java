@@ -0,0 +1,120 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.frontend.AbstractClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JrtFileSystemAnalysisInputLocation;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the latency of looking up class sources in a {@link JavaView} with several input
+ * locations, sequentially and with speculative parallel probing. The classes are looked up without
+ * the class cache of the view, i.e. every lookup probes the input locations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ClassLookupBenchmark {
+
+  /** the number of input locations that are probed at the same time */
+  @Param({"1", "2", "4"})
+  public int parallelism;
+
+  private LookupView view;
+  private List<ClassType> lastLocationTypes;
+  private List<ClassType> missingTypes;
+
+  /** exposes the lookup of class sources, which is bypassed by the class cache otherwise. */
+  private static class LookupView extends JavaView {
+    LookupView(@Nonnull List<AnalysisInputLocation> inputLocations) {
+      super(inputLocations);
+    }
+
+    @Nonnull
+    Optional<JavaSootClassSource> lookup(@Nonnull ClassType type) {
+      return getClassSource(type);
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    AnalysisInputLocation lastLocation =
+        BenchmarkInputs.application(
+            BenchmarkInputs.MINI_APP, BytecodeBodyInterceptors.Default.getBodyInterceptors());
+    List<AnalysisInputLocation> inputLocations =
+        new ArrayList<>(
+            Arrays.asList(
+                BenchmarkInputs.application(
+                    BenchmarkInputs.JPUSH, BytecodeBodyInterceptors.Default.getBodyInterceptors()),
+                BenchmarkInputs.application(
+                    BenchmarkInputs.JAVAX_JSON,
+                    BytecodeBodyInterceptors.Default.getBodyInterceptors()),
+                new JrtFileSystemAnalysisInputLocation()));
+    inputLocations.add(lastLocation);
+    view = new LookupView(inputLocations);
+    view.setLookupParallelism(parallelism);
+
+    lastLocationTypes =
+        lastLocation.getClassSources(view).stream()
+            .map(AbstractClassSource::getClassType)
+            .collect(Collectors.toList());
+    missingTypes =
+        lastLocationTypes.stream()
+            .map(
+                type ->
+                    view.getIdentifierFactory().getClassType(type.getFullyQualifiedName() + "$"))
+            .collect(Collectors.toList());
+  }
+
+  /** looks up classes that are contained in the last input location only */
+  @Benchmark
+  public void lookupInLastLocation(Blackhole blackhole) {
+    for (ClassType type : lastLocationTypes) {
+      blackhole.consume(view.lookup(type));
+    }
+  }
+
+  /** looks up classes that are not contained in any input location */
+  @Benchmark
+  public void lookupMissing(Blackhole blackhole) {
+    for (ClassType type : missingTypes) {
+      blackhole.consume(view.lookup(type));
+    }
+  }
+}
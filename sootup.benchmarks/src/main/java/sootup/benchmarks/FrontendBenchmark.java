@@ -0,0 +1,83 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.transform.BodyInterceptor;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the bytecode frontend: reading the classes of a jar and converting the bytecode of all
+ * methods to Jimple ({@link sootup.java.bytecode.frontend.AsmMethodSource#resolveBody}), with and
+ * without the default body interceptors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FrontendBenchmark {
+
+  @Param({BenchmarkInputs.MINI_APP, BenchmarkInputs.JAVAX_JSON, BenchmarkInputs.JPUSH})
+  public String jar;
+
+  /** "none" measures the conversion only, "default" includes the default interceptors. */
+  @Param({"none", "default"})
+  public String interceptors;
+
+  private AnalysisInputLocation inputLocation;
+  private List<JavaSootMethod> methods;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<BodyInterceptor> bodyInterceptors =
+        interceptors.equals("none")
+            ? Collections.emptyList()
+            : BytecodeBodyInterceptors.Default.getBodyInterceptors();
+    inputLocation = BenchmarkInputs.application(jar, bodyInterceptors);
+    methods = BenchmarkInputs.concreteMethods(new JavaView(inputLocation));
+  }
+
+  /** reads all classes of the jar, without resolving any body. */
+  @Benchmark
+  public int resolveClasses() {
+    return new JavaView(inputLocation).getClasses().size();
+  }
+
+  /** converts the bodies of all methods of the jar again. */
+  @Benchmark
+  public void resolveBodies(Blackhole blackhole) throws IOException {
+    for (JavaSootMethod method : methods) {
+      blackhole.consume(method.getBodySource().resolveBody(method.getModifiers()));
+    }
+  }
+}
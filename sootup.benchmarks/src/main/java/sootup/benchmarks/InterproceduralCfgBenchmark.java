@@ -0,0 +1,238 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import heros.DefaultSeeds;
+import heros.FlowFunction;
+import heros.FlowFunctions;
+import heros.InterproceduralCFG;
+import heros.flowfunc.Gen;
+import heros.flowfunc.Identity;
+import heros.flowfunc.KillAll;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.analysis.interprocedural.icfg.JimpleBasedInterproceduralCFG;
+import sootup.analysis.interprocedural.ifds.DefaultJimpleIFDSTabulationProblem;
+import sootup.analysis.interprocedural.ifds.JimpleIFDSSolver;
+import sootup.callgraph.CallGraph;
+import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
+import sootup.core.jimple.basic.Immediate;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.StringConstant;
+import sootup.core.jimple.common.stmt.JAssignStmt;
+import sootup.core.jimple.common.stmt.JReturnStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.NullType;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the {@link JimpleBasedInterproceduralCFG}: its construction and the lookup of the
+ * callers of all reachable methods of an application and the JDK, and an IFDS taint analysis of the
+ * application alone. The taint analysis follows returns past its seeds, so that it asks the
+ * interprocedural CFG for the callers of the methods it leaves. It does not run with the JDK, as
+ * the interprocedural CFG does not dispatch calls and the JDK methods called through interfaces
+ * have no body.
+ *
+ * <p>The queries of the interprocedural CFG are cached, so the analyses run on a new one in each
+ * invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InterproceduralCfgBenchmark {
+
+  private JavaView view;
+  private JavaView applicationView;
+  private MethodSignature mainMethodSignature;
+  private SootMethod applicationMainMethod;
+  private List<SootMethod> reachableMethods;
+  private JimpleBasedInterproceduralCFG icfg;
+  private JimpleBasedInterproceduralCFG applicationIcfg;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    view = BenchmarkInputs.viewWithJdk(BenchmarkInputs.MINI_APP);
+    mainMethodSignature =
+        view.getIdentifierFactory()
+            .getMethodSignature(
+                BenchmarkInputs.MINI_APP_MAIN_CLASS,
+                "main",
+                "void",
+                Collections.singletonList("java.lang.String[]"));
+    applicationView =
+        new JavaView(
+            BenchmarkInputs.application(
+                BenchmarkInputs.MINI_APP, BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    applicationMainMethod = applicationView.getMethod(mainMethodSignature).get();
+    reachableMethods = new ArrayList<>();
+    CallGraph callGraph =
+        new ClassHierarchyAnalysisAlgorithm(view)
+            .initialize(Collections.singletonList(mainMethodSignature));
+    for (MethodSignature methodSignature : callGraph.getMethodSignatures()) {
+      view.getMethod(methodSignature).ifPresent(reachableMethods::add);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void createInterproceduralCfg() {
+    icfg = build();
+    applicationIcfg =
+        new JimpleBasedInterproceduralCFG(applicationView, mainMethodSignature, false, false);
+  }
+
+  @Benchmark
+  public JimpleBasedInterproceduralCFG build() {
+    return new JimpleBasedInterproceduralCFG(view, mainMethodSignature, false, false);
+  }
+
+  @Benchmark
+  public void callersOfReachableMethods(Blackhole blackhole) {
+    for (SootMethod method : reachableMethods) {
+      blackhole.consume(icfg.getCallersOf(method));
+    }
+  }
+
+  @Benchmark
+  public Set<Value> taintAnalysis() {
+    JimpleIFDSSolver<Value, InterproceduralCFG<Stmt, SootMethod>> solver =
+        new JimpleIFDSSolver<>(new TaintProblem(applicationIcfg, applicationMainMethod));
+    solver.solve();
+    return solver.ifdsResultsAt(applicationMainMethod.getBody().getStmtGraph().getStartingStmt());
+  }
+
+  /**
+   * A taint analysis of locals: a local is tainted by the string "SECRET" and the taint flows
+   * through assignments, parameters and return values.
+   */
+  private static class TaintProblem
+      extends DefaultJimpleIFDSTabulationProblem<Value, InterproceduralCFG<Stmt, SootMethod>> {
+
+    private final SootMethod entryMethod;
+
+    TaintProblem(InterproceduralCFG<Stmt, SootMethod> icfg, SootMethod entryMethod) {
+      super(icfg);
+      this.entryMethod = entryMethod;
+    }
+
+    @Override
+    public Map<Stmt, Set<Value>> initialSeeds() {
+      return DefaultSeeds.make(
+          Collections.singleton(entryMethod.getBody().getStmtGraph().getStartingStmt()),
+          zeroValue());
+    }
+
+    @Override
+    public boolean followReturnsPastSeeds() {
+      return true;
+    }
+
+    @Override
+    protected Value createZeroValue() {
+      return new Local("<<zero>>", NullType.getInstance());
+    }
+
+    @Override
+    protected FlowFunctions<Stmt, Value, SootMethod> createFlowFunctionsFactory() {
+      return new FlowFunctions<Stmt, Value, SootMethod>() {
+
+        @Override
+        public FlowFunction<Value> getNormalFlowFunction(Stmt curr, Stmt succ) {
+          if (!(curr instanceof JAssignStmt)) {
+            return Identity.v();
+          }
+          Value leftOp = ((JAssignStmt) curr).getLeftOp();
+          Value rightOp = ((JAssignStmt) curr).getRightOp();
+          if (rightOp instanceof StringConstant
+              && ((StringConstant) rightOp).getValue().equals("SECRET")) {
+            return new Gen<>(leftOp, zeroValue());
+          }
+          return source -> {
+            if (source == leftOp) {
+              return Collections.emptySet();
+            }
+            Set<Value> res = new HashSet<>();
+            res.add(source);
+            if (source == rightOp) {
+              res.add(leftOp);
+            }
+            return res;
+          };
+        }
+
+        @Override
+        public FlowFunction<Value> getCallFlowFunction(
+            Stmt callStmt, SootMethod destinationMethod) {
+          if (!destinationMethod.hasBody() || !callStmt.asInvokableStmt().containsInvokeExpr()) {
+            return KillAll.v();
+          }
+          List<Immediate> args = callStmt.asInvokableStmt().getInvokeExpr().get().getArgs();
+          int paramCount = destinationMethod.getParameterCount();
+          return source -> {
+            Set<Value> res = new HashSet<>();
+            for (int i = 0; i < args.size() && i < paramCount; i++) {
+              if (args.get(i).equivTo(source)) {
+                res.add(destinationMethod.getBody().getParameterLocal(i));
+              }
+            }
+            return res;
+          };
+        }
+
+        @Override
+        public FlowFunction<Value> getReturnFlowFunction(
+            Stmt callSite, SootMethod calleeMethod, Stmt exitStmt, Stmt returnSite) {
+          if (!(exitStmt instanceof JReturnStmt) || !(callSite instanceof JAssignStmt)) {
+            return KillAll.v();
+          }
+          Value retOp = ((JReturnStmt) exitStmt).getOp();
+          Value leftOp = ((JAssignStmt) callSite).getLeftOp();
+          return source -> source == retOp ? Collections.singleton(leftOp) : Collections.emptySet();
+        }
+
+        @Override
+        public FlowFunction<Value> getCallToReturnFlowFunction(Stmt callSite, Stmt returnSite) {
+          if (!(callSite instanceof JAssignStmt)) {
+            return Identity.v();
+          }
+          Value leftOp = ((JAssignStmt) callSite).getLeftOp();
+          return source ->
+              source == leftOp ? Collections.emptySet() : Collections.singleton(source);
+        }
+      };
+    }
+  }
+}
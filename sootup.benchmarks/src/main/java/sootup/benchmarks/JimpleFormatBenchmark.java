@@ -0,0 +1,172 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.types.ClassType;
+import sootup.core.util.binary.ClassEncoder;
+import sootup.core.util.printer.JimplePrinter;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+import sootup.jimple.parser.BinaryJimpleAnalysisInputLocation;
+import sootup.jimple.parser.JimpleAnalysisInputLocation;
+import sootup.jimple.parser.JimpleView;
+
+/**
+ * Measures loading the same classes from Jimple text ({@link JimpleAnalysisInputLocation}) and from
+ * binary Jimple ({@link BinaryJimpleAnalysisInputLocation}). The classes are the classes of a jar,
+ * converted with the default body interceptors and written to temporary directories in both
+ * formats; classes that either format cannot represent are left out of both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JimpleFormatBenchmark {
+
+  @Param({BenchmarkInputs.JAVAX_JSON, BenchmarkInputs.JPUSH})
+  public String jar;
+
+  private Path textDirectory;
+  private Path binaryDirectory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    textDirectory = Files.createTempDirectory("sootup-jimple-text");
+    binaryDirectory = Files.createTempDirectory("sootup-jimple-binary");
+    JavaView view =
+        new JavaView(
+            BenchmarkInputs.application(
+                jar, BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    int classCount = 0;
+    for (JavaSootClass clazz : view.getClasses()) {
+      byte[] bytes;
+      try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+        new ClassEncoder().write(clazz, out);
+        bytes = out.toByteArray();
+      } catch (IllegalArgumentException e) {
+        continue;
+      }
+      Path textFile = textDirectory.resolve(clazz.getName() + ".jimple");
+      try (Writer out = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8);
+          PrintWriter writer = new PrintWriter(out)) {
+        new JimplePrinter().printTo(clazz, writer);
+      }
+      if (!parses(textDirectory, clazz.getType())) {
+        Files.delete(textFile);
+        continue;
+      }
+      try (OutputStream out =
+          Files.newOutputStream(binaryDirectory.resolve(clazz.getName() + ".jimplebin"))) {
+        out.write(bytes);
+      }
+      classCount++;
+    }
+    if (classCount == 0) {
+      throw new IllegalStateException("No class of " + jar + " can be stored in both formats.");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    delete(textDirectory);
+    delete(binaryDirectory);
+  }
+
+  /** reads all classes from Jimple text, without resolving any body. */
+  @Benchmark
+  public int resolveClassesFromText() {
+    return new JimpleView(new JimpleAnalysisInputLocation(textDirectory)).getClasses().size();
+  }
+
+  /** reads all classes from binary Jimple, without resolving any body. */
+  @Benchmark
+  public int resolveClassesFromBinary() {
+    return new JimpleView(new BinaryJimpleAnalysisInputLocation(binaryDirectory))
+        .getClasses()
+        .size();
+  }
+
+  /** reads all classes and the bodies of their methods from Jimple text. */
+  @Benchmark
+  public void resolveBodiesFromText(Blackhole blackhole) {
+    resolveBodies(new JimpleAnalysisInputLocation(textDirectory), blackhole);
+  }
+
+  /** reads all classes and the bodies of their methods from binary Jimple. */
+  @Benchmark
+  public void resolveBodiesFromBinary(Blackhole blackhole) {
+    resolveBodies(new BinaryJimpleAnalysisInputLocation(binaryDirectory), blackhole);
+  }
+
+  private static void resolveBodies(AnalysisInputLocation inputLocation, Blackhole blackhole) {
+    for (SootClass clazz : new JimpleView(inputLocation).getClasses()) {
+      for (SootMethod method : clazz.getMethods()) {
+        if (method.hasBody()) {
+          blackhole.consume(method.getBody());
+        }
+      }
+    }
+  }
+
+  /** Returns whether the Jimple parser accepts the file of the given class in the directory. */
+  private static boolean parses(Path directory, ClassType type) {
+    try {
+      JimpleView view = new JimpleView(new JimpleAnalysisInputLocation(directory));
+      Optional<SootClass> clazz = view.getClass(type);
+      clazz.ifPresent(
+          c -> c.getMethods().stream().filter(SootMethod::hasBody).forEach(SootMethod::getBody));
+      return clazz.isPresent();
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static void delete(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import qilin.CoreConfig;
+import qilin.core.PTA;
+import qilin.driver.PTAFactory;
+import qilin.driver.PTAPattern;
+import qilin.pta.PTAConfig;
+import qilin.util.PTAUtils;
+import sootup.core.views.View;
+
+/**
+ * Measures the qilin pointer analysis ({@link qilin.core.solver.Solver}) of an application that is
+ * analyzed together with a JRE, with different context sensitivities and numbers of solver threads
+ * (see {@link qilin.core.solver.ParallelSolver}). Like the tests of qilin, the benchmark needs the
+ * directory of a Java 6 - 8 JRE (i.e. containing lib/rt.jar), which is set by the system property
+ * {@value #JRE_PROPERTY}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class QilinBenchmark {
+
+  public static final String JRE_PROPERTY = "sootup.benchmarks.jre";
+
+  /** the pta pattern, see {@link qilin.driver.PTAPattern} */
+  @Param({"insens", "1c", "1o", "2o"})
+  public String pta;
+
+  /** the number of threads of the solver, see {@link CoreConfig.PointerAnalysisConfiguration} */
+  @Param({"1", "4"})
+  public int solverThreads;
+
+  private View view;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    String jre = System.getProperty(JRE_PROPERTY);
+    if (jre == null || !new File(jre, "lib").isDirectory()) {
+      throw new IllegalStateException(
+          "Set -D" + JRE_PROPERTY + " to the directory of a Java 6 - 8 JRE, e.g. jre1.6.0_45.");
+    }
+    CoreConfig.ApplicationConfiguration appConfig = PTAConfig.v().getAppConfig();
+    appConfig.APP_PATH = BenchmarkInputs.resolve(BenchmarkInputs.MINI_APP).toString();
+    appConfig.MAIN_CLASS = BenchmarkInputs.MINI_APP_MAIN_CLASS;
+    appConfig.JRE = jre;
+    PTAConfig.PointerAnalysisConfiguration ptaConfig = PTAConfig.v().getPtaConfig();
+    ptaConfig.singleentry = true;
+    ptaConfig.ptaPattern = new PTAPattern(pta);
+    ptaConfig.ptaName = ptaConfig.ptaPattern.toString();
+    ptaConfig.solverThreads = solverThreads;
+    view = PTAUtils.createView();
+    // resolves the reachable classes and bodies, so that the benchmark measures the solver
+    solve();
+  }
+
+  /**
+   * the analysis rewrites the bodies of the methods, so every run has to start from the originals
+   */
+  @Setup(Level.Invocation)
+  public void clearMethodBodies() {
+    PTAUtils.clearMethodBodies();
+  }
+
+  @Benchmark
+  public PTA solve() {
+    PTA pointerAnalysis =
+        PTAFactory.createPTA(
+            PTAConfig.v().getPtaConfig().ptaPattern, view, BenchmarkInputs.MINI_APP_MAIN_CLASS);
+    pointerAnalysis.pureRun();
+    return pointerAnalysis;
+  }
+}
@@ -0,0 +1,142 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
+import sootup.java.bytecode.inputlocation.JrtFileSystemAnalysisInputLocation;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures the heap that a view of the JDK retains after the bodies of all methods of the classes
+ * in a package (and its subpackages) were resolved, with and without releasing the instructions of
+ * the methods (see {@link BytecodeFrontendOptions#withReleaseMethodInstructions}) and with eagerly
+ * and lazily read method bodies. The classes are read from the runtime image of the JDK that runs
+ * the benchmark, so the result is reproducible for the same JDK. The view builds its type hierarchy
+ * incrementally, so that only the classes of the package are resolved.
+ *
+ * <p>The retained heap is reported as the secondary result <code>retainedKiB</code>: the used heap
+ * after a full GC with the view and its bodies minus the used heap after a full GC before the view
+ * was created. JMH prints it for every iteration and reports the sum of all measurement iterations.
+ * The measured time includes the collections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ReleaseMethodInstructionsBenchmark {
+
+  @Param({"false", "true"})
+  public boolean release;
+
+  @Param({"false", "true"})
+  public boolean lazy;
+
+  @Param({"java.util"})
+  public String packageName;
+
+  private AnalysisInputLocation inputLocation;
+  private List<ClassType> classTypes;
+
+  /** referenced until the retained heap is measured. */
+  private JavaView view;
+
+  /** the heap retained by the view of the last invocation. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class RetainedHeap {
+    public long retainedKiB;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      retainedKiB = 0;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    inputLocation =
+        new JrtFileSystemAnalysisInputLocation(
+            SourceType.Library,
+            BytecodeBodyInterceptors.Default.getBodyInterceptors(),
+            BytecodeFrontendOptions.DEFAULT
+                .withLazyMethodBodies(lazy)
+                .withReleaseMethodInstructions(release));
+    classTypes =
+        new JavaView(inputLocation)
+            .getClassHeaders().stream()
+                .map(ClassHeader::getType)
+                .filter(
+                    type -> {
+                      String name = type.getPackageName().getName();
+                      return name.equals(packageName) || name.startsWith(packageName + ".");
+                    })
+                .collect(Collectors.toList());
+  }
+
+  @TearDown(Level.Invocation)
+  public void releaseView() {
+    view = null;
+  }
+
+  @Benchmark
+  public int resolveBodies(RetainedHeap heap) {
+    long usedBefore = usedHeapAfterGc();
+    view = new JavaView(inputLocation);
+    view.setIncrementalTypeHierarchy(true);
+    int bodies = 0;
+    for (ClassType classType : classTypes) {
+      for (JavaSootMethod method : view.getClass(classType).get().getMethods()) {
+        if (method.isConcrete()) {
+          try {
+            method.getBody();
+            bodies++;
+          } catch (RuntimeException e) {
+            // a few JDK methods can not be converted; they are skipped in both configurations
+          }
+        }
+      }
+    }
+    heap.retainedKiB += (usedHeapAfterGc() - usedBefore) / 1024;
+    return bodies;
+  }
+
+  private static long usedHeapAfterGc() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,94 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.model.SootClass;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures building a {@link ViewTypeHierarchy} of a jar and the JDK and querying it for the
+ * classes of the jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TypeHierarchyBenchmark {
+
+  @Param({BenchmarkInputs.MINI_APP, BenchmarkInputs.JAVAX_JSON})
+  public String jar;
+
+  private JavaView view;
+  private TypeHierarchy typeHierarchy;
+  private List<ClassType> applicationTypes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    view = BenchmarkInputs.viewWithJdk(jar);
+    // resolves all classes, i.e. they are cached before the hierarchy is built in the benchmark
+    typeHierarchy = new ViewTypeHierarchy(view);
+    applicationTypes =
+        view.getClasses().stream()
+            .filter(SootClass::isApplicationClass)
+            .map(SootClass::getType)
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public TypeHierarchy build() {
+    return new ViewTypeHierarchy(view);
+  }
+
+  @Benchmark
+  public void subtypesOf(Blackhole blackhole) {
+    for (ClassType type : applicationTypes) {
+      blackhole.consume(typeHierarchy.subtypesOf(type).count());
+    }
+  }
+
+  @Benchmark
+  public void superClassesOf(Blackhole blackhole) {
+    for (ClassType type : applicationTypes) {
+      blackhole.consume(typeHierarchy.superClassesOf(type).count());
+    }
+  }
+
+  @Benchmark
+  public void isSubtype(Blackhole blackhole) {
+    for (ClassType supertype : applicationTypes) {
+      for (ClassType subtype : applicationTypes) {
+        blackhole.consume(typeHierarchy.isSubtype(supertype, subtype));
+      }
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package sootup.benchmarks;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Compares the ways to visit the uses of all Stmts of the bodies of a jar: the {@link
+ * Stmt#getUses()} Stream, {@link Stmt#forEachUse} and {@link Stmt#getUseCount()} with {@link
+ * Stmt#getUse(int)}. Run it with {@code -prof gc} to see the allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class UseIterationBenchmark {
+
+  @Param({BenchmarkInputs.JAVAX_JSON, BenchmarkInputs.JPUSH})
+  public String jar;
+
+  private final List<Stmt> stmts = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    JavaView view =
+        new JavaView(
+            BenchmarkInputs.application(
+                jar, BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    for (JavaSootMethod method : BenchmarkInputs.concreteMethods(view)) {
+      Body body = method.getBody();
+      stmts.addAll(body.getStmts());
+    }
+  }
+
+  @Benchmark
+  public void streamUses(Blackhole blackhole) {
+    for (Stmt stmt : stmts) {
+      for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
+        blackhole.consume(iterator.next());
+      }
+    }
+  }
+
+  @Benchmark
+  public void forEachUse(Blackhole blackhole) {
+    Consumer<Value> consumer = blackhole::consume;
+    for (Stmt stmt : stmts) {
+      stmt.forEachUse(consumer);
+    }
+  }
+
+  @Benchmark
+  public void indexedUses(Blackhole blackhole) {
+    for (Stmt stmt : stmts) {
+      for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+        blackhole.consume(stmt.getUse(i));
+      }
+    }
+  }
+}
@@ -23,6 +23,7 @@ package sootup.callgraph;
  */
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -61,8 +62,40 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
 
   @Nonnull protected final View view;
 
+  /** caches the dispatch of calls, see {@link #getDispatchCache()}. */
+  @Nonnull protected final DispatchCache dispatchCache;
+
+  /** creates the call graph from its entry methods, see {@link #setCallGraphFactory(Function)}. */
+  @Nonnull
+  private Function<List<MethodSignature>, MutableCallGraph> callGraphFactory =
+      GraphBasedCallGraph::new;
+
   protected AbstractCallGraphAlgorithm(@Nonnull View view) {
+    this(view, DispatchCache.disabled());
+  }
+
+  protected AbstractCallGraphAlgorithm(@Nonnull View view, @Nonnull DispatchCache dispatchCache) {
     this.view = view;
+    this.dispatchCache = dispatchCache;
+  }
+
+  /**
+   * Returns the cache of the dispatch of calls used by this algorithm. Unless a cache is passed to
+   * the constructor, the dispatch is not cached, see {@link DispatchCache#disabled()}.
+   */
+  @Nonnull
+  public DispatchCache getDispatchCache() {
+    return dispatchCache;
+  }
+
+  /**
+   * Sets how the call graph is created from its entry methods, e.g. <code>
+   * CompactCallGraph::new</code> for large call graphs. By default, a {@link GraphBasedCallGraph}
+   * is created.
+   */
+  public void setCallGraphFactory(
+      @Nonnull Function<List<MethodSignature>, MutableCallGraph> callGraphFactory) {
+    this.callGraphFactory = callGraphFactory;
   }
 
   /**
@@ -90,8 +123,9 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
   }
 
   /**
-   * This method creates the mutable call graph which is used in the call graph algorithm. Overwrite
-   * it to change the used mutable call graph
+   * This method creates the mutable call graph which is used in the call graph algorithm with the
+   * factory set by {@link #setCallGraphFactory(Function)}. Overwrite it to change the used mutable
+   * call graph
    *
    * @return the initialized call graph used in the call graph algorithm
    */
@@ -99,7 +133,7 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
       List<MethodSignature> entryPoints, List<MethodSignature> clinits) {
     ArrayList<MethodSignature> rootSignatures = new ArrayList<>(entryPoints);
     rootSignatures.addAll(clinits);
-    return new GraphBasedCallGraph(rootSignatures);
+    return callGraphFactory.apply(rootSignatures);
   }
 
   /**
@@ -392,23 +426,30 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
 
     MutableCallGraph updated = oldCallGraph.copy();
 
+    Stream<ClassType> superClasses = view.getTypeHierarchy().superClassesOf(classType);
+    Stream<ClassType> implementedInterfaces =
+        view.getTypeHierarchy().implementedInterfacesOf(classType);
+    List<ClassType> superTypes =
+        Stream.concat(superClasses, implementedInterfaces).collect(Collectors.toList());
+
+    // the dispatch of calls on the new class and its supertypes may have changed
+    List<ClassType> outdatedTypes = new ArrayList<>(superTypes);
+    outdatedTypes.add(classType);
+    dispatchCache.invalidate(outdatedTypes);
+
     // Step 1: Add edges from the new methods to other methods
     Deque<MethodSignature> workList = new ArrayDeque<>(newMethodSignatures);
     Set<MethodSignature> processed = new HashSet<>(oldCallGraph.getMethodSignatures());
     processWorkList(view, workList, processed, updated);
 
     // Step 2: Add edges from old methods to methods overridden in the new class
-    Stream<ClassType> superClasses = view.getTypeHierarchy().superClassesOf(classType);
-    Stream<ClassType> implementedInterfaces =
-        view.getTypeHierarchy().implementedInterfacesOf(classType);
-    Stream<ClassType> superTypes = Stream.concat(superClasses, implementedInterfaces);
 
     Set<MethodSubSignature> newMethodSubSigs =
         newMethodSignatures.stream()
             .map(MethodSignature::getSubSignature)
             .collect(Collectors.toSet());
 
-    superTypes
+    superTypes.stream()
         .map(view::getClass)
         .filter(Optional::isPresent)
         .map(Optional::get)
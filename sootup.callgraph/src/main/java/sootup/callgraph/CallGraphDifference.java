@@ -36,11 +36,17 @@ public class CallGraphDifference {
   private final List<Pair<MethodSignature, MethodSignature>> baseCallGraphEdges;
   private final List<Pair<MethodSignature, MethodSignature>> otherCallGraphEdges;
 
+  // the edges as sets, so that the edges of one call graph are looked up in constant time
+  private final Set<Pair<MethodSignature, MethodSignature>> baseCallGraphEdgeSet;
+  private final Set<Pair<MethodSignature, MethodSignature>> otherCallGraphEdgeSet;
+
   public CallGraphDifference(CallGraph baseCallGraph, CallGraph otherCallGraph) {
     this.baseCallGraph = baseCallGraph;
     this.otherCallGraph = otherCallGraph;
     this.baseCallGraphEdges = constructEdges(baseCallGraph);
     this.otherCallGraphEdges = constructEdges(otherCallGraph);
+    this.baseCallGraphEdgeSet = new HashSet<>(baseCallGraphEdges);
+    this.otherCallGraphEdgeSet = new HashSet<>(otherCallGraphEdges);
   }
 
   private List<Pair<MethodSignature, MethodSignature>> constructEdges(CallGraph cg) {
@@ -76,7 +82,7 @@ public class CallGraphDifference {
   */
   public List<Pair<MethodSignature, MethodSignature>> intersectedCalls() {
     return baseCallGraphEdges.stream()
-        .filter(otherCallGraphEdges::contains)
+        .filter(otherCallGraphEdgeSet::contains)
         .collect(Collectors.toList());
   }
 
@@ -96,7 +102,7 @@ public class CallGraphDifference {
   */
   public List<Pair<MethodSignature, MethodSignature>> uniqueBaseGraphCalls() {
     return baseCallGraphEdges.stream()
-        .filter(edge -> !otherCallGraphEdges.contains(edge))
+        .filter(edge -> !otherCallGraphEdgeSet.contains(edge))
         .collect(Collectors.toList());
   }
 
@@ -116,7 +122,7 @@ public class CallGraphDifference {
   */
   public List<Pair<MethodSignature, MethodSignature>> uniqueOtherGraphCalls() {
     return otherCallGraphEdges.stream()
-        .filter(edge -> !baseCallGraphEdges.contains(edge))
+        .filter(edge -> !baseCallGraphEdgeSet.contains(edge))
         .collect(Collectors.toList());
   }
 
@@ -54,6 +54,16 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
     super(view);
   }
 
+  /**
+   * The constructor of the CHA algorithm.
+   *
+   * @param view it contains the data of the classes and methods
+   * @param dispatchCache caches the resolved call targets, e.g. to share them with other algorithms
+   */
+  public ClassHierarchyAnalysisAlgorithm(@Nonnull View view, @Nonnull DispatchCache dispatchCache) {
+    super(view, dispatchCache);
+  }
+
   @Nonnull
   @Override
   public CallGraph initialize() {
@@ -69,7 +79,8 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
   /**
    * In the CHA algorithm, every virtual call is resolved by only using the hierarchy. Every
    * subclass of the class is considered as target if it contains an implementation of the methods
-   * called in the invoke expression.
+   * called in the invoke expression. As the targets do not depend on the call site, they are cached
+   * in the {@link DispatchCache}.
    *
    * @param method the method object that contains the given invoke expression in the body.
    * @param invokableStmt it contains the call which is resolved.
@@ -89,36 +100,52 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
       return Stream.empty();
     }
 
-    SootMethod targetMethod = findConcreteMethod(view, targetMethodSignature).orElse(null);
+    SootMethod targetMethod =
+        dispatchCache.findConcreteMethod(view, targetMethodSignature).orElse(null);
 
     if (targetMethod == null
         || MethodModifier.isStatic(targetMethod.getModifiers())
         || (invokeExpr instanceof JSpecialInvokeExpr)) {
       return Stream.of(targetMethodSignature);
     } else {
-      ArrayList<ClassType> noImplementedMethod = new ArrayList<>();
-      List<MethodSignature> targets =
-          resolveAllCallTargets(targetMethodSignature, noImplementedMethod);
-      if (!targetMethod.isAbstract()) {
-        targets.add(targetMethod.getSignature());
-      }
-      if (invokeExpr instanceof JInterfaceInvokeExpr) {
-        IdentifierFactory factory = view.getIdentifierFactory();
-        noImplementedMethod.stream()
-            .map(
-                classType ->
-                    resolveConcreteDispatch(
-                        view,
-                        factory.getMethodSignature(
-                            classType, targetMethodSignature.getSubSignature())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .forEach(targets::add);
-      }
-      return targets.stream();
+      boolean interfaceCall = invokeExpr instanceof JInterfaceInvokeExpr;
+      return dispatchCache
+          .getCallTargets(
+              targetMethodSignature,
+              interfaceCall,
+              signature -> resolveVirtualCallTargets(signature, targetMethod, interfaceCall))
+          .stream();
     }
   }
 
+  /**
+   * Resolves the targets of a virtual call of <code>targetMethodSignature</code>, whose concrete
+   * method is <code>targetMethod</code>.
+   */
+  private List<MethodSignature> resolveVirtualCallTargets(
+      MethodSignature targetMethodSignature, SootMethod targetMethod, boolean interfaceCall) {
+    ArrayList<ClassType> noImplementedMethod = new ArrayList<>();
+    List<MethodSignature> targets =
+        resolveAllCallTargets(targetMethodSignature, noImplementedMethod);
+    if (!targetMethod.isAbstract()) {
+      targets.add(targetMethod.getSignature());
+    }
+    if (interfaceCall) {
+      IdentifierFactory factory = view.getIdentifierFactory();
+      noImplementedMethod.stream()
+          .map(
+              classType ->
+                  dispatchCache.resolveConcreteDispatch(
+                      view,
+                      factory.getMethodSignature(
+                          classType, targetMethodSignature.getSubSignature())))
+          .filter(Optional::isPresent)
+          .map(Optional::get)
+          .forEach(targets::add);
+    }
+    return targets;
+  }
+
   private List<MethodSignature> resolveAllCallTargets(
       MethodSignature targetMethodSignature, ArrayList<ClassType> noImplementedMethod) {
     ArrayList<MethodSignature> targets = new ArrayList<>();
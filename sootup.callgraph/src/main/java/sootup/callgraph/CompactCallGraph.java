@@ -0,0 +1,458 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.common.stmt.InvokableStmt;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.SootClassMemberSignature;
+
+/**
+ * A mutable call graph that numbers its methods densely and stores its calls in primitive arrays,
+ * so that a call costs three array slots instead of several objects. It is meant for large call
+ * graphs, see {@link AbstractCallGraphAlgorithm#setCallGraphFactory}.
+ *
+ * <p>Calls are appended while the call graph is built. When it is queried, the calls are indexed by
+ * their source and by their target in compressed sparse rows, i.e. the calls of a method are stored
+ * consecutively and sorted by the method on the other end. The index is built in linear time and is
+ * rebuilt after the call graph has been changed, so queries are fast once the call graph has been
+ * constructed. {@link #forEachCallTarget} and {@link #forEachCallSource} iterate over the index
+ * without allocating.
+ *
+ * <p>This class is not thread-safe, not even for concurrent queries.
+ */
+public class CompactCallGraph implements MutableCallGraph {
+
+  private static final Comparator<MethodSignature> signatureOrder =
+      Comparator.comparing((MethodSignature o) -> o.getDeclClassType().toString())
+          .thenComparing(SootClassMemberSignature::getName)
+          .thenComparing(o -> o.getParameterTypes().toString());
+
+  /** the methods of the call graph, indexed by their number */
+  @Nonnull private final List<MethodSignature> methods;
+
+  @Nonnull private final Map<MethodSignature, Integer> methodNumbers;
+  @Nonnull private final List<MethodSignature> entryMethods;
+
+  /** the number of the source method, the number of the target method and the stmt of a call */
+  @Nonnull private int[] callSources;
+
+  @Nonnull private int[] callTargets;
+  @Nonnull private InvokableStmt[] callStmts;
+  private int callCount;
+
+  /**
+   * an open addressing hash table of the calls to find duplicates, contains the index of a call
+   * plus one or 0 for an empty slot
+   */
+  @Nonnull private int[] callTable;
+
+  /** the compressed sparse rows of the calls by source and by target, see {@link #index()} */
+  private int[] outOffsets;
+
+  private int[] outCalls;
+  private int[] inOffsets;
+  private int[] inCalls;
+  private int indexedCallCount = -1;
+  private int indexedMethodCount = -1;
+
+  public CompactCallGraph(@Nonnull List<MethodSignature> entryMethods) {
+    this.methods = new ArrayList<>();
+    this.methodNumbers = new HashMap<>();
+    this.entryMethods = entryMethods;
+    this.callSources = new int[16];
+    this.callTargets = new int[16];
+    this.callStmts = new InvokableStmt[16];
+    this.callTable = new int[32];
+  }
+
+  /** copies the given call graph, see {@link #copy()} */
+  protected CompactCallGraph(@Nonnull CompactCallGraph callGraph) {
+    this.methods = new ArrayList<>(callGraph.methods);
+    this.methodNumbers = new HashMap<>(callGraph.methodNumbers);
+    this.entryMethods = new ArrayList<>(callGraph.entryMethods);
+    this.callSources = Arrays.copyOf(callGraph.callSources, callGraph.callSources.length);
+    this.callTargets = Arrays.copyOf(callGraph.callTargets, callGraph.callTargets.length);
+    this.callStmts = Arrays.copyOf(callGraph.callStmts, callGraph.callStmts.length);
+    this.callCount = callGraph.callCount;
+    this.callTable = Arrays.copyOf(callGraph.callTable, callGraph.callTable.length);
+    // the index is never changed in place, so it can be shared until one of the graphs changes
+    this.outOffsets = callGraph.outOffsets;
+    this.outCalls = callGraph.outCalls;
+    this.inOffsets = callGraph.inOffsets;
+    this.inCalls = callGraph.inCalls;
+    this.indexedCallCount = callGraph.indexedCallCount;
+    this.indexedMethodCount = callGraph.indexedMethodCount;
+  }
+
+  @Override
+  public void addMethod(@Nonnull MethodSignature calledMethod) {
+    if (containsMethod(calledMethod)) {
+      return;
+    }
+    methodNumbers.put(calledMethod, methods.size());
+    methods.add(calledMethod);
+  }
+
+  @Override
+  public void addCall(
+      @Nonnull MethodSignature sourceMethod,
+      @Nonnull MethodSignature targetMethod,
+      @Nonnull InvokableStmt invokableStmt) {
+    int source = numberOf(sourceMethod);
+    int target = numberOf(targetMethod);
+    int slot = findSlot(source, target, invokableStmt);
+    if (callTable[slot] != 0) {
+      return;
+    }
+    if (callCount == callSources.length) {
+      int capacity = callCount * 2;
+      callSources = Arrays.copyOf(callSources, capacity);
+      callTargets = Arrays.copyOf(callTargets, capacity);
+      callStmts = Arrays.copyOf(callStmts, capacity);
+    }
+    callSources[callCount] = source;
+    callTargets[callCount] = target;
+    callStmts[callCount] = invokableStmt;
+    callCount++;
+    callTable[slot] = callCount;
+    if (callCount * 2 > callTable.length) {
+      rehash();
+    }
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> getMethodSignatures() {
+    return Collections.unmodifiableSet(methodNumbers.keySet());
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callTargetsFrom(@Nonnull MethodSignature sourceMethod) {
+    Set<MethodSignature> targets = new HashSet<>();
+    forEachCallTarget(sourceMethod, targets::add);
+    return targets;
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callSourcesTo(@Nonnull MethodSignature targetMethod) {
+    Set<MethodSignature> sources = new HashSet<>();
+    forEachCallSource(targetMethod, sources::add);
+    return sources;
+  }
+
+  /**
+   * Passes every method that is called by the given method to the action once, without allocating.
+   * The methods are passed in the order they have been added to the call graph.
+   *
+   * @param sourceMethod the method whose call targets are visited
+   * @param action is applied to each call target
+   */
+  public void forEachCallTarget(
+      @Nonnull MethodSignature sourceMethod, @Nonnull Consumer<MethodSignature> action) {
+    index();
+    forEachNeighbour(numberOf(sourceMethod), outOffsets, outCalls, callTargets, action);
+  }
+
+  /**
+   * Passes every method that calls the given method to the action once, without allocating. The
+   * methods are passed in the order they have been added to the call graph.
+   *
+   * @param targetMethod the method whose call sources are visited
+   * @param action is applied to each call source
+   */
+  public void forEachCallSource(
+      @Nonnull MethodSignature targetMethod, @Nonnull Consumer<MethodSignature> action) {
+    index();
+    forEachNeighbour(numberOf(targetMethod), inOffsets, inCalls, callSources, action);
+  }
+
+  @Nonnull
+  @Override
+  public Set<Call> callsFrom(@Nonnull MethodSignature sourceMethod) {
+    index();
+    return callsOf(numberOf(sourceMethod), outOffsets, outCalls);
+  }
+
+  @Nonnull
+  @Override
+  public Set<Call> callsTo(@Nonnull MethodSignature targetMethod) {
+    index();
+    return callsOf(numberOf(targetMethod), inOffsets, inCalls);
+  }
+
+  @Override
+  public boolean containsMethod(@Nonnull MethodSignature method) {
+    return methodNumbers.containsKey(method);
+  }
+
+  @Override
+  public boolean containsCall(
+      @Nonnull MethodSignature sourceMethod,
+      @Nonnull MethodSignature targetMethod,
+      @Nonnull InvokableStmt invokableStmt) {
+    Integer source = methodNumbers.get(sourceMethod);
+    Integer target = methodNumbers.get(targetMethod);
+    if (source == null || target == null) {
+      return false;
+    }
+    return callTable[findSlot(source, target, invokableStmt)] != 0;
+  }
+
+  @Override
+  public boolean containsCall(@Nonnull Call call) {
+    return containsCall(
+        call.getSourceMethodSignature(), call.getTargetMethodSignature(), call.getInvokableStmt());
+  }
+
+  @Override
+  public int callCount() {
+    return callCount;
+  }
+
+  @Override
+  public String exportAsDot() {
+    StringBuilder dotFormatBuilder = new StringBuilder();
+    // The calls are sorted in the same order as in GraphBasedCallGraph: by the source method first
+    // and then by the target method, each by class name, method name and parameters.
+    Integer[] sortedCalls = new Integer[callCount];
+    Arrays.setAll(sortedCalls, call -> call);
+    Arrays.sort(
+        sortedCalls,
+        Comparator.comparing(
+                (Integer call) ->
+                    methods.get(callSources[call]).getDeclClassType().getFullyQualifiedName())
+            .thenComparing(call -> methods.get(callSources[call]).getName())
+            .thenComparing(call -> methods.get(callSources[call]).getParameterTypes().toString())
+            .thenComparing(call -> methods.get(callTargets[call]).getDeclClassType().getClassName())
+            .thenComparing(call -> methods.get(callTargets[call]).getName())
+            .thenComparing(call -> methods.get(callTargets[call]).getParameterTypes().toString()));
+    for (int call : sortedCalls) {
+      dotFormatBuilder
+          .append("\t")
+          .append("\"")
+          .append(methods.get(callSources[call]))
+          .append("\"")
+          .append(" -> ")
+          .append("\"")
+          .append(methods.get(callTargets[call]))
+          .append("\"")
+          .append(";\n");
+    }
+    return "strict digraph ObjectGraph {\n" + dotFormatBuilder + "}";
+  }
+
+  @Nonnull
+  @Override
+  public MutableCallGraph copy() {
+    return new CompactCallGraph(this);
+  }
+
+  @Nonnull
+  @Override
+  public CallGraphDifference diff(@Nonnull CallGraph callGraph) {
+    return new CallGraphDifference(this, callGraph);
+  }
+
+  @Override
+  @Nonnull
+  public List<MethodSignature> getEntryMethods() {
+    return entryMethods;
+  }
+
+  /**
+   * This method exports the call graph in a human-readable string in the same format as {@link
+   * GraphBasedCallGraph#toString()}.
+   *
+   * @return a string containing all nodes and edges of the call graph.
+   */
+  @Override
+  public String toString() {
+    StringBuilder stringBuilder = new StringBuilder("CompactCallGraph(" + callCount() + ")");
+    if (methods.isEmpty()) {
+      stringBuilder.append(" is empty");
+    } else {
+      stringBuilder.append(":\n");
+      methods.stream()
+          .sorted(signatureOrder)
+          .forEach(
+              method -> {
+                stringBuilder.append(method).append(":\n");
+                callTargetsFrom(method).stream()
+                    .sorted(signatureOrder)
+                    .forEach(m -> stringBuilder.append("\tto ").append(m).append("\n"));
+                callSourcesTo(method).stream()
+                    .sorted(signatureOrder)
+                    .forEach(m -> stringBuilder.append("\tfrom ").append(m).append("\n"));
+                stringBuilder.append("\n");
+              });
+    }
+    return stringBuilder.toString();
+  }
+
+  /**
+   * Returns the number of the given method in the call graph.
+   *
+   * @param method the method searched in the call graph
+   * @return the number of the method
+   */
+  private int numberOf(@Nonnull MethodSignature method) {
+    Integer number = methodNumbers.get(method);
+    Preconditions.checkNotNull(number, "Node for " + method + " has not been added yet");
+    return number;
+  }
+
+  /**
+   * Returns the slot of the call table that contains the given call or the empty slot it would be
+   * stored in.
+   */
+  private int findSlot(int source, int target, @Nonnull InvokableStmt invokableStmt) {
+    int mask = callTable.length - 1;
+    int slot = hash(source, target, invokableStmt) & mask;
+    while (true) {
+      int call = callTable[slot] - 1;
+      if (call < 0
+          || (callSources[call] == source
+              && callTargets[call] == target
+              && callStmts[call].equals(invokableStmt))) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private void rehash() {
+    int[] oldTable = callTable;
+    callTable = new int[oldTable.length * 2];
+    int mask = callTable.length - 1;
+    for (int entry : oldTable) {
+      if (entry == 0) {
+        continue;
+      }
+      int call = entry - 1;
+      int slot = hash(callSources[call], callTargets[call], callStmts[call]) & mask;
+      while (callTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      callTable[slot] = entry;
+    }
+  }
+
+  private static int hash(int source, int target, @Nonnull InvokableStmt invokableStmt) {
+    int hash = (source * 31 + target) * 31 + invokableStmt.hashCode();
+    // spread the bits, as the table is indexed by the lower bits of the hash
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Builds the compressed sparse rows of the calls by source and by target, unless the call graph
+   * has not changed since they have been built.
+   */
+  private void index() {
+    if (indexedCallCount == callCount && indexedMethodCount == methods.size()) {
+      return;
+    }
+    int methodCount = methods.size();
+    outOffsets = new int[methodCount + 1];
+    outCalls = sortCalls(callSources, callTargets, outOffsets);
+    inOffsets = new int[methodCount + 1];
+    inCalls = sortCalls(callTargets, callSources, inOffsets);
+    indexedCallCount = callCount;
+    indexedMethodCount = methodCount;
+  }
+
+  /**
+   * Sorts the calls by their row method and then by their column method with two stable counting
+   * sorts.
+   *
+   * @param rows the method of each call whose calls are stored in a row
+   * @param columns the method of each call on the other end
+   * @param offsets is filled with the start of the row of each method
+   * @return the calls sorted by row and column
+   */
+  @Nonnull
+  private int[] sortCalls(@Nonnull int[] rows, @Nonnull int[] columns, @Nonnull int[] offsets) {
+    int[] calls = new int[callCount];
+    Arrays.setAll(calls, call -> call);
+    int[] byColumn = countingSort(calls, columns, new int[offsets.length]);
+    return countingSort(byColumn, rows, offsets);
+  }
+
+  @Nonnull
+  private int[] countingSort(@Nonnull int[] calls, @Nonnull int[] keys, @Nonnull int[] offsets) {
+    for (int call : calls) {
+      offsets[keys[call] + 1]++;
+    }
+    for (int i = 1; i < offsets.length; i++) {
+      offsets[i] += offsets[i - 1];
+    }
+    int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+    int[] sorted = new int[calls.length];
+    for (int call : calls) {
+      sorted[next[keys[call]]++] = call;
+    }
+    return sorted;
+  }
+
+  private void forEachNeighbour(
+      int method,
+      @Nonnull int[] offsets,
+      @Nonnull int[] calls,
+      @Nonnull int[] neighbours,
+      @Nonnull Consumer<MethodSignature> action) {
+    int previous = -1;
+    for (int i = offsets[method]; i < offsets[method + 1]; i++) {
+      int neighbour = neighbours[calls[i]];
+      // the calls of a row are sorted by their neighbour, so duplicates are adjacent
+      if (neighbour != previous) {
+        action.accept(methods.get(neighbour));
+        previous = neighbour;
+      }
+    }
+  }
+
+  @Nonnull
+  private Set<Call> callsOf(int method, @Nonnull int[] offsets, @Nonnull int[] calls) {
+    Set<Call> result = new HashSet<>();
+    for (int i = offsets[method]; i < offsets[method + 1]; i++) {
+      int call = calls[i];
+      result.add(
+          new Call(
+              methods.get(callSources[call]), methods.get(callTargets[call]), callStmts[call]));
+    }
+    return result;
+  }
+}
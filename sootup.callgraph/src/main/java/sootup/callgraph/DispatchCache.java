@@ -0,0 +1,189 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+
+/**
+ * Caches the results of the virtual dispatch of a {@link View}, i.e. the concrete method a
+ * signature dispatches to and the targets of virtual calls. The results only depend on the receiver
+ * type and the sub-signature of a call, so they are reused across call sites and - if the same
+ * cache is passed to them - across call graph algorithms of the same view. The entries are keyed by
+ * {@link MethodSignature}, which pairs the receiver type with the sub-signature and precomputes its
+ * hash code.
+ *
+ * <p>Caching is opt-in: algorithms that are not given a cache use {@link #disabled()}, which
+ * resolves every dispatch again.
+ *
+ * <p>The cache is thread-safe. It assumes that the classes of the view do not change; entries that
+ * are affected by an added class have to be removed via {@link #invalidate(Collection)}, as {@link
+ * AbstractCallGraphAlgorithm#addClass} does.
+ */
+public class DispatchCache {
+
+  /** resolves every dispatch without storing it, see {@link #disabled()}. */
+  private static final DispatchCache DISABLED = new DispatchCache(false);
+
+  /** whether results are stored; false only for {@link #DISABLED}. */
+  private final boolean enabled;
+
+  /** the concrete method each signature dispatches to, see {@link #findConcreteMethod}. */
+  @Nonnull
+  private final Map<MethodSignature, Optional<SootMethod>> concreteMethods =
+      new ConcurrentHashMap<>();
+
+  /** the targets of virtual calls of a signature, see {@link #getCallTargets}. */
+  @Nonnull
+  private final Map<MethodSignature, List<MethodSignature>> virtualCallTargets =
+      new ConcurrentHashMap<>();
+
+  /** the targets of interface calls of a signature, see {@link #getCallTargets}. */
+  @Nonnull
+  private final Map<MethodSignature, List<MethodSignature>> interfaceCallTargets =
+      new ConcurrentHashMap<>();
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /** Creates an empty cache. Pass it to multiple algorithms of a view to share their dispatch. */
+  public DispatchCache() {
+    this(true);
+  }
+
+  private DispatchCache(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Returns a cache that stores nothing and records no statistics, i.e. every dispatch is resolved
+   * again. It is used by the algorithms that are not given a cache.
+   */
+  @Nonnull
+  public static DispatchCache disabled() {
+    return DISABLED;
+  }
+
+  /** Returns false if this cache stores nothing, see {@link #disabled()}. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the concrete method <code>sig</code> dispatches to, see {@link
+   * AbstractCallGraphAlgorithm#findConcreteMethod(View, MethodSignature)}.
+   */
+  @Nonnull
+  public Optional<SootMethod> findConcreteMethod(@Nonnull View view, @Nonnull MethodSignature sig) {
+    if (!enabled) {
+      return AbstractCallGraphAlgorithm.findConcreteMethod(view, sig);
+    }
+    Optional<SootMethod> method = concreteMethods.get(sig);
+    if (method != null) {
+      hitCount.increment();
+      return method;
+    }
+    missCount.increment();
+    method = AbstractCallGraphAlgorithm.findConcreteMethod(view, sig);
+    Optional<SootMethod> previous = concreteMethods.putIfAbsent(sig, method);
+    return previous != null ? previous : method;
+  }
+
+  /**
+   * Returns the signature of the concrete implementation <code>sig</code> dispatches to, see {@link
+   * AbstractCallGraphAlgorithm#resolveConcreteDispatch(View, MethodSignature)}.
+   */
+  @Nonnull
+  public Optional<MethodSignature> resolveConcreteDispatch(
+      @Nonnull View view, @Nonnull MethodSignature sig) {
+    return findConcreteMethod(view, sig)
+        .filter(method -> !method.isAbstract())
+        .map(SootMethod::getSignature);
+  }
+
+  /**
+   * Returns the cached targets of a virtual or interface call of <code>sig</code>, or resolves and
+   * caches them with <code>resolver</code>. The targets must not depend on the call site.
+   *
+   * @param interfaceCall whether the targets of an interface call are requested, which are cached
+   *     separately from the ones of a virtual call
+   * @return an unmodifiable list of the targets
+   */
+  @Nonnull
+  public List<MethodSignature> getCallTargets(
+      @Nonnull MethodSignature sig,
+      boolean interfaceCall,
+      @Nonnull Function<MethodSignature, List<MethodSignature>> resolver) {
+    if (!enabled) {
+      return Collections.unmodifiableList(resolver.apply(sig));
+    }
+    Map<MethodSignature, List<MethodSignature>> callTargets =
+        interfaceCall ? interfaceCallTargets : virtualCallTargets;
+    List<MethodSignature> targets = callTargets.get(sig);
+    if (targets != null) {
+      hitCount.increment();
+      return targets;
+    }
+    missCount.increment();
+    // not computeIfAbsent: the resolver may look up concrete methods in this cache
+    targets = Collections.unmodifiableList(new ArrayList<>(resolver.apply(sig)));
+    List<MethodSignature> previous = callTargets.putIfAbsent(sig, targets);
+    return previous != null ? previous : targets;
+  }
+
+  /**
+   * Removes the entries of the given types, i.e. the ones of signatures which are declared in one
+   * of them. When a class is added, the entries of the class and its supertypes are outdated.
+   */
+  public void invalidate(@Nonnull Collection<? extends ClassType> types) {
+    Set<ClassType> outdatedTypes = new HashSet<>(types);
+    concreteMethods.keySet().removeIf(sig -> outdatedTypes.contains(sig.getDeclClassType()));
+    virtualCallTargets.keySet().removeIf(sig -> outdatedTypes.contains(sig.getDeclClassType()));
+    interfaceCallTargets.keySet().removeIf(sig -> outdatedTypes.contains(sig.getDeclClassType()));
+  }
+
+  /** Removes all entries. */
+  public void clear() {
+    concreteMethods.clear();
+    virtualCallTargets.clear();
+    interfaceCallTargets.clear();
+  }
+
+  /** Returns the number of cached entries. */
+  public int size() {
+    return concreteMethods.size() + virtualCallTargets.size() + interfaceCallTargets.size();
+  }
+
+  /** Returns a snapshot of the hit and miss statistics of this cache. */
+  @Nonnull
+  public DispatchCacheStats getStats() {
+    return new DispatchCacheStats(hitCount.sum(), missCount.sum(), size());
+  }
+}
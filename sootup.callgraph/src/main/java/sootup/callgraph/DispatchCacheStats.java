@@ -0,0 +1,73 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+/**
+ * Statistics of a {@link DispatchCache}. The numbers are a snapshot taken when {@link
+ * DispatchCache#getStats()} is called, later lookups do not change them.
+ */
+public final class DispatchCacheStats {
+
+  private final long hitCount;
+  private final long missCount;
+  private final int size;
+
+  public DispatchCacheStats(long hitCount, long missCount, int size) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.size = size;
+  }
+
+  /** Returns the number of lookups that were answered from the cache. */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /** Returns the number of lookups that had to resolve the dispatch. */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /** Returns the ratio of lookups that were answered from the cache, or 1.0 if there were none. */
+  public double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /** Returns the number of cached entries. */
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "DispatchCacheStats{"
+        + "hitCount="
+        + hitCount
+        + ", missCount="
+        + missCount
+        + ", size="
+        + size
+        + '}';
+  }
+}
@@ -60,6 +60,17 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
     super(view);
   }
 
+  /**
+   * The constructor of the RTA algorithm.
+   *
+   * @param view it contains the data of the classes and methods
+   * @param dispatchCache caches the concrete dispatch of calls, e.g. to share it with other
+   *     algorithms
+   */
+  public RapidTypeAnalysisAlgorithm(@Nonnull View view, @Nonnull DispatchCache dispatchCache) {
+    super(view, dispatchCache);
+  }
+
   @Nonnull
   @Override
   public CallGraph initialize() {
@@ -132,7 +143,7 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
     Stream<MethodSignature> result = Stream.of(resolveBaseMethodSignature);
 
     SootMethod concreteBaseMethod =
-        findConcreteMethod(view, resolveBaseMethodSignature).orElse(null);
+        dispatchCache.findConcreteMethod(view, resolveBaseMethodSignature).orElse(null);
 
     if (concreteBaseMethod == null
         || MethodModifier.isStatic(concreteBaseMethod.getModifiers())
@@ -177,7 +188,7 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
                   view.getIdentifierFactory()
                       .getMethodSignature(classType, resolveBaseMethodSignature.getSubSignature());
               if (instantiatedClasses.contains(classType)) {
-                return resolveConcreteDispatch(view, method);
+                return dispatchCache.resolveConcreteDispatch(view, method);
               } else {
                 saveIgnoredCall(source, method, invokableStmt);
                 return Optional.<MethodSignature>empty();
@@ -253,7 +264,9 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
       newEdges.forEach(
           call -> {
             MethodSignature concreteTarget =
-                resolveConcreteDispatch(view, call.getTargetMethodSignature()).orElse(null);
+                dispatchCache
+                    .resolveConcreteDispatch(view, call.getTargetMethodSignature())
+                    .orElse(null);
             if (concreteTarget == null) {
               return;
             }
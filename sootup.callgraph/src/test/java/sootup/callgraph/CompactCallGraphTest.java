@@ -0,0 +1,122 @@
+package sootup.callgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.callgraph.CallGraph.Call;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/** Checks that a {@link CompactCallGraph} contains the same calls as a graph based call graph. */
+@Tag("Java8")
+public class CompactCallGraphTest {
+
+  private static final String jpush = "../shared-test-resources/soot-1580/jpush-android_v3.0.5.jar";
+
+  private static CallGraph expected;
+  private static CompactCallGraph actual;
+
+  @BeforeAll
+  public static void buildCallGraphs() {
+    JavaView view = new JavaView(new JavaClassPathAnalysisInputLocation(jpush));
+    List<MethodSignature> entryPoints = new ArrayList<>();
+    for (SootClass sootClass : view.getClasses()) {
+      for (SootMethod method : sootClass.getMethods()) {
+        if (method.isConcrete()) {
+          entryPoints.add(method.getSignature());
+        }
+      }
+    }
+
+    ClassHierarchyAnalysisAlgorithm algorithm = new ClassHierarchyAnalysisAlgorithm(view);
+    expected = algorithm.initialize(entryPoints);
+    algorithm.setCallGraphFactory(CompactCallGraph::new);
+    actual = (CompactCallGraph) algorithm.initialize(entryPoints);
+  }
+
+  @Test
+  public void sameCalls() {
+    assertEquals(expected.getMethodSignatures(), actual.getMethodSignatures());
+    assertEquals(expected.callCount(), actual.callCount());
+    assertEquals(expected.getEntryMethods(), actual.getEntryMethods());
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertEquals(expected.callsFrom(method), actual.callsFrom(method));
+      assertEquals(expected.callsTo(method), actual.callsTo(method));
+      assertEquals(expected.callTargetsFrom(method), actual.callTargetsFrom(method));
+      assertEquals(expected.callSourcesTo(method), actual.callSourcesTo(method));
+      for (Call call : expected.callsFrom(method)) {
+        assertTrue(actual.containsCall(call));
+      }
+    }
+    // calls whose methods only differ in their package or return type may be exported in any order
+    assertEquals(sortedLines(expected.exportAsDot()), sortedLines(actual.exportAsDot()));
+  }
+
+  private static List<String> sortedLines(String dot) {
+    return Arrays.stream(dot.split("\n")).sorted().collect(Collectors.toList());
+  }
+
+  @Test
+  public void forEachVisitsEachMethodOnce() {
+    for (MethodSignature method : actual.getMethodSignatures()) {
+      List<MethodSignature> targets = new ArrayList<>();
+      actual.forEachCallTarget(method, targets::add);
+      assertEquals(actual.callTargetsFrom(method), new HashSet<>(targets));
+      assertEquals(targets.size(), new HashSet<>(targets).size());
+
+      List<MethodSignature> sources = new ArrayList<>();
+      actual.forEachCallSource(method, sources::add);
+      assertEquals(actual.callSourcesTo(method), new HashSet<>(sources));
+      assertEquals(sources.size(), new HashSet<>(sources).size());
+    }
+  }
+
+  @Test
+  public void methodSignaturesAreReadOnly() {
+    MethodSignature method = actual.getEntryMethods().get(0);
+    assertThrows(
+        UnsupportedOperationException.class, () -> actual.getMethodSignatures().remove(method));
+    assertTrue(actual.containsMethod(method));
+  }
+
+  @Test
+  public void copyIsIndependent() {
+    MethodSignature source = actual.getEntryMethods().get(0);
+    Call call =
+        actual.getMethodSignatures().stream()
+            .flatMap(method -> actual.callsFrom(method).stream())
+            .findFirst()
+            .get();
+    int callCount = actual.callCount();
+    Set<MethodSignature> targets = actual.callTargetsFrom(source);
+
+    MutableCallGraph copy = actual.copy();
+    assertEquals(actual.callCount(), copy.callCount());
+    // adding a call twice keeps a single call
+    copy.addCall(source, call.getTargetMethodSignature(), call.getInvokableStmt());
+    copy.addCall(source, call.getTargetMethodSignature(), call.getInvokableStmt());
+    assertTrue(copy.callTargetsFrom(source).contains(call.getTargetMethodSignature()));
+
+    assertEquals(callCount, actual.callCount());
+    assertEquals(targets, actual.callTargetsFrom(source));
+    if (!targets.contains(call.getTargetMethodSignature())) {
+      assertEquals(callCount + 1, copy.callCount());
+      assertFalse(
+          actual.containsCall(source, call.getTargetMethodSignature(), call.getInvokableStmt()));
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package sootup.callgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/** Checks that call graphs built with a shared {@link DispatchCache} do not change. */
+@Tag("Java8")
+public class DispatchCacheTest {
+
+  private static JavaView createView() {
+    return new JavaView(
+        new JavaClassPathAnalysisInputLocation(
+            "../shared-test-resources/java-miniapps/MiniApp.jar"));
+  }
+
+  private static List<MethodSignature> entryPoints(JavaView view) {
+    return Collections.singletonList(
+        view.getIdentifierFactory()
+            .getMethodSignature(
+                "MiniApp", "main", "void", Collections.singletonList("java.lang.String[]")));
+  }
+
+  @Test
+  public void concreteDispatchMatchesUncachedDispatch() {
+    JavaView view = createView();
+    DispatchCache dispatchCache = new DispatchCache();
+    for (SootClass sootClass : view.getClasses()) {
+      for (SootMethod method : sootClass.getMethods()) {
+        MethodSignature signature = method.getSignature();
+        assertEquals(
+            AbstractCallGraphAlgorithm.resolveConcreteDispatch(view, signature),
+            dispatchCache.resolveConcreteDispatch(view, signature));
+        assertEquals(
+            AbstractCallGraphAlgorithm.resolveConcreteDispatch(view, signature),
+            dispatchCache.resolveConcreteDispatch(view, signature));
+      }
+    }
+    DispatchCacheStats stats = dispatchCache.getStats();
+    assertEquals(stats.getHitCount(), stats.getMissCount());
+    assertEquals(0.5, stats.getHitRate());
+  }
+
+  @Test
+  public void sharedCacheKeepsCallGraphs() {
+    JavaView view = createView();
+    List<MethodSignature> entryPoints = entryPoints(view);
+    CallGraph chaUncached = new ClassHierarchyAnalysisAlgorithm(view).initialize(entryPoints);
+    CallGraph rtaUncached = new RapidTypeAnalysisAlgorithm(view).initialize(entryPoints);
+
+    DispatchCache dispatchCache = new DispatchCache();
+    for (int i = 0; i < 2; i++) {
+      assertSameCalls(
+          chaUncached,
+          new ClassHierarchyAnalysisAlgorithm(view, dispatchCache).initialize(entryPoints));
+      assertSameCalls(
+          rtaUncached, new RapidTypeAnalysisAlgorithm(view, dispatchCache).initialize(entryPoints));
+    }
+    long missCount = dispatchCache.getStats().getMissCount();
+    new ClassHierarchyAnalysisAlgorithm(view, dispatchCache).initialize(entryPoints);
+    new RapidTypeAnalysisAlgorithm(view, dispatchCache).initialize(entryPoints);
+
+    // the dispatch of all calls is known already
+    DispatchCacheStats stats = dispatchCache.getStats();
+    assertTrue(stats.getHitCount() > 0);
+    assertEquals(missCount, stats.getMissCount());
+
+    dispatchCache.clear();
+    assertEquals(0, dispatchCache.size());
+  }
+
+  @Test
+  public void algorithmsDoNotCacheByDefault() {
+    JavaView view = createView();
+    ClassHierarchyAnalysisAlgorithm cha = new ClassHierarchyAnalysisAlgorithm(view);
+    cha.initialize(entryPoints(view));
+
+    DispatchCache dispatchCache = cha.getDispatchCache();
+    assertSame(DispatchCache.disabled(), dispatchCache);
+    assertFalse(dispatchCache.isEnabled());
+    assertEquals(0, dispatchCache.size());
+    assertEquals(0, dispatchCache.getStats().getMissCount());
+  }
+
+  private static void assertSameCalls(CallGraph expected, CallGraph actual) {
+    assertEquals(expected.getMethodSignatures(), actual.getMethodSignatures());
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertEquals(expected.callsFrom(method), actual.callsFrom(method), method.toString());
+    }
+  }
+}
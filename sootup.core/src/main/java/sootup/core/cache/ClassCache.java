@@ -40,4 +40,13 @@ public interface ClassCache {
   boolean hasClass(ClassType classType);
 
   int size();
+
+  /**
+   * Returns the statistics of this cache. Caches that do not record statistics return {@link
+   * ClassCacheStats#EMPTY}.
+   */
+  @Nonnull
+  default ClassCacheStats getStats() {
+    return ClassCacheStats.EMPTY;
+  }
 }
@@ -0,0 +1,85 @@
+package sootup.core.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+/**
+ * Statistics of a {@link ClassCache}. The numbers are a snapshot taken when {@link
+ * ClassCache#getStats()} is called, later cache accesses do not change them.
+ */
+public final class ClassCacheStats {
+
+  /** statistics of a cache which does not record any statistics. */
+  public static final ClassCacheStats EMPTY = new ClassCacheStats(0, 0, 0, 0);
+
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+  private final long weight;
+
+  public ClassCacheStats(long hitCount, long missCount, long evictionCount, long weight) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.weight = weight;
+  }
+
+  /** Returns the number of lookups that returned a cached class. */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /** Returns the number of lookups for a class that was not cached. */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /** Returns the ratio of lookups that returned a cached class, or 1.0 if there were no lookups. */
+  public double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /** Returns the number of classes that were removed by the cache to stay within its bounds. */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /** Returns the summed weight of all classes that are currently cached. */
+  public long getWeight() {
+    return weight;
+  }
+
+  @Override
+  public String toString() {
+    return "ClassCacheStats{"
+        + "hitCount="
+        + hitCount
+        + ", missCount="
+        + missCount
+        + ", evictionCount="
+        + evictionCount
+        + ", weight="
+        + weight
+        + '}';
+  }
+}
@@ -0,0 +1,47 @@
+package sootup.core.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+
+/**
+ * Calculates the weight of a cached class, i.e. an estimation of the memory the class occupies.
+ * Used by the {@link WeightBoundedCache} to decide how many classes fit into the cache.
+ */
+@FunctionalInterface
+public interface ClassWeigher {
+
+  /** Every class has the same weight, i.e. the cache is bounded by the number of classes. */
+  ClassWeigher CLASS_COUNT = sootClass -> 1;
+
+  /** Weighs a class by the number of its methods and fields. */
+  ClassWeigher MEMBER_COUNT =
+      sootClass -> 1 + sootClass.getMethods().size() + sootClass.getFields().size();
+
+  /**
+   * Returns the weight of the given class. The weight has to be non-negative and must not change
+   * while the class is cached.
+   */
+  int weigh(@Nonnull SootClass sootClass);
+}
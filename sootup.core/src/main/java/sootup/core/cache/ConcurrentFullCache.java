@@ -0,0 +1,51 @@
+package sootup.core.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * Thread-safe version of the {@link FullCache}. Lookups do not acquire a lock, so the cache can be
+ * queried by many threads concurrently, e.g. from a {@code ConcurrentJavaView}.
+ */
+public class ConcurrentFullCache extends FullCache {
+
+  public ConcurrentFullCache() {
+    super(new ConcurrentHashMap<>());
+  }
+
+  @Override
+  public SootClass getClass(ClassType classType) {
+    return cache.get(classType);
+  }
+
+  @Nonnull
+  @Override
+  public Collection<SootClass> getClasses() {
+    return cache.values();
+  }
+}
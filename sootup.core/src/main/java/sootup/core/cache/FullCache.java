@@ -32,7 +32,16 @@ import sootup.core.types.ClassType;
 /** Cache that stores any class that has been resolved. */
 public class FullCache implements ClassCache {
 
-  protected final Map<ClassType, SootClass> cache = new HashMap<>();
+  protected final Map<ClassType, SootClass> cache;
+
+  public FullCache() {
+    this(new HashMap<>());
+  }
+
+  /** Creates a cache that stores the resolved classes in the given (empty) map. */
+  protected FullCache(@Nonnull Map<ClassType, SootClass> cache) {
+    this.cache = cache;
+  }
 
   @Override
   public synchronized SootClass getClass(ClassType classType) {
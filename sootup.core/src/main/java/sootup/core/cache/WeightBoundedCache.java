@@ -0,0 +1,101 @@
+package sootup.core.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * Thread-safe cache that is bounded by the summed weight of its classes. The weight of a class is
+ * calculated by a {@link ClassWeigher}, e.g. by the number of its members, so that large classes
+ * occupy more of the cache than small ones. If the maximum weight is exceeded, the least recently
+ * used classes are evicted. The cache records hits, misses and evictions, see {@link #getStats()}.
+ */
+public class WeightBoundedCache implements ClassCache {
+  @Nonnull private final Cache<ClassType, SootClass> cache;
+  @Nonnull private final ClassWeigher weigher;
+  @Nonnull private final AtomicLong weight = new AtomicLong();
+
+  public WeightBoundedCache(long maximumWeight, @Nonnull ClassWeigher weigher) {
+    this.weigher = weigher;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumWeight)
+            .<ClassType, SootClass>weigher((type, sootClass) -> weigher.weigh(sootClass))
+            .removalListener(
+                (RemovalNotification<ClassType, SootClass> notification) -> {
+                  SootClass removedClass = notification.getValue();
+                  if (removedClass != null) {
+                    weight.addAndGet(-weigher.weigh(removedClass));
+                  }
+                })
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public SootClass getClass(ClassType classType) {
+    return cache.getIfPresent(classType);
+  }
+
+  @Nonnull
+  @Override
+  public Collection<SootClass> getClasses() {
+    return cache.asMap().values();
+  }
+
+  @Override
+  public void putClass(ClassType classType, SootClass sootClass) {
+    // account the weight before the class becomes visible, as it could be evicted right away
+    long classWeight = weigher.weigh(sootClass);
+    weight.addAndGet(classWeight);
+    if (cache.asMap().putIfAbsent(classType, sootClass) != null) {
+      weight.addAndGet(-classWeight);
+    }
+  }
+
+  @Override
+  public boolean hasClass(ClassType classType) {
+    return cache.asMap().containsKey(classType);
+  }
+
+  @Override
+  public int size() {
+    return (int) cache.size();
+  }
+
+  @Nonnull
+  @Override
+  public ClassCacheStats getStats() {
+    CacheStats stats = cache.stats();
+    return new ClassCacheStats(
+        stats.hitCount(), stats.missCount(), stats.evictionCount(), weight.get());
+  }
+}
@@ -0,0 +1,67 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+
+/** Base class of the {@link BodyRetentionPolicy}s which keeps track of their statistics. */
+public abstract class AbstractBodyRetentionPolicy implements BodyRetentionPolicy {
+  private final AtomicLong loadCount = new AtomicLong();
+  private final AtomicLong rebuildCount = new AtomicLong();
+  private final AtomicLong releaseCount = new AtomicLong();
+  private final AtomicLong releasedBytes = new AtomicLong();
+
+  /** Records that a body was built; {@code rebuild} is true if it was built before already. */
+  protected void recordLoad(boolean rebuild) {
+    loadCount.incrementAndGet();
+    if (rebuild) {
+      rebuildCount.incrementAndGet();
+    }
+  }
+
+  /** Records that a body of the given estimated size was released from memory. */
+  protected void recordRelease(int estimatedSize) {
+    releaseCount.incrementAndGet();
+    releasedBytes.addAndGet(estimatedSize);
+  }
+
+  @Nonnull
+  @Override
+  public BodyRetentionStats getStats() {
+    return new BodyRetentionStats(
+        loadCount.get(), rebuildCount.get(), releaseCount.get(), releasedBytes.get());
+  }
+
+  /**
+   * Returns a rough estimation of the memory in bytes occupied by the given body, based on the
+   * number of its statements, locals and traps.
+   */
+  public static int estimateSize(@Nonnull Body body) {
+    return 128
+        + 96 * body.getStmtGraph().getNodes().size()
+        + 48 * body.getLocalCount()
+        + 64 * body.getTraps().size();
+  }
+}
@@ -0,0 +1,55 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+
+/**
+ * Decides how long the {@link Body} of a {@link SootMethod} is kept in memory after it was built
+ * from its {@link sootup.core.frontend.BodySource}. A body that is not retained anymore is rebuilt
+ * from the body source when it is requested again.
+ *
+ * <p>Note that a rebuilt body consists of new {@link sootup.core.jimple.common.stmt.Stmt} objects.
+ * Analyses that keep references to statements of a body (e.g. as call sites) should therefore use a
+ * policy which keeps the bodies they work on, e.g. {@link MemoizingBodyRetention}.
+ *
+ * @see SootMethod#getBodyRetentionPolicy()
+ */
+public interface BodyRetentionPolicy {
+
+  /**
+   * Creates the supplier that is used by the given method to access its body.
+   *
+   * @param method the method whose body is accessed
+   * @param bodyLoader builds the body of the method from its body source on every call
+   */
+  @Nonnull
+  Supplier<Body> retain(@Nonnull SootMethod method, @Nonnull Supplier<Body> bodyLoader);
+
+  /** Returns the statistics of all bodies that were accessed through this policy. */
+  @Nonnull
+  BodyRetentionStats getStats();
+}
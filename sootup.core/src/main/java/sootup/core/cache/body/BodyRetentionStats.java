@@ -0,0 +1,79 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+/**
+ * Statistics of a {@link BodyRetentionPolicy}. The numbers are a snapshot taken when {@link
+ * BodyRetentionPolicy#getStats()} is called.
+ */
+public final class BodyRetentionStats {
+  private final long loadCount;
+  private final long rebuildCount;
+  private final long releaseCount;
+  private final long releasedBytes;
+
+  public BodyRetentionStats(
+      long loadCount, long rebuildCount, long releaseCount, long releasedBytes) {
+    this.loadCount = loadCount;
+    this.rebuildCount = rebuildCount;
+    this.releaseCount = releaseCount;
+    this.releasedBytes = releasedBytes;
+  }
+
+  /** Returns how often a body was built from its body source, including rebuilds. */
+  public long getLoadCount() {
+    return loadCount;
+  }
+
+  /** Returns how often a body was built again after it had been released. */
+  public long getRebuildCount() {
+    return rebuildCount;
+  }
+
+  /** Returns how often a body was released from memory. */
+  public long getReleaseCount() {
+    return releaseCount;
+  }
+
+  /**
+   * Returns the estimated memory in bytes that was freed by releasing bodies, see {@link
+   * AbstractBodyRetentionPolicy#estimateSize(sootup.core.model.Body)}.
+   */
+  public long getReleasedBytes() {
+    return releasedBytes;
+  }
+
+  @Override
+  public String toString() {
+    return "BodyRetentionStats{"
+        + "loadCount="
+        + loadCount
+        + ", rebuildCount="
+        + rebuildCount
+        + ", releaseCount="
+        + releaseCount
+        + ", releasedBytes="
+        + releasedBytes
+        + '}';
+  }
+}
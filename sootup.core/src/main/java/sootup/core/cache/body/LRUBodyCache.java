@@ -0,0 +1,101 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+
+/**
+ * Keeps the most recently used bodies of all methods that use this policy in a single cache with a
+ * memory budget. The size of a body is estimated via {@link #estimateSize(Body)}; if the summed
+ * size exceeds the budget, the least recently used bodies are released.
+ */
+public class LRUBodyCache extends AbstractBodyRetentionPolicy {
+
+  /** keys are compared by identity, as every method gets its own key. */
+  @Nonnull private final Cache<Object, Body> cache;
+
+  /** @param maximumBytes the memory budget in (estimated) bytes of all cached bodies */
+  public LRUBodyCache(long maximumBytes) {
+    if (maximumBytes < 1) {
+      throw new IllegalArgumentException("The memory budget has to be at least 1 byte");
+    }
+    cache =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumWeight(maximumBytes)
+            .<Object, Body>weigher((key, body) -> estimateSize(body))
+            .removalListener(
+                (RemovalNotification<Object, Body> notification) -> {
+                  Body body = notification.getValue();
+                  if (notification.wasEvicted() && body != null) {
+                    recordRelease(estimateSize(body));
+                  }
+                })
+            .build();
+  }
+
+  @Nonnull
+  @Override
+  public Supplier<Body> retain(@Nonnull SootMethod method, @Nonnull Supplier<Body> bodyLoader) {
+    return new Supplier<Body>() {
+      private volatile boolean loaded = false;
+
+      @Override
+      public Body get() {
+        try {
+          return cache.get(
+              this,
+              () -> {
+                Body body = bodyLoader.get();
+                recordLoad(loaded);
+                loaded = true;
+                return body;
+              });
+        } catch (UncheckedExecutionException | ExecutionError | ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          throw new IllegalStateException(cause);
+        }
+      }
+    };
+  }
+
+  /** Returns the number of bodies that are currently cached. */
+  public long size() {
+    return cache.size();
+  }
+}
@@ -0,0 +1,72 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Suppliers;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+
+/**
+ * Keeps every body as long as its {@link SootMethod} is reachable. This is the default policy: a
+ * body is built only once and its statements stay the same for the lifetime of the method.
+ *
+ * <p>The shared {@link #INSTANCE} does not record statistics, so that the methods of all views can
+ * use it without contending for its counters. Create an own instance to record the statistics of
+ * the methods that use it.
+ */
+public class MemoizingBodyRetention extends AbstractBodyRetentionPolicy {
+
+  /** the default policy of all methods; its {@link #getStats()} are always zero. */
+  @Nonnull public static final MemoizingBodyRetention INSTANCE = new MemoizingBodyRetention(false);
+
+  private final boolean recordStats;
+
+  /** Creates a policy that records statistics of the bodies it keeps. */
+  public MemoizingBodyRetention() {
+    this(true);
+  }
+
+  /**
+   * @param recordStats whether the loaded bodies are counted; if not, {@link #getStats()} are
+   *     always zero
+   */
+  public MemoizingBodyRetention(boolean recordStats) {
+    this.recordStats = recordStats;
+  }
+
+  @Nonnull
+  @Override
+  public Supplier<Body> retain(@Nonnull SootMethod method, @Nonnull Supplier<Body> bodyLoader) {
+    if (!recordStats) {
+      return Suppliers.memoize(bodyLoader::get);
+    }
+    return Suppliers.memoize(
+        () -> {
+          Body body = bodyLoader.get();
+          recordLoad(false);
+          return body;
+        });
+  }
+}
@@ -0,0 +1,135 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+
+/**
+ * Keeps bodies only via {@link SoftReference}s or {@link WeakReference}s, so that the garbage
+ * collector can free them when they are not used anymore. Soft references are kept until the JVM
+ * runs short on memory, weak references are freed with the next garbage collection.
+ */
+public class ReferenceBodyRetention extends AbstractBodyRetentionPolicy {
+
+  public enum Strength {
+    SOFT,
+    WEAK
+  }
+
+  @Nonnull private final Strength strength;
+  @Nonnull private final ReferenceQueue<Body> releasedBodies = new ReferenceQueue<>();
+
+  public ReferenceBodyRetention(@Nonnull Strength strength) {
+    this.strength = strength;
+  }
+
+  @Nonnull
+  public Strength getStrength() {
+    return strength;
+  }
+
+  @Nonnull
+  @Override
+  public Supplier<Body> retain(@Nonnull SootMethod method, @Nonnull Supplier<Body> bodyLoader) {
+    return new Holder(bodyLoader);
+  }
+
+  @Nonnull
+  @Override
+  public BodyRetentionStats getStats() {
+    pollReleasedBodies();
+    return super.getStats();
+  }
+
+  private void pollReleasedBodies() {
+    Reference<? extends Body> reference;
+    while ((reference = releasedBodies.poll()) != null) {
+      recordRelease(estimatedSizeOf(reference));
+    }
+  }
+
+  @Nonnull
+  private Reference<Body> newReference(@Nonnull Body body) {
+    int estimatedSize = estimateSize(body);
+    if (strength == Strength.SOFT) {
+      return new SoftBodyReference(body, releasedBodies, estimatedSize);
+    }
+    return new WeakBodyReference(body, releasedBodies, estimatedSize);
+  }
+
+  private static int estimatedSizeOf(@Nonnull Reference<? extends Body> reference) {
+    if (reference instanceof SoftBodyReference) {
+      return ((SoftBodyReference) reference).estimatedSize;
+    }
+    return ((WeakBodyReference) reference).estimatedSize;
+  }
+
+  /** Gives access to the body of a single method. */
+  private class Holder implements Supplier<Body> {
+    @Nonnull private final Supplier<Body> bodyLoader;
+    @Nullable private Reference<Body> reference;
+
+    private Holder(@Nonnull Supplier<Body> bodyLoader) {
+      this.bodyLoader = bodyLoader;
+    }
+
+    @Override
+    public synchronized Body get() {
+      Body body = reference == null ? null : reference.get();
+      if (body == null) {
+        pollReleasedBodies();
+        body = bodyLoader.get();
+        recordLoad(reference != null);
+        reference = newReference(body);
+      }
+      return body;
+    }
+  }
+
+  // the estimated size is remembered, as it can not be calculated anymore once the body is released
+  private static class SoftBodyReference extends SoftReference<Body> {
+    private final int estimatedSize;
+
+    private SoftBodyReference(Body body, ReferenceQueue<Body> queue, int estimatedSize) {
+      super(body, queue);
+      this.estimatedSize = estimatedSize;
+    }
+  }
+
+  private static class WeakBodyReference extends WeakReference<Body> {
+    private final int estimatedSize;
+
+    private WeakBodyReference(Body body, ReferenceQueue<Body> queue, int estimatedSize) {
+      super(body, queue);
+      this.estimatedSize = estimatedSize;
+    }
+  }
+}
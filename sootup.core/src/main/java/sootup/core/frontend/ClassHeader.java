@@ -0,0 +1,104 @@
+package sootup.core.frontend;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * The header of a class, i.e. its type, whether it is an interface and its direct supertypes. This
+ * is all a {@link sootup.core.typehierarchy.TypeHierarchy} needs to know about a class; it can be
+ * read without resolving the fields and methods of the class, see {@link
+ * ClassProvider#createClassHeader}.
+ */
+public final class ClassHeader {
+
+  @Nonnull private final ClassType type;
+  private final boolean isInterface;
+  @Nullable private final ClassType superclass;
+  @Nonnull private final Set<ClassType> interfaces;
+
+  public ClassHeader(
+      @Nonnull ClassType type,
+      boolean isInterface,
+      @Nullable ClassType superclass,
+      @Nonnull Set<? extends ClassType> interfaces) {
+    this.type = type;
+    this.isInterface = isInterface;
+    this.superclass = superclass;
+    this.interfaces =
+        interfaces.isEmpty()
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(new LinkedHashSet<>(interfaces));
+  }
+
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClass sootClass) {
+    return new ClassHeader(
+        sootClass.getType(),
+        sootClass.isInterface(),
+        sootClass.getSuperclass().orElse(null),
+        sootClass.getInterfaces());
+  }
+
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClassSource classSource) {
+    return new ClassHeader(
+        classSource.getClassType(),
+        ClassModifier.isInterface(classSource.resolveModifiers()),
+        classSource.resolveSuperclass().orElse(null),
+        classSource.resolveInterfaces());
+  }
+
+  @Nonnull
+  public ClassType getType() {
+    return type;
+  }
+
+  public boolean isInterface() {
+    return isInterface;
+  }
+
+  @Nonnull
+  public Optional<ClassType> getSuperclass() {
+    return Optional.ofNullable(superclass);
+  }
+
+  /** Returns the interfaces the class implements or the interface extends directly. */
+  @Nonnull
+  public Set<ClassType> getInterfaces() {
+    return interfaces;
+  }
+
+  @Override
+  public String toString() {
+    return type.toString();
+  }
+}
@@ -38,6 +38,16 @@ public interface ClassProvider {
   Optional<? extends SootClassSource> createClassSource(
       AnalysisInputLocation inputLocation, Path sourcePath, ClassType classSignature);
 
+  /**
+   * Creates the {@link ClassHeader} of the class in the given file. Providers that can read the
+   * header without parsing the whole compilation unit should override this; by default, the header
+   * is taken from the {@link SootClassSource}.
+   */
+  default Optional<ClassHeader> createClassHeader(
+      AnalysisInputLocation inputLocation, Path sourcePath, ClassType classSignature) {
+    return createClassSource(inputLocation, sourcePath, classSignature).map(ClassHeader::of);
+  }
+
   /** Returns the file type that is handled by this provider, e.g. class, jimple, java */
   FileType getHandledFileType();
 }
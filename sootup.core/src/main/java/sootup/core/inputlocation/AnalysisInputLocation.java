@@ -24,11 +24,14 @@ package sootup.core.inputlocation;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.model.SootClass;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 
@@ -63,6 +66,18 @@ public interface AnalysisInputLocation {
   @Nonnull
   Collection<? extends SootClassSource> getClassSources(@Nonnull View view);
 
+  /**
+   * Scan the input location and create the {@link ClassHeader} of every class, e.g. to build a type
+   * hierarchy without resolving the classes. Input locations that can read the headers cheaper than
+   * the class sources should override this.
+   *
+   * @return The headers of the classes, in the order of {@link #getClassSources(View)}.
+   */
+  @Nonnull
+  default Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return getClassSources(view).stream().map(ClassHeader::of).collect(Collectors.toList());
+  }
+
   /**
    * If the AnalysisInputLocation is initialized with the SourceType then this method should return
    * that specific SourceType. This is the default implementation and it returns null when no source
@@ -75,4 +90,15 @@ public interface AnalysisInputLocation {
 
   @Nonnull
   List<BodyInterceptor> getBodyInterceptors();
+
+  /**
+   * Returns the {@link BodyInterceptorPipeline} that applies the {@link #getBodyInterceptors()} to
+   * the bodies of this input location, e.g. to record {@link
+   * sootup.core.transform.BodyInterceptorMetrics} or to validate the StmtGraph only after the last
+   * interceptor. By default the StmtGraph is validated after every interceptor.
+   */
+  @Nonnull
+  default BodyInterceptorPipeline getBodyInterceptorPipeline() {
+    return BodyInterceptorPipeline.DEFAULT;
+  }
 }
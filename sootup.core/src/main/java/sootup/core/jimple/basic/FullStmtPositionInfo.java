@@ -70,6 +70,15 @@ public class FullStmtPositionInfo extends SimpleStmtPositionInfo {
     }
   }
 
+  /**
+   * Return the number of operands whose positions are stored.
+   *
+   * @return the number of operand positions
+   */
+  public int getOperandPositionCount() {
+    return this.operandPositions.length;
+  }
+
   @Override
   public String toString() {
     StringBuilder s = new StringBuilder();
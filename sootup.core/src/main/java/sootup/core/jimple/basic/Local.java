@@ -23,6 +23,7 @@ package sootup.core.jimple.basic;
  */
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.graph.StmtGraph;
@@ -110,6 +111,20 @@ public class Local implements Immediate, LValue, Acceptor<ImmediateVisitor> {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {}
+
+  @Override
+  public int getUseCount() {
+    return 0;
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   /** returns a List that can contain: Locals, JFieldRefs, JArrayRefs */
   public List<AbstractDefinitionStmt> getDefs(Collection<Stmt> defs) {
     List<AbstractDefinitionStmt> localDefs = new ArrayList<>();
@@ -129,7 +144,7 @@ public class Local implements Immediate, LValue, Acceptor<ImmediateVisitor> {
    * @param stmt a stmt which uses the given local.
    */
   public List<Stmt> getDefsForLocalUse(StmtGraph<?> graph, Stmt stmt) {
-    if (stmt.getUses().noneMatch(v -> v == this)) {
+    if (!stmt.containsUse(this)) {
       throw new RuntimeException(stmt + " doesn't use the local " + this);
     }
     List<Stmt> defStmts = new ArrayList<>();
@@ -22,6 +22,7 @@ package sootup.core.jimple.basic;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.common.constant.Constant;
@@ -48,6 +49,34 @@ public interface Value extends EquivTo {
   @Nonnull
   Stream<Value> getUses();
 
+  /**
+   * Passes the Values which are used by this Value to the given action - in the same order as
+   * {@link #getUses()}, but without creating a Stream.
+   */
+  default void forEachUse(@Nonnull Consumer<? super Value> action) {
+    getUses().forEach(action);
+  }
+
+  /** Returns the number of Values which are used by this Value, see {@link #getUses()}. */
+  default int getUseCount() {
+    return (int) getUses().count();
+  }
+
+  /**
+   * Returns the used Value at the given position of {@link #getUses()}. Together with {@link
+   * #getUseCount()}, the uses can be iterated without allocations.
+   *
+   * @throws IndexOutOfBoundsException if index is not in [0, getUseCount())
+   */
+  @Nonnull
+  default Value getUse(int index) {
+    return getUses()
+        .skip(Math.max(index, 0))
+        .findFirst()
+        .filter(use -> index >= 0)
+        .orElseThrow(() -> ValueUses.outOfBounds(index, this));
+  }
+
   /** Returns the Soot type of this Value. */
   @Nonnull
   Type getType();
@@ -0,0 +1,67 @@
+package sootup.core.jimple.basic;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+/**
+ * Helpers to implement {@link Value#forEachUse(Consumer)}, {@link Value#getUseCount()} and {@link
+ * Value#getUse(int)} (and their counterparts of {@link sootup.core.jimple.common.stmt.Stmt}) for
+ * the common case that an operand contributes its own uses followed by itself.
+ */
+public final class ValueUses {
+
+  private ValueUses() {}
+
+  /** Passes the uses of the operand and then the operand itself to the action. */
+  public static void forEach(@Nonnull Value operand, @Nonnull Consumer<? super Value> action) {
+    operand.forEachUse(action);
+    action.accept(operand);
+  }
+
+  /** Returns the number of Values contributed by the operand, i.e. its uses and itself. */
+  public static int count(@Nonnull Value operand) {
+    return operand.getUseCount() + 1;
+  }
+
+  /**
+   * Returns the Value at the given position of the uses of the operand followed by the operand
+   * itself, or null if the index is not smaller than {@link #count(Value)}.
+   */
+  public static Value get(@Nonnull Value operand, int index) {
+    if (index < 0) {
+      return null;
+    }
+    int useCount = operand.getUseCount();
+    if (index < useCount) {
+      return operand.getUse(index);
+    }
+    return index == useCount ? operand : null;
+  }
+
+  @Nonnull
+  public static IndexOutOfBoundsException outOfBounds(int index, @Nonnull Object owner) {
+    return new IndexOutOfBoundsException("Index " + index + " is not a use of " + owner);
+  }
+}
@@ -22,11 +22,13 @@ package sootup.core.jimple.common.constant;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.Acceptor;
 import sootup.core.jimple.visitor.ConstantVisitor;
 import sootup.core.util.printer.StmtPrinter;
@@ -38,6 +40,20 @@ public interface Constant extends Immediate, Acceptor<ConstantVisitor> {
     return Stream.empty();
   }
 
+  @Override
+  default void forEachUse(@Nonnull Consumer<? super Value> action) {}
+
+  @Override
+  default int getUseCount() {
+    return 0;
+  }
+
+  @Override
+  @Nonnull
+  default Value getUse(int index) {
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   @Override
   default boolean equivTo(Object o, @Nonnull JimpleComparator comparator) {
     return comparator.caseConstant(this, o);
@@ -22,11 +22,13 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.util.printer.StmtPrinter;
 
 public abstract class AbstractBinopExpr implements Expr {
@@ -56,6 +58,28 @@ public abstract class AbstractBinopExpr implements Expr {
         Stream.concat(Stream.concat(op1.getUses(), Stream.of(op1)), op2.getUses()), Stream.of(op2));
   }
 
+  @Override
+  public final void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(op1, action);
+    ValueUses.forEach(op2, action);
+  }
+
+  @Override
+  public final int getUseCount() {
+    return ValueUses.count(op1) + ValueUses.count(op2);
+  }
+
+  @Override
+  @Nonnull
+  public final Value getUse(int index) {
+    int op1Count = ValueUses.count(op1);
+    Value use = index < op1Count ? ValueUses.get(op1, index) : ValueUses.get(op2, index - op1Count);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Override
   public boolean equivTo(@Nonnull Object o, @Nonnull JimpleComparator comparator) {
     return comparator.caseAbstractBinopExpr(this, o);
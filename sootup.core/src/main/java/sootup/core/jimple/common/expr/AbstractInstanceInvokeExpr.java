@@ -23,11 +23,13 @@ package sootup.core.jimple.common.expr;
  */
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.signatures.MethodSignature;
 
 public abstract class AbstractInstanceInvokeExpr extends AbstractInvokeExpr {
@@ -55,6 +57,31 @@ public abstract class AbstractInstanceInvokeExpr extends AbstractInvokeExpr {
         Stream.of(base));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    super.forEachUse(action);
+    ValueUses.forEach(base, action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return super.getUseCount() + ValueUses.count(base);
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    int argsCount = super.getUseCount();
+    if (index < argsCount) {
+      return super.getUse(index);
+    }
+    Value use = ValueUses.get(base, index - argsCount);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   /** Returns a hash code for this object, consistent with structural equality. */
   @Override
   public int equivHashCode() {
@@ -25,10 +25,12 @@ package sootup.core.jimple.common.expr;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.signatures.MethodSignature;
 import sootup.core.types.Type;
 import sootup.core.util.printer.StmtPrinter;
@@ -78,6 +80,44 @@ public abstract class AbstractInvokeExpr implements Expr {
     return Stream.concat(Stream.of(args), Stream.of(args).flatMap(Value::getUses));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    for (Immediate arg : args) {
+      action.accept(arg);
+    }
+    for (Immediate arg : args) {
+      arg.forEachUse(action);
+    }
+  }
+
+  @Override
+  public int getUseCount() {
+    int count = args.length;
+    for (Immediate arg : args) {
+      count += arg.getUseCount();
+    }
+    return count;
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    if (index >= 0 && index < args.length) {
+      return args[index];
+    }
+    int remaining = index - args.length;
+    if (remaining >= 0) {
+      for (Immediate arg : args) {
+        int useCount = arg.getUseCount();
+        if (remaining < useCount) {
+          return arg.getUse(remaining);
+        }
+        remaining -= useCount;
+      }
+    }
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   protected void argsToString(@Nonnull StringBuilder builder) {
     final int len = getArgCount();
     if (0 < len) {
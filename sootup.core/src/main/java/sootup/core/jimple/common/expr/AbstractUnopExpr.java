@@ -22,10 +22,12 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 
 public abstract class AbstractUnopExpr implements Expr {
 
@@ -45,4 +47,24 @@ public abstract class AbstractUnopExpr implements Expr {
   public final Stream<Value> getUses() {
     return Stream.concat(op.getUses(), Stream.of(op));
   }
+
+  @Override
+  public final void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(op, action);
+  }
+
+  @Override
+  public final int getUseCount() {
+    return ValueUses.count(op);
+  }
+
+  @Override
+  @Nonnull
+  public final Value getUse(int index) {
+    Value use = ValueUses.get(op, index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
 }
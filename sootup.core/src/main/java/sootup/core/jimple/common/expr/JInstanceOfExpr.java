@@ -22,12 +22,14 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.ExprVisitor;
 import sootup.core.types.PrimitiveType;
 import sootup.core.types.Type;
@@ -80,6 +82,26 @@ public final class JInstanceOfExpr implements Expr {
     return Stream.concat(op.getUses(), Stream.of(op));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(op, action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(op);
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    Value use = ValueUses.get(op, index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Nonnull
   @Override
   public Type getType() {
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.IdentifierFactory;
@@ -29,6 +30,7 @@ import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.ExprVisitor;
 import sootup.core.types.ArrayType;
 import sootup.core.types.PrimitiveType;
@@ -111,6 +113,26 @@ public final class JNewArrayExpr implements Expr {
     return Stream.concat(size.getUses(), Stream.of(size));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(size, action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(size);
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    Value use = ValueUses.get(size, index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   /** Returns an instance of ArrayType(). */
   @Nonnull
   @Override
@@ -22,11 +22,13 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.ExprVisitor;
 import sootup.core.types.ClassType;
 import sootup.core.util.printer.StmtPrinter;
@@ -75,6 +77,20 @@ public final class JNewExpr implements Expr {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {}
+
+  @Override
+  public int getUseCount() {
+    return 0;
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   @Override
   public <V extends ExprVisitor> V accept(@Nonnull V v) {
     v.caseNewExpr(this);
@@ -23,12 +23,14 @@ package sootup.core.jimple.common.expr;
  */
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.ExprVisitor;
 import sootup.core.types.ArrayType;
 import sootup.core.types.Type;
@@ -123,6 +125,42 @@ public final class JNewMultiArrayExpr implements Expr {
     return Stream.concat(sizes.stream(), sizes.stream().flatMap(Value::getUses));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    sizes.forEach(action);
+    for (Immediate size : sizes) {
+      size.forEachUse(action);
+    }
+  }
+
+  @Override
+  public int getUseCount() {
+    int count = sizes.size();
+    for (Immediate size : sizes) {
+      count += size.getUseCount();
+    }
+    return count;
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    if (index >= 0 && index < sizes.size()) {
+      return sizes.get(index);
+    }
+    int remaining = index - sizes.size();
+    if (remaining >= 0) {
+      for (Immediate size : sizes) {
+        int useCount = size.getUseCount();
+        if (remaining < useCount) {
+          return size.getUse(remaining);
+        }
+        remaining -= useCount;
+      }
+    }
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   @Nonnull
   @Override
   public Type getType() {
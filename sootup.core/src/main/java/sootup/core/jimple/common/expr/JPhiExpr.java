@@ -23,6 +23,7 @@ package sootup.core.jimple.common.expr;
  */
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -31,6 +32,7 @@ import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.ExprVisitor;
 import sootup.core.types.Type;
 import sootup.core.util.printer.StmtPrinter;
@@ -138,6 +140,27 @@ public final class JPhiExpr implements Expr {
     return getArgs().stream().map(v -> v);
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    if (args != null) {
+      args.forEach(action);
+    }
+  }
+
+  @Override
+  public int getUseCount() {
+    return args == null ? 0 : args.size();
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    if (index < 0 || index >= getUseCount()) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return args.get(index);
+  }
+
   @Override
   public int equivHashCode() {
     return Objects.hash(args);
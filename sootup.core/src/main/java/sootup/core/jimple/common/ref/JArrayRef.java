@@ -22,6 +22,7 @@ package sootup.core.jimple.common.ref;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.*;
@@ -81,6 +82,31 @@ public final class JArrayRef implements ConcreteRef, LValue {
         Stream.concat(index.getUses(), Stream.of(index)));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(base, action);
+    ValueUses.forEach(index, action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(base) + ValueUses.count(index);
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    int baseCount = ValueUses.count(base);
+    Value use =
+        index < baseCount
+            ? ValueUses.get(base, index)
+            : ValueUses.get(this.index, index - baseCount);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Override
   @Nonnull
   public Type getType() {
@@ -22,10 +22,12 @@ package sootup.core.jimple.common.ref;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.RefVisitor;
 import sootup.core.types.Type;
 import sootup.core.util.printer.StmtPrinter;
@@ -65,6 +67,20 @@ public final class JCaughtExceptionRef implements IdentityRef {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {}
+
+  @Override
+  public int getUseCount() {
+    return 0;
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   @Nonnull
   @Override
   public Type getType() {
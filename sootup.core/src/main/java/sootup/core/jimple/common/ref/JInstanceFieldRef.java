@@ -26,11 +26,13 @@ package sootup.core.jimple.common.ref;
  * @version 1.0
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.RefVisitor;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.util.printer.StmtPrinter;
@@ -72,6 +74,26 @@ public final class JInstanceFieldRef extends JFieldRef {
     return Stream.concat(base.getUses(), Stream.of(base));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(base, action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(base);
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    Value use = ValueUses.get(base, index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Override
   public <V extends RefVisitor> V accept(@Nonnull V v) {
 
@@ -22,11 +22,13 @@ package sootup.core.jimple.common.ref;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.visitor.RefVisitor;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.util.printer.StmtPrinter;
@@ -53,6 +55,20 @@ public final class JStaticFieldRef extends JFieldRef implements LValue {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {}
+
+  @Override
+  public int getUseCount() {
+    return 0;
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   @Override
   public boolean equivTo(Object o, @Nonnull JimpleComparator comparator) {
     return comparator.caseStaticFieldRef(this, o);
@@ -23,12 +23,14 @@ package sootup.core.jimple.common.stmt;
  */
 
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.types.Type;
 
 public abstract class AbstractDefinitionStmt extends AbstractStmt {
@@ -62,6 +64,44 @@ public abstract class AbstractDefinitionStmt extends AbstractStmt {
         Stream.concat(getLeftOp().getUses(), Stream.of(rightOp)), rightOp.getUses());
   }
 
+  @Override
+  public final void forEachUse(@Nonnull Consumer<? super Value> action) {
+    Value rightOp = getRightOp();
+    getLeftOp().forEachUse(action);
+    action.accept(rightOp);
+    rightOp.forEachUse(action);
+  }
+
+  @Override
+  public final int getUseCount() {
+    return getLeftOp().getUseCount() + 1 + getRightOp().getUseCount();
+  }
+
+  @Override
+  @Nonnull
+  public final Value getUse(int index) {
+    Value leftOp = getLeftOp();
+    int leftCount = leftOp.getUseCount();
+    if (index >= 0 && index < leftCount) {
+      return leftOp.getUse(index);
+    }
+    Value rightOp = getRightOp();
+    if (index == leftCount) {
+      return rightOp;
+    }
+    int rightIndex = index - leftCount - 1;
+    if (rightIndex >= 0 && rightIndex < rightOp.getUseCount()) {
+      return rightOp.getUse(rightIndex);
+    }
+    throw ValueUses.outOfBounds(index, this);
+  }
+
+  @Override
+  public void forEachUseAndDef(@Nonnull Consumer<? super Value> action) {
+    forEachUse(action);
+    action.accept(getLeftOp());
+  }
+
   @Override
   public boolean fallsThrough() {
     return true;
@@ -23,11 +23,13 @@ package sootup.core.jimple.common.stmt;
  */
 
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.common.ref.JArrayRef;
 import sootup.core.jimple.common.ref.JFieldRef;
 import sootup.core.jimple.visitor.ReplaceUseStmtVisitor;
@@ -50,6 +52,20 @@ public abstract class AbstractStmt implements Stmt {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {}
+
+  @Override
+  public int getUseCount() {
+    return 0;
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    throw ValueUses.outOfBounds(index, this);
+  }
+
   /**
    * Returns a list of Values defined in this Stmt. There are languages which allow multiple return
    * types/assignments so we return a List
@@ -68,6 +84,12 @@ public abstract class AbstractStmt implements Stmt {
     return def.map(lValue -> Stream.concat(getUses(), Stream.of(lValue))).orElseGet(this::getUses);
   }
 
+  @Override
+  public void forEachUseAndDef(@Nonnull Consumer<? super Value> action) {
+    forEachUse(action);
+    getDef().ifPresent(action);
+  }
+
   /** Returns the amount of unexceptional successors the Stmt needs to have in the StmtGraph. */
   @Override
   public int getExpectedSuccessorCount() {
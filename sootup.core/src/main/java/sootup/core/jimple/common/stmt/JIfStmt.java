@@ -23,12 +23,14 @@ package sootup.core.jimple.common.stmt;
  */
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.common.expr.AbstractConditionExpr;
 import sootup.core.jimple.visitor.StmtVisitor;
 import sootup.core.model.Body;
@@ -91,6 +93,26 @@ public final class JIfStmt extends AbstractStmt implements BranchingStmt, FallsT
     return Stream.concat(getCondition().getUses(), Stream.of(getCondition()));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(getCondition(), action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(getCondition());
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    Value use = ValueUses.get(getCondition(), index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Override
   public <V extends StmtVisitor> V accept(@Nonnull V v) {
     v.caseIfStmt(this);
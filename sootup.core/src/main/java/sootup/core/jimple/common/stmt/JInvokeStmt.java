@@ -22,11 +22,13 @@ package sootup.core.jimple.common.stmt;
  * #L%
  */
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.common.expr.AbstractInvokeExpr;
 import sootup.core.jimple.common.expr.JStaticInvokeExpr;
 import sootup.core.jimple.visitor.StmtVisitor;
@@ -75,6 +77,26 @@ public final class JInvokeStmt extends AbstractStmt implements FallsThroughStmt,
     return Stream.concat(invokeExpr.getUses(), Stream.of(invokeExpr));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(invokeExpr, action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(invokeExpr);
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    Value use = ValueUses.get(invokeExpr, index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Override
   public <V extends StmtVisitor> V accept(@Nonnull V v) {
     v.caseInvokeStmt(this);
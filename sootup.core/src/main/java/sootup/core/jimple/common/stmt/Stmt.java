@@ -21,12 +21,14 @@ package sootup.core.jimple.common.stmt;
  * #L%
  */
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.EquivTo;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.common.ref.JArrayRef;
 import sootup.core.jimple.common.ref.JFieldRef;
 import sootup.core.jimple.visitor.Acceptor;
@@ -43,6 +45,52 @@ public interface Stmt extends EquivTo, Acceptor<StmtVisitor> {
   @Nonnull
   Stream<Value> getUsesAndDefs();
 
+  /**
+   * Passes the Values which are used by this Stmt to the given action - in the same order as {@link
+   * #getUses()}, but without creating a Stream.
+   */
+  default void forEachUse(@Nonnull Consumer<? super Value> action) {
+    getUses().forEach(action);
+  }
+
+  /** Returns the number of Values which are used by this Stmt, see {@link #getUses()}. */
+  default int getUseCount() {
+    return (int) getUses().count();
+  }
+
+  /**
+   * Returns the used Value at the given position of {@link #getUses()}. Together with {@link
+   * #getUseCount()}, the uses can be iterated without allocations.
+   *
+   * @throws IndexOutOfBoundsException if index is not in [0, getUseCount())
+   */
+  @Nonnull
+  default Value getUse(int index) {
+    return getUses()
+        .skip(Math.max(index, 0))
+        .findFirst()
+        .filter(use -> index >= 0)
+        .orElseThrow(() -> ValueUses.outOfBounds(index, this));
+  }
+
+  /** Returns true if the given Value itself (not just an equal Value) is used by this Stmt. */
+  default boolean containsUse(@Nonnull Value value) {
+    for (int i = 0, n = getUseCount(); i < n; i++) {
+      if (getUse(i) == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Passes the used and the defined Values of this Stmt to the given action - in the same order as
+   * {@link #getUsesAndDefs()}, but without creating a Stream.
+   */
+  default void forEachUseAndDef(@Nonnull Consumer<? super Value> action) {
+    getUsesAndDefs().forEach(action);
+  }
+
   /**
    * Returns true if execution after this statement may continue at the following statement. (e.g.
    * GotoStmt will return false and e.g. IfStmt will return true).
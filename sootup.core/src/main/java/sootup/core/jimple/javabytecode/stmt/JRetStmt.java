@@ -22,12 +22,14 @@ package sootup.core.jimple.javabytecode.stmt;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.common.stmt.AbstractStmt;
 import sootup.core.jimple.common.stmt.FallsThroughStmt;
 import sootup.core.jimple.visitor.StmtVisitor;
@@ -69,6 +71,26 @@ public final class JRetStmt extends AbstractStmt implements FallsThroughStmt {
     return Stream.concat(stmtAddress.getUses(), Stream.of(stmtAddress));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(stmtAddress, action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(stmtAddress);
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    Value use = ValueUses.get(stmtAddress, index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Override
   public <V extends StmtVisitor> V accept(@Nonnull V v) {
     v.caseRetStmt(this);
@@ -23,6 +23,7 @@ package sootup.core.jimple.javabytecode.stmt;
  */
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -30,6 +31,7 @@ import sootup.core.jimple.basic.Immediate;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.StmtPositionInfo;
 import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.basic.ValueUses;
 import sootup.core.jimple.common.constant.IntConstant;
 import sootup.core.jimple.common.stmt.AbstractStmt;
 import sootup.core.jimple.common.stmt.BranchingStmt;
@@ -97,6 +99,26 @@ public class JSwitchStmt extends AbstractStmt implements BranchingStmt {
     return Stream.concat(getKey().getUses(), Stream.of(getKey()));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<? super Value> action) {
+    ValueUses.forEach(getKey(), action);
+  }
+
+  @Override
+  public int getUseCount() {
+    return ValueUses.count(getKey());
+  }
+
+  @Override
+  @Nonnull
+  public Value getUse(int index) {
+    Value use = ValueUses.get(getKey(), index);
+    if (use == null) {
+      throw ValueUses.outOfBounds(index, this);
+    }
+    return use;
+  }
+
   @Override
   public boolean fallsThrough() {
     return false;
@@ -367,7 +367,7 @@ public class Body implements HasPosition {
 
       for (Stmt currStmt : Lists.newArrayList(getStmtGraph().getNodes())) {
         final Stmt stmt = currStmt;
-        if (currStmt.getUses().anyMatch(v -> v == existingLocal)) {
+        if (currStmt.containsUse(existingLocal)) {
           currStmt = currStmt.withNewUse(existingLocal, newLocal);
         }
         Optional<LValue> defOpt = currStmt.getDef();
@@ -498,8 +498,8 @@ public class Body implements HasPosition {
   public static Map<Value, Collection<Stmt>> collectUses(Collection<Stmt> stmts) {
     Map<Value, Collection<Stmt>> allUses = new HashMap<>();
     for (Stmt stmt : stmts) {
-      for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-        Value value = iterator.next();
+      for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+        Value value = stmt.getUse(i);
         Collection<Stmt> localUses = allUses.computeIfAbsent(value, key -> new ArrayList<>());
         localUses.add(stmt);
         allUses.put(value, localUses);
@@ -37,4 +37,14 @@ public interface BodyInterceptor {
    * @param view
    */
   void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view);
+
+  /**
+   * Returns a key of this interceptor and its configuration: interceptors with the same key
+   * transform bodies in the same way. It identifies the interceptors of stored bodies, e.g. in a
+   * persistent cache of bodies, so interceptors that are created with options include them.
+   */
+  @Nonnull
+  default String getCacheKey() {
+    return getClass().getName();
+  }
 }
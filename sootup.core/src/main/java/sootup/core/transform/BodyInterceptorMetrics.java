@@ -0,0 +1,195 @@
+package sootup.core.transform;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+import sootup.core.views.View;
+
+/**
+ * Records how much time and memory each {@link BodyInterceptor} takes and how it changes the number
+ * of statements of the bodies. The recorded values are summed up over all bodies the interceptor
+ * was applied to. Can be shared by multiple threads e.g. by a {@link BodyInterceptorPipeline} that
+ * is used by parallel body resolution.
+ *
+ * <p>Allocated memory is only recorded if the JVM supports measuring it per thread (see {@link
+ * com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}), otherwise it is reported as 0.
+ */
+public class BodyInterceptorMetrics {
+
+  @Nonnull private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+  /** null if the allocated memory can not be measured. */
+  private static final com.sun.management.ThreadMXBean allocationBean = allocationBean();
+
+  private static com.sun.management.ThreadMXBean allocationBean() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        return sunBean;
+      }
+    }
+    return null;
+  }
+
+  private static long allocatedBytes() {
+    return allocationBean == null
+        ? 0
+        : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /** Applies the interceptor to the builder and records its metrics. */
+  void measure(
+      @Nonnull BodyInterceptor bodyInterceptor,
+      @Nonnull Body.BodyBuilder builder,
+      @Nonnull View view) {
+    int stmtsBefore = builder.getStmtGraph().getNodes().size();
+    long allocatedBefore = allocatedBytes();
+    long start = System.nanoTime();
+
+    bodyInterceptor.interceptBody(builder, view);
+
+    long time = System.nanoTime() - start;
+    long allocated = allocatedBytes() - allocatedBefore;
+    int stmtDelta = builder.getStmtGraph().getNodes().size() - stmtsBefore;
+
+    Counters c = counters.computeIfAbsent(nameOf(bodyInterceptor), name -> new Counters());
+    c.invocations.increment();
+    c.nanos.add(time);
+    c.allocatedBytes.add(allocated);
+    c.stmtDelta.add(stmtDelta);
+  }
+
+  @Nonnull
+  private static String nameOf(@Nonnull BodyInterceptor bodyInterceptor) {
+    return bodyInterceptor.getClass().getName();
+  }
+
+  /** Returns the statistics of the interceptor with the given class. */
+  @Nonnull
+  public Statistics getStatistics(@Nonnull Class<? extends BodyInterceptor> interceptorClass) {
+    String name = interceptorClass.getName();
+    Counters c = counters.get(name);
+    return c == null ? new Statistics(name, 0, 0, 0, 0) : c.snapshot(name);
+  }
+
+  /** Returns the statistics of all interceptors that were applied, sorted by their class name. */
+  @Nonnull
+  public Map<String, Statistics> getStatistics() {
+    Map<String, Statistics> statistics = new TreeMap<>();
+    counters.forEach((name, c) -> statistics.put(name, c.snapshot(name)));
+    return statistics;
+  }
+
+  /** Discards all recorded metrics. */
+  public void reset() {
+    counters.clear();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    getStatistics().values().forEach(statistics -> sb.append(statistics).append('\n'));
+    return sb.toString();
+  }
+
+  private static class Counters {
+    final LongAdder invocations = new LongAdder();
+    final LongAdder nanos = new LongAdder();
+    final LongAdder allocatedBytes = new LongAdder();
+    final LongAdder stmtDelta = new LongAdder();
+
+    Statistics snapshot(String name) {
+      return new Statistics(
+          name, invocations.sum(), nanos.sum(), allocatedBytes.sum(), stmtDelta.sum());
+    }
+  }
+
+  /** The summed up metrics of one {@link BodyInterceptor}. */
+  public static class Statistics {
+    @Nonnull private final String interceptorName;
+    private final long invocationCount;
+    private final long totalTimeNanos;
+    private final long allocatedBytes;
+    private final long stmtCountDelta;
+
+    Statistics(
+        @Nonnull String interceptorName,
+        long invocationCount,
+        long totalTimeNanos,
+        long allocatedBytes,
+        long stmtCountDelta) {
+      this.interceptorName = interceptorName;
+      this.invocationCount = invocationCount;
+      this.totalTimeNanos = totalTimeNanos;
+      this.allocatedBytes = allocatedBytes;
+      this.stmtCountDelta = stmtCountDelta;
+    }
+
+    /** the fully qualified class name of the interceptor */
+    @Nonnull
+    public String getInterceptorName() {
+      return interceptorName;
+    }
+
+    /** how many bodies the interceptor was applied to */
+    public long getInvocationCount() {
+      return invocationCount;
+    }
+
+    /** the wall time the interceptor took */
+    public long getTotalTimeNanos() {
+      return totalTimeNanos;
+    }
+
+    /** the memory allocated while the interceptor ran */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    /** how many Stmts the interceptor added (positive) or removed (negative) */
+    public long getStmtCountDelta() {
+      return stmtCountDelta;
+    }
+
+    @Override
+    public String toString() {
+      return interceptorName
+          + ": invocations="
+          + invocationCount
+          + ", time="
+          + totalTimeNanos / 1_000_000
+          + "ms, allocated="
+          + allocatedBytes / 1024
+          + "KiB, stmtDelta="
+          + stmtCountDelta;
+    }
+  }
+}
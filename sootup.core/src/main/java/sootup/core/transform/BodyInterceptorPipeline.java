@@ -0,0 +1,100 @@
+package sootup.core.transform;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.Body;
+import sootup.core.views.View;
+
+/**
+ * Applies a list of {@link BodyInterceptor}s to a {@link Body.BodyBuilder}, one after another.
+ * Optionally validates the {@link sootup.core.graph.StmtGraph} after the interceptors and records
+ * {@link BodyInterceptorMetrics}. A pipeline holds no state of its own and can be shared by
+ * multiple threads.
+ */
+public class BodyInterceptorPipeline {
+
+  /** When the consistency of the {@link sootup.core.graph.StmtGraph} is validated. */
+  public enum Validation {
+    /** the StmtGraph is not validated. */
+    NONE,
+    /** the StmtGraph is validated once, after the last interceptor. */
+    LAST,
+    /** the StmtGraph is validated after every interceptor. */
+    EVERY
+  }
+
+  /** validates after every interceptor and does not record metrics. */
+  @Nonnull
+  public static final BodyInterceptorPipeline DEFAULT =
+      new BodyInterceptorPipeline(Validation.EVERY, null);
+
+  @Nonnull private final Validation validation;
+  @Nullable private final BodyInterceptorMetrics metrics;
+
+  public BodyInterceptorPipeline(
+      @Nonnull Validation validation, @Nullable BodyInterceptorMetrics metrics) {
+    this.validation = validation;
+    this.metrics = metrics;
+  }
+
+  @Nonnull
+  public Validation getValidation() {
+    return validation;
+  }
+
+  @Nullable
+  public BodyInterceptorMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Applies the interceptors in the given order.
+   *
+   * @throws IllegalStateException if an interceptor fails or leaves an invalid StmtGraph behind
+   */
+  public void run(
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull Body.BodyBuilder builder,
+      @Nonnull View view) {
+    final int lastIdx = bodyInterceptors.size() - 1;
+    for (int i = 0; i <= lastIdx; i++) {
+      BodyInterceptor bodyInterceptor = bodyInterceptors.get(i);
+      try {
+        if (metrics == null) {
+          bodyInterceptor.interceptBody(builder, view);
+        } else {
+          metrics.measure(bodyInterceptor, builder, view);
+        }
+        if (validation == Validation.EVERY || (validation == Validation.LAST && i == lastIdx)) {
+          builder.getStmtGraph().validateStmtConnectionsInGraph();
+        }
+      } catch (Exception e) {
+        throw new IllegalStateException(
+            "Failed to apply " + bodyInterceptor + " to " + builder.getMethodSignature(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,322 @@
+package sootup.core.typehierarchy;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.jgrapht.Graph;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Edge;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.EdgeType;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Vertex;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.VertexType;
+import sootup.core.types.ClassType;
+
+/**
+ * Answers the subtype queries of a {@link ViewTypeHierarchy} without traversing its graph. It is
+ * built once for a {@link ScanResult} and has to be rebuilt when types are added to it.
+ *
+ * <p>The classes form a forest along their superclass edges. It is numbered in pre-order, so the
+ * subclasses of a class are exactly the classes whose number lies in the interval from the number
+ * of the class (exclusive) to the highest number in its subtree (inclusive).
+ *
+ * <p>The interfaces a type implements or extends - directly or transitively - are stored as a
+ * {@link BitSet} over the numbers of the interfaces. A class that implements no interface itself
+ * shares the set of its superclass.
+ */
+final class SubtypeIndex {
+
+  private static final BitSet NO_INTERFACES = new BitSet(0);
+
+  /** the number of the vertices. */
+  private final int vertexCount;
+
+  /** the pre-order number of each vertex, by {@link Vertex#id}. */
+  @Nonnull private final int[] preOrder;
+
+  /** the highest pre-order number in the subtree of each vertex, by {@link Vertex#id}. */
+  @Nonnull private final int[] lastInSubtree;
+
+  /** the types in pre-order of the superclass forest. */
+  @Nonnull private final ClassType[] typesInPreOrder;
+
+  /** the interface number of each vertex, by {@link Vertex#id}; -1 if it is not an interface. */
+  @Nonnull private final int[] interfaceNumbers;
+
+  /** the interfaces by their number. */
+  @Nonnull private final ClassType[] interfaces;
+
+  /** the interfaces each vertex implements or extends, by {@link Vertex#id}. */
+  @Nonnull private final BitSet[] implementedInterfaces;
+
+  /** the types which implement or extend each interface, by interface number. */
+  @Nonnull private final ClassType[][] implementers;
+
+  SubtypeIndex(@Nonnull ScanResult scanResult) {
+    Graph<Vertex, Edge> graph = scanResult.graph;
+    vertexCount = graph.vertexSet().size();
+    Vertex[] vertices = new Vertex[vertexCount];
+    for (Vertex vertex : graph.vertexSet()) {
+      vertices[vertex.id] = vertex;
+    }
+
+    // direct superclasses, implemented and extended interfaces of each vertex
+    int[] superClasses = new int[vertexCount];
+    int[][] directlyImplemented = new int[vertexCount][];
+    int[][] directlyExtended = new int[vertexCount][];
+    interfaceNumbers = new int[vertexCount];
+    Arrays.fill(interfaceNumbers, -1);
+    int interfaceCount = 0;
+    for (Vertex vertex : vertices) {
+      if (vertex.type == VertexType.Interface) {
+        interfaceNumbers[vertex.id] = interfaceCount++;
+      }
+    }
+    for (Vertex vertex : vertices) {
+      int superClass = -1;
+      int implementedCount = 0;
+      int extendedCount = 0;
+      int[] targets = new int[graph.outDegreeOf(vertex)];
+      for (Edge edge : graph.outgoingEdgesOf(vertex)) {
+        int target = graph.getEdgeTarget(edge).id;
+        switch (edge.type) {
+          case ClassDirectlyExtends:
+            if (superClass == -1) {
+              superClass = target;
+            }
+            break;
+          case ClassDirectlyImplements:
+            targets[implementedCount++] = target;
+            break;
+          case InterfaceDirectlyExtends:
+            targets[targets.length - ++extendedCount] = target;
+            break;
+          default:
+            throw new AssertionError("Unknown edge type!");
+        }
+        if (edge.type != EdgeType.ClassDirectlyExtends && interfaceNumbers[target] == -1) {
+          // the type is used as an interface, but was added to the graph as a class
+          interfaceNumbers[target] = interfaceCount++;
+        }
+      }
+      superClasses[vertex.id] = superClass;
+      directlyImplemented[vertex.id] = Arrays.copyOfRange(targets, 0, implementedCount);
+      directlyExtended[vertex.id] =
+          Arrays.copyOfRange(targets, targets.length - extendedCount, targets.length);
+    }
+
+    interfaces = new ClassType[interfaceCount];
+    for (Vertex vertex : vertices) {
+      if (interfaceNumbers[vertex.id] != -1) {
+        interfaces[interfaceNumbers[vertex.id]] = vertex.javaClassType;
+      }
+    }
+
+    preOrder = new int[vertexCount];
+    lastInSubtree = new int[vertexCount];
+    typesInPreOrder = new ClassType[vertexCount];
+    int[] verticesInPreOrder = numberSuperClassForest(vertices, superClasses);
+
+    // extended interfaces first, as the interfaces of classes are built from them
+    BitSet[] extendedInterfaces = new BitSet[vertexCount];
+    boolean[] inProgress = new boolean[vertexCount];
+    for (int id = 0; id < vertexCount; id++) {
+      collectExtendedInterfaces(id, directlyExtended, extendedInterfaces, inProgress);
+    }
+
+    // superclasses are numbered before their subclasses
+    implementedInterfaces = new BitSet[vertexCount];
+    BitSet[] classInterfaces = new BitSet[vertexCount];
+    for (int id : verticesInPreOrder) {
+      int superClass = superClasses[id];
+      BitSet inherited =
+          superClass == -1 || classInterfaces[superClass] == null
+              ? NO_INTERFACES
+              : classInterfaces[superClass];
+      BitSet interfacesOfClass = inherited;
+      if (directlyImplemented[id].length > 0) {
+        interfacesOfClass = (BitSet) inherited.clone();
+        for (int implemented : directlyImplemented[id]) {
+          interfacesOfClass.set(interfaceNumbers[implemented]);
+          interfacesOfClass.or(extendedInterfaces[implemented]);
+        }
+      }
+      classInterfaces[id] = interfacesOfClass;
+      implementedInterfaces[id] =
+          vertices[id].type == VertexType.Class ? interfacesOfClass : extendedInterfaces[id];
+    }
+
+    int[] implementerCounts = new int[interfaceCount];
+    for (BitSet set : implementedInterfaces) {
+      for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+        implementerCounts[i]++;
+      }
+    }
+    implementers = new ClassType[interfaceCount][];
+    for (int i = 0; i < interfaceCount; i++) {
+      implementers[i] = new ClassType[implementerCounts[i]];
+      implementerCounts[i] = 0;
+    }
+    for (int id = 0; id < vertexCount; id++) {
+      BitSet set = implementedInterfaces[id];
+      for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+        implementers[i][implementerCounts[i]++] = vertices[id].javaClassType;
+      }
+    }
+  }
+
+  /**
+   * Numbers the forest that is formed by the superclass edges in pre-order, starting at the roots
+   * in the order of the ids. Vertices on a cycle of superclass edges are numbered afterwards.
+   * Returns the ids of the vertices in pre-order.
+   */
+  @Nonnull
+  private int[] numberSuperClassForest(@Nonnull Vertex[] vertices, @Nonnull int[] superClasses) {
+    // the direct subclasses of each vertex in compressed form: subClasses[subClassesStart[id]...]
+    int[] subClassesStart = new int[vertexCount + 1];
+    for (int superClass : superClasses) {
+      if (superClass != -1) {
+        subClassesStart[superClass + 1]++;
+      }
+    }
+    for (int id = 0; id < vertexCount; id++) {
+      subClassesStart[id + 1] += subClassesStart[id];
+    }
+    int[] subClasses = new int[subClassesStart[vertexCount]];
+    int[] next = Arrays.copyOf(subClassesStart, vertexCount);
+    for (int id = 0; id < vertexCount; id++) {
+      if (superClasses[id] != -1) {
+        subClasses[next[superClasses[id]]++] = id;
+      }
+    }
+
+    int[] verticesInPreOrder = new int[vertexCount];
+    Arrays.fill(preOrder, -1);
+    int[] stack = new int[vertexCount];
+    int counter = 0;
+    for (int pass = 0; pass < 2; pass++) {
+      for (int root = 0; root < vertexCount; root++) {
+        if (preOrder[root] != -1 || (pass == 0 && superClasses[root] != -1)) {
+          continue;
+        }
+        int stackSize = 0;
+        stack[stackSize++] = root;
+        preOrder[root] = counter;
+        verticesInPreOrder[counter++] = root;
+        // reuse next as cursor over the subclasses of the vertices on the stack
+        next[root] = subClassesStart[root];
+        while (stackSize > 0) {
+          int id = stack[stackSize - 1];
+          if (next[id] < subClassesStart[id + 1]) {
+            int subClass = subClasses[next[id]++];
+            if (preOrder[subClass] == -1) {
+              stack[stackSize++] = subClass;
+              preOrder[subClass] = counter;
+              verticesInPreOrder[counter++] = subClass;
+              next[subClass] = subClassesStart[subClass];
+            }
+          } else {
+            lastInSubtree[id] = counter - 1;
+            stackSize--;
+          }
+        }
+      }
+    }
+    for (int i = 0; i < vertexCount; i++) {
+      typesInPreOrder[i] = vertices[verticesInPreOrder[i]].javaClassType;
+    }
+    return verticesInPreOrder;
+  }
+
+  /** Collects the interfaces the given vertex extends, directly and transitively. */
+  @Nonnull
+  private BitSet collectExtendedInterfaces(
+      int id,
+      @Nonnull int[][] directlyExtended,
+      @Nonnull BitSet[] extendedInterfaces,
+      @Nonnull boolean[] inProgress) {
+    BitSet collected = extendedInterfaces[id];
+    if (collected != null) {
+      return collected;
+    }
+    if (directlyExtended[id].length == 0) {
+      extendedInterfaces[id] = NO_INTERFACES;
+      return NO_INTERFACES;
+    }
+    if (inProgress[id]) {
+      // cyclic extension: the interfaces on the cycle are collected by its first vertex
+      return NO_INTERFACES;
+    }
+    inProgress[id] = true;
+    collected = new BitSet();
+    for (int extended : directlyExtended[id]) {
+      collected.set(interfaceNumbers[extended]);
+      collected.or(
+          collectExtendedInterfaces(extended, directlyExtended, extendedInterfaces, inProgress));
+    }
+    inProgress[id] = false;
+    extendedInterfaces[id] = collected;
+    return collected;
+  }
+
+  /** Returns whether the index covers the given vertex, i.e. it was added before the index. */
+  boolean contains(@Nonnull Vertex vertex) {
+    return vertex.id < vertexCount;
+  }
+
+  /**
+   * Returns true if <code>potentialSubtype</code> is a (transitive) subclass of <code>supertype
+   * </code> or implements or extends it.
+   */
+  boolean isSubtype(@Nonnull Vertex supertype, @Nonnull Vertex potentialSubtype) {
+    int superPreOrder = preOrder[supertype.id];
+    int subPreOrder = preOrder[potentialSubtype.id];
+    if (superPreOrder < subPreOrder && subPreOrder <= lastInSubtree[supertype.id]) {
+      return true;
+    }
+    int interfaceNumber = interfaceNumbers[supertype.id];
+    return interfaceNumber != -1 && implementedInterfaces[potentialSubtype.id].get(interfaceNumber);
+  }
+
+  /** Returns the (transitive) subclasses of the given class. */
+  @Nonnull
+  Stream<ClassType> subclassesOf(@Nonnull Vertex classVertex) {
+    int id = classVertex.id;
+    return Arrays.stream(typesInPreOrder, preOrder[id] + 1, lastInSubtree[id] + 1);
+  }
+
+  /** Returns the types which implement or extend the given interface, directly or transitively. */
+  @Nonnull
+  Stream<ClassType> implementersOf(@Nonnull Vertex interfaceVertex) {
+    int interfaceNumber = interfaceNumbers[interfaceVertex.id];
+    return interfaceNumber == -1 ? Stream.empty() : Arrays.stream(implementers[interfaceNumber]);
+  }
+
+  /** Returns the interfaces the given type implements or extends, directly or transitively. */
+  @Nonnull
+  Stream<ClassType> implementedInterfacesOf(@Nonnull Vertex vertex) {
+    return implementedInterfaces[vertex.id].stream().mapToObj(i -> interfaces[i]);
+  }
+}
@@ -27,14 +27,17 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.SimpleDirectedGraph;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SootClass;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Edge;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.EdgeType;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Vertex;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.VertexType;
 import sootup.core.types.ClassType;
+import sootup.core.types.Type;
 import sootup.core.views.View;
 
 /**
@@ -45,15 +48,46 @@ import sootup.core.views.View;
  */
 public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
+  @Nonnull private final View view;
   private final Supplier<ScanResult> lazyScanResult;
   private final ClassType objectClassType;
 
+  /** whether supertype queries are answered from resolved classes until the view is scanned. */
+  private final boolean incremental;
+
+  /** whether the scan result was built. */
+  private volatile boolean scanned = false;
+
+  /** answers the subtype queries; null if not built yet or outdated by {@link #addType}. */
+  @Nullable private volatile SubtypeIndex subtypeIndex;
+
   /** to allow caching use Typehierarchy.fromView() to get/create the Typehierarchy. */
   public ViewTypeHierarchy(@Nonnull View view) {
+    this(view, false);
+  }
+
+  /**
+   * Creates a type hierarchy of the view, which is scanned on its first query.
+   *
+   * <p>In incremental mode the view is not resolved completely: supertype queries are answered from
+   * the classes that are resolved on demand, as long as no subtype query was made. Subtype queries
+   * need to know every class of the view; their scan only reads the {@link ClassHeader}s of the
+   * classes, see {@link View#getClassHeaders()}.
+   *
+   * @param incremental whether to build the hierarchy incrementally instead of resolving all
+   *     classes of the view
+   */
+  public ViewTypeHierarchy(@Nonnull View view, boolean incremental) {
+    this.view = view;
+    this.incremental = incremental;
     lazyScanResult = Suppliers.memoize(() -> scanView(view));
     objectClassType = view.getIdentifierFactory().getClassType("java.lang.Object");
   }
 
+  public boolean isIncremental() {
+    return incremental;
+  }
+
   @Nonnull
   @Override
   public Stream<ClassType> implementersOf(@Nonnull ClassType interfaceType) {
@@ -64,7 +98,7 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     if (vertex.type != VertexType.Interface) {
       throw new IllegalArgumentException("'" + interfaceType + "' is not an interface.");
     }
-    return subtypesOf(interfaceType);
+    return getSubtypeIndex().implementersOf(vertex);
   }
 
   @Nonnull
@@ -77,7 +111,7 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     if (vertex.type != VertexType.Class) {
       throw new IllegalArgumentException("'" + classType + "' is not a class.");
     }
-    return subtypesOf(classType);
+    return getSubtypeIndex().subclassesOf(vertex);
   }
 
   @Nonnull
@@ -89,8 +123,14 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
       throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
     }
 
-    // We now traverse the subgraph of the vertex to find all its subtypes
-    return visitSubgraph(scanResult.graph, vertex, false);
+    switch (vertex.type) {
+      case Interface:
+        return getSubtypeIndex().implementersOf(vertex);
+      case Class:
+        return getSubtypeIndex().subclassesOf(vertex);
+      default:
+        throw new AssertionError("Unknown vertex type!");
+    }
   }
 
   @Nonnull
@@ -165,6 +205,13 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
   @Override
   public Stream<ClassType> directlyImplementedInterfacesOf(@Nonnull ClassType classType) {
+    if (answersFromResolvedClasses()) {
+      SootClass sootClass = resolveClass(classType);
+      if (sootClass.isInterface()) {
+        throw new IllegalArgumentException(classType + " is not a class.");
+      }
+      return sootClass.getInterfaces().stream().map(type -> (ClassType) type);
+    }
     Vertex vertex = lazyScanResult.get().typeToVertex.get(classType);
     if (vertex == null) {
       throw new IllegalArgumentException("Could not find '" + classType + "' in hierarchy.");
@@ -178,6 +225,13 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   @Nonnull
   @Override
   public Stream<ClassType> directlyExtendedInterfacesOf(@Nonnull ClassType interfaceType) {
+    if (answersFromResolvedClasses()) {
+      SootClass sootClass = resolveClass(interfaceType);
+      if (!sootClass.isInterface()) {
+        throw new IllegalArgumentException(interfaceType + " is not an interface.");
+      }
+      return sootClass.getInterfaces().stream().map(type -> (ClassType) type);
+    }
     Vertex vertex = lazyScanResult.get().typeToVertex.get(interfaceType);
     if (vertex == null) {
       throw new IllegalArgumentException("Could not find " + interfaceType + " in hierarchy.");
@@ -190,12 +244,18 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
   @Override
   public boolean contains(ClassType type) {
+    if (answersFromResolvedClasses()) {
+      return view.getClass(type).isPresent();
+    }
     return lazyScanResult.get().typeToVertex.get(type) != null;
   }
 
   @Nonnull
   @Override
   public Stream<ClassType> implementedInterfacesOf(@Nonnull ClassType type) {
+    if (answersFromResolvedClasses()) {
+      return resolvedImplementedInterfacesOf(type);
+    }
     ScanResult scanResult = lazyScanResult.get();
     Vertex vertex = scanResult.typeToVertex.get(type);
 
@@ -203,46 +263,66 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
       throw new IllegalArgumentException("Could not find " + type + " in this hierarchy.");
     }
 
-    switch (vertex.type) {
-      case Class:
-        // We ascend from vertex through its superclasses to java.lang.Object.
-        // For each superclass, we take the interfaces it implements and merge
-        // them together in a Set.
-        return superClassesOf(vertex, false)
-            .flatMap(this::directImplementedInterfacesOf)
-            .flatMap(this::selfAndImplementedInterfaces)
-            .distinct();
-      case Interface:
-        return directExtendedInterfacesOf(vertex)
-            .flatMap(this::selfAndImplementedInterfaces)
-            .distinct();
-      default:
-        throw new AssertionError("Unexpected vertex type!");
-    }
+    return getSubtypeIndex().implementedInterfacesOf(vertex);
   }
 
   /**
-   * Recursively obtains all interfaces this interface extends, including transitively extended
-   * interfaces.
+   * Returns true if <code>potentialSubtype</code> is a subtype of <code>supertype</code>. If they
+   * are identical, this will return false.
+   *
+   * <p>Subtyping of classes is answered by a precomputed index instead of traversing the hierarchy,
+   * see {@link SubtypeIndex}.
    */
-  @Nonnull
-  private Stream<ClassType> selfAndImplementedInterfaces(Vertex vertex) {
-    ScanResult scanResult = lazyScanResult.get();
-    Graph<Vertex, Edge> graph = scanResult.graph;
-
-    Stream<Vertex> extendedInterfaces =
-        graph.outgoingEdgesOf(vertex).stream()
-            .filter(edge -> edge.type == EdgeType.InterfaceDirectlyExtends)
-            .map(graph::getEdgeTarget);
+  @Override
+  public boolean isSubtype(@Nonnull Type supertype, @Nonnull Type potentialSubtype) {
+    if (supertype instanceof ClassType
+        && potentialSubtype instanceof ClassType
+        && !answersFromResolvedClasses()) {
+      ScanResult scanResult = lazyScanResult.get();
+      Vertex subVertex = scanResult.typeToVertex.get(potentialSubtype);
+      SubtypeIndex index = getSubtypeIndex();
+      if (subVertex != null && index.contains(subVertex)) {
+        Vertex superVertex = scanResult.typeToVertex.get(supertype);
+        if (superVertex != null && index.isSubtype(superVertex, subVertex)) {
+          return true;
+        }
+        // any class is a subtype of java.lang.Object except java.lang.Object itself
+        return ((ClassType) supertype).getFullyQualifiedName().equals("java.lang.Object")
+            && !((ClassType) potentialSubtype).getFullyQualifiedName().equals("java.lang.Object");
+      }
+    }
+    return MutableTypeHierarchy.super.isSubtype(supertype, potentialSubtype);
+  }
 
-    return Stream.concat(
-        Stream.of(vertex.javaClassType),
-        extendedInterfaces.flatMap(this::selfAndImplementedInterfaces));
+  /** Returns the index of the current scan result, which is built on first use. */
+  @Nonnull
+  private SubtypeIndex getSubtypeIndex() {
+    SubtypeIndex index = subtypeIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = subtypeIndex;
+        if (index == null) {
+          index = new SubtypeIndex(lazyScanResult.get());
+          subtypeIndex = index;
+        }
+      }
+    }
+    return index;
   }
 
   @Nonnull
   @Override
   public Optional<ClassType> superClassOf(@Nonnull ClassType classType) {
+    if (answersFromResolvedClasses()) {
+      SootClass sootClass = resolveClass(classType);
+      if (objectClassType.equals(classType)) {
+        return Optional.empty();
+      }
+      if (sootClass.isInterface()) {
+        return Optional.of(objectClassType);
+      }
+      return sootClass.getSuperclass().map(superclass -> (ClassType) superclass);
+    }
     ScanResult scanResult = lazyScanResult.get();
     Vertex classVertex = scanResult.typeToVertex.get(classType);
     if (classVertex == null) {
@@ -266,6 +346,9 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
   @Override
   public boolean isInterface(@Nonnull ClassType type) {
+    if (answersFromResolvedClasses()) {
+      return resolveClass(type).isInterface();
+    }
     Vertex vertex = lazyScanResult.get().typeToVertex.get(type);
     if (vertex == null) {
       throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
@@ -274,6 +357,9 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   }
 
   public boolean isClass(@Nonnull ClassType type) {
+    if (answersFromResolvedClasses()) {
+      return !resolveClass(type).isInterface();
+    }
     Vertex vertex = lazyScanResult.get().typeToVertex.get(type);
     if (vertex == null) {
       throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
@@ -282,34 +368,48 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   }
 
   /**
-   * Visits the subgraph of the specified <code>vertex</code> and calls the <code>visitor</code> for
-   * each vertex in the subgraph. If <code>includeSelf</code> is true, the <code>visitor</code> is
-   * also called with the <code>vertex</code>.
+   * Returns whether queries are answered from the classes of the view as it is not scanned yet, see
+   * {@link #ViewTypeHierarchy(View, boolean)}.
    */
-  private Stream<ClassType> visitSubgraph(
-      Graph<Vertex, Edge> graph, Vertex vertex, boolean includeSelf) {
-    Stream<ClassType> subgraph = includeSelf ? Stream.of(vertex.javaClassType) : Stream.empty();
-    switch (vertex.type) {
-      case Interface:
-        return Stream.concat(
-            subgraph,
-            graph.incomingEdgesOf(vertex).stream()
-                .filter(
-                    edge ->
-                        edge.type == EdgeType.ClassDirectlyImplements
-                            || edge.type == EdgeType.InterfaceDirectlyExtends)
-                .map(graph::getEdgeSource)
-                .flatMap(directSubtype -> visitSubgraph(graph, directSubtype, true)));
-      case Class:
-        return Stream.concat(
-            subgraph,
-            graph.incomingEdgesOf(vertex).stream()
-                .filter(edge -> edge.type == EdgeType.ClassDirectlyExtends)
-                .map(graph::getEdgeSource)
-                .flatMap(directSubclass -> visitSubgraph(graph, directSubclass, true)));
-      default:
-        throw new AssertionError("Unknown vertex type!");
+  private boolean answersFromResolvedClasses() {
+    return incremental && !scanned;
+  }
+
+  @Nonnull
+  private SootClass resolveClass(@Nonnull ClassType type) {
+    return view.getClass(type)
+        .orElseThrow(
+            () -> new IllegalArgumentException("Could not find '" + type + "' in the view."));
+  }
+
+  /** Collects the implemented interfaces of a type by resolving it and its supertypes. */
+  @Nonnull
+  private Stream<ClassType> resolvedImplementedInterfacesOf(@Nonnull ClassType type) {
+    Set<ClassType> interfaces = new LinkedHashSet<>();
+    Deque<ClassType> worklist = new ArrayDeque<>();
+    SootClass sootClass = resolveClass(type);
+    while (sootClass != null) {
+      for (ClassType implementedInterface : sootClass.getInterfaces()) {
+        if (interfaces.add(implementedInterface)) {
+          worklist.add(implementedInterface);
+        }
+      }
+      Optional<? extends ClassType> superclass =
+          sootClass.isInterface() ? Optional.empty() : sootClass.getSuperclass();
+      sootClass = superclass.isPresent() ? view.getClass(superclass.get()).orElse(null) : null;
     }
+    while (!worklist.isEmpty()) {
+      view.getClass(worklist.poll())
+          .ifPresent(
+              superInterface -> {
+                for (ClassType extendedInterface : superInterface.getInterfaces()) {
+                  if (interfaces.add(extendedInterface)) {
+                    worklist.add(extendedInterface);
+                  }
+                }
+              });
+    }
+    return interfaces.stream();
   }
 
   /**
@@ -322,22 +422,30 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
    * implementers as well as other interfaces that extend them.
    *
    * <p>In the graph structure, a type is only connected to its direct subtypes.
+   *
+   * <p>In incremental mode, only the headers of the classes are read instead of resolving them.
    */
   private ScanResult scanView(View view) {
     Map<ClassType, Vertex> typeToVertex = new HashMap<>();
     Graph<Vertex, Edge> graph = new SimpleDirectedGraph<>(null, null, false);
 
-    view.getClasses().forEach(sootClass -> addSootClassToGraph(sootClass, typeToVertex, graph));
+    if (incremental) {
+      view.getClassHeaders().forEach(header -> addClassToGraph(header, typeToVertex, graph));
+    } else {
+      view.getClasses()
+          .forEach(sootClass -> addClassToGraph(ClassHeader.of(sootClass), typeToVertex, graph));
+    }
+    scanned = true;
     return new ScanResult(typeToVertex, graph);
   }
 
-  private static void addSootClassToGraph(
-      SootClass sootClass, Map<ClassType, Vertex> typeToVertex, Graph<Vertex, Edge> graph) {
-    if (sootClass.isInterface()) {
+  private static void addClassToGraph(
+      ClassHeader header, Map<ClassType, Vertex> typeToVertex, Graph<Vertex, Edge> graph) {
+    if (header.isInterface()) {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddInterfaceVertex(graph, type));
-      for (ClassType extendedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddInterfaceVertex(graph, type));
+      for (ClassType extendedInterface : header.getInterfaces()) {
         Vertex extendedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 extendedInterface, type -> createAndAddInterfaceVertex(graph, type));
@@ -346,15 +454,15 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     } else {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddClassVertex(graph, type));
-      for (ClassType implementedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddClassVertex(graph, type));
+      for (ClassType implementedInterface : header.getInterfaces()) {
         Vertex implementedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 implementedInterface, type -> createAndAddInterfaceVertex(graph, type));
         graph.addEdge(
             vertex, implementedInterfaceVertex, new Edge(EdgeType.ClassDirectlyImplements));
       }
-      sootClass
+      header
           .getSuperclass()
           .ifPresent(
               superClass -> {
@@ -368,14 +476,14 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
   @Nonnull
   private static Vertex createAndAddClassVertex(Graph<Vertex, Edge> graph, ClassType type) {
-    Vertex classVertex = new Vertex(type, VertexType.Class);
+    Vertex classVertex = new Vertex(type, VertexType.Class, graph.vertexSet().size());
     graph.addVertex(classVertex);
     return classVertex;
   }
 
   @Nonnull
   private static Vertex createAndAddInterfaceVertex(Graph<Vertex, Edge> graph, ClassType type) {
-    Vertex interfaceVertex = new Vertex(type, VertexType.Interface);
+    Vertex interfaceVertex = new Vertex(type, VertexType.Interface, graph.vertexSet().size());
     graph.addVertex(interfaceVertex);
     return interfaceVertex;
   }
@@ -383,7 +491,10 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   @Override
   public void addType(@Nonnull SootClass sootClass) {
     ScanResult scanResult = lazyScanResult.get();
-    addSootClassToGraph(sootClass, scanResult.typeToVertex, scanResult.graph);
+    synchronized (this) {
+      addClassToGraph(ClassHeader.of(sootClass), scanResult.typeToVertex, scanResult.graph);
+      subtypeIndex = null;
+    }
   }
 
   /** Holds a vertex for each {@link ClassType} encountered during the scan. */
@@ -401,11 +512,16 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     protected static class Vertex {
       @Nonnull final ClassType javaClassType;
       @Nonnull final VertexType type;
+
+      /** the position in which the vertex was added to the graph, starting at 0. */
+      final int id;
+
       int depth = -1;
 
-      Vertex(@Nonnull ClassType javaClassType, @Nonnull VertexType type) {
+      Vertex(@Nonnull ClassType javaClassType, @Nonnull VertexType type, int id) {
         this.javaClassType = javaClassType;
         this.type = type;
+        this.id = id;
       }
     }
 
@@ -0,0 +1,428 @@
+package sootup.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.IdentifierFactory;
+import sootup.core.jimple.basic.FullStmtPositionInfo;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.SimpleStmtPositionInfo;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.common.constant.BooleanConstant;
+import sootup.core.jimple.common.constant.ClassConstant;
+import sootup.core.jimple.common.constant.Constant;
+import sootup.core.jimple.common.constant.DoubleConstant;
+import sootup.core.jimple.common.constant.EnumConstant;
+import sootup.core.jimple.common.constant.FloatConstant;
+import sootup.core.jimple.common.constant.IntConstant;
+import sootup.core.jimple.common.constant.LongConstant;
+import sootup.core.jimple.common.constant.MethodHandle;
+import sootup.core.jimple.common.constant.MethodType;
+import sootup.core.jimple.common.constant.NullConstant;
+import sootup.core.jimple.common.constant.StringConstant;
+import sootup.core.model.FullPosition;
+import sootup.core.model.LinePosition;
+import sootup.core.model.Position;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.types.ClassType;
+import sootup.core.types.NullType;
+import sootup.core.types.Type;
+import sootup.core.types.UnknownType;
+import sootup.core.types.VoidType;
+
+/**
+ * Reads data written by {@link BinaryOutput}. Entries of the constant pool are decoded when they
+ * are referenced for the first time. Reading does not copy the underlying buffer, so it can be used
+ * directly on a memory-mapped file.
+ *
+ * <p>An instance is not thread-safe, but {@link #at(int)} creates independent readers which share
+ * the decoded constant pool.
+ */
+public class BinaryInput {
+
+  @Nonnull private final ByteBuffer buffer;
+  @Nonnull private final ConstantPool pool;
+  private final int payloadStart;
+  private final int payloadEnd;
+
+  /**
+   * Creates a reader for the data starting at the current position of the given buffer.
+   *
+   * @throws IOException if the data does not start with a valid header
+   */
+  public BinaryInput(@Nonnull ByteBuffer bytes, @Nonnull IdentifierFactory identifierFactory)
+      throws IOException {
+    buffer = bytes.duplicate();
+    try {
+      if (buffer.getInt() != BinaryOutput.MAGIC) {
+        throw new IOException("Not a binary Jimple file.");
+      }
+      int version = readVarInt();
+      if (version != BinaryOutput.VERSION) {
+        throw new IOException("Unsupported binary Jimple version " + version + ".");
+      }
+      int poolEntries = readVarInt();
+      int poolSize = readVarInt();
+      int payloadSize = readVarInt();
+      int poolStart = buffer.position();
+      payloadStart = poolStart + poolSize;
+      payloadEnd = payloadStart + payloadSize;
+      if (payloadEnd > buffer.limit() || payloadEnd < payloadStart) {
+        throw new IOException("Binary Jimple data is truncated.");
+      }
+      pool = new ConstantPool(identifierFactory, poolEntries);
+      pool.scan(buffer, poolStart, payloadStart);
+      buffer.position(payloadStart);
+    } catch (RuntimeException e) {
+      throw new IOException("Malformed binary Jimple data.", e);
+    }
+  }
+
+  private BinaryInput(@Nonnull BinaryInput input, int offset) {
+    buffer = input.buffer.duplicate();
+    pool = input.pool;
+    payloadStart = input.payloadStart;
+    payloadEnd = input.payloadEnd;
+    buffer.position(payloadStart + offset);
+  }
+
+  /**
+   * Creates a new reader positioned at the given payload offset (see {@link BinaryOutput#size()}).
+   */
+  @Nonnull
+  public BinaryInput at(int offset) {
+    if (offset < 0 || payloadStart + offset > payloadEnd) {
+      throw new IndexOutOfBoundsException("Offset " + offset + " is outside of the payload.");
+    }
+    return new BinaryInput(this, offset);
+  }
+
+  /** Returns the current payload offset. */
+  public int position() {
+    return buffer.position() - payloadStart;
+  }
+
+  /** Returns the size of the payload. */
+  public int size() {
+    return payloadEnd - payloadStart;
+  }
+
+  public boolean hasRemaining() {
+    return buffer.position() < payloadEnd;
+  }
+
+  @Nonnull
+  public IdentifierFactory getIdentifierFactory() {
+    return pool.identifierFactory;
+  }
+
+  public int readByte() {
+    return buffer.get();
+  }
+
+  public boolean readBoolean() {
+    return buffer.get() != 0;
+  }
+
+  public int readInt() {
+    return buffer.getInt();
+  }
+
+  public int readVarInt() {
+    return readVarInt(buffer);
+  }
+
+  public int readSignedVarInt() {
+    int value = readVarInt(buffer);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  public long readSignedVarLong() {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  public float readFloat() {
+    return Float.intBitsToFloat(buffer.getInt());
+  }
+
+  public double readDouble() {
+    return Double.longBitsToDouble(buffer.getLong());
+  }
+
+  @Nonnull
+  public String readString() {
+    return (String) pool.get(readVarInt());
+  }
+
+  @Nonnull
+  public Type readType() {
+    return (Type) pool.get(readVarInt());
+  }
+
+  @Nonnull
+  public ClassType readClassType() {
+    return (ClassType) readType();
+  }
+
+  @Nonnull
+  public MethodSignature readMethodSignature() {
+    return (MethodSignature) pool.get(readVarInt());
+  }
+
+  @Nonnull
+  public MethodSubSignature readMethodSubSignature() {
+    return (MethodSubSignature) pool.get(readVarInt());
+  }
+
+  @Nonnull
+  public FieldSignature readFieldSignature() {
+    return (FieldSignature) pool.get(readVarInt());
+  }
+
+  @Nonnull
+  public Position readPosition() {
+    switch (buffer.get()) {
+      case BinaryOutput.NO_POSITION:
+        return NoPositionInformation.getInstance();
+      case BinaryOutput.LINE_POSITION:
+        return new LinePosition(readSignedVarInt());
+      case BinaryOutput.FULL_POSITION:
+        return new FullPosition(
+            readSignedVarInt(), readSignedVarInt(), readSignedVarInt(), readSignedVarInt());
+      default:
+        throw new IllegalStateException("Unknown position kind.");
+    }
+  }
+
+  @Nonnull
+  public StmtPositionInfo readStmtPositionInfo() {
+    switch (buffer.get()) {
+      case BinaryOutput.NO_STMT_POSITION:
+        return StmtPositionInfo.getNoStmtPositionInfo();
+      case BinaryOutput.SIMPLE_STMT_POSITION:
+        return new SimpleStmtPositionInfo(readPosition());
+      case BinaryOutput.FULL_STMT_POSITION:
+        Position stmtPosition = readPosition();
+        Position[] operandPositions = new Position[readVarInt()];
+        for (int i = 0; i < operandPositions.length; i++) {
+          operandPositions[i] = readPosition();
+        }
+        return new FullStmtPositionInfo(stmtPosition, operandPositions);
+      default:
+        throw new IllegalStateException("Unknown statement position kind.");
+    }
+  }
+
+  @Nonnull
+  public Constant readConstant() {
+    byte kind = buffer.get();
+    switch (kind) {
+      case BinaryOutput.INT_CONSTANT:
+        return IntConstant.getInstance(readSignedVarInt());
+      case BinaryOutput.LONG_CONSTANT:
+        return LongConstant.getInstance(readSignedVarLong());
+      case BinaryOutput.FLOAT_CONSTANT:
+        return FloatConstant.getInstance(readFloat());
+      case BinaryOutput.DOUBLE_CONSTANT:
+        return DoubleConstant.getInstance(readDouble());
+      case BinaryOutput.STRING_CONSTANT:
+        return new StringConstant(readString(), readType());
+      case BinaryOutput.CLASS_CONSTANT:
+        return new ClassConstant(readString(), readType());
+      case BinaryOutput.NULL_CONSTANT:
+        return NullConstant.getInstance();
+      case BinaryOutput.TRUE_CONSTANT:
+        return BooleanConstant.getTrue();
+      case BinaryOutput.FALSE_CONSTANT:
+        return BooleanConstant.getFalse();
+      case BinaryOutput.ENUM_CONSTANT:
+        return new EnumConstant(readString(), readClassType());
+      case BinaryOutput.METHOD_HANDLE:
+        int tag = readVarInt();
+        if (MethodHandle.isMethodRef(tag)) {
+          return new MethodHandle(readMethodSignature(), tag, readType());
+        }
+        return new MethodHandle(readFieldSignature(), tag, readType());
+      case BinaryOutput.METHOD_TYPE:
+        return new MethodType(readMethodSubSignature(), readClassType());
+      default:
+        throw new IllegalStateException("Unknown constant kind " + kind + ".");
+    }
+  }
+
+  private static int readVarInt(@Nonnull ByteBuffer buffer) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  /** The constant pool; entries are decoded on first access and shared by all readers. */
+  private static final class ConstantPool {
+    @Nonnull private final IdentifierFactory identifierFactory;
+    @Nonnull private final int[] offsets;
+
+    /**
+     * decoded entries. Racing decodes of the same entry are benign as entries are immutable and
+     * equal.
+     */
+    @Nonnull private final Object[] entries;
+
+    @Nullable private ByteBuffer buffer;
+
+    ConstantPool(@Nonnull IdentifierFactory identifierFactory, int size) {
+      this.identifierFactory = identifierFactory;
+      offsets = new int[size];
+      entries = new Object[size];
+    }
+
+    void scan(@Nonnull ByteBuffer bytes, int start, int end) {
+      buffer = bytes.duplicate();
+      buffer.position(start);
+      for (int i = 0; i < offsets.length; i++) {
+        offsets[i] = buffer.position();
+        byte kind = buffer.get();
+        switch (kind) {
+          case BinaryOutput.POOL_STRING:
+            int length = readVarInt(buffer);
+            for (int c = 0; c < length; c++) {
+              readVarInt(buffer);
+            }
+            break;
+          case BinaryOutput.POOL_PRIMITIVE_TYPE:
+          case BinaryOutput.POOL_CLASS_TYPE:
+            readVarInt(buffer);
+            break;
+          case BinaryOutput.POOL_ARRAY_TYPE:
+          case BinaryOutput.POOL_METHOD_SIGNATURE:
+            readVarInt(buffer);
+            readVarInt(buffer);
+            break;
+          case BinaryOutput.POOL_VOID_TYPE:
+          case BinaryOutput.POOL_NULL_TYPE:
+          case BinaryOutput.POOL_UNKNOWN_TYPE:
+            break;
+          case BinaryOutput.POOL_FIELD_SIGNATURE:
+            readVarInt(buffer);
+            readVarInt(buffer);
+            readVarInt(buffer);
+            break;
+          case BinaryOutput.POOL_METHOD_SUBSIGNATURE:
+            readVarInt(buffer);
+            readVarInt(buffer);
+            int parameterCount = readVarInt(buffer);
+            for (int p = 0; p < parameterCount; p++) {
+              readVarInt(buffer);
+            }
+            break;
+          default:
+            throw new IllegalStateException("Unknown constant pool entry kind " + kind + ".");
+        }
+      }
+      if (buffer.position() != end) {
+        throw new IllegalStateException("Constant pool size does not match its entries.");
+      }
+    }
+
+    @Nonnull
+    Object get(int idx) {
+      Object entry = entries[idx];
+      if (entry == null) {
+        entry = decode(idx);
+        entries[idx] = entry;
+      }
+      return entry;
+    }
+
+    @Nonnull
+    private Object decode(int idx) {
+      ByteBuffer bytes = buffer.duplicate();
+      bytes.position(offsets[idx]);
+      byte kind = bytes.get();
+      switch (kind) {
+        case BinaryOutput.POOL_STRING:
+          char[] chars = new char[readVarInt(bytes)];
+          for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) readVarInt(bytes);
+          }
+          return new String(chars);
+        case BinaryOutput.POOL_PRIMITIVE_TYPE:
+          String name = (String) get(readVarInt(bytes));
+          return identifierFactory
+              .getPrimitiveType(name)
+              .orElseThrow(() -> new IllegalStateException("Unknown primitive type " + name));
+        case BinaryOutput.POOL_CLASS_TYPE:
+          return identifierFactory.getClassType((String) get(readVarInt(bytes)));
+        case BinaryOutput.POOL_ARRAY_TYPE:
+          Type baseType = (Type) get(readVarInt(bytes));
+          return identifierFactory.getArrayType(baseType, readVarInt(bytes));
+        case BinaryOutput.POOL_VOID_TYPE:
+          return VoidType.getInstance();
+        case BinaryOutput.POOL_NULL_TYPE:
+          return NullType.getInstance();
+        case BinaryOutput.POOL_UNKNOWN_TYPE:
+          return UnknownType.getInstance();
+        case BinaryOutput.POOL_METHOD_SIGNATURE:
+          ClassType declaringClass = (ClassType) get(readVarInt(bytes));
+          MethodSubSignature subSignature = (MethodSubSignature) get(readVarInt(bytes));
+          return identifierFactory.getMethodSignature(declaringClass, subSignature);
+        case BinaryOutput.POOL_FIELD_SIGNATURE:
+          ClassType fieldClass = (ClassType) get(readVarInt(bytes));
+          String fieldName = (String) get(readVarInt(bytes));
+          return identifierFactory.getFieldSignature(
+              fieldName, fieldClass, (Type) get(readVarInt(bytes)));
+        case BinaryOutput.POOL_METHOD_SUBSIGNATURE:
+          String methodName = (String) get(readVarInt(bytes));
+          Type returnType = (Type) get(readVarInt(bytes));
+          int parameterCount = readVarInt(bytes);
+          List<Type> parameterTypes = new ArrayList<>(parameterCount);
+          for (int i = 0; i < parameterCount; i++) {
+            parameterTypes.add((Type) get(readVarInt(bytes)));
+          }
+          return identifierFactory.getMethodSubSignature(methodName, returnType, parameterTypes);
+        default:
+          throw new IllegalStateException("Unknown constant pool entry kind " + kind + ".");
+      }
+    }
+  }
+}
@@ -0,0 +1,469 @@
+package sootup.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.jimple.basic.FullStmtPositionInfo;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.SimpleStmtPositionInfo;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.common.constant.BooleanConstant;
+import sootup.core.jimple.common.constant.ClassConstant;
+import sootup.core.jimple.common.constant.Constant;
+import sootup.core.jimple.common.constant.DoubleConstant;
+import sootup.core.jimple.common.constant.EnumConstant;
+import sootup.core.jimple.common.constant.FloatConstant;
+import sootup.core.jimple.common.constant.IntConstant;
+import sootup.core.jimple.common.constant.LongConstant;
+import sootup.core.jimple.common.constant.MethodHandle;
+import sootup.core.jimple.common.constant.MethodType;
+import sootup.core.jimple.common.constant.NullConstant;
+import sootup.core.jimple.common.constant.StringConstant;
+import sootup.core.model.LinePosition;
+import sootup.core.model.Position;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.NullType;
+import sootup.core.types.PrimitiveType;
+import sootup.core.types.Type;
+import sootup.core.types.UnknownType;
+import sootup.core.types.VoidType;
+
+/**
+ * Collects data in the compact binary format that is read by {@link BinaryInput}. Integers are
+ * written as variable length quantities and strings, types and signatures are stored once in a
+ * constant pool and referenced by their index.
+ *
+ * <p>The written data starts with a header and the constant pool, followed by the payload in the
+ * order it was written. Offsets returned by {@link #size()} are relative to the start of the
+ * payload.
+ */
+public class BinaryOutput {
+
+  static final int MAGIC = 0x53555042; // "SUPB"
+  static final int VERSION = 1;
+
+  // constant pool entries
+  static final byte POOL_STRING = 0;
+  static final byte POOL_PRIMITIVE_TYPE = 1;
+  static final byte POOL_CLASS_TYPE = 2;
+  static final byte POOL_ARRAY_TYPE = 3;
+  static final byte POOL_VOID_TYPE = 4;
+  static final byte POOL_NULL_TYPE = 5;
+  static final byte POOL_UNKNOWN_TYPE = 6;
+  static final byte POOL_METHOD_SIGNATURE = 7;
+  static final byte POOL_FIELD_SIGNATURE = 8;
+  static final byte POOL_METHOD_SUBSIGNATURE = 9;
+
+  // positions
+  static final byte NO_POSITION = 0;
+  static final byte LINE_POSITION = 1;
+  static final byte FULL_POSITION = 2;
+  static final byte NO_STMT_POSITION = 0;
+  static final byte SIMPLE_STMT_POSITION = 1;
+  static final byte FULL_STMT_POSITION = 2;
+
+  // constants
+  static final byte INT_CONSTANT = 0;
+  static final byte LONG_CONSTANT = 1;
+  static final byte FLOAT_CONSTANT = 2;
+  static final byte DOUBLE_CONSTANT = 3;
+  static final byte STRING_CONSTANT = 4;
+  static final byte CLASS_CONSTANT = 5;
+  static final byte NULL_CONSTANT = 6;
+  static final byte TRUE_CONSTANT = 7;
+  static final byte FALSE_CONSTANT = 8;
+  static final byte ENUM_CONSTANT = 9;
+  static final byte METHOD_HANDLE = 10;
+  static final byte METHOD_TYPE = 11;
+
+  @Nonnull private final Buffer pool = new Buffer(1024);
+  @Nonnull private final Buffer data = new Buffer(4096);
+  @Nonnull private final Map<Object, Integer> poolIndices = new HashMap<>();
+
+  /** Returns the number of payload bytes written so far. */
+  public int size() {
+    return data.size;
+  }
+
+  /**
+   * Discards the payload written after the given offset, e.g. after a failed write. Constant pool
+   * entries are kept.
+   */
+  public void truncate(int size) {
+    if (size < 0 || size > data.size) {
+      throw new IndexOutOfBoundsException("Size " + size + " is outside of the payload.");
+    }
+    data.size = size;
+  }
+
+  public void writeByte(int value) {
+    data.put((byte) value);
+  }
+
+  public void writeBoolean(boolean value) {
+    data.put((byte) (value ? 1 : 0));
+  }
+
+  /** Writes an int in exactly 4 bytes, e.g. an offset that has to be found from the end. */
+  public void writeInt(int value) {
+    data.putFixedInt(value);
+  }
+
+  /** Writes a non-negative int in 1 to 5 bytes. */
+  public void writeVarInt(int value) {
+    data.putVarInt(value);
+  }
+
+  /** Writes an int that may be negative, using zigzag encoding. */
+  public void writeSignedVarInt(int value) {
+    data.putVarInt((value << 1) ^ (value >> 31));
+  }
+
+  /** Writes a long that may be negative, using zigzag encoding. */
+  public void writeSignedVarLong(long value) {
+    data.putVarLong((value << 1) ^ (value >> 63));
+  }
+
+  public void writeFloat(float value) {
+    data.putFixedInt(Float.floatToRawIntBits(value));
+  }
+
+  public void writeDouble(double value) {
+    data.putFixedLong(Double.doubleToRawLongBits(value));
+  }
+
+  public void writeString(@Nonnull String value) {
+    data.putVarInt(stringIndex(value));
+  }
+
+  public void writeType(@Nonnull Type type) {
+    data.putVarInt(typeIndex(type));
+  }
+
+  public void writeMethodSignature(@Nonnull MethodSignature signature) {
+    data.putVarInt(methodSignatureIndex(signature));
+  }
+
+  public void writeMethodSubSignature(@Nonnull MethodSubSignature subSignature) {
+    data.putVarInt(methodSubSignatureIndex(subSignature));
+  }
+
+  public void writeFieldSignature(@Nonnull FieldSignature signature) {
+    data.putVarInt(fieldSignatureIndex(signature));
+  }
+
+  public void writePosition(@Nullable Position position) {
+    if (position == null || position == NoPositionInformation.getInstance()) {
+      data.put(NO_POSITION);
+    } else if (position instanceof LinePosition) {
+      data.put(LINE_POSITION);
+      writeSignedVarInt(position.getFirstLine());
+    } else {
+      data.put(FULL_POSITION);
+      writeSignedVarInt(position.getFirstLine());
+      writeSignedVarInt(position.getFirstCol());
+      writeSignedVarInt(position.getLastLine());
+      writeSignedVarInt(position.getLastCol());
+    }
+  }
+
+  public void writeStmtPositionInfo(@Nonnull StmtPositionInfo positionInfo) {
+    if (positionInfo instanceof FullStmtPositionInfo) {
+      FullStmtPositionInfo fullPositionInfo = (FullStmtPositionInfo) positionInfo;
+      data.put(FULL_STMT_POSITION);
+      writePosition(fullPositionInfo.getStmtPosition());
+      int operandCount = fullPositionInfo.getOperandPositionCount();
+      data.putVarInt(operandCount);
+      for (int i = 0; i < operandCount; i++) {
+        writePosition(fullPositionInfo.getOperandPosition(i));
+      }
+    } else if (positionInfo instanceof SimpleStmtPositionInfo) {
+      data.put(SIMPLE_STMT_POSITION);
+      writePosition(positionInfo.getStmtPosition());
+    } else {
+      data.put(NO_STMT_POSITION);
+    }
+  }
+
+  public void writeConstant(@Nonnull Constant constant) {
+    if (constant instanceof IntConstant) {
+      data.put(INT_CONSTANT);
+      writeSignedVarInt(((IntConstant) constant).getValue());
+    } else if (constant instanceof LongConstant) {
+      data.put(LONG_CONSTANT);
+      writeSignedVarLong(((LongConstant) constant).getValue());
+    } else if (constant instanceof FloatConstant) {
+      data.put(FLOAT_CONSTANT);
+      writeFloat(((FloatConstant) constant).getValue());
+    } else if (constant instanceof DoubleConstant) {
+      data.put(DOUBLE_CONSTANT);
+      writeDouble(((DoubleConstant) constant).getValue());
+    } else if (constant instanceof StringConstant) {
+      data.put(STRING_CONSTANT);
+      writeString(((StringConstant) constant).getValue());
+      writeType(constant.getType());
+    } else if (constant instanceof ClassConstant) {
+      data.put(CLASS_CONSTANT);
+      writeString(((ClassConstant) constant).getValue());
+      writeType(constant.getType());
+    } else if (constant instanceof NullConstant) {
+      data.put(NULL_CONSTANT);
+    } else if (constant instanceof BooleanConstant) {
+      data.put(constant == BooleanConstant.getTrue() ? TRUE_CONSTANT : FALSE_CONSTANT);
+    } else if (constant instanceof EnumConstant) {
+      data.put(ENUM_CONSTANT);
+      writeString(((EnumConstant) constant).getValue());
+      writeType(constant.getType());
+    } else if (constant instanceof MethodHandle) {
+      MethodHandle handle = (MethodHandle) constant;
+      data.put(METHOD_HANDLE);
+      data.putVarInt(handle.getKind().getValue());
+      if (handle.isMethodRef()) {
+        writeMethodSignature((MethodSignature) handle.getReferenceSignature());
+      } else {
+        writeFieldSignature((FieldSignature) handle.getReferenceSignature());
+      }
+      writeType(handle.getType());
+    } else if (constant instanceof MethodType) {
+      data.put(METHOD_TYPE);
+      writeMethodSubSignature(((MethodType) constant).getSubSignature());
+      writeType(constant.getType());
+    } else {
+      throw new IllegalArgumentException(
+          "Constant " + constant + " of " + constant.getClass() + " can not be serialized.");
+    }
+  }
+
+  /**
+   * Writes the header, the constant pool and the payload.
+   *
+   * @param outputStream the stream to write to; it is not closed
+   */
+  public void writeTo(@Nonnull OutputStream outputStream) throws IOException {
+    Buffer header = header();
+    outputStream.write(header.bytes, 0, header.size);
+    outputStream.write(pool.bytes, 0, pool.size);
+    outputStream.write(data.bytes, 0, data.size);
+  }
+
+  @Nonnull
+  public byte[] toByteArray() {
+    Buffer header = header();
+    byte[] bytes = Arrays.copyOf(header.bytes, header.size + pool.size + data.size);
+    System.arraycopy(pool.bytes, 0, bytes, header.size, pool.size);
+    System.arraycopy(data.bytes, 0, bytes, header.size + pool.size, data.size);
+    return bytes;
+  }
+
+  @Nonnull
+  private Buffer header() {
+    Buffer header = new Buffer(24);
+    header.putFixedInt(MAGIC);
+    header.putVarInt(VERSION);
+    header.putVarInt(poolIndices.size());
+    header.putVarInt(pool.size);
+    header.putVarInt(data.size);
+    return header;
+  }
+
+  private int stringIndex(@Nonnull String value) {
+    Integer idx = poolIndices.get(value);
+    if (idx != null) {
+      return idx;
+    }
+    pool.put(POOL_STRING);
+    final int length = value.length();
+    pool.putVarInt(length);
+    for (int i = 0; i < length; i++) {
+      // chars instead of UTF-8 to keep unpaired surrogates of obfuscated names
+      pool.putVarInt(value.charAt(i));
+    }
+    return addPoolEntry(value);
+  }
+
+  private int typeIndex(@Nonnull Type type) {
+    Integer idx = poolIndices.get(type);
+    if (idx != null) {
+      return idx;
+    }
+    if (type instanceof PrimitiveType) {
+      if (!isJvmPrimitiveType(type)) {
+        // e.g. intermediate types of the type assigner which can not be recreated by name
+        throw new IllegalArgumentException(
+            "Type " + type + " of " + type.getClass() + " can not be serialized.");
+      }
+      int nameIdx = stringIndex(((PrimitiveType) type).getName());
+      pool.put(POOL_PRIMITIVE_TYPE);
+      pool.putVarInt(nameIdx);
+    } else if (type instanceof ClassType) {
+      int nameIdx = stringIndex(((ClassType) type).getFullyQualifiedName());
+      pool.put(POOL_CLASS_TYPE);
+      pool.putVarInt(nameIdx);
+    } else if (type instanceof ArrayType) {
+      int baseTypeIdx = typeIndex(((ArrayType) type).getBaseType());
+      pool.put(POOL_ARRAY_TYPE);
+      pool.putVarInt(baseTypeIdx);
+      pool.putVarInt(((ArrayType) type).getDimension());
+    } else if (type instanceof VoidType) {
+      pool.put(POOL_VOID_TYPE);
+    } else if (type instanceof NullType) {
+      pool.put(POOL_NULL_TYPE);
+    } else if (type instanceof UnknownType) {
+      pool.put(POOL_UNKNOWN_TYPE);
+    } else {
+      throw new IllegalArgumentException(
+          "Type " + type + " of " + type.getClass() + " can not be serialized.");
+    }
+    return addPoolEntry(type);
+  }
+
+  private static boolean isJvmPrimitiveType(@Nonnull Type type) {
+    return type == PrimitiveType.getBoolean()
+        || type == PrimitiveType.getByte()
+        || type == PrimitiveType.getChar()
+        || type == PrimitiveType.getShort()
+        || type == PrimitiveType.getInt()
+        || type == PrimitiveType.getLong()
+        || type == PrimitiveType.getFloat()
+        || type == PrimitiveType.getDouble();
+  }
+
+  private int methodSignatureIndex(@Nonnull MethodSignature signature) {
+    Integer idx = poolIndices.get(signature);
+    if (idx != null) {
+      return idx;
+    }
+    int classIdx = typeIndex(signature.getDeclClassType());
+    int subSignatureIdx = methodSubSignatureIndex(signature.getSubSignature());
+    pool.put(POOL_METHOD_SIGNATURE);
+    pool.putVarInt(classIdx);
+    pool.putVarInt(subSignatureIdx);
+    return addPoolEntry(signature);
+  }
+
+  private int methodSubSignatureIndex(@Nonnull MethodSubSignature subSignature) {
+    Integer idx = poolIndices.get(subSignature);
+    if (idx != null) {
+      return idx;
+    }
+    int nameIdx = stringIndex(subSignature.getName());
+    int returnTypeIdx = typeIndex(subSignature.getType());
+    List<Type> parameterTypes = subSignature.getParameterTypes();
+    int[] parameterTypeIdx = new int[parameterTypes.size()];
+    for (int i = 0; i < parameterTypeIdx.length; i++) {
+      parameterTypeIdx[i] = typeIndex(parameterTypes.get(i));
+    }
+    pool.put(POOL_METHOD_SUBSIGNATURE);
+    pool.putVarInt(nameIdx);
+    pool.putVarInt(returnTypeIdx);
+    pool.putVarInt(parameterTypeIdx.length);
+    for (int typeIdx : parameterTypeIdx) {
+      pool.putVarInt(typeIdx);
+    }
+    return addPoolEntry(subSignature);
+  }
+
+  private int fieldSignatureIndex(@Nonnull FieldSignature signature) {
+    Integer idx = poolIndices.get(signature);
+    if (idx != null) {
+      return idx;
+    }
+    int classIdx = typeIndex(signature.getDeclClassType());
+    int nameIdx = stringIndex(signature.getName());
+    int typeIdx = typeIndex(signature.getType());
+    pool.put(POOL_FIELD_SIGNATURE);
+    pool.putVarInt(classIdx);
+    pool.putVarInt(nameIdx);
+    pool.putVarInt(typeIdx);
+    return addPoolEntry(signature);
+  }
+
+  private int addPoolEntry(@Nonnull Object key) {
+    int idx = poolIndices.size();
+    poolIndices.put(key, idx);
+    return idx;
+  }
+
+  /** A growable byte array. */
+  private static final class Buffer {
+    private byte[] bytes;
+    private int size = 0;
+
+    Buffer(int initialCapacity) {
+      bytes = new byte[initialCapacity];
+    }
+
+    void put(byte value) {
+      ensureCapacity(1);
+      bytes[size++] = value;
+    }
+
+    void putVarInt(int value) {
+      ensureCapacity(5);
+      while ((value & ~0x7F) != 0) {
+        bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bytes[size++] = (byte) value;
+    }
+
+    void putVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bytes[size++] = (byte) value;
+    }
+
+    void putFixedInt(int value) {
+      ensureCapacity(4);
+      bytes[size++] = (byte) (value >>> 24);
+      bytes[size++] = (byte) (value >>> 16);
+      bytes[size++] = (byte) (value >>> 8);
+      bytes[size++] = (byte) value;
+    }
+
+    void putFixedLong(long value) {
+      putFixedInt((int) (value >>> 32));
+      putFixedInt((int) value);
+    }
+
+    private void ensureCapacity(int additional) {
+      if (size + additional > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + additional));
+      }
+    }
+  }
+}
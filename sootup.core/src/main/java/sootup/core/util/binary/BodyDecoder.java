@@ -0,0 +1,337 @@
+package sootup.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static sootup.core.util.binary.BodyEncoder.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.IdentifierFactory;
+import sootup.core.graph.MutableBlockStmtGraph;
+import sootup.core.jimple.Jimple;
+import sootup.core.jimple.basic.Immediate;
+import sootup.core.jimple.basic.LValue;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Trap;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.IntConstant;
+import sootup.core.jimple.common.expr.*;
+import sootup.core.jimple.common.ref.*;
+import sootup.core.jimple.common.stmt.*;
+import sootup.core.model.Body;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.Type;
+
+/** Reads a {@link Body} written by {@link BodyEncoder}. */
+public class BodyDecoder {
+
+  /** Reads the body at the current position of the given input. */
+  @Nonnull
+  public Body read(@Nonnull BinaryInput in) {
+    return new Reader(in).read();
+  }
+
+  /** Reads the declaration of a local written by {@link BodyEncoder#writeLocal}. */
+  @Nonnull
+  protected Local readLocal(@Nonnull BinaryInput in) {
+    String name = in.readString();
+    return Jimple.newLocal(name, in.readType());
+  }
+
+  /** Holds the state of reading a single body. */
+  private class Reader {
+
+    @Nonnull private final BinaryInput in;
+    @Nonnull private final IdentifierFactory identifierFactory;
+    private Local[] locals;
+
+    Reader(@Nonnull BinaryInput in) {
+      this.in = in;
+      this.identifierFactory = in.getIdentifierFactory();
+    }
+
+    @Nonnull
+    Body read() {
+      final MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+      Body.BodyBuilder builder = Body.builder(graph);
+      builder.setMethodSignature(in.readMethodSignature());
+      builder.setPosition(in.readPosition());
+
+      locals = new Local[in.readVarInt()];
+      Set<Local> localSet = new LinkedHashSet<>(locals.length);
+      for (int i = 0; i < locals.length; i++) {
+        locals[i] = readLocal(in);
+        localSet.add(locals[i]);
+      }
+      builder.setLocals(localSet);
+
+      final int stmtCount = in.readVarInt();
+      List<Stmt> stmts = new ArrayList<>(stmtCount);
+      // a block starts at every branch target and trap boundary and after every branching stmt
+      boolean[] blockStarts = new boolean[stmtCount + 1];
+      Map<BranchingStmt, int[]> branchTargets = new HashMap<>();
+      for (int i = 0; i < stmtCount; i++) {
+        Stmt stmt = readStmt();
+        stmts.add(stmt);
+        if (stmt instanceof BranchingStmt) {
+          int[] targets = new int[in.readVarInt()];
+          for (int t = 0; t < targets.length; t++) {
+            targets[t] = in.readVarInt();
+            blockStarts[targets[t]] = true;
+          }
+          branchTargets.put((BranchingStmt) stmt, targets);
+        }
+        if (stmt.branches() || !stmt.fallsThrough()) {
+          blockStarts[i + 1] = true;
+        }
+      }
+
+      final int trapCount = in.readVarInt();
+      List<Trap> traps = new ArrayList<>(trapCount);
+      for (int i = 0; i < trapCount; i++) {
+        ClassType exceptionType = in.readClassType();
+        int begin = in.readVarInt();
+        int end = in.readVarInt();
+        int handler = in.readVarInt();
+        blockStarts[begin] = true;
+        blockStarts[end] = true;
+        blockStarts[handler] = true;
+        traps.add(
+            Jimple.newTrap(exceptionType, stmts.get(begin), stmts.get(end), stmts.get(handler)));
+      }
+
+      Map<BranchingStmt, List<Stmt>> successors = new HashMap<>(branchTargets.size());
+      branchTargets.forEach(
+          (stmt, targetIdxs) -> {
+            List<Stmt> targets = new ArrayList<>(targetIdxs.length);
+            for (int idx : targetIdxs) {
+              targets.add(stmts.get(idx));
+            }
+            successors.put(stmt, targets);
+          });
+
+      List<List<Stmt>> blocks = new ArrayList<>();
+      List<Stmt> block = null;
+      for (int i = 0; i < stmtCount; i++) {
+        if (block == null || blockStarts[i]) {
+          block = new ArrayList<>();
+          blocks.add(block);
+        }
+        block.add(stmts.get(i));
+      }
+
+      graph.initializeWith(blocks, successors, traps);
+      return builder.build();
+    }
+
+    @Nonnull
+    private Stmt readStmt() {
+      byte kind = (byte) in.readByte();
+      StmtPositionInfo positionInfo = in.readStmtPositionInfo();
+      switch (kind) {
+        case NOP_STMT:
+          return Jimple.newNopStmt(positionInfo);
+        case BREAKPOINT_STMT:
+          return Jimple.newBreakpointStmt(positionInfo);
+        case RETURN_VOID_STMT:
+          return Jimple.newReturnVoidStmt(positionInfo);
+        case GOTO_STMT:
+          return Jimple.newGotoStmt(positionInfo);
+        case RETURN_STMT:
+          return Jimple.newReturnStmt(readImmediate(), positionInfo);
+        case THROW_STMT:
+          return Jimple.newThrowStmt(readImmediate(), positionInfo);
+        case ENTER_MONITOR_STMT:
+          return Jimple.newEnterMonitorStmt(readImmediate(), positionInfo);
+        case EXIT_MONITOR_STMT:
+          return Jimple.newExitMonitorStmt(readImmediate(), positionInfo);
+        case RET_STMT:
+          return Jimple.newRetStmt(readImmediate(), positionInfo);
+        case IF_STMT:
+          return Jimple.newIfStmt((AbstractConditionExpr) readValue(), positionInfo);
+        case IDENTITY_STMT:
+          Local local = readLocalRef();
+          return Jimple.newIdentityStmt(local, (IdentityRef) readValue(), positionInfo);
+        case ASSIGN_STMT:
+          LValue lValue = (LValue) readValue();
+          return Jimple.newAssignStmt(lValue, readValue(), positionInfo);
+        case INVOKE_STMT:
+          return Jimple.newInvokeStmt((AbstractInvokeExpr) readValue(), positionInfo);
+        case TABLE_SWITCH_STMT:
+          Immediate key = readImmediate();
+          int lowIndex = in.readSignedVarInt();
+          return Jimple.newTableSwitchStmt(key, lowIndex, in.readSignedVarInt(), positionInfo);
+        case LOOKUP_SWITCH_STMT:
+          Immediate lookupKey = readImmediate();
+          int valueCount = in.readVarInt();
+          List<IntConstant> lookupValues = new ArrayList<>(valueCount);
+          for (int i = 0; i < valueCount; i++) {
+            lookupValues.add(IntConstant.getInstance(in.readSignedVarInt()));
+          }
+          return Jimple.newLookupSwitchStmt(lookupKey, lookupValues, positionInfo);
+        default:
+          throw new IllegalStateException("Unknown stmt kind " + kind + ".");
+      }
+    }
+
+    @Nonnull
+    private Immediate readImmediate() {
+      return (Immediate) readValue();
+    }
+
+    @Nonnull
+    private Local readLocalRef() {
+      return (Local) readValue();
+    }
+
+    @Nonnull
+    private List<Immediate> readImmediates() {
+      int size = in.readVarInt();
+      if (size == 0) {
+        return Collections.emptyList();
+      }
+      List<Immediate> values = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        values.add(readImmediate());
+      }
+      return values;
+    }
+
+    @Nonnull
+    private Value readValue() {
+      byte kind = (byte) in.readByte();
+      switch (kind) {
+        case LOCAL:
+          return locals[in.readVarInt()];
+        case CONSTANT:
+          return in.readConstant();
+        case ADD_EXPR:
+          return new JAddExpr(readImmediate(), readImmediate());
+        case AND_EXPR:
+          return new JAndExpr(readImmediate(), readImmediate());
+        case CMP_EXPR:
+          return new JCmpExpr(readImmediate(), readImmediate());
+        case CMPG_EXPR:
+          return new JCmpgExpr(readImmediate(), readImmediate());
+        case CMPL_EXPR:
+          return new JCmplExpr(readImmediate(), readImmediate());
+        case DIV_EXPR:
+          return new JDivExpr(readImmediate(), readImmediate());
+        case EQ_EXPR:
+          return new JEqExpr(readImmediate(), readImmediate());
+        case NE_EXPR:
+          return new JNeExpr(readImmediate(), readImmediate());
+        case GE_EXPR:
+          return new JGeExpr(readImmediate(), readImmediate());
+        case GT_EXPR:
+          return new JGtExpr(readImmediate(), readImmediate());
+        case LE_EXPR:
+          return new JLeExpr(readImmediate(), readImmediate());
+        case LT_EXPR:
+          return new JLtExpr(readImmediate(), readImmediate());
+        case MUL_EXPR:
+          return new JMulExpr(readImmediate(), readImmediate());
+        case OR_EXPR:
+          return new JOrExpr(readImmediate(), readImmediate());
+        case REM_EXPR:
+          return new JRemExpr(readImmediate(), readImmediate());
+        case SHL_EXPR:
+          return new JShlExpr(readImmediate(), readImmediate());
+        case SHR_EXPR:
+          return new JShrExpr(readImmediate(), readImmediate());
+        case USHR_EXPR:
+          return new JUshrExpr(readImmediate(), readImmediate());
+        case SUB_EXPR:
+          return new JSubExpr(readImmediate(), readImmediate());
+        case XOR_EXPR:
+          return new JXorExpr(readImmediate(), readImmediate());
+        case SPECIAL_INVOKE_EXPR:
+          Local specialBase = readLocalRef();
+          MethodSignature specialMethod = in.readMethodSignature();
+          return new JSpecialInvokeExpr(specialBase, specialMethod, readImmediates());
+        case VIRTUAL_INVOKE_EXPR:
+          Local virtualBase = readLocalRef();
+          MethodSignature virtualMethod = in.readMethodSignature();
+          return new JVirtualInvokeExpr(virtualBase, virtualMethod, readImmediates());
+        case INTERFACE_INVOKE_EXPR:
+          Local interfaceBase = readLocalRef();
+          MethodSignature interfaceMethod = in.readMethodSignature();
+          return new JInterfaceInvokeExpr(interfaceBase, interfaceMethod, readImmediates());
+        case STATIC_INVOKE_EXPR:
+          MethodSignature staticMethod = in.readMethodSignature();
+          return new JStaticInvokeExpr(staticMethod, readImmediates());
+        case DYNAMIC_INVOKE_EXPR:
+          MethodSignature bootstrapMethod = in.readMethodSignature();
+          List<Immediate> bootstrapArgs = readImmediates();
+          MethodSignature dynamicMethod = in.readMethodSignature();
+          int tag = in.readVarInt();
+          return new JDynamicInvokeExpr(
+              bootstrapMethod, bootstrapArgs, dynamicMethod, tag, readImmediates());
+        case CAST_EXPR:
+          Immediate castOp = readImmediate();
+          return new JCastExpr(castOp, in.readType());
+        case INSTANCE_OF_EXPR:
+          Immediate instanceOfOp = readImmediate();
+          return new JInstanceOfExpr(instanceOfOp, in.readType());
+        case NEW_ARRAY_EXPR:
+          Type baseType = in.readType();
+          return new JNewArrayExpr(baseType, readImmediate(), identifierFactory);
+        case NEW_MULTI_ARRAY_EXPR:
+          ArrayType arrayType = (ArrayType) in.readType();
+          return new JNewMultiArrayExpr(arrayType, readImmediates());
+        case NEW_EXPR:
+          return new JNewExpr(in.readClassType());
+        case LENGTH_EXPR:
+          return new JLengthExpr(readImmediate());
+        case NEG_EXPR:
+          return new JNegExpr(readImmediate());
+        case STATIC_FIELD_REF:
+          return new JStaticFieldRef(in.readFieldSignature());
+        case INSTANCE_FIELD_REF:
+          Local fieldBase = readLocalRef();
+          return new JInstanceFieldRef(fieldBase, in.readFieldSignature());
+        case ARRAY_REF:
+          Local arrayBase = readLocalRef();
+          return new JArrayRef(arrayBase, readImmediate());
+        case PARAMETER_REF:
+          Type parameterType = in.readType();
+          return new JParameterRef(parameterType, in.readVarInt());
+        case CAUGHT_EXCEPTION_REF:
+          return new JCaughtExceptionRef(in.readType());
+        case THIS_REF:
+          return new JThisRef(in.readClassType());
+        default:
+          throw new IllegalStateException("Unknown value kind " + kind + ".");
+      }
+    }
+  }
+}
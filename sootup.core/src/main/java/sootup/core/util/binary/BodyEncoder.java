@@ -0,0 +1,625 @@
+package sootup.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import sootup.core.graph.StmtGraph;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.Trap;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.*;
+import sootup.core.jimple.common.expr.*;
+import sootup.core.jimple.common.ref.*;
+import sootup.core.jimple.common.stmt.*;
+import sootup.core.jimple.javabytecode.stmt.*;
+import sootup.core.jimple.visitor.StmtVisitor;
+import sootup.core.jimple.visitor.ValueVisitor;
+import sootup.core.model.Body;
+
+/**
+ * Writes a {@link Body} in the binary format read by {@link BodyDecoder}. Statements are written in
+ * the order of {@link Body#getStmts()}; branch targets and traps reference statements by their
+ * index in that order.
+ *
+ * <p>Bodies in SSA form i.e. containing {@link JPhiExpr}s are not supported.
+ */
+public class BodyEncoder {
+
+  // statements
+  static final byte NOP_STMT = 0;
+  static final byte BREAKPOINT_STMT = 1;
+  static final byte RETURN_VOID_STMT = 2;
+  static final byte GOTO_STMT = 3;
+  static final byte RETURN_STMT = 4;
+  static final byte THROW_STMT = 5;
+  static final byte ENTER_MONITOR_STMT = 6;
+  static final byte EXIT_MONITOR_STMT = 7;
+  static final byte RET_STMT = 8;
+  static final byte IF_STMT = 9;
+  static final byte IDENTITY_STMT = 10;
+  static final byte ASSIGN_STMT = 11;
+  static final byte INVOKE_STMT = 12;
+  static final byte TABLE_SWITCH_STMT = 13;
+  static final byte LOOKUP_SWITCH_STMT = 14;
+
+  // values
+  static final byte LOCAL = 0;
+  static final byte CONSTANT = 1;
+  static final byte ADD_EXPR = 2;
+  static final byte AND_EXPR = 3;
+  static final byte CMP_EXPR = 4;
+  static final byte CMPG_EXPR = 5;
+  static final byte CMPL_EXPR = 6;
+  static final byte DIV_EXPR = 7;
+  static final byte EQ_EXPR = 8;
+  static final byte NE_EXPR = 9;
+  static final byte GE_EXPR = 10;
+  static final byte GT_EXPR = 11;
+  static final byte LE_EXPR = 12;
+  static final byte LT_EXPR = 13;
+  static final byte MUL_EXPR = 14;
+  static final byte OR_EXPR = 15;
+  static final byte REM_EXPR = 16;
+  static final byte SHL_EXPR = 17;
+  static final byte SHR_EXPR = 18;
+  static final byte USHR_EXPR = 19;
+  static final byte SUB_EXPR = 20;
+  static final byte XOR_EXPR = 21;
+  static final byte SPECIAL_INVOKE_EXPR = 22;
+  static final byte VIRTUAL_INVOKE_EXPR = 23;
+  static final byte INTERFACE_INVOKE_EXPR = 24;
+  static final byte STATIC_INVOKE_EXPR = 25;
+  static final byte DYNAMIC_INVOKE_EXPR = 26;
+  static final byte CAST_EXPR = 27;
+  static final byte INSTANCE_OF_EXPR = 28;
+  static final byte NEW_ARRAY_EXPR = 29;
+  static final byte NEW_MULTI_ARRAY_EXPR = 30;
+  static final byte NEW_EXPR = 31;
+  static final byte LENGTH_EXPR = 32;
+  static final byte NEG_EXPR = 33;
+  static final byte STATIC_FIELD_REF = 34;
+  static final byte INSTANCE_FIELD_REF = 35;
+  static final byte ARRAY_REF = 36;
+  static final byte PARAMETER_REF = 37;
+  static final byte CAUGHT_EXCEPTION_REF = 38;
+  static final byte THIS_REF = 39;
+
+  /**
+   * Writes the given body.
+   *
+   * @throws IllegalArgumentException if the body contains elements that can not be serialized
+   */
+  public void write(@Nonnull Body body, @Nonnull BinaryOutput out) {
+    new Writer(out).write(body);
+  }
+
+  /**
+   * Writes the declaration of a local. Subclasses can store additional, language specific
+   * information and have to read it in {@link BodyDecoder#readLocal(BinaryInput)}.
+   */
+  protected void writeLocal(@Nonnull Local local, @Nonnull BinaryOutput out) {
+    out.writeString(local.getName());
+    out.writeType(local.getType());
+  }
+
+  /** Holds the state of writing a single body. */
+  private class Writer implements StmtVisitor, ValueVisitor {
+
+    @Nonnull private final BinaryOutput out;
+    @Nonnull private final Map<Local, Integer> localIndices = new HashMap<>();
+    @Nonnull private final Map<Stmt, Integer> stmtIndices = new IdentityHashMap<>();
+
+    Writer(@Nonnull BinaryOutput out) {
+      this.out = out;
+    }
+
+    void write(@Nonnull Body body) {
+      out.writeMethodSignature(body.getMethodSignature());
+      out.writePosition(body.getPosition());
+
+      out.writeVarInt(body.getLocalCount());
+      for (Local local : body.getLocals()) {
+        localIndices.put(local, localIndices.size());
+        writeLocal(local, out);
+      }
+
+      StmtGraph<?> graph = body.getStmtGraph();
+      List<Stmt> stmts = body.getStmts();
+      for (Stmt stmt : stmts) {
+        stmtIndices.put(stmt, stmtIndices.size());
+      }
+      out.writeVarInt(stmts.size());
+      for (Stmt stmt : stmts) {
+        stmt.accept(this);
+        if (stmt instanceof BranchingStmt) {
+          List<Stmt> targets = graph.getBranchTargetsOf((BranchingStmt) stmt);
+          out.writeVarInt(targets.size());
+          for (Stmt target : targets) {
+            writeStmtIndex(target);
+          }
+        }
+      }
+
+      List<Trap> traps = graph.buildTraps();
+      out.writeVarInt(traps.size());
+      for (Trap trap : traps) {
+        out.writeType(trap.getExceptionType());
+        writeStmtIndex(trap.getBeginStmt());
+        writeStmtIndex(trap.getEndStmt());
+        writeStmtIndex(trap.getHandlerStmt());
+      }
+    }
+
+    private void writeStmtIndex(@Nonnull Stmt stmt) {
+      Integer idx = stmtIndices.get(stmt);
+      if (idx == null) {
+        throw new IllegalArgumentException("Stmt '" + stmt + "' is not part of the body.");
+      }
+      out.writeVarInt(idx);
+    }
+
+    private void writeStmt(byte kind, @Nonnull Stmt stmt) {
+      out.writeByte(kind);
+      out.writeStmtPositionInfo(stmt.getPositionInfo());
+    }
+
+    private void writeValue(@Nonnull Value value) {
+      value.accept(this);
+    }
+
+    private void writeValues(@Nonnull List<? extends Value> values) {
+      out.writeVarInt(values.size());
+      for (Value value : values) {
+        writeValue(value);
+      }
+    }
+
+    private void writeBinop(byte kind, @Nonnull AbstractBinopExpr expr) {
+      out.writeByte(kind);
+      writeValue(expr.getOp1());
+      writeValue(expr.getOp2());
+    }
+
+    private void writeInstanceInvoke(byte kind, @Nonnull AbstractInstanceInvokeExpr expr) {
+      out.writeByte(kind);
+      writeValue(expr.getBase());
+      out.writeMethodSignature(expr.getMethodSignature());
+      writeValues(expr.getArgs());
+    }
+
+    @Override
+    public void caseBreakpointStmt(@Nonnull JBreakpointStmt stmt) {
+      writeStmt(BREAKPOINT_STMT, stmt);
+    }
+
+    @Override
+    public void caseInvokeStmt(@Nonnull JInvokeStmt stmt) {
+      writeStmt(INVOKE_STMT, stmt);
+      writeValue(stmt.getInvokeExpr().get());
+    }
+
+    @Override
+    public void caseAssignStmt(@Nonnull JAssignStmt stmt) {
+      writeStmt(ASSIGN_STMT, stmt);
+      writeValue(stmt.getLeftOp());
+      writeValue(stmt.getRightOp());
+    }
+
+    @Override
+    public void caseIdentityStmt(@Nonnull JIdentityStmt stmt) {
+      writeStmt(IDENTITY_STMT, stmt);
+      writeValue(stmt.getLeftOp());
+      writeValue(stmt.getRightOp());
+    }
+
+    @Override
+    public void caseEnterMonitorStmt(@Nonnull JEnterMonitorStmt stmt) {
+      writeStmt(ENTER_MONITOR_STMT, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseExitMonitorStmt(@Nonnull JExitMonitorStmt stmt) {
+      writeStmt(EXIT_MONITOR_STMT, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseGotoStmt(@Nonnull JGotoStmt stmt) {
+      writeStmt(GOTO_STMT, stmt);
+    }
+
+    @Override
+    public void caseIfStmt(@Nonnull JIfStmt stmt) {
+      writeStmt(IF_STMT, stmt);
+      writeValue(stmt.getCondition());
+    }
+
+    @Override
+    public void caseNopStmt(@Nonnull JNopStmt stmt) {
+      writeStmt(NOP_STMT, stmt);
+    }
+
+    @Override
+    public void caseRetStmt(@Nonnull JRetStmt stmt) {
+      writeStmt(RET_STMT, stmt);
+      writeValue(stmt.getStmtAddress());
+    }
+
+    @Override
+    public void caseReturnStmt(@Nonnull JReturnStmt stmt) {
+      writeStmt(RETURN_STMT, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseReturnVoidStmt(@Nonnull JReturnVoidStmt stmt) {
+      writeStmt(RETURN_VOID_STMT, stmt);
+    }
+
+    @Override
+    public void caseSwitchStmt(@Nonnull JSwitchStmt stmt) {
+      List<IntConstant> values = stmt.getValues();
+      if (stmt.isTableSwitch()) {
+        writeStmt(TABLE_SWITCH_STMT, stmt);
+        writeValue(stmt.getKey());
+        out.writeSignedVarInt(values.get(0).getValue());
+        out.writeSignedVarInt(values.get(values.size() - 1).getValue());
+      } else {
+        writeStmt(LOOKUP_SWITCH_STMT, stmt);
+        writeValue(stmt.getKey());
+        out.writeVarInt(values.size());
+        for (IntConstant value : values) {
+          out.writeSignedVarInt(value.getValue());
+        }
+      }
+    }
+
+    @Override
+    public void caseThrowStmt(@Nonnull JThrowStmt stmt) {
+      writeStmt(THROW_STMT, stmt);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void defaultCaseStmt(@Nonnull Stmt stmt) {
+      throw new IllegalArgumentException(
+          "Stmt '" + stmt + "' of " + stmt.getClass() + " can not be serialized.");
+    }
+
+    @Override
+    public void caseLocal(@Nonnull Local local) {
+      Integer idx = localIndices.get(local);
+      if (idx == null) {
+        throw new IllegalArgumentException("Local '" + local + "' is not declared in the body.");
+      }
+      out.writeByte(LOCAL);
+      out.writeVarInt(idx);
+    }
+
+    @Override
+    public void caseBooleanConstant(@Nonnull BooleanConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseDoubleConstant(@Nonnull DoubleConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseFloatConstant(@Nonnull FloatConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseIntConstant(@Nonnull IntConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseLongConstant(@Nonnull LongConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseNullConstant(@Nonnull NullConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseStringConstant(@Nonnull StringConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseEnumConstant(@Nonnull EnumConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseClassConstant(@Nonnull ClassConstant constant) {
+      defaultCaseConstant(constant);
+    }
+
+    @Override
+    public void caseMethodHandle(@Nonnull MethodHandle handle) {
+      defaultCaseConstant(handle);
+    }
+
+    @Override
+    public void caseMethodType(@Nonnull MethodType methodType) {
+      defaultCaseConstant(methodType);
+    }
+
+    @Override
+    public void defaultCaseConstant(@Nonnull Constant constant) {
+      out.writeByte(CONSTANT);
+      out.writeConstant(constant);
+    }
+
+    @Override
+    public void caseAddExpr(@Nonnull JAddExpr expr) {
+      writeBinop(ADD_EXPR, expr);
+    }
+
+    @Override
+    public void caseAndExpr(@Nonnull JAndExpr expr) {
+      writeBinop(AND_EXPR, expr);
+    }
+
+    @Override
+    public void caseCmpExpr(@Nonnull JCmpExpr expr) {
+      writeBinop(CMP_EXPR, expr);
+    }
+
+    @Override
+    public void caseCmpgExpr(@Nonnull JCmpgExpr expr) {
+      writeBinop(CMPG_EXPR, expr);
+    }
+
+    @Override
+    public void caseCmplExpr(@Nonnull JCmplExpr expr) {
+      writeBinop(CMPL_EXPR, expr);
+    }
+
+    @Override
+    public void caseDivExpr(@Nonnull JDivExpr expr) {
+      writeBinop(DIV_EXPR, expr);
+    }
+
+    @Override
+    public void caseEqExpr(@Nonnull JEqExpr expr) {
+      writeBinop(EQ_EXPR, expr);
+    }
+
+    @Override
+    public void caseNeExpr(@Nonnull JNeExpr expr) {
+      writeBinop(NE_EXPR, expr);
+    }
+
+    @Override
+    public void caseGeExpr(@Nonnull JGeExpr expr) {
+      writeBinop(GE_EXPR, expr);
+    }
+
+    @Override
+    public void caseGtExpr(@Nonnull JGtExpr expr) {
+      writeBinop(GT_EXPR, expr);
+    }
+
+    @Override
+    public void caseLeExpr(@Nonnull JLeExpr expr) {
+      writeBinop(LE_EXPR, expr);
+    }
+
+    @Override
+    public void caseLtExpr(@Nonnull JLtExpr expr) {
+      writeBinop(LT_EXPR, expr);
+    }
+
+    @Override
+    public void caseMulExpr(@Nonnull JMulExpr expr) {
+      writeBinop(MUL_EXPR, expr);
+    }
+
+    @Override
+    public void caseOrExpr(@Nonnull JOrExpr expr) {
+      writeBinop(OR_EXPR, expr);
+    }
+
+    @Override
+    public void caseRemExpr(@Nonnull JRemExpr expr) {
+      writeBinop(REM_EXPR, expr);
+    }
+
+    @Override
+    public void caseShlExpr(@Nonnull JShlExpr expr) {
+      writeBinop(SHL_EXPR, expr);
+    }
+
+    @Override
+    public void caseShrExpr(@Nonnull JShrExpr expr) {
+      writeBinop(SHR_EXPR, expr);
+    }
+
+    @Override
+    public void caseUshrExpr(@Nonnull JUshrExpr expr) {
+      writeBinop(USHR_EXPR, expr);
+    }
+
+    @Override
+    public void caseSubExpr(@Nonnull JSubExpr expr) {
+      writeBinop(SUB_EXPR, expr);
+    }
+
+    @Override
+    public void caseXorExpr(@Nonnull JXorExpr expr) {
+      writeBinop(XOR_EXPR, expr);
+    }
+
+    @Override
+    public void caseSpecialInvokeExpr(@Nonnull JSpecialInvokeExpr expr) {
+      writeInstanceInvoke(SPECIAL_INVOKE_EXPR, expr);
+    }
+
+    @Override
+    public void caseVirtualInvokeExpr(@Nonnull JVirtualInvokeExpr expr) {
+      writeInstanceInvoke(VIRTUAL_INVOKE_EXPR, expr);
+    }
+
+    @Override
+    public void caseInterfaceInvokeExpr(@Nonnull JInterfaceInvokeExpr expr) {
+      writeInstanceInvoke(INTERFACE_INVOKE_EXPR, expr);
+    }
+
+    @Override
+    public void caseStaticInvokeExpr(@Nonnull JStaticInvokeExpr expr) {
+      out.writeByte(STATIC_INVOKE_EXPR);
+      out.writeMethodSignature(expr.getMethodSignature());
+      writeValues(expr.getArgs());
+    }
+
+    @Override
+    public void caseDynamicInvokeExpr(@Nonnull JDynamicInvokeExpr expr) {
+      out.writeByte(DYNAMIC_INVOKE_EXPR);
+      out.writeMethodSignature(expr.getBootstrapMethodSignature());
+      writeValues(expr.getBootstrapArgs());
+      out.writeMethodSignature(expr.getMethodSignature());
+      out.writeVarInt(expr.getHandleTag());
+      writeValues(expr.getArgs());
+    }
+
+    @Override
+    public void caseCastExpr(@Nonnull JCastExpr expr) {
+      out.writeByte(CAST_EXPR);
+      writeValue(expr.getOp());
+      out.writeType(expr.getType());
+    }
+
+    @Override
+    public void caseInstanceOfExpr(@Nonnull JInstanceOfExpr expr) {
+      out.writeByte(INSTANCE_OF_EXPR);
+      writeValue(expr.getOp());
+      out.writeType(expr.getCheckType());
+    }
+
+    @Override
+    public void caseNewArrayExpr(@Nonnull JNewArrayExpr expr) {
+      out.writeByte(NEW_ARRAY_EXPR);
+      out.writeType(expr.getBaseType());
+      writeValue(expr.getSize());
+    }
+
+    @Override
+    public void caseNewMultiArrayExpr(@Nonnull JNewMultiArrayExpr expr) {
+      out.writeByte(NEW_MULTI_ARRAY_EXPR);
+      out.writeType(expr.getBaseType());
+      writeValues(expr.getSizes());
+    }
+
+    @Override
+    public void caseNewExpr(@Nonnull JNewExpr expr) {
+      out.writeByte(NEW_EXPR);
+      out.writeType(expr.getType());
+    }
+
+    @Override
+    public void caseLengthExpr(@Nonnull JLengthExpr expr) {
+      out.writeByte(LENGTH_EXPR);
+      writeValue(expr.getOp());
+    }
+
+    @Override
+    public void caseNegExpr(@Nonnull JNegExpr expr) {
+      out.writeByte(NEG_EXPR);
+      writeValue(expr.getOp());
+    }
+
+    @Override
+    public void casePhiExpr(@Nonnull JPhiExpr expr) {
+      defaultCaseExpr(expr);
+    }
+
+    @Override
+    public void defaultCaseExpr(@Nonnull Expr expr) {
+      throw new IllegalArgumentException(
+          "Expr '" + expr + "' of " + expr.getClass() + " can not be serialized.");
+    }
+
+    @Override
+    public void caseStaticFieldRef(@Nonnull JStaticFieldRef ref) {
+      out.writeByte(STATIC_FIELD_REF);
+      out.writeFieldSignature(ref.getFieldSignature());
+    }
+
+    @Override
+    public void caseInstanceFieldRef(@Nonnull JInstanceFieldRef ref) {
+      out.writeByte(INSTANCE_FIELD_REF);
+      writeValue(ref.getBase());
+      out.writeFieldSignature(ref.getFieldSignature());
+    }
+
+    @Override
+    public void caseArrayRef(@Nonnull JArrayRef ref) {
+      out.writeByte(ARRAY_REF);
+      writeValue(ref.getBase());
+      writeValue(ref.getIndex());
+    }
+
+    @Override
+    public void caseParameterRef(@Nonnull JParameterRef ref) {
+      out.writeByte(PARAMETER_REF);
+      out.writeType(ref.getType());
+      out.writeVarInt(ref.getIndex());
+    }
+
+    @Override
+    public void caseCaughtExceptionRef(@Nonnull JCaughtExceptionRef ref) {
+      out.writeByte(CAUGHT_EXCEPTION_REF);
+      out.writeType(ref.getType());
+    }
+
+    @Override
+    public void caseThisRef(@Nonnull JThisRef ref) {
+      out.writeByte(THIS_REF);
+      out.writeType(ref.getType());
+    }
+
+    @Override
+    public void defaultCaseRef(@Nonnull Ref ref) {
+      throw new IllegalArgumentException(
+          "Ref '" + ref + "' of " + ref.getClass() + " can not be serialized.");
+    }
+
+    @Override
+    public void defaultCaseValue(@Nonnull Value value) {
+      throw new IllegalArgumentException(
+          "Value '" + value + "' of " + value.getClass() + " can not be serialized.");
+    }
+  }
+}
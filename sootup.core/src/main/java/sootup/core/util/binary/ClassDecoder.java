@@ -0,0 +1,223 @@
+package sootup.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.frontend.BodySource;
+import sootup.core.frontend.OverridingClassSource;
+import sootup.core.frontend.ResolveException;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.model.Body;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.FieldModifier;
+import sootup.core.model.MethodModifier;
+import sootup.core.model.Position;
+import sootup.core.model.SootField;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+
+/**
+ * Reads a class written by {@link ClassEncoder}. The declaration of the class and its members is
+ * read immediately, the bodies of its methods are decoded when they are resolved.
+ */
+public class ClassDecoder {
+
+  @Nonnull private final BodyDecoder bodyDecoder;
+
+  public ClassDecoder() {
+    this(new BodyDecoder());
+  }
+
+  public ClassDecoder(@Nonnull BodyDecoder bodyDecoder) {
+    this.bodyDecoder = bodyDecoder;
+  }
+
+  /**
+   * Reads the class stored in the given input.
+   *
+   * @param in the input which contains exactly one class
+   * @param inputLocation the location the class is read from
+   * @param sourcePath the file the class is read from
+   * @throws IOException if the input does not contain a valid class
+   */
+  @Nonnull
+  public SootClassSource read(
+      @Nonnull BinaryInput in,
+      @Nonnull AnalysisInputLocation inputLocation,
+      @Nonnull Path sourcePath)
+      throws IOException {
+    try {
+      if (in.size() < 4) {
+        throw new IOException("The binary Jimple data does not contain a class.");
+      }
+      BinaryInput classIn = in.at(in.at(in.size() - 4).readInt());
+
+      ClassType classType = classIn.readClassType();
+      Position position = classIn.readPosition();
+      EnumSet<ClassModifier> modifiers = classModifiers(classIn.readVarInt());
+      ClassType superClass = classIn.readBoolean() ? classIn.readClassType() : null;
+      ClassType outerClass = classIn.readBoolean() ? classIn.readClassType() : null;
+      int interfaceCount = classIn.readVarInt();
+      Set<ClassType> interfaces = new LinkedHashSet<>(interfaceCount);
+      for (int i = 0; i < interfaceCount; i++) {
+        interfaces.add(classIn.readClassType());
+      }
+
+      int fieldCount = classIn.readVarInt();
+      Set<SootField> fields = new LinkedHashSet<>(fieldCount);
+      for (int i = 0; i < fieldCount; i++) {
+        FieldSignature signature = classIn.readFieldSignature();
+        EnumSet<FieldModifier> fieldModifiers = fieldModifiers(classIn.readVarInt());
+        fields.add(new SootField(signature, fieldModifiers, classIn.readPosition()));
+      }
+
+      int methodCount = classIn.readVarInt();
+      Set<SootMethod> methods = new LinkedHashSet<>(methodCount);
+      for (int i = 0; i < methodCount; i++) {
+        MethodSignature signature = classIn.readMethodSignature();
+        EnumSet<MethodModifier> methodModifiers = methodModifiers(classIn.readVarInt());
+        Position methodPosition = classIn.readPosition();
+        int exceptionCount = classIn.readVarInt();
+        Set<ClassType> exceptions = new LinkedHashSet<>(exceptionCount);
+        for (int j = 0; j < exceptionCount; j++) {
+          exceptions.add(classIn.readClassType());
+        }
+        int bodyOffset = classIn.readVarInt() - 1;
+        BodySource bodySource =
+            new BinaryBodySource(signature, in, bodyOffset, bodyDecoder, sourcePath);
+        methods.add(
+            new SootMethod(
+                bodySource,
+                signature,
+                methodModifiers,
+                exceptions,
+                methodPosition == null ? NoPositionInformation.getInstance() : methodPosition));
+      }
+
+      return new OverridingClassSource(
+          methods,
+          fields,
+          modifiers,
+          interfaces,
+          superClass,
+          outerClass,
+          position == null ? NoPositionInformation.getInstance() : position,
+          sourcePath,
+          classType,
+          inputLocation);
+    } catch (RuntimeException e) {
+      throw new IOException("Malformed binary Jimple data.", e);
+    }
+  }
+
+  @Nonnull
+  static EnumSet<ClassModifier> classModifiers(int flags) {
+    EnumSet<ClassModifier> modifiers = EnumSet.noneOf(ClassModifier.class);
+    for (ClassModifier modifier : ClassModifier.values()) {
+      if ((flags & modifier.getBytecode()) != 0) {
+        modifiers.add(modifier);
+      }
+    }
+    return modifiers;
+  }
+
+  @Nonnull
+  static EnumSet<FieldModifier> fieldModifiers(int flags) {
+    EnumSet<FieldModifier> modifiers = EnumSet.noneOf(FieldModifier.class);
+    for (FieldModifier modifier : FieldModifier.values()) {
+      if ((flags & modifier.getBytecode()) != 0) {
+        modifiers.add(modifier);
+      }
+    }
+    return modifiers;
+  }
+
+  @Nonnull
+  static EnumSet<MethodModifier> methodModifiers(int flags) {
+    EnumSet<MethodModifier> modifiers = EnumSet.noneOf(MethodModifier.class);
+    for (MethodModifier modifier : MethodModifier.values()) {
+      if ((flags & modifier.getBytecode()) != 0) {
+        modifiers.add(modifier);
+      }
+    }
+    return modifiers;
+  }
+
+  /** Decodes the body of a method when it is resolved. */
+  private static class BinaryBodySource implements BodySource {
+
+    @Nonnull private final MethodSignature signature;
+    @Nonnull private final BinaryInput in;
+    /** the offset of the body in the input; negative if the method has no body */
+    private final int offset;
+
+    @Nonnull private final BodyDecoder bodyDecoder;
+    @Nonnull private final Path sourcePath;
+
+    BinaryBodySource(
+        @Nonnull MethodSignature signature,
+        @Nonnull BinaryInput in,
+        int offset,
+        @Nonnull BodyDecoder bodyDecoder,
+        @Nonnull Path sourcePath) {
+      this.signature = signature;
+      this.in = in;
+      this.offset = offset;
+      this.bodyDecoder = bodyDecoder;
+      this.sourcePath = sourcePath;
+    }
+
+    @Nonnull
+    @Override
+    public Body resolveBody(@Nonnull Iterable<MethodModifier> modifiers) {
+      if (offset < 0) {
+        throw new ResolveException("There is no body for " + signature, sourcePath);
+      }
+      try {
+        return bodyDecoder.read(in.at(offset));
+      } catch (RuntimeException e) {
+        throw new ResolveException("Malformed body of " + signature, sourcePath, e);
+      }
+    }
+
+    @Override
+    public Object resolveAnnotationsDefaultValue() {
+      return null;
+    }
+
+    @Nonnull
+    @Override
+    public MethodSignature getSignature() {
+      return signature;
+    }
+  }
+}
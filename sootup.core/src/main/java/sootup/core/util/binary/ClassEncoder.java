@@ -0,0 +1,153 @@
+package sootup.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.FieldModifier;
+import sootup.core.model.MethodModifier;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootField;
+import sootup.core.model.SootMethod;
+import sootup.core.types.ClassType;
+
+/**
+ * Writes a {@link SootClass} including the bodies of its methods in the binary format read by
+ * {@link ClassDecoder}.
+ *
+ * <p>The bodies are written first, followed by the declaration of the class and its members and the
+ * offset of that declaration as the last four bytes. This allows reading the declaration without
+ * decoding any body.
+ */
+public class ClassEncoder {
+
+  @Nonnull private final BodyEncoder bodyEncoder;
+
+  public ClassEncoder() {
+    this(new BodyEncoder());
+  }
+
+  public ClassEncoder(@Nonnull BodyEncoder bodyEncoder) {
+    this.bodyEncoder = bodyEncoder;
+  }
+
+  /**
+   * Writes the given class to the stream.
+   *
+   * @throws IllegalArgumentException if a body contains elements that can not be serialized
+   */
+  public void write(@Nonnull SootClass clazz, @Nonnull OutputStream outputStream)
+      throws IOException {
+    BinaryOutput out = new BinaryOutput();
+    write(clazz, out);
+    out.writeTo(outputStream);
+  }
+
+  /**
+   * Writes the given class. It has to be the only content of the output.
+   *
+   * @throws IllegalArgumentException if a body contains elements that can not be serialized
+   */
+  public void write(@Nonnull SootClass clazz, @Nonnull BinaryOutput out) {
+    Collection<? extends SootMethod> methods = clazz.getMethods();
+    int[] bodyOffsets = new int[methods.size()];
+    int i = 0;
+    for (SootMethod method : methods) {
+      if (method.hasBody()) {
+        bodyOffsets[i] = out.size();
+        bodyEncoder.write(method.getBody(), out);
+      } else {
+        bodyOffsets[i] = -1;
+      }
+      i++;
+    }
+
+    int classOffset = out.size();
+    out.writeType(clazz.getType());
+    out.writePosition(clazz.getPosition());
+    out.writeVarInt(classModifiers(clazz.getModifiers()));
+    writeOptionalClassType(clazz.getSuperclass(), out);
+    writeOptionalClassType(clazz.getOuterClass(), out);
+    out.writeVarInt(clazz.getInterfaces().size());
+    for (ClassType interfaceType : clazz.getInterfaces()) {
+      out.writeType(interfaceType);
+    }
+
+    out.writeVarInt(clazz.getFields().size());
+    for (SootField field : clazz.getFields()) {
+      out.writeFieldSignature(field.getSignature());
+      out.writeVarInt(fieldModifiers(field.getModifiers()));
+      out.writePosition(field.getPosition());
+    }
+
+    out.writeVarInt(methods.size());
+    i = 0;
+    for (SootMethod method : methods) {
+      out.writeMethodSignature(method.getSignature());
+      out.writeVarInt(methodModifiers(method.getModifiers()));
+      out.writePosition(method.getPosition());
+      out.writeVarInt(method.getExceptionSignatures().size());
+      for (ClassType exception : method.getExceptionSignatures()) {
+        out.writeType(exception);
+      }
+      // 0 marks a method without body
+      out.writeVarInt(bodyOffsets[i++] + 1);
+    }
+    out.writeInt(classOffset);
+  }
+
+  private static void writeOptionalClassType(
+      @Nonnull Optional<? extends ClassType> type, @Nonnull BinaryOutput out) {
+    out.writeBoolean(type.isPresent());
+    type.ifPresent(out::writeType);
+  }
+
+  static int classModifiers(@Nonnull Set<ClassModifier> modifiers) {
+    int flags = 0;
+    for (ClassModifier modifier : modifiers) {
+      flags |= modifier.getBytecode();
+    }
+    return flags;
+  }
+
+  static int fieldModifiers(@Nonnull Set<FieldModifier> modifiers) {
+    int flags = 0;
+    for (FieldModifier modifier : modifiers) {
+      flags |= modifier.getBytecode();
+    }
+    return flags;
+  }
+
+  static int methodModifiers(@Nonnull Set<MethodModifier> modifiers) {
+    int flags = 0;
+    for (MethodModifier modifier : modifiers) {
+      flags |= modifier.getBytecode();
+    }
+    return flags;
+  }
+}
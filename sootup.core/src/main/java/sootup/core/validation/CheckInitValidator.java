@@ -23,7 +23,6 @@ package sootup.core.validation;
  */
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.Local;
@@ -51,8 +50,8 @@ public class CheckInitValidator implements BodyValidator {
     for (Stmt s : body.getStmts()) {
       // Add locals defined in the statement to list.
       s.getDef().ifPresent(localList::add);
-      for (Iterator<Value> iterator = s.getUses().iterator(); iterator.hasNext(); ) {
-        Value v = iterator.next();
+      for (int i = 0, n = s.getUseCount(); i < n; i++) {
+        Value v = s.getUse(i);
         if (v instanceof Local) {
           Local l = (Local) v;
           if (!localList.contains(l)) {
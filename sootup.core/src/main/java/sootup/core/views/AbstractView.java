@@ -39,17 +39,45 @@ import sootup.core.typehierarchy.ViewTypeHierarchy;
  * @author Linghui Luo
  */
 public abstract class AbstractView implements View {
-  @Nullable private TypeHierarchy typeHierarchy;
+  // volatile, as the hierarchy may be requested concurrently, e.g. by the threads that share a
+  // ConcurrentJavaView.
+  @Nullable private volatile TypeHierarchy typeHierarchy;
+
+  /** whether the type hierarchy is built incrementally, see {@link ViewTypeHierarchy}. */
+  private boolean incrementalTypeHierarchy = false;
 
   public AbstractView() {}
 
   @Override
   @Nonnull
   public TypeHierarchy getTypeHierarchy() {
-    if (this.typeHierarchy == null) {
-      typeHierarchy = new ViewTypeHierarchy(this);
+    TypeHierarchy hierarchy = typeHierarchy;
+    if (hierarchy == null) {
+      synchronized (this) {
+        hierarchy = typeHierarchy;
+        if (hierarchy == null) {
+          hierarchy = new ViewTypeHierarchy(this, incrementalTypeHierarchy);
+          typeHierarchy = hierarchy;
+        }
+      }
+    }
+    return hierarchy;
+  }
+
+  /**
+   * Sets whether the type hierarchy of this view is built incrementally, i.e. without resolving all
+   * classes of the view, see {@link ViewTypeHierarchy#ViewTypeHierarchy(View, boolean)}. Discards
+   * the current type hierarchy if the mode changes.
+   */
+  public void setIncrementalTypeHierarchy(boolean incremental) {
+    if (incrementalTypeHierarchy != incremental) {
+      incrementalTypeHierarchy = incremental;
+      typeHierarchy = null;
     }
-    return typeHierarchy;
+  }
+
+  public boolean isIncrementalTypeHierarchy() {
+    return incrementalTypeHierarchy;
   }
 
   /**
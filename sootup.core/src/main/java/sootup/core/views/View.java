@@ -24,8 +24,10 @@ package sootup.core.views;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootField;
 import sootup.core.model.SootMethod;
@@ -46,6 +48,15 @@ public interface View {
   @Nonnull
   Collection<? extends SootClass> getClasses();
 
+  /**
+   * Returns the {@link ClassHeader}s of all classes in the view. Views that can read the headers
+   * without resolving all classes should override this.
+   */
+  @Nonnull
+  default Collection<ClassHeader> getClassHeaders() {
+    return getClasses().stream().map(ClassHeader::of).collect(Collectors.toList());
+  }
+
   /**
    * Return a class with given signature.
    *
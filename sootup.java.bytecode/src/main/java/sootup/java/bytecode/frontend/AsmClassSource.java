@@ -29,6 +29,8 @@ import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
 import org.objectweb.asm.tree.*;
 import sootup.core.IdentifierFactory;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.frontend.BodySource;
 import sootup.core.frontend.ResolveException;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.jimple.basic.NoPositionInformation;
@@ -44,14 +46,17 @@ import sootup.java.core.types.JavaClassType;
 class AsmClassSource extends JavaSootClassSource {
 
   @Nonnull private final ClassNode classNode;
+  @Nonnull private final BodyRetentionPolicy bodyRetentionPolicy;
 
   public AsmClassSource(
       AnalysisInputLocation inputLocation,
       Path sourcePath,
       JavaClassType javaClassType,
-      @Nonnull ClassNode classNode) {
+      @Nonnull ClassNode classNode,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
     super(inputLocation, javaClassType, sourcePath);
     this.classNode = classNode;
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
   }
 
   private static Set<JavaSootField> resolveFields(
@@ -136,14 +141,21 @@ class AsmClassSource extends JavaSootClassSource {
                 annotations.addAll(methodSource.invisibleAnnotations);
               }
 
+              BodySource bodySource =
+                  classNode instanceof AsmJavaClassProvider.SootClassNode
+                      ? ((AsmJavaClassProvider.SootClassNode) classNode)
+                          .getBodySource(asmClassClassSourceContent)
+                      : asmClassClassSourceContent;
+
               // TODO: position/line numbers if possible
               return new JavaSootMethod(
-                  asmClassClassSourceContent,
+                  bodySource,
                   methodSignature,
                   modifiers,
                   exceptions,
                   convertAnnotation(annotations),
-                  NoPositionInformation.getInstance());
+                  NoPositionInformation.getInstance(),
+                  bodyRetentionPolicy);
             })
         .collect(Collectors.toSet());
   }
@@ -21,17 +21,27 @@ package sootup.java.bytecode.frontend;
  * #L%
  */
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.frontend.BodySource;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.FileType;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.java.core.JavaModuleIdentifierFactory;
@@ -45,8 +55,15 @@ public class AsmJavaClassProvider implements ClassProvider {
   @Nonnull private final View view;
   private static final @Nonnull Logger logger = LoggerFactory.getLogger(AsmJavaClassProvider.class);
 
+  @Nonnull private final BytecodeFrontendOptions options;
+
   public AsmJavaClassProvider(@Nonnull View view) {
+    this(view, BytecodeFrontendOptions.DEFAULT);
+  }
+
+  public AsmJavaClassProvider(@Nonnull View view, @Nonnull BytecodeFrontendOptions options) {
     this.view = view;
+    this.options = options;
   }
 
   @Override
@@ -57,9 +74,21 @@ public class AsmJavaClassProvider implements ClassProvider {
 
     SootClassNode classNode;
     final String actualClassSignature;
+    final boolean lazy = options.isLazyMethodBodies();
     try {
-      classNode = new SootClassNode(analysisInputLocation);
-      actualClassSignature = AsmUtil.initAsmClassSource(sourcePath, classNode);
+      classNode =
+          new SootClassNode(
+              analysisInputLocation,
+              sourcePath,
+              lazy,
+              options.isReleaseMethodInstructions(),
+              analysisInputLocation.getBodyInterceptorPipeline(),
+              options.getPersistentBodyCache());
+      actualClassSignature =
+          AsmUtil.initAsmClassSource(
+              sourcePath,
+              classNode,
+              lazy ? ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES : ClassReader.SKIP_FRAMES);
     } catch (IOException exception) {
       logger.warn("ioe: " + sourcePath, exception);
       return Optional.empty();
@@ -91,10 +120,51 @@ public class AsmJavaClassProvider implements ClassProvider {
       }
 
       return Optional.of(
-          new AsmClassSource(analysisInputLocation, sourcePath, klassType, classNode));
+          new AsmClassSource(
+              analysisInputLocation,
+              sourcePath,
+              klassType,
+              classNode,
+              options.getBodyRetentionPolicy()));
     }
   }
 
+  /**
+   * Reads only the header of the class file, i.e. neither its fields nor its methods are parsed.
+   */
+  @Override
+  public Optional<ClassHeader> createClassHeader(
+      @Nonnull AnalysisInputLocation analysisInputLocation,
+      @Nonnull Path sourcePath,
+      @Nonnull ClassType classType) {
+    final ClassReader classReader;
+    try (InputStream sourceFileInputStream = Files.newInputStream(sourcePath)) {
+      classReader = new ClassReader(sourceFileInputStream);
+    } catch (IOException exception) {
+      logger.warn("ioe: " + sourcePath, exception);
+      return Optional.empty();
+    } catch (IllegalArgumentException exception) {
+      logger.warn("iae: " + sourcePath, exception);
+      return Optional.empty();
+    }
+
+    final int access = classReader.getAccess();
+    String actualFQClassName = classReader.getClassName().replace('/', '.');
+    if ((access & Opcodes.ACC_MODULE) != 0
+        || !actualFQClassName.equals(classType.getFullyQualifiedName())) {
+      return Optional.empty();
+    }
+
+    String superName = classReader.getSuperName();
+    return Optional.of(
+        new ClassHeader(
+            classType,
+            (access & Opcodes.ACC_INTERFACE) != 0,
+            superName == null ? null : AsmUtil.toJimpleClassType(superName),
+            new LinkedHashSet<>(
+                AsmUtil.asmIdToSignature(Arrays.asList(classReader.getInterfaces())))));
+  }
+
   @Override
   @Nonnull
   public FileType getHandledFileType() {
@@ -104,10 +174,39 @@ public class AsmJavaClassProvider implements ClassProvider {
   class SootClassNode extends ClassNode {
 
     private final AnalysisInputLocation analysisInputLocation;
+    @Nonnull private final Path classFile;
+    private final boolean lazy;
+    private final boolean releaseInstructions;
+    @Nonnull private final BodyInterceptorPipeline interceptorPipeline;
+    @Nullable private final PersistentBodyCache.ClassBodies cachedBodies;
 
-    SootClassNode(AnalysisInputLocation analysisInputLocation) {
+    SootClassNode(
+        AnalysisInputLocation analysisInputLocation,
+        @Nonnull Path classFile,
+        boolean lazy,
+        boolean releaseInstructions,
+        @Nonnull BodyInterceptorPipeline interceptorPipeline,
+        @Nullable PersistentBodyCache bodyCache) {
       super(AsmUtil.SUPPORTED_ASM_OPCODE);
       this.analysisInputLocation = analysisInputLocation;
+      this.classFile = classFile;
+      this.lazy = lazy;
+      this.releaseInstructions = releaseInstructions;
+      this.interceptorPipeline = interceptorPipeline;
+      this.cachedBodies =
+          bodyCache == null
+              ? null
+              : bodyCache.forClassFile(
+                  classFile,
+                  methods,
+                  analysisInputLocation.getBodyInterceptors(),
+                  view.getIdentifierFactory());
+    }
+
+    /** Returns the source of the body of the given method of this class. */
+    @Nonnull
+    BodySource getBodySource(@Nonnull AsmMethodSource methodSource) {
+      return cachedBodies == null ? methodSource : cachedBodies.bodySourceOf(methodSource);
     }
 
     @Override
@@ -127,7 +226,11 @@ public class AsmJavaClassProvider implements ClassProvider {
               signature,
               exceptions,
               view,
-              analysisInputLocation.getBodyInterceptors());
+              analysisInputLocation.getBodyInterceptors(),
+              interceptorPipeline,
+              classFile,
+              lazy,
+              releaseInstructions);
       methods.add(mn);
       return mn;
     }
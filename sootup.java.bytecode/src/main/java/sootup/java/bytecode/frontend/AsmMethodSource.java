@@ -27,6 +27,10 @@ import com.google.common.base.Suppliers;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Table;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.BiFunction;
@@ -35,10 +39,19 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.TypePath;
 import org.objectweb.asm.commons.JSRInlinerAdapter;
 import org.objectweb.asm.tree.*;
 import sootup.core.frontend.BodySource;
+import sootup.core.frontend.ResolveException;
 import sootup.core.graph.MutableBlockStmtGraph;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.*;
@@ -51,6 +64,7 @@ import sootup.core.model.*;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.signatures.MethodSignature;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.*;
 import sootup.core.views.View;
 import sootup.java.core.JavaIdentifierFactory;
@@ -104,6 +118,7 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
 
   private final View view;
   private final List<BodyInterceptor> bodyInterceptors;
+  @Nonnull private final BodyInterceptorPipeline interceptorPipeline;
 
   @Nonnull private final Set<LabelNode> inlineExceptionLabels = new HashSet<>();
 
@@ -114,6 +129,23 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   private final JavaIdentifierFactory identifierFactory;
   private final Supplier<MethodSignature> lazyMethodSignature;
 
+  /**
+   * the class file from which the instructions of this method are (re-)read on demand, or null if
+   * they are only read together with the class.
+   */
+  @Nullable private final Path classFile;
+
+  /** whether the instructions are released after the body was resolved. */
+  private final boolean releaseInstructions;
+
+  private boolean instructionsLoaded;
+
+  /**
+   * JSR instructions are inlined by the {@link JSRInlinerAdapter} whose state can not be reset, so
+   * the instructions of such methods are never released.
+   */
+  private boolean hasSubroutines = false;
+
   AsmMethodSource(
       int access,
       @Nonnull String name,
@@ -122,9 +154,54 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
       @Nonnull String[] exceptions,
       View view,
       @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    this(
+        access,
+        name,
+        desc,
+        signature,
+        exceptions,
+        view,
+        bodyInterceptors,
+        BodyInterceptorPipeline.DEFAULT,
+        null,
+        false,
+        false);
+  }
+
+  /**
+   * @param interceptorPipeline applies the body interceptors to the converted body.
+   * @param classFile the class file this method is declared in; needed if the instructions are read
+   *     lazily or released after resolving the body.
+   * @param lazy true if the class was read without the code of its methods (see {@link
+   *     org.objectweb.asm.ClassReader#SKIP_CODE}), i.e. the instructions of this method are read
+   *     from the class file once its body is resolved.
+   * @param releaseInstructions true if the instructions and all structures derived from them are
+   *     released after the body was resolved. They are read from the class file again if the body
+   *     is resolved another time.
+   */
+  AsmMethodSource(
+      int access,
+      @Nonnull String name,
+      @Nonnull String desc,
+      @Nonnull String signature,
+      @Nonnull String[] exceptions,
+      View view,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull BodyInterceptorPipeline interceptorPipeline,
+      @Nullable Path classFile,
+      boolean lazy,
+      boolean releaseInstructions) {
     super(AsmUtil.SUPPORTED_ASM_OPCODE, null, access, name, desc, signature, exceptions);
+    if (classFile == null && (lazy || releaseInstructions)) {
+      throw new IllegalArgumentException(
+          "The class file is needed to read the instructions of " + name + " on demand.");
+    }
     this.bodyInterceptors = bodyInterceptors;
+    this.interceptorPipeline = interceptorPipeline;
     this.view = view;
+    this.classFile = classFile;
+    this.releaseInstructions = releaseInstructions;
+    this.instructionsLoaded = !lazy;
 
     identifierFactory = (JavaIdentifierFactory) view.getIdentifierFactory();
     lazyMethodSignature =
@@ -157,7 +234,10 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   @Nonnull
   public Body resolveBody(@Nonnull Iterable<MethodModifier> modifierIt) {
 
+    loadInstructions();
+
     /* initialize */
+    resetConversionState();
     nextLocal = maxLocals;
     locals =
         new NonIndexOutofBoundsArrayList<>(
@@ -229,20 +309,160 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
 
     bodyBuilder.setMethodSignature(lazyMethodSignature.get());
 
-    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
-      try {
-        bodyInterceptor.interceptBody(bodyBuilder, view);
-        bodyBuilder
-            .getStmtGraph()
-            .validateStmtConnectionsInGraph(); // TODO: remove in the future ;-)
-      } catch (Exception e) {
-        throw new IllegalStateException(
-            "Failed to apply " + bodyInterceptor + " to " + lazyMethodSignature.get(), e);
-      }
+    if (releaseInstructions && !hasSubroutines) {
+      releaseInstructions();
     }
+
+    interceptorPipeline.run(bodyInterceptors, bodyBuilder, view);
     return bodyBuilder.build();
   }
 
+  @Override
+  public void visitJumpInsn(int opcode, Label label) {
+    if (opcode == Opcodes.JSR) {
+      hasSubroutines = true;
+    }
+    super.visitJumpInsn(opcode, label);
+  }
+
+  /** clears the state that is left from a previous conversion of the instructions. */
+  private void resetConversionState() {
+    replacedStmt.clear();
+    startTrapHandler.clear();
+    endTrapHandler.clear();
+    activeTrapHandlers = new HashSet<>();
+    inlineExceptionLabels.clear();
+    inlineExceptionHandlers.clear();
+    labelsToStmt.clear();
+    currentLineNumber = -1;
+    maxLineNumber = 0;
+  }
+
+  /**
+   * Frees the instructions and everything that was derived from them during the conversion. The
+   * instructions are read from the class file again when the body is resolved another time.
+   */
+  private void releaseInstructions() {
+    instructions = new InsnList();
+    tryCatchBlocks = new ArrayList<>();
+    localVariables = null;
+    visibleLocalVariableAnnotations = null;
+    invisibleLocalVariableAnnotations = null;
+    trapHandler = null;
+    resetConversionState();
+    instructionsLoaded = false;
+  }
+
+  /**
+   * Reads the instructions, try-catch blocks, local variables and line numbers of this method from
+   * its class file, if the class was read without the code of its methods or the instructions were
+   * released after a previous conversion.
+   */
+  private void loadInstructions() {
+    if (instructionsLoaded) {
+      return;
+    }
+    assert classFile != null;
+    loadInstructions(classFile, Collections.singletonList(this));
+  }
+
+  /**
+   * Reads the instructions of the given methods of the given class file with a single pass over the
+   * class file. Methods whose instructions are held in memory already are skipped.
+   */
+  static void loadInstructions(
+      @Nonnull Path classFile, @Nonnull Collection<AsmMethodSource> methods) {
+    Map<String, AsmMethodSource> unloadedMethods = new HashMap<>();
+    for (AsmMethodSource method : methods) {
+      if (!method.instructionsLoaded) {
+        unloadedMethods.put(method.name + method.desc, method);
+      }
+    }
+    if (unloadedMethods.isEmpty()) {
+      return;
+    }
+    try (InputStream inputStream = Files.newInputStream(classFile)) {
+      new ClassReader(inputStream)
+          .accept(
+              new ClassVisitor(AsmUtil.SUPPORTED_ASM_OPCODE) {
+                @Override
+                public MethodVisitor visitMethod(
+                    int access,
+                    String methodName,
+                    String methodDesc,
+                    String signature,
+                    String[] exceptions) {
+                  AsmMethodSource method = unloadedMethods.get(methodName + methodDesc);
+                  return method == null ? null : method.new CodeVisitor();
+                }
+              },
+              ClassReader.SKIP_FRAMES);
+    } catch (IOException e) {
+      throw new ResolveException(
+          "Could not read the instructions of the methods of " + classFile, classFile, e);
+    }
+    for (AsmMethodSource method : unloadedMethods.values()) {
+      method.instructionsLoaded = true;
+    }
+  }
+
+  /**
+   * Frees the instructions of this method if they can be read from its class file again, e.g. after
+   * its body was stored in the {@link PersistentBodyCache}.
+   */
+  void releaseInstructionsIfReloadable() {
+    if (classFile != null && !hasSubroutines) {
+      releaseInstructions();
+    }
+  }
+
+  /** Returns true if the instructions of this method are currently held in memory. */
+  boolean isInstructionsLoaded() {
+    return instructionsLoaded;
+  }
+
+  /**
+   * Passes only the code of a method to this method source. Everything else (e.g. annotations) is
+   * already known from reading the class without code.
+   */
+  private class CodeVisitor extends MethodVisitor {
+
+    CodeVisitor() {
+      super(AsmUtil.SUPPORTED_ASM_OPCODE, AsmMethodSource.this);
+    }
+
+    @Override
+    public void visitParameter(String name, int access) {}
+
+    @Override
+    public AnnotationVisitor visitAnnotationDefault() {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public AnnotationVisitor visitTypeAnnotation(
+        int typeRef, TypePath typePath, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public void visitAnnotableParameterCount(int parameterCount, boolean visible) {}
+
+    @Override
+    public AnnotationVisitor visitParameterAnnotation(
+        int parameter, String descriptor, boolean visible) {
+      return null;
+    }
+
+    @Override
+    public void visitAttribute(Attribute attribute) {}
+  }
+
   @Override
   public Object resolveAnnotationsDefaultValue() {
     return resolveAnnotationsInDefaultValue(this.annotationDefault);
@@ -71,9 +71,24 @@ public final class AsmUtil {
    */
   protected static String initAsmClassSource(
       @Nonnull Path classSource, @Nonnull ClassVisitor classNode) throws IOException {
+    return initAsmClassSource(classSource, classNode, ClassReader.SKIP_FRAMES);
+  }
+
+  /**
+   * Initializes a class node.
+   *
+   * @param classSource The source.
+   * @param classNode The node to initialize
+   * @param parsingOptions the options passed to {@link ClassReader#accept(ClassVisitor, int)}, e.g.
+   *     {@link ClassReader#SKIP_CODE} to read only the header, fields and method signatures
+   * @return the actual class signature found in the compilation unit
+   */
+  protected static String initAsmClassSource(
+      @Nonnull Path classSource, @Nonnull ClassVisitor classNode, int parsingOptions)
+      throws IOException {
     try (InputStream sourceFileInputStream = Files.newInputStream(classSource)) {
       ClassReader clsr = new ClassReader(sourceFileInputStream);
-      clsr.accept(classNode, ClassReader.SKIP_FRAMES);
+      clsr.accept(classNode, parsingOptions);
       return clsr.getClassName();
     }
   }
@@ -0,0 +1,172 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.cache.body.MemoizingBodyRetention;
+import sootup.core.transform.BodyInterceptorPipeline;
+
+/**
+ * The options of the bytecode frontend ({@link AsmJavaClassProvider}) for the classes of an input
+ * location. They are passed to the bytecode input locations, e.g. {@link
+ * sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation#create}, like their body
+ * interceptors, so that input locations of the same analysis can be read differently. Instances are
+ * immutable; the <code>with...</code> methods return a copy with one option changed.
+ */
+public final class BytecodeFrontendOptions {
+
+  /**
+   * the default options: method bodies are read together with their class, their instructions are
+   * kept, no persistent body cache is used, the StmtGraph is validated after every body interceptor
+   * and bodies are kept as long as their method exists.
+   */
+  public static final BytecodeFrontendOptions DEFAULT =
+      new BytecodeFrontendOptions(
+          false, false, null, BodyInterceptorPipeline.DEFAULT, MemoizingBodyRetention.INSTANCE);
+
+  private final boolean lazyMethodBodies;
+  private final boolean releaseMethodInstructions;
+  @Nullable private final PersistentBodyCache persistentBodyCache;
+  @Nonnull private final BodyInterceptorPipeline bodyInterceptorPipeline;
+  @Nonnull private final BodyRetentionPolicy bodyRetentionPolicy;
+
+  private BytecodeFrontendOptions(
+      boolean lazyMethodBodies,
+      boolean releaseMethodInstructions,
+      @Nullable PersistentBodyCache persistentBodyCache,
+      @Nonnull BodyInterceptorPipeline bodyInterceptorPipeline,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    this.lazyMethodBodies = lazyMethodBodies;
+    this.releaseMethodInstructions = releaseMethodInstructions;
+    this.persistentBodyCache = persistentBodyCache;
+    this.bodyInterceptorPipeline = bodyInterceptorPipeline;
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
+  }
+
+  /**
+   * Returns a copy of these options with lazy reading of method bodies enabled or disabled. If
+   * enabled, a class file is first read without the code of its methods, i.e. only its header,
+   * fields and method signatures are parsed. The instructions of a method are read from the class
+   * file when its body is resolved. This reduces the time and memory needed to resolve classes
+   * whose method bodies are not (all) needed, e.g. for building type hierarchies or call graphs.
+   */
+  @Nonnull
+  public BytecodeFrontendOptions withLazyMethodBodies(boolean lazy) {
+    return new BytecodeFrontendOptions(
+        lazy,
+        releaseMethodInstructions,
+        persistentBodyCache,
+        bodyInterceptorPipeline,
+        bodyRetentionPolicy);
+  }
+
+  public boolean isLazyMethodBodies() {
+    return lazyMethodBodies;
+  }
+
+  /**
+   * Returns a copy of these options with releasing the instructions of a method after its body was
+   * resolved enabled or disabled. If enabled, the ASM instruction list, try-catch blocks, local
+   * variable table and the conversion state of a method are freed once its {@link
+   * sootup.core.model.Body} is built. If the body is resolved again (e.g. because it was evicted,
+   * see {@link sootup.core.cache.body.BodyRetentionPolicy}), the instructions are read from the
+   * class file again.
+   */
+  @Nonnull
+  public BytecodeFrontendOptions withReleaseMethodInstructions(boolean release) {
+    return new BytecodeFrontendOptions(
+        lazyMethodBodies,
+        release,
+        persistentBodyCache,
+        bodyInterceptorPipeline,
+        bodyRetentionPolicy);
+  }
+
+  public boolean isReleaseMethodInstructions() {
+    return releaseMethodInstructions;
+  }
+
+  /**
+   * Returns a copy of these options with the given {@link PersistentBodyCache}. If set, method
+   * bodies are read from the cache if their class file was converted before (with the same body
+   * interceptors) and are stored in it otherwise. Pass null to disable the cache.
+   */
+  @Nonnull
+  public BytecodeFrontendOptions withPersistentBodyCache(@Nullable PersistentBodyCache cache) {
+    return new BytecodeFrontendOptions(
+        lazyMethodBodies,
+        releaseMethodInstructions,
+        cache,
+        bodyInterceptorPipeline,
+        bodyRetentionPolicy);
+  }
+
+  @Nullable
+  public PersistentBodyCache getPersistentBodyCache() {
+    return persistentBodyCache;
+  }
+
+  /**
+   * Returns a copy of these options with the given {@link BodyInterceptorPipeline}, which applies
+   * the body interceptors of the input location to its bodies. It is returned by {@link
+   * sootup.core.inputlocation.AnalysisInputLocation#getBodyInterceptorPipeline()} of the input
+   * locations that are created with these options.
+   */
+  @Nonnull
+  public BytecodeFrontendOptions withBodyInterceptorPipeline(
+      @Nonnull BodyInterceptorPipeline pipeline) {
+    return new BytecodeFrontendOptions(
+        lazyMethodBodies,
+        releaseMethodInstructions,
+        persistentBodyCache,
+        pipeline,
+        bodyRetentionPolicy);
+  }
+
+  @Nonnull
+  public BodyInterceptorPipeline getBodyInterceptorPipeline() {
+    return bodyInterceptorPipeline;
+  }
+
+  /**
+   * Returns a copy of these options with the given {@link BodyRetentionPolicy}, which decides how
+   * long the bodies of the methods of the input location are kept in memory after they were
+   * resolved.
+   */
+  @Nonnull
+  public BytecodeFrontendOptions withBodyRetentionPolicy(@Nonnull BodyRetentionPolicy policy) {
+    return new BytecodeFrontendOptions(
+        lazyMethodBodies,
+        releaseMethodInstructions,
+        persistentBodyCache,
+        bodyInterceptorPipeline,
+        policy);
+  }
+
+  @Nonnull
+  public BodyRetentionPolicy getBodyRetentionPolicy() {
+    return bodyRetentionPolicy;
+  }
+}
@@ -0,0 +1,371 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
+import sootup.core.frontend.BodySource;
+import sootup.core.model.Body;
+import sootup.core.model.MethodModifier;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.util.binary.BinaryInput;
+import sootup.core.util.binary.BinaryOutput;
+import sootup.java.core.util.binary.JavaBodyDecoder;
+import sootup.java.core.util.binary.JavaBodyEncoder;
+
+/**
+ * Stores the bodies created by the bytecode frontend on disk, so that later runs over unchanged
+ * class files do not need to convert their methods again.
+ *
+ * <p>The bodies of a class file are stored together in one file whose name is the hash of the class
+ * file content and of the {@link BodyInterceptor}s that are applied, including their configuration
+ * (see {@link BodyInterceptor#getCacheKey()}). When the first body of a class is requested and the
+ * class is not cached yet, the bodies of all its methods are converted and stored. Cached files are
+ * memory-mapped and read on demand.
+ *
+ * <p>The directory can be shared by concurrent processes: files are written to a temporary file and
+ * atomically moved to their final name, so a reader either sees a complete file or none.
+ *
+ * <p>Use {@link BytecodeFrontendOptions#withPersistentBodyCache(PersistentBodyCache)} to enable it
+ * for an input location.
+ */
+public class PersistentBodyCache {
+
+  private static final @Nonnull Logger logger = LoggerFactory.getLogger(PersistentBodyCache.class);
+
+  /** changes whenever the stored data of the same input changes e.g. by a fix in the frontend */
+  private static final String CACHE_VERSION = "2";
+
+  private static final String FILE_SUFFIX = ".bodies";
+
+  @Nonnull private final Path directory;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong storeCount = new AtomicLong();
+
+  public PersistentBodyCache(@Nonnull Path directory) {
+    this.directory = directory;
+  }
+
+  @Nonnull
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /** Returns the number of bodies that were read from the cache. */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of requested bodies that were converted from bytecode. Bodies that were only
+   * converted to fill the cache are not counted.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /** Returns the number of class files whose bodies were written to the cache. */
+  public long getStoreCount() {
+    return storeCount.get();
+  }
+
+  @Nonnull
+  ClassBodies forClassFile(
+      @Nonnull Path classFile,
+      @Nonnull List<MethodNode> methods,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull IdentifierFactory identifierFactory) {
+    return new ClassBodies(classFile, methods, bodyInterceptors, identifierFactory);
+  }
+
+  /** The cached bodies of the methods of a single class file. */
+  class ClassBodies {
+
+    @Nonnull private final Path classFile;
+    @Nonnull private final List<MethodNode> methods;
+    @Nonnull private final List<BodyInterceptor> bodyInterceptors;
+    @Nonnull private final IdentifierFactory identifierFactory;
+
+    private boolean initialized = false;
+
+    /** the stored bodies; null if they can not be cached */
+    @Nullable private BinaryInput input;
+
+    @Nonnull private final Map<String, Integer> bodyOffsets = new HashMap<>();
+
+    ClassBodies(
+        @Nonnull Path classFile,
+        @Nonnull List<MethodNode> methods,
+        @Nonnull List<BodyInterceptor> bodyInterceptors,
+        @Nonnull IdentifierFactory identifierFactory) {
+      this.classFile = classFile;
+      this.methods = methods;
+      this.bodyInterceptors = bodyInterceptors;
+      this.identifierFactory = identifierFactory;
+    }
+
+    @Nonnull
+    BodySource bodySourceOf(@Nonnull AsmMethodSource methodSource) {
+      return new CachedBodySource(this, methodSource);
+    }
+
+    @Nonnull
+    Body resolveBody(
+        @Nonnull AsmMethodSource methodSource, @Nonnull Iterable<MethodModifier> modifiers) {
+      BinaryInput cachedBodies;
+      synchronized (this) {
+        if (!initialized) {
+          initialized = true;
+          Body body = loadOrStore(methodSource);
+          if (body != null) {
+            missCount.incrementAndGet();
+            return body;
+          }
+        }
+        cachedBodies = input;
+      }
+
+      if (cachedBodies != null) {
+        Integer offset = bodyOffsets.get(key(methodSource.getSignature()));
+        if (offset != null) {
+          try {
+            Body body = new JavaBodyDecoder().read(cachedBodies.at(offset));
+            hitCount.incrementAndGet();
+            return body;
+          } catch (RuntimeException e) {
+            logger.warn("Could not read the cached body of " + methodSource.getSignature(), e);
+          }
+        }
+      }
+      missCount.incrementAndGet();
+      return methodSource.resolveBody(modifiers);
+    }
+
+    /**
+     * Reads the cached bodies or converts and stores the bodies of all methods if they are not
+     * cached yet. The instructions of all methods are read with a single pass over the class file;
+     * the instructions that were read only to fill the cache are released afterwards.
+     *
+     * @return the converted body of the requested method, if the bodies were converted
+     */
+    @Nullable
+    private Body loadOrStore(@Nonnull AsmMethodSource requestedMethod) {
+      final Path cacheFile;
+      try {
+        cacheFile = cacheFile();
+        if (Files.exists(cacheFile) && load(cacheFile)) {
+          return null;
+        }
+      } catch (IOException e) {
+        logger.warn("Could not read the cached bodies of " + classFile, e);
+        return null;
+      }
+
+      List<AsmMethodSource> concreteMethods = new ArrayList<>();
+      List<AsmMethodSource> unloadedMethods = new ArrayList<>();
+      for (MethodNode method : methods) {
+        if ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0) {
+          AsmMethodSource methodSource = (AsmMethodSource) method;
+          concreteMethods.add(methodSource);
+          if (!methodSource.isInstructionsLoaded()) {
+            unloadedMethods.add(methodSource);
+          }
+        }
+      }
+      try {
+        AsmMethodSource.loadInstructions(classFile, unloadedMethods);
+      } catch (RuntimeException e) {
+        logger.warn("Could not read the instructions of " + classFile, e);
+        return null;
+      }
+
+      Body requestedBody = null;
+      BinaryOutput out = new BinaryOutput();
+      JavaBodyEncoder encoder = new JavaBodyEncoder();
+      Map<String, Integer> offsets = new HashMap<>();
+      for (AsmMethodSource methodSource : concreteMethods) {
+        Body body;
+        try {
+          body = methodSource.resolveBody(AsmUtil.getMethodModifiers(methodSource.access));
+        } catch (RuntimeException e) {
+          // keep the exception for the resolution of the requested method itself
+          continue;
+        }
+        if (methodSource == requestedMethod) {
+          requestedBody = body;
+        }
+        int offset = out.size();
+        try {
+          encoder.write(body, out);
+          offsets.put(key(body.getMethodSignature()), offset);
+        } catch (IllegalArgumentException e) {
+          logger.debug("Body of " + body.getMethodSignature() + " can not be cached.", e);
+          out.truncate(offset);
+        }
+      }
+
+      int indexOffset = out.size();
+      out.writeVarInt(offsets.size());
+      offsets.forEach(
+          (key, offset) -> {
+            out.writeString(key);
+            out.writeVarInt(offset);
+          });
+      out.writeInt(indexOffset);
+
+      // later requests are served from the cache or read the instructions again
+      unloadedMethods.forEach(AsmMethodSource::releaseInstructionsIfReloadable);
+
+      byte[] bytes = out.toByteArray();
+      try {
+        readIndex(new BinaryInput(ByteBuffer.wrap(bytes), identifierFactory));
+        store(cacheFile, bytes);
+      } catch (IOException e) {
+        logger.warn("Could not store the bodies of " + classFile + " in " + cacheFile, e);
+      }
+      return requestedBody;
+    }
+
+    private boolean load(@Nonnull Path cacheFile) throws IOException {
+      ByteBuffer bytes;
+      try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+        bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+      try {
+        readIndex(new BinaryInput(bytes, identifierFactory));
+        return true;
+      } catch (IOException | RuntimeException e) {
+        // e.g. written by an incompatible version; it is replaced
+        logger.debug("Ignoring the invalid cache file " + cacheFile, e);
+        bodyOffsets.clear();
+        input = null;
+        return false;
+      }
+    }
+
+    private void readIndex(@Nonnull BinaryInput bodies) throws IOException {
+      if (bodies.size() < 4) {
+        throw new IOException("The index of the cached bodies is missing.");
+      }
+      BinaryInput index = bodies.at(bodies.at(bodies.size() - 4).readInt());
+      int count = index.readVarInt();
+      for (int i = 0; i < count; i++) {
+        String key = index.readString();
+        bodyOffsets.put(key, index.readVarInt());
+      }
+      input = bodies;
+    }
+
+    private void store(@Nonnull Path cacheFile, @Nonnull byte[] bytes) throws IOException {
+      Path parent = cacheFile.getParent();
+      Files.createDirectories(parent);
+      Path tempFile = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+      try {
+        try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+          outputStream.write(bytes);
+        }
+        try {
+          Files.move(
+              tempFile,
+              cacheFile,
+              StandardCopyOption.ATOMIC_MOVE,
+              StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        storeCount.incrementAndGet();
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    }
+
+    @Nonnull
+    private Path cacheFile() throws IOException {
+      Hasher hasher = Hashing.sha256().newHasher();
+      hasher.putUnencodedChars(CACHE_VERSION).putInt(0);
+      for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
+        hasher.putUnencodedChars(bodyInterceptor.getCacheKey()).putInt(0);
+      }
+      hasher.putBytes(Files.readAllBytes(classFile));
+      String hash = hasher.hash().toString();
+      return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2) + FILE_SUFFIX);
+    }
+
+    @Nonnull
+    private String key(@Nonnull MethodSignature signature) {
+      return signature.getSubSignature().toString();
+    }
+  }
+
+  /** Serves the body of a method from the cache and falls back to converting its bytecode. */
+  private static class CachedBodySource implements BodySource {
+
+    @Nonnull private final ClassBodies classBodies;
+    @Nonnull private final AsmMethodSource methodSource;
+
+    CachedBodySource(@Nonnull ClassBodies classBodies, @Nonnull AsmMethodSource methodSource) {
+      this.classBodies = classBodies;
+      this.methodSource = methodSource;
+    }
+
+    @Nonnull
+    @Override
+    public Body resolveBody(@Nonnull Iterable<MethodModifier> modifiers) {
+      return classBodies.resolveBody(methodSource, modifiers);
+    }
+
+    @Override
+    public Object resolveAnnotationsDefaultValue() {
+      return methodSource.resolveAnnotationsDefaultValue();
+    }
+
+    @Nonnull
+    @Override
+    public MethodSignature getSignature() {
+      return methodSource.getSignature();
+    }
+  }
+}
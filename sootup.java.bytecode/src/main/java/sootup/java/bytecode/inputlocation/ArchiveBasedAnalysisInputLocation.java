@@ -33,11 +33,13 @@ import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.java.bytecode.frontend.AsmJavaClassProvider;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
 import sootup.java.core.JavaSootClassSource;
 import sootup.java.core.interceptors.BytecodeBodyInterceptors;
 import sootup.java.core.types.JavaClassType;
@@ -90,7 +92,16 @@ public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLoc
       SourceType srcType,
       List<BodyInterceptor> bodyInterceptors,
       Collection<Path> ignoredPaths) {
-    super(path, srcType, bodyInterceptors, ignoredPaths);
+    this(path, srcType, bodyInterceptors, ignoredPaths, BytecodeFrontendOptions.DEFAULT);
+  }
+
+  public ArchiveBasedAnalysisInputLocation(
+      @Nonnull Path path,
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull Collection<Path> ignoredPaths,
+      @Nonnull BytecodeFrontendOptions frontendOptions) {
+    super(path, srcType, bodyInterceptors, ignoredPaths, frontendOptions);
   }
 
   @Override
@@ -100,7 +111,7 @@ public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLoc
       FileSystem fs = fileSystemCache.get(path);
       final Path archiveRoot = fs.getPath("/");
       return getClassSourceInternal(
-          (JavaClassType) type, archiveRoot, new AsmJavaClassProvider(view));
+          (JavaClassType) type, archiveRoot, new AsmJavaClassProvider(view, frontendOptions));
     } catch (ExecutionException e) {
       throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
     }
@@ -113,7 +124,35 @@ public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLoc
       FileSystem fs = fileSystemCache.get(path);
       final Path archiveRoot = fs.getPath("/");
       return walkDirectory(
-          archiveRoot, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
+          archiveRoot,
+          view.getIdentifierFactory(),
+          new AsmJavaClassProvider(view, frontendOptions));
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+    try {
+      FileSystem fs = fileSystemCache.get(path);
+      final Path archiveRoot = fs.getPath("/");
+      return walkDirectoryHeaders(
+          archiveRoot,
+          view.getIdentifierFactory(),
+          new AsmJavaClassProvider(view, frontendOptions));
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  Optional<Set<String>> getPackageNames() {
+    try {
+      FileSystem fs = fileSystemCache.get(path);
+      return Optional.of(collectPackageNames(fs.getPath("/")));
     } catch (ExecutionException e) {
       throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
     }
@@ -22,10 +22,12 @@ package sootup.java.bytecode.inputlocation;
  */
 
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
 
 /**
  * Refers to the rt.jar from &lt;=Java8 as an AnalysisInputLocation requires: JAVA_HOME to be set
@@ -49,4 +51,16 @@ public class DefaultRTJarAnalysisInputLocation extends ArchiveBasedAnalysisInput
       @Nonnull SourceType srcType, @Nonnull List<BodyInterceptor> bodyInterceptors) {
     super(Paths.get(System.getProperty("java.home") + "/lib/rt.jar"), srcType, bodyInterceptors);
   }
+
+  public DefaultRTJarAnalysisInputLocation(
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull BytecodeFrontendOptions frontendOptions) {
+    super(
+        Paths.get(System.getProperty("java.home") + "/lib/rt.jar"),
+        srcType,
+        bodyInterceptors,
+        Collections.emptyList(),
+        frontendOptions);
+  }
 }
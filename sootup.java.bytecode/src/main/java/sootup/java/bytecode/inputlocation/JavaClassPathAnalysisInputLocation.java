@@ -30,16 +30,20 @@ import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.ClassType;
 import sootup.core.util.PathUtils;
 import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
 import sootup.java.core.JavaSootClassSource;
 import sootup.java.core.interceptors.BytecodeBodyInterceptors;
 
@@ -63,6 +67,15 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
 
   private final List<BodyInterceptor> bodyInterceptors;
 
+  /** the options the class files of the entries are read with. */
+  @Nonnull private final BytecodeFrontendOptions frontendOptions;
+
+  /**
+   * maps each package name to the class path entries which may contain classes of the package, in
+   * class path order. Built on the first lookup of a class, see {@link #getPackageIndex()}.
+   */
+  @Nullable private volatile PackageIndex packageIndex = null;
+
   /**
    * Creates a {@link JavaClassPathAnalysisInputLocation} which locates classes in the given class
    * path.
@@ -89,8 +102,25 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
       @Nonnull String classPath,
       @Nonnull SourceType srcType,
       @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    this(classPath, srcType, bodyInterceptors, BytecodeFrontendOptions.DEFAULT);
+  }
+
+  /**
+   * Creates a {@link JavaClassPathAnalysisInputLocation} which locates classes in the given class
+   * path and reads them with the given options.
+   *
+   * @param classPath the class path to search in
+   * @param srcType the source type for the path can be Library, Application, Phantom.
+   * @param frontendOptions the options the class files of all entries are read with
+   */
+  public JavaClassPathAnalysisInputLocation(
+      @Nonnull String classPath,
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull BytecodeFrontendOptions frontendOptions) {
     this.srcType = srcType;
     this.bodyInterceptors = bodyInterceptors;
+    this.frontendOptions = frontendOptions;
 
     cpEntries = classPath.length() <= 0 ? Collections.emptyList() : explodeClassPath(classPath);
     if (cpEntries.isEmpty()) {
@@ -111,6 +141,12 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     return bodyInterceptors;
   }
 
+  @Override
+  @Nonnull
+  public BodyInterceptorPipeline getBodyInterceptorPipeline() {
+    return frontendOptions.getBodyInterceptorPipeline();
+  }
+
   /**
    * Explode the class or modulepath entries, separated by {@link File#pathSeparator}.
    *
@@ -186,8 +222,22 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
 
   @Override
   @Nonnull
-  public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
+  public Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+    // the header of a class is read from the first class path entry that contains it
+    Map<ClassType, ClassHeader> found = new LinkedHashMap<>();
     for (AnalysisInputLocation inputLocation : cpEntries) {
+      for (ClassHeader header : inputLocation.getClassHeaders(view)) {
+        found.putIfAbsent(header.getType(), header);
+      }
+    }
+    return found.values();
+  }
+
+  @Override
+  @Nonnull
+  public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
+    for (AnalysisInputLocation inputLocation :
+        getPackageIndex().entriesOf(type.getPackageName().getName())) {
       final Optional<? extends SootClassSource> classSource =
           inputLocation.getClassSource(type, view);
       if (classSource.isPresent()) {
@@ -197,10 +247,33 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     return Optional.empty();
   }
 
+  /**
+   * Returns the index of the packages of the class path entries. Instead of probing every entry for
+   * a class, only the entries which contain its package are asked for it. The entries are listed
+   * once, i.e. classes which are added to a directory of the class path afterwards are only found
+   * if their package was already present.
+   */
+  @Nonnull
+  private PackageIndex getPackageIndex() {
+    PackageIndex index = packageIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = packageIndex;
+        if (index == null) {
+          index = new PackageIndex(cpEntries);
+          packageIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
   @Nonnull
   private Optional<AnalysisInputLocation> inputLocationForPath(@Nonnull Path path) {
     if (Files.exists(path) && (Files.isDirectory(path) || PathUtils.isArchive(path))) {
-      return Optional.of(PathBasedAnalysisInputLocation.create(path, srcType, bodyInterceptors));
+      return Optional.of(
+          PathBasedAnalysisInputLocation.create(
+              path, srcType, bodyInterceptors, Collections.emptyList(), frontendOptions));
     } else {
       logger.warn("Invalid/Unknown class path entry: " + path);
       return Optional.empty();
@@ -243,4 +316,47 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     }
     return cpEntries.equals(((JavaClassPathAnalysisInputLocation) o).cpEntries);
   }
+
+  /**
+   * Maps package names to the class path entries which contain classes of that package. Entries
+   * whose packages can not be listed in advance are assumed to contain every package. The entries
+   * of a package keep the class path order, so the first entry that contains a class wins - as with
+   * split packages on the JVM class path.
+   */
+  private static class PackageIndex {
+
+    @Nonnull private final Map<String, List<AnalysisInputLocation>> entriesByPackage;
+
+    /** the entries whose packages are unknown, in class path order. */
+    @Nonnull private final List<AnalysisInputLocation> unindexedEntries;
+
+    PackageIndex(@Nonnull Collection<AnalysisInputLocation> cpEntries) {
+      Map<String, List<AnalysisInputLocation>> entriesByPackage = new HashMap<>();
+      List<AnalysisInputLocation> unindexedEntries = new ArrayList<>();
+      for (AnalysisInputLocation entry : cpEntries) {
+        Optional<Set<String>> packageNames =
+            entry instanceof PathBasedAnalysisInputLocation
+                ? ((PathBasedAnalysisInputLocation) entry).getPackageNames()
+                : Optional.empty();
+        if (packageNames.isPresent()) {
+          for (String packageName : packageNames.get()) {
+            entriesByPackage
+                .computeIfAbsent(packageName, name -> new ArrayList<>(unindexedEntries))
+                .add(entry);
+          }
+        } else {
+          // the entry may contain any package
+          entriesByPackage.values().forEach(entries -> entries.add(entry));
+          unindexedEntries.add(entry);
+        }
+      }
+      this.entriesByPackage = entriesByPackage;
+      this.unindexedEntries = unindexedEntries;
+    }
+
+    @Nonnull
+    List<AnalysisInputLocation> entriesOf(@Nonnull String packageName) {
+      return entriesByPackage.getOrDefault(packageName, unindexedEntries);
+    }
+  }
 }
@@ -25,21 +25,27 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.commons.io.FilenameUtils;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.ResolveException;
 import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.inputlocation.FileType;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.ClassType;
 import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
 import sootup.java.bytecode.frontend.AsmJavaClassProvider;
 import sootup.java.bytecode.frontend.AsmModuleSource;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
 import sootup.java.core.*;
 import sootup.java.core.interceptors.BytecodeBodyInterceptors;
 import sootup.java.core.signatures.ModulePackageName;
@@ -58,10 +64,18 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
   private final Map<ModuleSignature, JavaModuleInfo> moduleInfoMap = new HashMap<>();
   boolean isResolved = false;
 
+  /**
+   * maps package names to the directories of the modules which contain the package; built on the
+   * first lookup of a class without module information, see {@link #getModulesOfPackage(String)}.
+   */
+  @Nullable private volatile Map<String, List<Path>> packageIndex = null;
+
   @Nonnull private final SourceType sourceType;
 
   @Nonnull private final List<BodyInterceptor> bodyInterceptors;
 
+  @Nonnull private final BytecodeFrontendOptions frontendOptions;
+
   public JrtFileSystemAnalysisInputLocation() {
     this(SourceType.Library);
   }
@@ -72,8 +86,16 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
 
   public JrtFileSystemAnalysisInputLocation(
       @Nonnull SourceType sourceType, @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    this(sourceType, bodyInterceptors, BytecodeFrontendOptions.DEFAULT);
+  }
+
+  public JrtFileSystemAnalysisInputLocation(
+      @Nonnull SourceType sourceType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull BytecodeFrontendOptions frontendOptions) {
     this.sourceType = sourceType;
     this.bodyInterceptors = bodyInterceptors;
+    this.frontendOptions = frontendOptions;
   }
 
   @Override
@@ -82,7 +104,7 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
       @Nonnull ClassType classType, @Nonnull View view) {
     JavaClassType klassType = (JavaClassType) classType;
 
-    ClassProvider classProvider = new AsmJavaClassProvider(view);
+    ClassProvider classProvider = new AsmJavaClassProvider(view, frontendOptions);
     Path filepath =
         theFileSystem.getPath(
             klassType.getFullyQualifiedName().replace('.', '/')
@@ -106,25 +128,57 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
       }
     }
 
-    // module information does not exist in Signature -> search for class
-    final Path moduleRoot = theFileSystem.getPath("modules");
-    try (DirectoryStream<Path> stream = Files.newDirectoryStream(moduleRoot)) {
-      {
-        for (Path entry : stream) {
-          // check each module folder for the class
-          Path foundfile = entry.resolve(filepath);
-          if (Files.isRegularFile(foundfile)) {
-            return classProvider
-                .createClassSource(this, foundfile, klassType)
-                .map(src -> (JavaSootClassSource) src);
+    // module information does not exist in Signature -> search for class in the module(s) which
+    // contain its package
+    for (Path module : getModulesOfPackage(klassType.getPackageName().getName())) {
+      Path foundfile = module.resolve(filepath);
+      if (Files.isRegularFile(foundfile)) {
+        return classProvider
+            .createClassSource(this, foundfile, klassType)
+            .map(src -> (JavaSootClassSource) src);
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the directories of the modules which contain the given package. The index is built from
+   * the packages directory of the runtime image, which lists the modules of each package.
+   */
+  @Nonnull
+  private List<Path> getModulesOfPackage(@Nonnull String packageName) {
+    Map<String, List<Path>> index = packageIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = packageIndex;
+        if (index == null) {
+          index = buildPackageIndex();
+          packageIndex = index;
+        }
+      }
+    }
+    return index.getOrDefault(packageName, Collections.emptyList());
+  }
+
+  @Nonnull
+  private static Map<String, List<Path>> buildPackageIndex() {
+    final Path packagesRoot = theFileSystem.getPath("packages");
+    Map<String, List<Path>> index = new HashMap<>();
+    try (DirectoryStream<Path> packages = Files.newDirectoryStream(packagesRoot)) {
+      for (Path packageDir : packages) {
+        List<Path> modules = new ArrayList<>(1);
+        try (DirectoryStream<Path> moduleLinks = Files.newDirectoryStream(packageDir)) {
+          for (Path moduleLink : moduleLinks) {
+            modules.add(theFileSystem.getPath("modules", moduleLink.getFileName().toString()));
           }
         }
+        index.put(packageDir.getFileName().toString(), modules);
       }
     } catch (IOException e) {
-      throw new ResolveException("Error loading a module", moduleRoot, e);
+      throw new ResolveException("Error while indexing the packages", packagesRoot, e);
     }
-
-    return Optional.empty();
+    return index;
   }
 
   /** Retreive CLassSources of a module specified by methodSignature */
@@ -141,12 +195,25 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
       @Nonnull ModuleSignature moduleSignature,
       @Nonnull IdentifierFactory identifierFactory,
       @Nonnull View view) {
+    ClassProvider classProvider = new AsmJavaClassProvider(view, frontendOptions);
+    return walkModule(
+        moduleSignature,
+        classProvider.getHandledFileType(),
+        p ->
+            classProvider
+                .createClassSource(this, p, fromPath(p, identifierFactory))
+                .map(src -> (JavaSootClassSource) src));
+  }
 
-    ClassProvider classProvider = new AsmJavaClassProvider(view);
+  /** Walks the class files of the module and creates an element for each of them. */
+  @Nonnull
+  private <T> Stream<T> walkModule(
+      @Nonnull ModuleSignature moduleSignature,
+      @Nonnull FileType handledFileType,
+      @Nonnull Function<Path, Optional<T>> create) {
 
     String moduleInfoFilename =
-        JavaModuleIdentifierFactory.MODULE_INFO_FILE
-            + classProvider.getHandledFileType().getExtensionWithDot();
+        JavaModuleIdentifierFactory.MODULE_INFO_FILE + handledFileType.getExtensionWithDot();
 
     final Path archiveRoot = theFileSystem.getPath("modules", moduleSignature.getModuleName());
     try {
@@ -155,15 +222,9 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
           .filter(
               filePath ->
                   !Files.isDirectory(filePath)
-                      && filePath
-                          .toString()
-                          .endsWith(classProvider.getHandledFileType().getExtensionWithDot())
+                      && filePath.toString().endsWith(handledFileType.getExtensionWithDot())
                       && !filePath.toString().endsWith(moduleInfoFilename))
-          .flatMap(
-              p ->
-                  StreamUtils.optionalToStream(
-                      classProvider.createClassSource(this, p, fromPath(p, identifierFactory))))
-          .map(src -> (JavaSootClassSource) src);
+          .flatMap(p -> StreamUtils.optionalToStream(create.apply(p)));
     } catch (IOException e) {
       throw new ResolveException("Error loading module " + moduleSignature, archiveRoot, e);
     }
@@ -178,6 +239,22 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
         .collect(Collectors.toList());
   }
 
+  /** Reads the headers of the classes of all modules without resolving the classes. */
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+    ClassProvider classProvider = new AsmJavaClassProvider(view, frontendOptions);
+    IdentifierFactory identifierFactory = view.getIdentifierFactory();
+    return discoverModules().stream()
+        .flatMap(
+            sig ->
+                walkModule(
+                    sig,
+                    classProvider.getHandledFileType(),
+                    p -> classProvider.createClassHeader(this, p, fromPath(p, identifierFactory))))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Discover and return all modules contained in the jrt filesystem.
    *
@@ -265,6 +342,12 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
     return bodyInterceptors;
   }
 
+  @Override
+  @Nonnull
+  public BodyInterceptorPipeline getBodyInterceptorPipeline() {
+    return frontendOptions.getBodyInterceptorPipeline();
+  }
+
   @Override
   public boolean equals(Object o) {
     return o instanceof JrtFileSystemAnalysisInputLocation;
@@ -37,6 +37,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.Language;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
@@ -199,6 +200,20 @@ public class MultiReleaseJarAnalysisInputLocation extends ArchiveBasedAnalysisIn
     return classSources;
   }
 
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+    // the header of a class is read from the first input location that contains it, as in
+    // getClassSources
+    Map<String, ClassHeader> headers = new LinkedHashMap<>();
+    for (AnalysisInputLocation location : inputLocations.values()) {
+      for (ClassHeader header : location.getClassHeaders(view)) {
+        headers.putIfAbsent(header.getType().getFullyQualifiedName(), header);
+      }
+    }
+    return headers.values();
+  }
+
   @Nonnull
   public Language getLanguage() {
     return language;
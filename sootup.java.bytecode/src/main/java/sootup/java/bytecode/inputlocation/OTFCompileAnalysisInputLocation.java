@@ -39,6 +39,7 @@ import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.java.core.interceptors.BytecodeBodyInterceptors;
@@ -111,6 +112,12 @@ public class OTFCompileAnalysisInputLocation implements AnalysisInputLocation {
     return inputLocation.getBodyInterceptors();
   }
 
+  @Nonnull
+  @Override
+  public BodyInterceptorPipeline getBodyInterceptorPipeline() {
+    return inputLocation.getBodyInterceptorPipeline();
+  }
+
   private static Path getTempDirectory(String fileName) throws IOException {
     return Files.createTempDirectory("sootup-otfcompile-" + fileName.hashCode());
   }
@@ -3,6 +3,7 @@ package sootup.java.bytecode.inputlocation;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
@@ -18,17 +19,20 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.FileType;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorPipeline;
 import sootup.core.types.ClassType;
 import sootup.core.util.PathUtils;
 import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
 import sootup.java.bytecode.frontend.AsmJavaClassProvider;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
 import sootup.java.core.*;
 import sootup.java.core.interceptors.BytecodeBodyInterceptors;
 import sootup.java.core.types.JavaClassType;
@@ -67,6 +71,7 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
   @Nonnull protected Collection<Path> ignoredPaths;
   @Nonnull protected final SourceType sourceType;
   @Nonnull protected final List<BodyInterceptor> bodyInterceptors;
+  @Nonnull protected final BytecodeFrontendOptions frontendOptions;
 
   protected PathBasedAnalysisInputLocation(@Nonnull Path path, @Nonnull SourceType srcType) {
     this(path, srcType, Collections.emptyList());
@@ -84,6 +89,15 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       @Nonnull SourceType srcType,
       @Nonnull List<BodyInterceptor> bodyInterceptors,
       @Nonnull Collection<Path> ignoredPaths) {
+    this(path, srcType, bodyInterceptors, ignoredPaths, BytecodeFrontendOptions.DEFAULT);
+  }
+
+  protected PathBasedAnalysisInputLocation(
+      @Nonnull Path path,
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull Collection<Path> ignoredPaths,
+      @Nonnull BytecodeFrontendOptions frontendOptions) {
     this.path = path;
     this.ignoredPaths =
         ignoredPaths.stream()
@@ -91,6 +105,7 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
             .collect(Collectors.toCollection(HashSet::new));
     this.sourceType = srcType;
     this.bodyInterceptors = bodyInterceptors;
+    this.frontendOptions = frontendOptions;
 
     if (!Files.exists(path)) {
       throw new IllegalArgumentException("The provided path '" + path + "' does not exist.");
@@ -109,6 +124,18 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     return bodyInterceptors;
   }
 
+  @Override
+  @Nonnull
+  public BodyInterceptorPipeline getBodyInterceptorPipeline() {
+    return frontendOptions.getBodyInterceptorPipeline();
+  }
+
+  /** Returns the options the class files of this location are read with. */
+  @Nonnull
+  public BytecodeFrontendOptions getFrontendOptions() {
+    return frontendOptions;
+  }
+
   @Nonnull
   public static PathBasedAnalysisInputLocation create(
       @Nonnull Path path, @Nonnull SourceType sourceType) {
@@ -129,6 +156,20 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       @Nonnull SourceType srcType,
       @Nonnull List<BodyInterceptor> bodyInterceptors,
       @Nonnull Collection<Path> ignoredPaths) {
+    return create(path, srcType, bodyInterceptors, ignoredPaths, BytecodeFrontendOptions.DEFAULT);
+  }
+
+  /**
+   * Creates the input location of the class container at the given path, whose class files are read
+   * with the given options.
+   */
+  @Nonnull
+  public static PathBasedAnalysisInputLocation create(
+      @Nonnull Path path,
+      @Nonnull SourceType srcType,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nonnull Collection<Path> ignoredPaths,
+      @Nonnull BytecodeFrontendOptions frontendOptions) {
 
     if (ignoredPaths.stream()
         .anyMatch(ignoPath -> path.toString().startsWith(ignoPath.toString()))) {
@@ -137,13 +178,16 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     }
 
     if (Files.isDirectory(path)) {
-      return new DirectoryBasedAnalysisInputLocation(path, srcType, bodyInterceptors, ignoredPaths);
+      return new DirectoryBasedAnalysisInputLocation(
+          path, srcType, bodyInterceptors, ignoredPaths, frontendOptions);
     } else if (PathUtils.isArchive(path)) {
       if (PathUtils.hasExtension(path, FileType.JAR)) {
-        return new ArchiveBasedAnalysisInputLocation(path, srcType, bodyInterceptors, ignoredPaths);
+        return new ArchiveBasedAnalysisInputLocation(
+            path, srcType, bodyInterceptors, ignoredPaths, frontendOptions);
       } else if (PathUtils.hasExtension(path, FileType.WAR)) {
         try {
-          return new WarArchiveAnalysisInputLocation(path, srcType, bodyInterceptors, ignoredPaths);
+          return new WarArchiveAnalysisInputLocation(
+              path, srcType, bodyInterceptors, ignoredPaths, frontendOptions);
         } catch (IOException e) {
           throw new RuntimeException(e);
         }
@@ -160,8 +204,34 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       @Nonnull Path dirPath,
       @Nonnull IdentifierFactory factory,
       @Nonnull ClassProvider classProvider) {
+    return walkDirectory(
+        dirPath,
+        factory,
+        classProvider.getHandledFileType(),
+        (p, type) ->
+            classProvider.createClassSource(this, p, type).map(src -> (JavaSootClassSource) src));
+  }
+
+  /** Reads the headers of the classes in the directory, see {@link #getClassHeaders(View)}. */
+  @Nonnull
+  Collection<ClassHeader> walkDirectoryHeaders(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull ClassProvider classProvider) {
+    return walkDirectory(
+        dirPath,
+        factory,
+        classProvider.getHandledFileType(),
+        (p, type) -> classProvider.createClassHeader(this, p, type));
+  }
+
+  @Nonnull
+  private <T> List<T> walkDirectory(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull FileType handledFileType,
+      @Nonnull BiFunction<Path, ClassType, Optional<T>> create) {
 
-    final FileType handledFileType = classProvider.getHandledFileType();
     final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
     try (final Stream<Path> walk = Files.walk(dirPath)) {
       return walk.filter(
@@ -175,10 +245,8 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
                 final String fullyQualifiedName = fromPath(dirPath, p);
 
                 return StreamUtils.optionalToStream(
-                    classProvider.createClassSource(
-                        this, p, factory.getClassType(fullyQualifiedName)));
+                    create.apply(p, factory.getClassType(fullyQualifiedName)));
               })
-          .map(src -> (JavaSootClassSource) src)
           .collect(Collectors.toList());
 
     } catch (IOException e) {
@@ -186,6 +254,41 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     }
   }
 
+  /**
+   * Returns the names of the packages which contain class files in this location, or an empty
+   * Optional if they can not be listed in advance. Used to index the entries of a {@link
+   * JavaClassPathAnalysisInputLocation}.
+   */
+  @Nonnull
+  Optional<Set<String>> getPackageNames() {
+    return Optional.empty();
+  }
+
+  @Nonnull
+  Set<String> collectPackageNames(@Nonnull Path dirPath) {
+    final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
+    try (final Stream<Path> walk = Files.walk(dirPath)) {
+      return walk.filter(
+              filePath ->
+                  PathUtils.hasExtension(filePath, FileType.CLASS)
+                      && !filePath.toString().endsWith(moduleInfoFilename))
+          .map(
+              filePath -> {
+                Path packagePath = filePath.getParent();
+                if (packagePath == null || packagePath.getNameCount() <= dirPath.getNameCount()) {
+                  return "";
+                }
+                return packagePath
+                    .subpath(dirPath.getNameCount(), packagePath.getNameCount())
+                    .toString()
+                    .replace(packagePath.getFileSystem().getSeparator(), ".");
+              })
+          .collect(Collectors.toCollection(HashSet::new));
+    } catch (IOException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
   @Nonnull
   protected String fromPath(@Nonnull Path baseDirPath, Path packageNamePathAndClass) {
     return FilenameUtils.removeExtension(
@@ -247,7 +350,21 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
         @Nonnull String omittedPackageName,
         @Nonnull SourceType srcType,
         @Nonnull List<BodyInterceptor> bodyInterceptors) {
-      super(classFilePath, srcType, bodyInterceptors);
+      this(
+          classFilePath,
+          omittedPackageName,
+          srcType,
+          bodyInterceptors,
+          BytecodeFrontendOptions.DEFAULT);
+    }
+
+    public ClassFileBasedAnalysisInputLocation(
+        @Nonnull Path classFilePath,
+        @Nonnull String omittedPackageName,
+        @Nonnull SourceType srcType,
+        @Nonnull List<BodyInterceptor> bodyInterceptors,
+        @Nonnull BytecodeFrontendOptions frontendOptions) {
+      super(classFilePath, srcType, bodyInterceptors, Collections.emptyList(), frontendOptions);
       this.omittedPackageName = omittedPackageName;
 
       if (!Files.isRegularFile(classFilePath)) {
@@ -269,13 +386,14 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
         return Optional.empty();
       }
 
-      return getSingleClass((JavaClassType) type, path, new AsmJavaClassProvider(view));
+      return getSingleClass(
+          (JavaClassType) type, path, new AsmJavaClassProvider(view, frontendOptions));
     }
 
     @Nonnull
     @Override
     public Collection<JavaSootClassSource> getClassSources(@Nonnull View view) {
-      AsmJavaClassProvider classProvider = new AsmJavaClassProvider(view);
+      AsmJavaClassProvider classProvider = new AsmJavaClassProvider(view, frontendOptions);
       IdentifierFactory factory = view.getIdentifierFactory();
       Path dirPath = this.path.getParent();
 
@@ -288,6 +406,17 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       return Collections.singletonList(classSource.get());
     }
 
+    @Nonnull
+    @Override
+    public Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+      IdentifierFactory factory = view.getIdentifierFactory();
+      final String fullyQualifiedName = fromPath(path.getParent(), path);
+      return StreamUtils.optionalToStream(
+              new AsmJavaClassProvider(view, frontendOptions)
+                  .createClassHeader(this, path, factory.getClassType(fullyQualifiedName)))
+          .collect(Collectors.toList());
+    }
+
     @Nonnull
     protected String fromPath(@Nonnull Path baseDirPath, Path packageNamePathAndClass) {
       String str =
@@ -315,7 +444,16 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
         @Nonnull SourceType srcType,
         @Nonnull List<BodyInterceptor> bodyInterceptors,
         @Nonnull Collection<Path> ignoredPaths) {
-      super(path, srcType, bodyInterceptors, ignoredPaths);
+      this(path, srcType, bodyInterceptors, ignoredPaths, BytecodeFrontendOptions.DEFAULT);
+    }
+
+    protected DirectoryBasedAnalysisInputLocation(
+        @Nonnull Path path,
+        @Nonnull SourceType srcType,
+        @Nonnull List<BodyInterceptor> bodyInterceptors,
+        @Nonnull Collection<Path> ignoredPaths,
+        @Nonnull BytecodeFrontendOptions frontendOptions) {
+      super(path, srcType, bodyInterceptors, ignoredPaths, frontendOptions);
     }
 
     @Override
@@ -323,14 +461,29 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     public Collection<JavaSootClassSource> getClassSources(@Nonnull View view) {
       // FIXME: 1) store the classprovider reference as a field; 2) and above too; and 3) move view
       // which is only used in SootNode to be just there?
-      return walkDirectory(path, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
+      return walkDirectory(
+          path, view.getIdentifierFactory(), new AsmJavaClassProvider(view, frontendOptions));
+    }
+
+    @Override
+    @Nonnull
+    public Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+      return walkDirectoryHeaders(
+          path, view.getIdentifierFactory(), new AsmJavaClassProvider(view, frontendOptions));
     }
 
     @Override
     @Nonnull
     public Optional<JavaSootClassSource> getClassSource(
         @Nonnull ClassType type, @Nonnull View view) {
-      return getClassSourceInternal((JavaClassType) type, path, new AsmJavaClassProvider(view));
+      return getClassSourceInternal(
+          (JavaClassType) type, path, new AsmJavaClassProvider(view, frontendOptions));
+    }
+
+    @Override
+    @Nonnull
+    Optional<Set<String>> getPackageNames() {
+      return Optional.of(collectPackageNames(path));
     }
   }
 
@@ -346,20 +499,23 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
           warPath,
           srcType,
           BytecodeBodyInterceptors.Default.getBodyInterceptors(),
-          Collections.emptyList());
+          Collections.emptyList(),
+          BytecodeFrontendOptions.DEFAULT);
     }
 
     private WarArchiveAnalysisInputLocation(
         @Nonnull Path warPath,
         @Nonnull SourceType srcType,
         @Nonnull List<BodyInterceptor> bodyInterceptors,
-        @Nonnull Collection<Path> ignoredPaths)
+        @Nonnull Collection<Path> ignoredPaths,
+        @Nonnull BytecodeFrontendOptions frontendOptions)
         throws IOException {
       super(
           Files.createTempDirectory("sootUp-war-" + warPath.hashCode()).toAbsolutePath(),
           srcType,
           bodyInterceptors,
-          ignoredPaths);
+          ignoredPaths,
+          frontendOptions);
 
       extractWarFile(warPath, path);
 
@@ -369,7 +525,8 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       Path classDir = webInfPath.resolve("classes");
       if (Files.exists(classDir)) {
         containedInputLocations.add(
-            new DirectoryBasedAnalysisInputLocation(classDir, srcType, bodyInterceptors));
+            new DirectoryBasedAnalysisInputLocation(
+                classDir, srcType, bodyInterceptors, Collections.emptyList(), frontendOptions));
       }
 
       Path libDir = webInfPath.resolve("lib");
@@ -380,7 +537,12 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
               .forEach(
                   f ->
                       containedInputLocations.add(
-                          new ArchiveBasedAnalysisInputLocation(f, srcType, bodyInterceptors)));
+                          new ArchiveBasedAnalysisInputLocation(
+                              f,
+                              srcType,
+                              bodyInterceptors,
+                              Collections.emptyList(),
+                              frontendOptions)));
         } catch (IOException e) {
           throw new RuntimeException(e);
         }
@@ -389,7 +551,12 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
 
     public WarArchiveAnalysisInputLocation(
         Path path, SourceType srcType, List<BodyInterceptor> bodyInterceptors) throws IOException {
-      this(path, srcType, bodyInterceptors, Collections.emptyList());
+      this(
+          path,
+          srcType,
+          bodyInterceptors,
+          Collections.emptyList(),
+          BytecodeFrontendOptions.DEFAULT);
     }
 
     @Override
@@ -406,6 +573,18 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
           .collect(Collectors.toList());
     }
 
+    @Override
+    @Nonnull
+    public Collection<ClassHeader> getClassHeaders(@Nonnull View view) {
+      Map<ClassType, ClassHeader> foundHeaders = new LinkedHashMap<>();
+      for (AnalysisInputLocation inputLoc : containedInputLocations) {
+        for (ClassHeader header : inputLoc.getClassHeaders(view)) {
+          foundHeaders.putIfAbsent(header.getType(), header);
+        }
+      }
+      return foundHeaders.values();
+    }
+
     @Override
     @Nonnull
     public Optional<JavaSootClassSource> getClassSource(
@@ -422,6 +601,13 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       return Optional.empty();
     }
 
+    @Override
+    @Nonnull
+    Optional<Set<String>> getPackageNames() {
+      // the classes are located in the contained input locations
+      return Optional.empty();
+    }
+
     /**
      * Extracts the war file at the temporary location to analyze underlying class and jar files
      *
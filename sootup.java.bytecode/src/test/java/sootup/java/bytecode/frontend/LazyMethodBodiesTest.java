@@ -0,0 +1,106 @@
+package sootup.java.bytecode.frontend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import categories.TestCategories;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/** Checks that reading method instructions on demand yields the same bodies as reading eagerly. */
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class LazyMethodBodiesTest {
+
+  private static AnalysisInputLocation inputLocation(String classPath, boolean lazy) {
+    return new JavaClassPathAnalysisInputLocation(
+        classPath,
+        SourceType.Application,
+        BytecodeBodyInterceptors.Default.getBodyInterceptors(),
+        BytecodeFrontendOptions.DEFAULT.withLazyMethodBodies(lazy));
+  }
+
+  private static Map<String, String> resolveAll(AnalysisInputLocation inputLocation) {
+    JavaView view = new JavaView(inputLocation);
+    Map<String, String> methods = new TreeMap<>();
+    for (JavaSootClass clazz : view.getClasses()) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        String body = "";
+        if (method.isConcrete()) {
+          // names of locals introduced by the TypeAssigner are not deterministic
+          body = method.getBody().toString().replaceAll("#l[0-9]+", "#l");
+        }
+        methods.put(
+            method.getSignature().toString(), method.getAnnotations(Optional.of(view)) + body);
+      }
+    }
+    return methods;
+  }
+
+  private static void assertSameBodies(String classPath) {
+    Map<String, String> eager = resolveAll(inputLocation(classPath, false));
+    Map<String, String> lazy = resolveAll(inputLocation(classPath, true));
+    assertFalse(eager.isEmpty());
+    assertEquals(eager, lazy);
+  }
+
+  @Test
+  public void testMiniApp() {
+    assertSameBodies("../shared-test-resources/java-miniapps/MiniApp.jar");
+  }
+
+  @Test
+  public void testMiniTestSuite() {
+    assertSameBodies("../shared-test-resources/miniTestSuite/java8/binary/");
+  }
+
+  @Test
+  public void testLazyMethodHasNoInstructionsBeforeResolving() {
+    JavaView view =
+        new JavaView(inputLocation("../shared-test-resources/java-miniapps/MiniApp.jar", true));
+    Collection<JavaSootClass> classes = view.getClasses();
+    for (JavaSootClass clazz : classes) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        AsmMethodSource methodSource = (AsmMethodSource) method.getBodySource();
+        assertEquals(0, methodSource.instructions.size());
+        if (method.isConcrete()) {
+          method.getBody();
+          assertFalse(methodSource.instructions.size() == 0);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLazyMethodBodiesPerInputLocation() {
+    JavaView view =
+        new JavaView(
+            Arrays.asList(
+                inputLocation("../shared-test-resources/java-miniapps/MiniApp.jar", true),
+                inputLocation("../shared-test-resources/miniTestSuite/java8/binary/", false)));
+    for (JavaSootClass clazz : view.getClasses()) {
+      boolean lazy =
+          ((PathBasedAnalysisInputLocation) clazz.getClassSource().getAnalysisInputLocation())
+              .getFrontendOptions()
+              .isLazyMethodBodies();
+      for (JavaSootMethod method : clazz.getMethods()) {
+        if (method.isConcrete()) {
+          AsmMethodSource methodSource = (AsmMethodSource) method.getBodySource();
+          assertEquals(lazy, methodSource.instructions.size() == 0);
+        }
+      }
+    }
+  }
+}
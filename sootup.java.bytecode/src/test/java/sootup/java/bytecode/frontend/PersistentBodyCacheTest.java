@@ -0,0 +1,170 @@
+package sootup.java.bytecode.frontend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import categories.TestCategories;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.Aggregator;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/** Checks that bodies are stored in and served from the {@link PersistentBodyCache}. */
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class PersistentBodyCacheTest {
+
+  private Path cacheDirectory;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    cacheDirectory = Files.createTempDirectory("sootup-body-cache");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  /** Resolves the bodies of all concrete methods, keyed by their signature. */
+  private static Map<String, String> bodies(PersistentBodyCache cache) {
+    return bodies(cache, BytecodeBodyInterceptors.Default.getBodyInterceptors());
+  }
+
+  /** Resolves the bodies of all concrete methods with the given interceptors. */
+  private static Map<String, String> bodies(
+      PersistentBodyCache cache, List<BodyInterceptor> bodyInterceptors) {
+    return bodiesWith(
+        BytecodeFrontendOptions.DEFAULT.withPersistentBodyCache(cache), bodyInterceptors);
+  }
+
+  /** Resolves the bodies of all concrete methods with the given options and interceptors. */
+  private static Map<String, String> bodiesWith(
+      BytecodeFrontendOptions options, List<BodyInterceptor> bodyInterceptors) {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/miniTestSuite/java8/binary/",
+                SourceType.Application,
+                bodyInterceptors,
+                options));
+    Map<String, String> bodies = new TreeMap<>();
+    for (JavaSootClass clazz : view.getClasses()) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        if (method.isConcrete()) {
+          // names of locals introduced by the TypeAssigner are not deterministic
+          bodies.put(
+              method.getSignature().toString(),
+              method.getBody().toString().replaceAll("#l[0-9]+", "#l"));
+        }
+      }
+    }
+    return bodies;
+  }
+
+  private List<Path> cacheFiles() throws IOException {
+    try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+      return paths.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+  }
+
+  @Test
+  public void testStoreAndLoad() throws IOException {
+    Map<String, String> expected = bodies(null);
+    assertFalse(expected.isEmpty());
+
+    PersistentBodyCache storingCache = new PersistentBodyCache(cacheDirectory);
+    assertEquals(expected, bodies(storingCache));
+    assertTrue(storingCache.getMissCount() > 0);
+    assertTrue(storingCache.getStoreCount() > 0);
+    // only the requested bodies count, not the ones converted to fill the cache
+    assertEquals(expected.size(), storingCache.getHitCount() + storingCache.getMissCount());
+    assertEquals(storingCache.getStoreCount(), cacheFiles().size());
+
+    PersistentBodyCache loadingCache = new PersistentBodyCache(cacheDirectory);
+    assertEquals(expected, bodies(loadingCache));
+    assertTrue(loadingCache.getHitCount() > 0);
+    assertEquals(expected.size(), loadingCache.getHitCount() + loadingCache.getMissCount());
+    assertEquals(0, loadingCache.getStoreCount());
+  }
+
+  @Test
+  public void testCorruptedCacheFile() throws IOException {
+    Map<String, String> expected = bodies(new PersistentBodyCache(cacheDirectory));
+    for (Path cacheFile : cacheFiles()) {
+      Files.write(cacheFile, new byte[] {1, 2, 3, 4, 5});
+    }
+
+    PersistentBodyCache cache = new PersistentBodyCache(cacheDirectory);
+    assertEquals(expected, bodies(cache));
+    assertEquals(cacheFiles().size(), cache.getStoreCount());
+  }
+
+  @Test
+  public void testInterceptorConfigurationsAreCachedSeparately() throws IOException {
+    List<BodyInterceptor> aggregateAll = Collections.singletonList(new Aggregator(false));
+    List<BodyInterceptor> aggregateStackLocals = Collections.singletonList(new Aggregator(true));
+
+    PersistentBodyCache firstCache = new PersistentBodyCache(cacheDirectory);
+    bodies(firstCache, aggregateAll);
+    assertTrue(firstCache.getStoreCount() > 0);
+
+    // the same interceptor with another configuration does not see the stored bodies, so every
+    // class is converted and stored again
+    PersistentBodyCache secondCache = new PersistentBodyCache(cacheDirectory);
+    assertEquals(bodies(null, aggregateStackLocals), bodies(secondCache, aggregateStackLocals));
+    assertEquals(firstCache.getStoreCount(), secondCache.getStoreCount());
+    assertEquals(2 * firstCache.getStoreCount(), cacheFiles().size());
+
+    PersistentBodyCache thirdCache = new PersistentBodyCache(cacheDirectory);
+    bodies(thirdCache, aggregateAll);
+    assertTrue(thirdCache.getHitCount() > 0);
+    assertEquals(0, thirdCache.getStoreCount());
+  }
+
+  @Test
+  public void testStoreWithLazyMethodBodies() throws IOException {
+    Map<String, String> expected = bodies(null);
+
+    PersistentBodyCache storingCache = new PersistentBodyCache(cacheDirectory);
+    BytecodeFrontendOptions lazyOptions =
+        BytecodeFrontendOptions.DEFAULT.withLazyMethodBodies(true);
+    assertEquals(
+        expected,
+        bodiesWith(
+            lazyOptions.withPersistentBodyCache(storingCache),
+            BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    assertEquals(expected.size(), storingCache.getHitCount() + storingCache.getMissCount());
+    assertEquals(storingCache.getStoreCount(), cacheFiles().size());
+
+    PersistentBodyCache loadingCache = new PersistentBodyCache(cacheDirectory);
+    assertEquals(
+        expected,
+        bodiesWith(
+            lazyOptions.withPersistentBodyCache(loadingCache),
+            BytecodeBodyInterceptors.Default.getBodyInterceptors()));
+    assertEquals(0, loadingCache.getStoreCount());
+  }
+}
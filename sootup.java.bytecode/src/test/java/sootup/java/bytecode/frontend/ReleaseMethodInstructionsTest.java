@@ -0,0 +1,72 @@
+package sootup.java.bytecode.frontend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import categories.TestCategories;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.SourceType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/** Checks that the instructions of a method are released after its body was resolved. */
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class ReleaseMethodInstructionsTest {
+
+  private static List<JavaSootMethod> concreteMethods(boolean lazy) {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/miniTestSuite/java8/binary/",
+                SourceType.Application,
+                BytecodeBodyInterceptors.Default.getBodyInterceptors(),
+                BytecodeFrontendOptions.DEFAULT
+                    .withLazyMethodBodies(lazy)
+                    .withReleaseMethodInstructions(true)));
+    List<JavaSootMethod> methods = new ArrayList<>();
+    for (JavaSootClass clazz : view.getClasses()) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        if (method.isConcrete()) {
+          methods.add(method);
+        }
+      }
+    }
+    return methods;
+  }
+
+  private static void assertReleasedAndRebuildable(List<JavaSootMethod> methods) {
+    assertFalse(methods.isEmpty());
+    for (JavaSootMethod method : methods) {
+      AsmMethodSource methodSource = (AsmMethodSource) method.getBodySource();
+      String body = method.getBody().toString();
+
+      assertFalse(methodSource.isInstructionsLoaded());
+      assertEquals(0, methodSource.instructions.size());
+      assertTrue(methodSource.tryCatchBlocks.isEmpty());
+      assertNull(methodSource.localVariables);
+
+      // names of locals introduced by the TypeAssigner are not deterministic
+      String rebuiltBody = methodSource.resolveBody(method.getModifiers()).toString();
+      assertEquals(body.replaceAll("#l[0-9]+", "#l"), rebuiltBody.replaceAll("#l[0-9]+", "#l"));
+      assertFalse(methodSource.isInstructionsLoaded());
+    }
+  }
+
+  @Test
+  public void testReleaseAfterEagerParsing() {
+    assertReleasedAndRebuildable(concreteMethods(false));
+  }
+
+  @Test
+  public void testReleaseAfterLazyParsing() {
+    assertReleasedAndRebuildable(concreteMethods(true));
+  }
+}
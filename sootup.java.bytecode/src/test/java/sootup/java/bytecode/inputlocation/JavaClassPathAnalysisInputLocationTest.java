@@ -0,0 +1,100 @@
+package sootup.java.bytecode.inputlocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import categories.TestCategories;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.model.SourceType;
+import sootup.core.types.ClassType;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.views.JavaView;
+
+/** Checks the lookup of classes via the package index of the class path entries. */
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class JavaClassPathAnalysisInputLocationTest {
+
+  private static final Path miniApp =
+      Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+  private static final Path java6Binaries =
+      Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+
+  @Test
+  public void testFirstEntryWinsForSplitPackages() throws IOException {
+    Path copyDir = Files.createTempDirectory("sootup-classpath");
+    Path miniAppCopy = copyDir.resolve("MiniAppCopy.jar");
+    Files.copy(miniApp, miniAppCopy);
+    try {
+      JavaClassPathAnalysisInputLocation inputLocation =
+          new JavaClassPathAnalysisInputLocation(
+              java6Binaries + File.pathSeparator + miniAppCopy + File.pathSeparator + miniApp,
+              SourceType.Application);
+      JavaView view = new JavaView(inputLocation);
+
+      ClassType employee = view.getIdentifierFactory().getClassType("ds.Employee");
+      Optional<JavaSootClassSource> classSource = inputLocation.getClassSource(employee, view);
+      assertTrue(classSource.isPresent());
+      assertEquals(miniAppCopy, entryPathOf(classSource.get()));
+
+      // the default package is contained in both the directory and the jars
+      ClassType miniAppClass = view.getIdentifierFactory().getClassType("MiniApp");
+      classSource = inputLocation.getClassSource(miniAppClass, view);
+      assertTrue(classSource.isPresent());
+      assertEquals(miniAppCopy, entryPathOf(classSource.get()));
+
+      ClassType java6Class = view.getIdentifierFactory().getClassType("AbstractClass");
+      classSource = inputLocation.getClassSource(java6Class, view);
+      assertTrue(classSource.isPresent());
+      assertEquals(java6Binaries, entryPathOf(classSource.get()));
+    } finally {
+      Files.delete(miniAppCopy);
+      Files.delete(copyDir);
+    }
+  }
+
+  @Test
+  public void testMissingClasses() {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            java6Binaries + File.pathSeparator + miniApp, SourceType.Application);
+    JavaView view = new JavaView(inputLocation);
+
+    // unknown package
+    assertFalse(
+        inputLocation
+            .getClassSource(view.getIdentifierFactory().getClassType("unknown.Employee"), view)
+            .isPresent());
+    // known package, unknown class
+    assertFalse(
+        inputLocation
+            .getClassSource(view.getIdentifierFactory().getClassType("ds.Unknown"), view)
+            .isPresent());
+  }
+
+  @Test
+  public void testAllClassesAreFound() {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            java6Binaries + File.pathSeparator + miniApp, SourceType.Application);
+    JavaView view = new JavaView(inputLocation);
+
+    for (JavaSootClassSource classSource : inputLocation.getClassSources(view)) {
+      Optional<JavaSootClassSource> foundSource =
+          inputLocation.getClassSource(classSource.getClassType(), view);
+      assertTrue(foundSource.isPresent(), classSource.getClassType() + " not found");
+    }
+  }
+
+  private static Path entryPathOf(SootClassSource classSource) {
+    return ((PathBasedAnalysisInputLocation) classSource.getAnalysisInputLocation()).path;
+  }
+}
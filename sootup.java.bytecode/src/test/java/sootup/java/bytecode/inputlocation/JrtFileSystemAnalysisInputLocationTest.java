@@ -1,6 +1,7 @@
 package sootup.java.bytecode.inputlocation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import categories.TestCategories;
@@ -11,9 +12,11 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.types.ClassType;
+import sootup.java.core.JavaIdentifierFactory;
 import sootup.java.core.JavaModuleIdentifierFactory;
 import sootup.java.core.signatures.ModuleSignature;
 import sootup.java.core.views.JavaModuleView;
+import sootup.java.core.views.JavaView;
 
 /** @author Andreas Dann, Markus Schmidt */
 @Tag(TestCategories.JAVA_9_CATEGORY)
@@ -34,6 +37,35 @@ public class JrtFileSystemAnalysisInputLocationTest {
     assertEquals(sig, clazz.get().getClassType());
   }
 
+  @Test
+  public void getClassSourceWithoutModule() {
+    JrtFileSystemAnalysisInputLocation inputLocation = new JrtFileSystemAnalysisInputLocation();
+    JavaView view = new JavaView(inputLocation);
+    JavaIdentifierFactory identifierFactory = JavaIdentifierFactory.getInstance();
+
+    final ClassType string = identifierFactory.getClassType("java.lang.String");
+    Optional<? extends SootClassSource> clazz = inputLocation.getClassSource(string, view);
+    assertTrue(clazz.isPresent());
+    assertEquals(string, clazz.get().getClassType());
+    assertTrue(clazz.get().getSourcePath().startsWith("modules/java.base"));
+
+    final ClassType tree = identifierFactory.getClassType("com.sun.source.tree.Tree");
+    clazz = inputLocation.getClassSource(tree, view);
+    assertTrue(clazz.isPresent());
+    assertTrue(clazz.get().getSourcePath().startsWith("modules/jdk.compiler"));
+
+    // unknown class of a known package
+    assertFalse(
+        inputLocation
+            .getClassSource(identifierFactory.getClassType("java.lang.Unknown"), view)
+            .isPresent());
+    // unknown package
+    assertFalse(
+        inputLocation
+            .getClassSource(identifierFactory.getClassType("unknown.String"), view)
+            .isPresent());
+  }
+
   @Test
   public void getClassSources() {
     // hint: quite expensive as it loads **all** Runtime modules!
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
+import sootup.core.cache.body.BodyRetentionPolicy;
 import sootup.core.frontend.BodySource;
 import sootup.core.frontend.OverridingBodySource;
 import sootup.core.model.Body;
@@ -51,6 +52,18 @@ public class JavaSootMethod extends SootMethod {
     this.annotations = annotations;
   }
 
+  public JavaSootMethod(
+      @Nonnull BodySource source,
+      @Nonnull MethodSignature methodSignature,
+      @Nonnull Iterable<MethodModifier> modifiers,
+      @Nonnull Iterable<ClassType> thrownExceptions,
+      @Nonnull Iterable<AnnotationUsage> annotations,
+      @Nonnull Position position,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    super(source, methodSignature, modifiers, thrownExceptions, position, bodyRetentionPolicy);
+    this.annotations = annotations;
+  }
+
   @Nonnull
   public Iterable<AnnotationUsage> getAnnotations(@Nonnull Optional<JavaView> view) {
     resolveDefaultsForAnnotationTypes(view, annotations);
@@ -81,7 +94,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         exceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        getBodyRetentionPolicy());
   }
 
   @Nonnull
@@ -93,7 +107,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         exceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        getBodyRetentionPolicy());
   }
 
   @Nonnull
@@ -105,7 +120,8 @@ public class JavaSootMethod extends SootMethod {
         modifiers,
         getExceptionSignatures(),
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        getBodyRetentionPolicy());
   }
 
   @Nonnull
@@ -117,7 +133,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         thrownExceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        getBodyRetentionPolicy());
   }
 
   @Nonnull
@@ -128,7 +145,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         getExceptionSignatures(),
         annotations,
-        getPosition());
+        getPosition(),
+        getBodyRetentionPolicy());
   }
 
   @Nonnull
@@ -140,7 +158,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         exceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        getBodyRetentionPolicy());
   }
 
   @Nonnull
@@ -61,6 +61,12 @@ public class Aggregator implements BodyInterceptor {
     this.dontAggregateFieldLocals = dontAggregateFieldLocals;
   }
 
+  @Nonnull
+  @Override
+  public String getCacheKey() {
+    return getClass().getName() + "(dontAggregateFieldLocals=" + dontAggregateFieldLocals + ")";
+  }
+
   /**
    * Traverse the statements in the given body, looking for aggregation possibilities; that is,
    * given a def d and a use u, d has no other uses, u has no other defs, collapse d and u.
@@ -84,8 +90,8 @@ public class Aggregator implements BodyInterceptor {
       if (dontAggregateFieldLocals && !lhsLocal.getName().startsWith("$")) {
         continue;
       }
-      for (Iterator<Value> iterator = assignStmt.getUses().iterator(); iterator.hasNext(); ) {
-        Value val = iterator.next();
+      for (int i = 0, n = assignStmt.getUseCount(); i < n; i++) {
+        Value val = assignStmt.getUse(i);
         if (!(val instanceof Local)) {
           continue;
         }
@@ -114,8 +120,8 @@ public class Aggregator implements BodyInterceptor {
 
         Set<Value> localsUsed = new HashSet<>();
         for (Stmt pathStmt : path) {
-          for (Iterator<Value> iter = pathStmt.getUses().iterator(); iter.hasNext(); ) {
-            Value use = iter.next();
+          for (int j = 0, useCount = pathStmt.getUseCount(); j < useCount; j++) {
+            Value use = pathStmt.getUse(j);
             if (use instanceof Local) {
               localsUsed.add(use);
             } else if (use instanceof AbstractInstanceInvokeExpr) {
@@ -166,8 +172,8 @@ public class Aggregator implements BodyInterceptor {
           }
           // Check for intervening side effects due to method calls
           if (propagatingInvokeExpr || propagatingFieldRef || propagatingArrayRef) {
-            for (Iterator<Value> iter = stmt.getUses().iterator(); iter.hasNext(); ) {
-              Value value = iter.next();
+            for (int j = 0, useCount = stmt.getUseCount(); j < useCount; j++) {
+              Value value = stmt.getUse(j);
               if (pathStmt == stmt && value == lhs) {
                 break;
               }
@@ -23,7 +23,6 @@ package sootup.java.core.interceptors;
 
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
@@ -84,8 +83,10 @@ public class ConstantPropagatorAndFolder implements BodyInterceptor {
         fold(stmt, constantStmtBiConsumer);
 
       } else if (stmt instanceof JReturnStmt) {
-        for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-          Value value = iterator.next();
+        // stmt may be replaced in the loop, but the uses of the original stmt are iterated
+        final Stmt returnStmtWithUses = stmt;
+        for (int i = 0, n = returnStmtWithUses.getUseCount(); i < n; i++) {
+          Value value = returnStmtWithUses.getUse(i);
           if (!(value instanceof Local)) {
             continue;
           }
@@ -119,8 +120,8 @@ public class ConstantPropagatorAndFolder implements BodyInterceptor {
   }
 
   private static void fold(Stmt stmt, BiConsumer<Constant, Stmt> constantStmtBiConsumer) {
-    for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-      Value value = iterator.next();
+    for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+      Value value = stmt.getUse(i);
 
       Constant evaluatedValue = Evaluator.getConstantValueOf(value);
       if (evaluatedValue == null) {
@@ -22,7 +22,6 @@ package sootup.java.core.interceptors;
  */
 
 import com.google.common.collect.Lists;
-import java.util.Iterator;
 import java.util.List;
 import javax.annotation.Nonnull;
 import sootup.core.graph.MutableStmtGraph;
@@ -61,8 +60,8 @@ public class CopyPropagator implements BodyInterceptor {
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
     MutableStmtGraph stmtGraph = builder.getStmtGraph();
     for (Stmt stmt : Lists.newArrayList(stmtGraph)) {
-      for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-        Value use = iterator.next();
+      for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+        Value use = stmt.getUse(i);
         if (!(use instanceof Local)) {
           continue;
         }
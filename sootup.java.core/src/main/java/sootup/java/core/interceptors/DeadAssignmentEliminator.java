@@ -60,6 +60,12 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
     this.eliminateOnlyStackLocals = eliminateOnlyStackLocals;
   }
 
+  @Nonnull
+  @Override
+  public String getCacheKey() {
+    return getClass().getName() + "(eliminateOnlyStackLocals=" + eliminateOnlyStackLocals + ")";
+  }
+
   @Override
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
     MutableStmtGraph stmtGraph = builder.getStmtGraph();
@@ -180,8 +186,8 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
     while (!deque.isEmpty()) {
       Stmt stmt = deque.removeFirst();
       if (essentialStmts.add(stmt)) {
-        for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-          Value value = iterator.next();
+        for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+          Value value = stmt.getUse(i);
           if (value instanceof Local) {
             Local local = (Local) value;
             Collection<Stmt> defs = allDefs.get(local);
@@ -217,9 +223,9 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
           // find at least one use of Value which is in an essential stmt
           boolean deadAssignment = true;
 
-          for (Iterator<Value> iterator = assignStmt.getUsesAndDefs().iterator();
-              iterator.hasNext(); ) {
-            Value value = iterator.next();
+          for (int i = 0, n = assignStmt.getUseCount(); i <= n; i++) {
+            // the def follows the uses
+            Value value = i < n ? assignStmt.getUse(i) : assignStmt.getLeftOp();
             if (!(value instanceof LValue)) {
               continue;
             }
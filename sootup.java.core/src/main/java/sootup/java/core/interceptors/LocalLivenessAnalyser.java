@@ -73,8 +73,8 @@ public class LocalLivenessAnalyser {
         }
 
         Set<Local> in = new HashSet<>();
-        for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-          Value use = iterator.next();
+        for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+          Value use = stmt.getUse(i);
           if (use instanceof Local) {
             in.add((Local) use);
           }
@@ -88,8 +88,8 @@ public class LocalPacker implements BodyInterceptor {
     Set<Local> newLocals = new LinkedHashSet<>();
     for (Stmt stmt : Lists.newArrayList(stmtGraph)) {
       Stmt newStmt = stmt;
-      for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-        Value use = iterator.next();
+      for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+        Value use = stmt.getUse(i);
         if (use instanceof Local) {
           Local newLocal = localToNewLocal.get(use);
           // assign a reasonable name
@@ -236,7 +236,7 @@ public class LocalSplitter implements BodyInterceptor {
             continue;
           }
 
-          if (stmt.getUses().anyMatch(l -> l == local)) {
+          if (stmt.containsUse(local)) {
             PartialStmt useStmt = new PartialStmt(stmt, false);
             disjointSet.add(useStmt);
             disjointSet.union(defStmt, useStmt);
@@ -278,7 +278,7 @@ public class LocalSplitter implements BodyInterceptor {
 
         Optional<LValue> stmtDef = stmt.getDef();
         boolean localIsDef = stmtDef.isPresent() && stmtDef.get() == local;
-        boolean localIsUse = stmt.getUses().anyMatch(l -> l == local);
+        boolean localIsUse = stmt.containsUse(local);
 
         Stmt oldStmt = stmt;
 
@@ -23,7 +23,6 @@ package sootup.java.core.interceptors;
  */
 
 import java.util.*;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import sootup.core.graph.BasicBlock;
 import sootup.core.graph.DominanceFinder;
@@ -116,9 +115,12 @@ public class StaticSingleAssignmentFormer implements BodyInterceptor {
       Set<FallsThroughStmt> newPhiStmts = new HashSet<>();
       for (Stmt stmt : block.getStmts()) {
         // replace use
-        final List<Value> uses = stmt.getUses().collect(Collectors.toList());
-        if (!uses.isEmpty() && !constainsPhiExpr(stmt)) {
-          for (Value use : uses) {
+        // stmt is replaced in the loop, but the uses of the original stmt are iterated
+        final Stmt stmtWithUses = stmt;
+        final int useCount = stmtWithUses.getUseCount();
+        if (useCount > 0 && !constainsPhiExpr(stmt)) {
+          for (int i = 0; i < useCount; i++) {
+            Value use = stmtWithUses.getUse(i);
             if (use instanceof Local) {
               Local newUse = localToNameStack.get(use).peek();
               Stmt newStmt = stmt.withNewUse(use, newUse);
@@ -328,8 +330,8 @@ public class StaticSingleAssignmentFormer implements BodyInterceptor {
 
   private boolean constainsPhiExpr(Stmt stmt) {
     if (stmt instanceof JAssignStmt) {
-      for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-        Value use = iterator.next();
+      for (int i = 0, n = stmt.getUseCount(); i < n; i++) {
+        Value use = stmt.getUse(i);
         if (use instanceof JPhiExpr) {
           return true;
         }
@@ -360,8 +362,8 @@ public class StaticSingleAssignmentFormer implements BodyInterceptor {
   private FallsThroughStmt addNewArgToPhi(Stmt phiStmt, Local arg, BasicBlock<?> block) {
 
     FallsThroughStmt newPhiStmt = null;
-    for (Iterator<Value> iterator = phiStmt.getUses().iterator(); iterator.hasNext(); ) {
-      Value use = iterator.next();
+    for (int i = 0, n = phiStmt.getUseCount(); i < n; i++) {
+      Value use = phiStmt.getUse(i);
       if (use instanceof JPhiExpr) {
         JPhiExpr newPhiExpr = (JPhiExpr) use;
         List<Local> args = ((JPhiExpr) use).getArgs();
@@ -0,0 +1,99 @@
+package sootup.java.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.basic.Local;
+import sootup.core.types.Type;
+import sootup.core.util.binary.BinaryInput;
+import sootup.core.util.binary.BodyDecoder;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.language.JavaJimple;
+
+/** Reads bodies written by {@link JavaBodyEncoder}. */
+public class JavaBodyDecoder extends BodyDecoder {
+
+  @Nonnull
+  @Override
+  protected Local readLocal(@Nonnull BinaryInput in) {
+    String name = in.readString();
+    Type type = in.readType();
+    if (in.readByte() == JavaBodyEncoder.JAVA_LOCAL) {
+      return JavaJimple.newLocal(name, type, readAnnotations(in));
+    }
+    return new Local(name, type);
+  }
+
+  /** Reads annotations written by {@link JavaBodyEncoder#writeAnnotations}. */
+  @Nonnull
+  public static List<AnnotationUsage> readAnnotations(@Nonnull BinaryInput in) {
+    int count = in.readVarInt();
+    if (count == 0) {
+      return Collections.emptyList();
+    }
+    List<AnnotationUsage> annotations = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      annotations.add(readAnnotation(in));
+    }
+    return annotations;
+  }
+
+  @Nonnull
+  private static AnnotationUsage readAnnotation(@Nonnull BinaryInput in) {
+    String annotationType = in.readString();
+    int count = in.readVarInt();
+    Map<String, Object> values = new HashMap<>(count);
+    for (int i = 0; i < count; i++) {
+      String key = in.readString();
+      values.put(key, readAnnotationValue(in));
+    }
+    return new AnnotationUsage(
+        JavaIdentifierFactory.getInstance().getAnnotationType(annotationType), values);
+  }
+
+  @Nonnull
+  private static Object readAnnotationValue(@Nonnull BinaryInput in) {
+    int kind = in.readByte();
+    switch (kind) {
+      case JavaBodyEncoder.CONSTANT_VALUE:
+        return in.readConstant();
+      case JavaBodyEncoder.ANNOTATION_VALUE:
+        return readAnnotation(in);
+      case JavaBodyEncoder.LIST_VALUE:
+        int size = in.readVarInt();
+        List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          values.add(readAnnotationValue(in));
+        }
+        return values;
+      default:
+        throw new IllegalStateException("Unknown annotation value kind " + kind + ".");
+    }
+  }
+}
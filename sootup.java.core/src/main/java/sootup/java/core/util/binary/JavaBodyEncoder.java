@@ -0,0 +1,102 @@
+package sootup.java.core.util.binary;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Map;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.common.constant.Constant;
+import sootup.core.util.binary.BinaryOutput;
+import sootup.core.util.binary.BodyEncoder;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.jimple.basic.JavaLocal;
+
+/** A {@link BodyEncoder} which keeps the annotations of {@link JavaLocal}s. */
+public class JavaBodyEncoder extends BodyEncoder {
+
+  static final byte PLAIN_LOCAL = 0;
+  static final byte JAVA_LOCAL = 1;
+
+  // annotation values
+  static final byte CONSTANT_VALUE = 0;
+  static final byte LIST_VALUE = 1;
+  static final byte ANNOTATION_VALUE = 2;
+
+  @Override
+  protected void writeLocal(@Nonnull Local local, @Nonnull BinaryOutput out) {
+    super.writeLocal(local, out);
+    if (local instanceof JavaLocal) {
+      out.writeByte(JAVA_LOCAL);
+      writeAnnotations(((JavaLocal) local).getAnnotations(), out);
+    } else {
+      out.writeByte(PLAIN_LOCAL);
+    }
+  }
+
+  /** Writes annotations in the format read by {@link JavaBodyDecoder#readAnnotations}. */
+  public static void writeAnnotations(
+      @Nonnull Iterable<AnnotationUsage> annotations, @Nonnull BinaryOutput out) {
+    int count = 0;
+    for (AnnotationUsage ignored : annotations) {
+      count++;
+    }
+    out.writeVarInt(count);
+    for (AnnotationUsage annotation : annotations) {
+      writeAnnotation(annotation, out);
+    }
+  }
+
+  private static void writeAnnotation(
+      @Nonnull AnnotationUsage annotation, @Nonnull BinaryOutput out) {
+    out.writeString(annotation.getAnnotation().getFullyQualifiedName());
+    Map<String, Object> values = annotation.getValues();
+    out.writeVarInt(values.size());
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      out.writeString(entry.getKey());
+      writeAnnotationValue(entry.getValue(), out);
+    }
+  }
+
+  private static void writeAnnotationValue(@Nonnull Object value, @Nonnull BinaryOutput out) {
+    if (value instanceof Constant) {
+      out.writeByte(CONSTANT_VALUE);
+      out.writeConstant((Constant) value);
+    } else if (value instanceof AnnotationUsage) {
+      out.writeByte(ANNOTATION_VALUE);
+      writeAnnotation((AnnotationUsage) value, out);
+    } else if (value instanceof Iterable) {
+      int count = 0;
+      for (Object ignored : (Iterable<?>) value) {
+        count++;
+      }
+      out.writeByte(LIST_VALUE);
+      out.writeVarInt(count);
+      for (Object element : (Iterable<?>) value) {
+        writeAnnotationValue(element, out);
+      }
+    } else {
+      throw new IllegalArgumentException(
+          "Annotation value " + value + " of " + value.getClass() + " can not be serialized.");
+    }
+  }
+}
@@ -0,0 +1,281 @@
+package sootup.java.core.views;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.cache.FullCache;
+import sootup.core.cache.provider.ClassCacheProvider;
+import sootup.core.cache.provider.ConcurrentFullCacheProvider;
+import sootup.core.frontend.AbstractClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.types.ClassType;
+import sootup.java.core.*;
+import sootup.java.core.types.AnnotationType;
+
+/**
+ * A {@link JavaView} that can be queried by multiple threads at the same time. In contrast to the
+ * {@link JavaView}, resolving a class does not lock the whole view: already cached classes are
+ * returned without acquiring a lock and classes that are not resolved yet are built in parallel. If
+ * multiple threads request the same {@link ClassType} at the same time, the class is built only
+ * once and every requesting thread receives the same instance. {@link #getClasses()} builds all
+ * classes of the view in parallel.
+ *
+ * <p>The {@link ClassCacheProvider} passed to this view has to create a thread-safe cache, e.g. the
+ * {@link sootup.core.cache.ConcurrentFullCache}.
+ */
+public class ConcurrentJavaView extends JavaView {
+
+  /** classes that are currently built by some thread. */
+  @Nonnull
+  private final ConcurrentHashMap<ClassType, ClassBuild> inFlightClasses =
+      new ConcurrentHashMap<>();
+
+  /** The result of building a class, together with the thread that builds it. */
+  private static final class ClassBuild extends CompletableFuture<Optional<JavaSootClass>> {
+    @Nonnull private final Thread owner = Thread.currentThread();
+  }
+
+  /** all classes of the view in classpath order, once they are resolved and kept by the cache. */
+  @Nullable private volatile List<JavaSootClass> allClasses;
+
+  public ConcurrentJavaView(@Nonnull AnalysisInputLocation inputLocation) {
+    this(Collections.singletonList(inputLocation));
+  }
+
+  public ConcurrentJavaView(@Nonnull List<AnalysisInputLocation> inputLocations) {
+    this(inputLocations, new ConcurrentFullCacheProvider());
+  }
+
+  public ConcurrentJavaView(
+      @Nonnull List<AnalysisInputLocation> inputLocations,
+      @Nonnull ClassCacheProvider cacheProvider) {
+    super(inputLocations, cacheProvider);
+  }
+
+  protected ConcurrentJavaView(
+      @Nonnull List<AnalysisInputLocation> inputLocations,
+      @Nonnull ClassCacheProvider cacheProvider,
+      @Nonnull JavaIdentifierFactory idf) {
+    super(inputLocations, cacheProvider, idf);
+  }
+
+  /**
+   * Resolves all classes that are part of the view and stores them in the cache. The classes are
+   * built in parallel on the {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @see #getClasses(Executor)
+   */
+  @Override
+  @Nonnull
+  public Collection<JavaSootClass> getClasses() {
+    return getClasses(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Resolves all classes that are part of the view and stores them in the cache. Reading the class
+   * sources of the input locations and building the classes is distributed over the given executor.
+   * The returned classes are in the same order as {@link JavaView#getClasses()} would return them,
+   * i.e. in the order of the input locations and their class sources - regardless of the order in
+   * which the classes were built.
+   */
+  @Nonnull
+  public Collection<JavaSootClass> getClasses(@Nonnull Executor executor) {
+    List<JavaSootClass> classes = allClasses;
+    if (isFullyResolved && classes != null) {
+      return new ArrayList<>(classes);
+    }
+
+    List<CompletableFuture<? extends Collection<? extends AbstractClassSource>>> sourceTasks =
+        inputLocations.stream()
+            .map(
+                location ->
+                    CompletableFuture.supplyAsync(() -> location.getClassSources(this), executor))
+            .collect(Collectors.toList());
+
+    // like javas behaviour: if a ClassType is contained in multiple input locations, the class
+    // source of the first location is used (see splitpackage)
+    List<ClassType> classTypes = new ArrayList<>();
+    Map<ClassType, CompletableFuture<Optional<JavaSootClass>>> buildTasks = new HashMap<>();
+    for (CompletableFuture<? extends Collection<? extends AbstractClassSource>> sourceTask :
+        sourceTasks) {
+      for (AbstractClassSource classSource : join(sourceTask)) {
+        ClassType classType = classSource.getClassType();
+        classTypes.add(classType);
+        buildTasks.computeIfAbsent(
+            classType,
+            type -> CompletableFuture.supplyAsync(() -> buildClassFrom(classSource), executor));
+      }
+    }
+
+    List<JavaSootClass> resolvedClasses = new ArrayList<>(classTypes.size());
+    for (ClassType classType : classTypes) {
+      join(buildTasks.get(classType)).ifPresent(resolvedClasses::add);
+    }
+
+    if (cache instanceof FullCache) {
+      // the cache keeps all classes anyways, so keeping the (deterministic) order is cheap
+      allClasses = resolvedClasses;
+    }
+    isFullyResolved = true;
+
+    return new ArrayList<>(resolvedClasses);
+  }
+
+  /**
+   * Resolves all classes of the view and the bodies of all their concrete methods. The bodies are
+   * resolved in parallel on the {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @see #resolveBodies(Executor)
+   */
+  public void resolveBodies() {
+    resolveBodies(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Resolves all classes of the view and the bodies of all their concrete methods. Each body is
+   * resolved by its own task on the given executor, so that bodies of large classes are spread over
+   * all threads as well. Whether the bodies are kept afterwards depends on the {@link
+   * sootup.core.cache.body.BodyRetentionPolicy} of the methods.
+   *
+   * @throws RuntimeException the first exception that was thrown while resolving a body, after all
+   *     bodies were processed
+   */
+  public void resolveBodies(@Nonnull Executor executor) {
+    List<CompletableFuture<?>> tasks = new ArrayList<>();
+    for (JavaSootClass clazz : getClasses(executor)) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        if (method.isConcrete()) {
+          tasks.add(CompletableFuture.runAsync(method::getBody, executor));
+        }
+      }
+    }
+    RuntimeException firstException = null;
+    for (CompletableFuture<?> task : tasks) {
+      try {
+        join(task);
+      } catch (RuntimeException e) {
+        if (firstException == null) {
+          firstException = e;
+        }
+      }
+    }
+    if (firstException != null) {
+      throw firstException;
+    }
+  }
+
+  /** Resolves the class matching the provided {@link ClassType ClassType}. */
+  @Override
+  @Nonnull
+  public Optional<JavaSootClass> getClass(@Nonnull ClassType type) {
+    JavaSootClass cachedClass = (JavaSootClass) cache.getClass(type);
+    if (cachedClass != null) {
+      return Optional.of(cachedClass);
+    }
+    return resolve(type, () -> getClassSource(type));
+  }
+
+  @Nonnull
+  @Override
+  protected Optional<JavaSootClass> buildClassFrom(AbstractClassSource classSource) {
+    ClassType classType = classSource.getClassType();
+    JavaSootClass cachedClass = (JavaSootClass) cache.getClass(classType);
+    if (cachedClass != null) {
+      return Optional.of(cachedClass);
+    }
+    return resolve(classType, () -> Optional.of(classSource));
+  }
+
+  /**
+   * Builds the class of the given type from the class source returned by the supplier. Only the
+   * first thread that asks for a specific type builds the class; all other threads that ask for the
+   * same type in the meantime wait for and share its result. If the building thread itself asks for
+   * the type again while building it, the class is built again directly (like the reentrant lock of
+   * the {@link JavaView} would allow) instead of waiting for its own unfinished build.
+   */
+  @Nonnull
+  private Optional<JavaSootClass> resolve(
+      @Nonnull ClassType classType,
+      @Nonnull Supplier<? extends Optional<? extends AbstractClassSource>> classSourceSupplier) {
+    ClassBuild ownTask = new ClassBuild();
+    CompletableFuture<Optional<JavaSootClass>> task =
+        inFlightClasses.putIfAbsent(classType, ownTask);
+
+    if (task == null) {
+      task = ownTask;
+      try {
+        ownTask.complete(buildAndCache(classType, classSourceSupplier));
+      } catch (Throwable e) {
+        ownTask.completeExceptionally(e);
+        throw e;
+      } finally {
+        inFlightClasses.remove(classType, ownTask);
+      }
+    } else if (((ClassBuild) task).owner == Thread.currentThread()) {
+      return buildAndCache(classType, classSourceSupplier);
+    }
+
+    Optional<JavaSootClass> theClass = join(task);
+
+    // resolved outside of the building task, as annotation values can reference other classes
+    // (or the class itself) which would otherwise wait for a task that is still running.
+    if (theClass.isPresent() && theClass.get().getType() instanceof AnnotationType) {
+      JavaAnnotationSootClass jasc = (JavaAnnotationSootClass) theClass.get();
+      jasc.getAnnotations(Optional.of(this)).forEach(AnnotationUsage::getValuesWithDefaults);
+    }
+
+    return theClass;
+  }
+
+  /** Builds the class of the given type and stores it in the cache, unless it is cached already. */
+  @Nonnull
+  private Optional<JavaSootClass> buildAndCache(
+      @Nonnull ClassType classType,
+      @Nonnull Supplier<? extends Optional<? extends AbstractClassSource>> classSourceSupplier) {
+    // another thread could have finished building the class before we registered our task
+    JavaSootClass theClass = (JavaSootClass) cache.getClass(classType);
+    if (theClass == null) {
+      Optional<? extends AbstractClassSource> classSource = classSourceSupplier.get();
+      if (classSource.isPresent()) {
+        AbstractClassSource source = classSource.get();
+        JavaSootClass builtClass =
+            (JavaSootClass) source.buildClass(source.getAnalysisInputLocation().getSourceType());
+        // a reentrant request of the building thread could have cached the class meanwhile
+        theClass = (JavaSootClass) cache.getClass(classType);
+        if (theClass == null) {
+          theClass = builtClass;
+          cache.putClass(classType, theClass);
+        }
+      }
+    }
+    return Optional.ofNullable(theClass);
+  }
+}
@@ -22,17 +22,27 @@ package sootup.java.core.views;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import sootup.core.cache.ClassCache;
+import sootup.core.cache.ClassCacheStats;
 import sootup.core.cache.FullCache;
 import sootup.core.cache.provider.ClassCacheProvider;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.signatures.MethodSignature;
@@ -56,6 +66,11 @@ public class JavaView extends AbstractView {
 
   protected volatile boolean isFullyResolved = false;
 
+  /** the number of input locations that are probed at the same time by a class lookup. */
+  private volatile int lookupParallelism = 1;
+
+  @Nonnull private volatile Executor lookupExecutor = ForkJoinPool.commonPool();
+
   public JavaView(@Nonnull AnalysisInputLocation inputLocation) {
     this(Collections.singletonList(inputLocation));
   }
@@ -102,6 +117,29 @@ public class JavaView extends AbstractView {
     return resolvedClasses;
   }
 
+  /**
+   * Reads the headers of the classes of all input locations without resolving the classes. If a
+   * class is contained in several input locations, the header is read from the first one, which is
+   * the one {@link #getClass(ClassType)} resolves the class from.
+   */
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders() {
+    synchronized (this) {
+      if (isFullyResolved && cache instanceof FullCache) {
+        return cache.getClasses().stream().map(ClassHeader::of).collect(Collectors.toList());
+      }
+    }
+
+    Map<ClassType, ClassHeader> headers = new LinkedHashMap<>();
+    for (AnalysisInputLocation inputLocation : inputLocations) {
+      for (ClassHeader header : inputLocation.getClassHeaders(this)) {
+        headers.putIfAbsent(header.getType(), header);
+      }
+    }
+    return headers.values();
+  }
+
   /** Resolves the class matching the provided {@link ClassType ClassType}. */
   @Override
   @Nonnull
@@ -140,18 +178,99 @@ public class JavaView extends AbstractView {
     return cache.size();
   }
 
+  /** Returns the hit, miss and eviction statistics of the cache of this view. */
+  @Nonnull
+  public ClassCacheStats getCacheStats() {
+    return cache.getStats();
+  }
+
+  /**
+   * Sets the number of input locations that are probed at the same time when a class is looked up
+   * that is not cached yet. By default (1), the input locations are probed one after another, which
+   * is the fastest option if the input locations can answer a lookup from an index, as the input
+   * locations for class paths and the runtime image do. With a parallelism of n, the next n - 1
+   * input locations are probed speculatively on the given executor while the current one is probed,
+   * which can reduce the latency of lookups in many slow input locations. In both cases the class
+   * source of the first input location that contains the class is returned.
+   */
+  public void setLookupParallelism(int parallelism, @Nonnull Executor executor) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The lookup parallelism has to be at least 1.");
+    }
+    this.lookupExecutor = executor;
+    this.lookupParallelism = parallelism;
+  }
+
+  /**
+   * Sets the number of input locations that are probed at the same time on the {@link
+   * ForkJoinPool#commonPool() common pool}.
+   *
+   * @see #setLookupParallelism(int, Executor)
+   */
+  public void setLookupParallelism(int parallelism) {
+    setLookupParallelism(parallelism, ForkJoinPool.commonPool());
+  }
+
+  public int getLookupParallelism() {
+    return lookupParallelism;
+  }
+
   @Nonnull
   protected Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type) {
-    return inputLocations
-        .parallelStream()
-        .map(location -> location.getClassSource(type, this))
-        .filter(Optional::isPresent)
-        // like javas behaviour: if multiple matching Classes(ClassTypes) are found on the
-        // classpath the first is returned (see splitpackage)
-        .limit(1)
-        .map(Optional::get)
-        .map(classSource -> (JavaSootClassSource) classSource)
-        .findAny();
+    int parallelism = lookupParallelism;
+    if (parallelism > 1 && inputLocations.size() > 1) {
+      return getClassSourceSpeculatively(type, parallelism);
+    }
+    // like javas behaviour: if multiple matching Classes(ClassTypes) are found on the
+    // classpath the first is returned (see splitpackage)
+    for (AnalysisInputLocation inputLocation : inputLocations) {
+      Optional<? extends SootClassSource> classSource = inputLocation.getClassSource(type, this);
+      if (classSource.isPresent()) {
+        return classSource.map(src -> (JavaSootClassSource) src);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Probes the input locations in a sliding window: the current input location is probed by the
+   * calling thread while the next ones are probed on the lookup executor. The results are evaluated
+   * in the order of the input locations, so the first input location that contains the class wins -
+   * regardless of which probe finishes first.
+   */
+  @Nonnull
+  private Optional<JavaSootClassSource> getClassSourceSpeculatively(
+      @Nonnull ClassType type, int parallelism) {
+    Executor executor = lookupExecutor;
+    int locationCount = inputLocations.size();
+    List<CompletableFuture<Optional<? extends SootClassSource>>> probes =
+        new ArrayList<>(locationCount);
+    try {
+      for (int i = 0; i < locationCount; i++) {
+        for (int next = probes.size(); next < Math.min(locationCount, i + parallelism); next++) {
+          AnalysisInputLocation inputLocation = inputLocations.get(next);
+          probes.add(
+              next == i
+                  ? null
+                  : CompletableFuture.supplyAsync(
+                      () -> inputLocation.getClassSource(type, this), executor));
+        }
+        CompletableFuture<Optional<? extends SootClassSource>> probe = probes.get(i);
+        Optional<? extends SootClassSource> classSource =
+            probe == null ? inputLocations.get(i).getClassSource(type, this) : join(probe);
+        if (classSource.isPresent()) {
+          return classSource.map(src -> (JavaSootClassSource) src);
+        }
+      }
+      return Optional.empty();
+    } finally {
+      // the results of the remaining probes are not needed anymore
+      for (CompletableFuture<Optional<? extends SootClassSource>> probe : probes) {
+        if (probe != null) {
+          probe.cancel(false);
+        }
+      }
+    }
   }
 
   @Nonnull
@@ -175,4 +294,20 @@ public class JavaView extends AbstractView {
 
     return Optional.of(theClass);
   }
+
+  /** waits for the task and rethrows an unchecked exception that was thrown by the task itself. */
+  protected static <T> T join(@Nonnull CompletableFuture<T> task) {
+    try {
+      return task.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
 }
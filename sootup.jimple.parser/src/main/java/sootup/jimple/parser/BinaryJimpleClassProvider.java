@@ -0,0 +1,91 @@
+package sootup.jimple.parser;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassProvider;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.inputlocation.FileType;
+import sootup.core.types.ClassType;
+import sootup.core.util.binary.BinaryInput;
+import sootup.core.util.binary.ClassDecoder;
+
+/**
+ * A {@link ClassProvider} for classes stored in the binary Jimple format i.e. written by {@link
+ * sootup.core.util.binary.ClassEncoder}.
+ */
+public class BinaryJimpleClassProvider implements ClassProvider {
+
+  private static final @Nonnull Logger logger =
+      LoggerFactory.getLogger(BinaryJimpleClassProvider.class);
+
+  @Nonnull private final IdentifierFactory identifierFactory;
+  @Nonnull private final ClassDecoder classDecoder;
+
+  public BinaryJimpleClassProvider(@Nonnull IdentifierFactory identifierFactory) {
+    this(identifierFactory, new ClassDecoder());
+  }
+
+  public BinaryJimpleClassProvider(
+      @Nonnull IdentifierFactory identifierFactory, @Nonnull ClassDecoder classDecoder) {
+    this.identifierFactory = identifierFactory;
+    this.classDecoder = classDecoder;
+  }
+
+  @Override
+  public Optional<SootClassSource> createClassSource(
+      AnalysisInputLocation inputlocation, Path sourcePath, ClassType classSignature) {
+    try {
+      BinaryInput in =
+          new BinaryInput(ByteBuffer.wrap(Files.readAllBytes(sourcePath)), identifierFactory);
+      SootClassSource classSource = classDecoder.read(in, inputlocation, sourcePath);
+      if (!classSource.getClassType().equals(classSignature)) {
+        return Optional.empty();
+      }
+      return Optional.of(classSource);
+    } catch (IOException e) {
+      logger.warn(
+          "The binary jimple file of "
+              + classSignature
+              + " in path: "
+              + sourcePath
+              + " could not be read.",
+          e);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public FileType getHandledFileType() {
+    return FileType.BINARY_JIMPLE;
+  }
+}
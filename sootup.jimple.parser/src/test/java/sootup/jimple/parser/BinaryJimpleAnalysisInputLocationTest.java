@@ -0,0 +1,88 @@
+package sootup.jimple.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootClassMember;
+import sootup.core.model.SootMethod;
+import sootup.core.util.binary.ClassEncoder;
+
+@Tag("Java8")
+public class BinaryJimpleAnalysisInputLocationTest {
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    JimpleView jimpleView =
+        new JimpleView(
+            new JimpleAnalysisInputLocation(Paths.get("src/test/java/resources/jimple")));
+
+    Path directory = Files.createTempDirectory("sootup-binary-jimple");
+    try {
+      Map<String, SootClass> expectedClasses = new HashMap<>();
+      for (SootClass clazz : jimpleView.getClasses()) {
+        byte[] bytes;
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+          new ClassEncoder().write(clazz, out);
+          bytes = out.toByteArray();
+        } catch (IllegalArgumentException e) {
+          // e.g. a body in SSA form
+          continue;
+        }
+        try (OutputStream out =
+            Files.newOutputStream(directory.resolve(clazz.getName() + ".jimplebin"))) {
+          out.write(bytes);
+        }
+        expectedClasses.put(clazz.getName(), clazz);
+      }
+      assertFalse(expectedClasses.isEmpty());
+
+      JimpleView binaryView = new JimpleView(new BinaryJimpleAnalysisInputLocation(directory));
+      assertEquals(expectedClasses.size(), binaryView.getClasses().size());
+      for (SootClass expected : expectedClasses.values()) {
+        Optional<SootClass> actualOpt = binaryView.getClass(expected.getType());
+        assertTrue(actualOpt.isPresent());
+        SootClass actual = actualOpt.get();
+
+        assertEquals(expected.getModifiers(), actual.getModifiers());
+        assertEquals(expected.getSuperclass(), actual.getSuperclass());
+        assertEquals(expected.getInterfaces(), actual.getInterfaces());
+        assertEquals(signatures(expected.getFields()), signatures(actual.getFields()));
+        assertEquals(signatures(expected.getMethods()), signatures(actual.getMethods()));
+        for (SootMethod method : expected.getMethods()) {
+          SootMethod actualMethod = actual.getMethod(method.getSignature().getSubSignature()).get();
+          assertEquals(method.getModifiers(), actualMethod.getModifiers());
+          if (method.hasBody()) {
+            assertEquals(method.getBody().toString(), actualMethod.getBody().toString());
+          }
+        }
+      }
+    } finally {
+      try (Stream<Path> paths = Files.walk(directory)) {
+        for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  private static Set<String> signatures(Set<? extends SootClassMember<?>> members) {
+    return members.stream().map(m -> m.getSignature().toString()).collect(Collectors.toSet());
+  }
+}
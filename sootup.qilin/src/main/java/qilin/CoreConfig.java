@@ -84,6 +84,25 @@ public class CoreConfig {
     public boolean enforceEmptyCtxForIgnoreTypes = false;
 
     public String ptaName;
+
+    /**
+     * the number of threads of the solver. With more than one thread, the points-to sets are
+     * propagated in parallel waves, see {@link qilin.core.solver.ParallelSolver}.
+     */
+    public int solverThreads = 1;
+
+    /**
+     * detect cycles of simple edges lazily while propagating and merge their nodes into one node
+     * with a shared points-to set. Only the single-threaded solver supports it, the parallel one
+     * rejects it.
+     */
+    public boolean cycleElimination = false;
+
+    /**
+     * share the propagated points-to sets between pointers that receive the same objects and intern
+     * the final ones, such that memory scales with the number of distinct points-to sets.
+     */
+    public boolean sharedPointsToSets = false;
   }
 
   public static class ApplicationConfiguration {
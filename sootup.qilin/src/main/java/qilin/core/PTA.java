@@ -44,6 +44,8 @@ public abstract class PTA implements PointsToAnalysis {
   protected OnFlyCallGraph callGraph;
   protected CallGraphBuilder cgb;
   protected ExceptionHandler eh;
+  // the propagator of the last run, null before the analysis has run.
+  protected Propagator propagator;
 
   public PTA(PTAScene scene) {
     this.scene = scene;
@@ -63,7 +65,13 @@ public abstract class PTA implements PointsToAnalysis {
   }
 
   public void pureRun() {
-    getPropagator().propagate();
+    propagator = getPropagator();
+    propagator.propagate();
+  }
+
+  /** Returns the propagator that has computed the points-to sets, or null before the analysis. */
+  public Propagator getLastPropagator() {
+    return propagator;
   }
 
   public PAG getPag() {
@@ -155,15 +163,7 @@ public abstract class PTA implements PointsToAnalysis {
     } else {
       VarNode varNode = (VarNode) n;
       ret = new HybridPointsToSet();
-      if (pag.getContextVarNodeMap().containsKey(varNode)) {
-        pag.getContextVarNodeMap()
-            .get(varNode)
-            .values()
-            .forEach(
-                vn -> {
-                  ret.addAll(vn.getP2Set(), null);
-                });
-      }
+      pag.getContextVarNodes(varNode).forEach(vn -> ret.addAll(vn.getP2Set(), null));
     }
     return new UnmodifiablePointsToSet(this, ret);
   }
@@ -226,44 +226,28 @@ public abstract class PTA implements PointsToAnalysis {
     } else {
       ret = new HybridPointsToSet();
       SparkField sparkField = new Field(f);
-      pag.getContextFieldVarNodeMap().values().stream()
-          .filter(map -> map.containsKey(sparkField))
-          .forEach(
-              map -> {
-                ContextField contextField = map.get(sparkField);
-                ret.addAll(contextField.getP2Set(), null);
-              });
+      pag.getContextFields(sparkField).forEach(cf -> ret.addAll(cf.getP2Set(), null));
     }
     return new UnmodifiablePointsToSet(this, ret);
   }
 
   public PointsToSet reachingObjectsInternal(PointsToSet bases, final SparkField f) {
     final PointsToSetInternal ret = new HybridPointsToSet();
-    pag.getContextFieldVarNodeMap().values().stream()
-        .filter(map -> map.containsKey(f))
-        .forEach(
-            map -> {
-              ContextField contextField = map.get(f);
-              AllocNode base = contextField.getBase();
-              if (bases.contains(base)) {
-                ret.addAll(contextField.getP2Set(), null);
-              }
-            });
+    for (ContextField contextField : pag.getContextFields(f)) {
+      if (bases.contains(contextField.getBase())) {
+        ret.addAll(contextField.getP2Set(), null);
+      }
+    }
     return new UnmodifiablePointsToSet(this, ret);
   }
 
   public PointsToSet reachingObjectsInternal(AllocNode heap, final SparkField f) {
     final PointsToSetInternal ret = new HybridPointsToSet();
-    pag.getContextFieldVarNodeMap().values().stream()
-        .filter(map -> map.containsKey(f))
-        .forEach(
-            map -> {
-              ContextField contextField = map.get(f);
-              AllocNode base = contextField.getBase();
-              if (heap.equals(base)) {
-                ret.addAll(contextField.getP2Set(), null);
-              }
-            });
+    for (ContextField contextField : pag.getContextFields(f)) {
+      if (heap.equals(contextField.getBase())) {
+        ret.addAll(contextField.getP2Set(), null);
+      }
+    }
     return new UnmodifiablePointsToSet(this, ret);
   }
 }
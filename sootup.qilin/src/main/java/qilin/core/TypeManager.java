@@ -0,0 +1,119 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import qilin.core.pag.AllocNode;
+import qilin.util.ArrayNumberer;
+import qilin.util.BitVector;
+import qilin.util.DataFactory;
+import qilin.util.PTAUtils;
+import sootup.core.types.Type;
+import sootup.core.views.View;
+
+/**
+ * Answers which allocation nodes can be stored in a pointer of a declared type. For each declared
+ * type that is asked for, a mask over the numbers of all allocation nodes is computed, which
+ * contains the nodes whose type can be cast to the declared type (see {@link
+ * PTAUtils#castNeverFails}). Points-to sets are then filtered by intersecting them with the mask.
+ *
+ * <p>The type hierarchy is asked once per pair of allocated type and declared type. Allocation
+ * nodes that are numbered after a mask has been computed are added to the masks which accept their
+ * type when a mask is asked for the next time.
+ */
+public class TypeManager {
+  private final View view;
+  private final ArrayNumberer<AllocNode> allocNodes;
+
+  /** the allocation nodes of each allocated type */
+  private final Map<Type, BitVector> nodesOfType = DataFactory.createMap();
+
+  /** the masks which contain the nodes of each allocated type */
+  private final Map<Type, List<BitVector>> masksOfType = DataFactory.createMap();
+
+  private final Map<Type, BitVector> typeMasks = DataFactory.createMap();
+
+  /** the allocation nodes up to this number are contained in the masks */
+  private int lastNumber = 0;
+
+  public TypeManager(View view, ArrayNumberer<AllocNode> allocNodes) {
+    this.view = view;
+    this.allocNodes = allocNodes;
+  }
+
+  /**
+   * Returns the mask of the allocation nodes that can be stored in a pointer of the given type. A
+   * null type is not filtered, so null is returned for it. The returned mask is updated when new
+   * allocation nodes are numbered, so it must not be modified.
+   */
+  public BitVector get(Type declaredType) {
+    if (declaredType == null) {
+      return null;
+    }
+    update();
+    BitVector mask = typeMasks.get(declaredType);
+    if (mask == null) {
+      mask = new BitVector(lastNumber + 1);
+      for (Map.Entry<Type, BitVector> entry : nodesOfType.entrySet()) {
+        if (PTAUtils.castNeverFails(view, entry.getKey(), declaredType)) {
+          mask.or(entry.getValue());
+          masksOfType.get(entry.getKey()).add(mask);
+        }
+      }
+      typeMasks.put(declaredType, mask);
+    }
+    return mask;
+  }
+
+  /** Returns true if the given allocation node can be stored in a pointer of the given type. */
+  public boolean castNeverFails(AllocNode node, Type declaredType) {
+    BitVector mask = get(declaredType);
+    return mask == null || mask.get(node.getNumber());
+  }
+
+  /** Adds the allocation nodes that have been numbered since the last update to the masks. */
+  private void update() {
+    int size = allocNodes.size();
+    for (int number = lastNumber + 1; number <= size; number++) {
+      AllocNode node = allocNodes.get(number);
+      if (node == null) {
+        continue;
+      }
+      Type type = node.getType();
+      List<BitVector> masks = masksOfType.get(type);
+      if (masks == null) {
+        masks = new ArrayList<>();
+        for (Map.Entry<Type, BitVector> entry : typeMasks.entrySet()) {
+          if (PTAUtils.castNeverFails(view, type, entry.getKey())) {
+            masks.add(entry.getValue());
+          }
+        }
+        masksOfType.put(type, masks);
+        nodesOfType.put(type, new BitVector());
+      }
+      for (BitVector mask : masks) {
+        mask.set(number);
+      }
+      nodesOfType.get(type).set(number);
+    }
+    lastNumber = size;
+  }
+}
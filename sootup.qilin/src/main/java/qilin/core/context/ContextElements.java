@@ -24,10 +24,17 @@ public class ContextElements implements Context {
   private final ContextElement[] array;
   private final int size;
   private int hashCode = 0;
+  // the number of this context in the ContextTable that has created it, or -1.
+  private final int id;
 
   public ContextElements(ContextElement[] array, int s) {
+    this(array, s, -1);
+  }
+
+  ContextElements(ContextElement[] array, int s, int id) {
     this.array = array;
     this.size = s;
+    this.id = id;
   }
 
   public ContextElement[] getElements() {
@@ -47,6 +54,11 @@ public class ContextElements implements Context {
     return false;
   }
 
+  /** Returns the number of this context in the table that has created it, or -1. */
+  public int getId() {
+    return id;
+  }
+
   public boolean isEmpty() {
     return size == 0;
   }
@@ -0,0 +1,139 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.core.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import qilin.core.pag.AllocNode;
+import qilin.core.pag.ContextAllocNode;
+
+/**
+ * Interns the contexts of a pointer analysis, such that equal contexts are represented by the same
+ * {@link ContextElements} and are numbered densely, starting with 0 for the empty context. The
+ * interned contexts are stored in a trie keyed by their elements, so a context is found by looking
+ * up its elements one after the other, without hashing or copying its array.
+ */
+public class ContextTable {
+  private final Trie root = new Trie();
+  private final List<ContextElements> contexts = new ArrayList<>();
+
+  public ContextTable() {
+    root.context = register(new ContextElement[0]);
+  }
+
+  /** Returns the interned context that is equal to the given one. */
+  public ContextElements intern(Context context) {
+    ContextElements ctx = (ContextElements) context;
+    if (isInterned(ctx)) {
+      return ctx;
+    }
+    Trie node = root;
+    for (int i = 0; i < ctx.size(); i++) {
+      node = node.child(ctx.get(i));
+    }
+    if (node.context == null) {
+      // the elements of a context are never modified, so its array can be shared if it fits
+      ContextElement[] array = ctx.getElements();
+      if (array.length != ctx.size()) {
+        array = Arrays.copyOf(array, ctx.size());
+      }
+      node.context = register(array);
+    }
+    return node.context;
+  }
+
+  /** Returns the interned context that is equal to the given one, or null if there is none. */
+  public ContextElements find(Context context) {
+    ContextElements ctx = (ContextElements) context;
+    if (isInterned(ctx)) {
+      return ctx;
+    }
+    Trie node = root;
+    for (int i = 0; i < ctx.size() && node != null; i++) {
+      node = node.children == null ? null : node.children.get(ctx.get(i));
+    }
+    return node == null ? null : node.context;
+  }
+
+  /**
+   * Returns the interned context of the fields of the given heap object, which is the same as
+   * {@link qilin.util.PTAUtils#plusplusOp}, but does not allocate an array once the context is
+   * interned.
+   */
+  public ContextElements plusplusOp(AllocNode heap) {
+    if (!(heap instanceof ContextAllocNode)) {
+      Trie node = root.child(heap);
+      if (node.context == null) {
+        node.context = register(new ContextElement[] {heap});
+      }
+      return node.context;
+    }
+    ContextAllocNode csHeap = (ContextAllocNode) heap;
+    ContextElements ctx = (ContextElements) csHeap.context();
+    Trie node = root.child(csHeap.base());
+    for (int i = 0; i < ctx.size(); i++) {
+      node = node.child(ctx.get(i));
+    }
+    if (node.context == null) {
+      ContextElement[] array = new ContextElement[ctx.size() + 1];
+      array[0] = csHeap.base();
+      System.arraycopy(ctx.getElements(), 0, array, 1, ctx.size());
+      node.context = register(array);
+    }
+    return node.context;
+  }
+
+  /** Returns the interned context with the given number. */
+  public ContextElements get(int id) {
+    return contexts.get(id);
+  }
+
+  /** Returns the number of interned contexts. */
+  public int size() {
+    return contexts.size();
+  }
+
+  /** Returns true if the given context has been created by this table. */
+  private boolean isInterned(ContextElements context) {
+    int id = context.getId();
+    return id >= 0 && id < contexts.size() && contexts.get(id) == context;
+  }
+
+  private ContextElements register(ContextElement[] array) {
+    ContextElements ret = new ContextElements(array, array.length, contexts.size());
+    contexts.add(ret);
+    return ret;
+  }
+
+  /** A node of the trie, which stands for the context of the elements on the path to it. */
+  private static final class Trie {
+    private ContextElements context;
+    private Map<ContextElement, Trie> children;
+
+    private Trie child(ContextElement element) {
+      if (children == null) {
+        children = new HashMap<>(4);
+      }
+      return children.computeIfAbsent(element, k -> new Trie());
+    }
+  }
+}
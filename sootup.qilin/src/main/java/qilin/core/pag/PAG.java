@@ -26,12 +26,15 @@ import qilin.core.PTA;
 import qilin.core.PointsToAnalysis;
 import qilin.core.builder.CallGraphBuilder;
 import qilin.core.context.Context;
+import qilin.core.context.ContextElements;
+import qilin.core.context.ContextTable;
 import qilin.core.natives.NativeMethodDriver;
 import qilin.core.reflection.NopReflectionModel;
 import qilin.core.reflection.ReflectionModel;
 import qilin.core.reflection.TamiflexModel;
 import qilin.util.ArrayNumberer;
 import qilin.util.DataFactory;
+import qilin.util.LongMap;
 import qilin.util.PTAUtils;
 import qilin.util.Triple;
 import qilin.util.queue.ChunkedQueue;
@@ -69,11 +72,18 @@ public class PAG {
   protected final ReflectionModel reflectionModel;
 
   // ========================= context-sensitive nodes =================================
-  protected final Map<VarNode, Map<Context, ContextVarNode>> contextVarNodeMap;
-  protected final Map<AllocNode, Map<Context, ContextAllocNode>> contextAllocNodeMap;
   protected final Map<SootMethod, Map<Context, ContextMethod>> contextMethodMap;
   protected final Map<MethodPAG, Set<Context>> addedContexts;
-  protected final Map<Context, Map<SparkField, ContextField>> contextFieldMap;
+  // the interned contexts and the context-sensitive nodes keyed by the numbers of their base node
+  // and context, to find them without hashing the context.
+  protected final ContextTable contextTable;
+  protected final LongMap<ContextVarNode> contextVarNodes;
+  protected final LongMap<ContextAllocNode> contextAllocNodes;
+  protected final LongMap<ContextField> contextFields;
+  // the context-sensitive nodes of each base node and of each field, to enumerate them.
+  protected final Map<VarNode, List<ContextVarNode>> contextVarNodesOfBase;
+  protected final Map<AllocNode, List<ContextAllocNode>> contextAllocNodesOfBase;
+  protected final Map<SparkField, List<ContextField>> contextFieldsOfField;
 
   // ==========================data=========================
   protected ArrayNumberer<AllocNode> allocNodeNumberer = new ArrayNumberer<>();
@@ -113,11 +123,15 @@ public class PAG {
     this.storeInv = DataFactory.createMap();
     this.nativeDriver = new NativeMethodDriver(pta.getScene());
     this.reflectionModel = createReflectionModel();
-    this.contextVarNodeMap = DataFactory.createMap(16000);
-    this.contextAllocNodeMap = DataFactory.createMap(6000);
     this.contextMethodMap = DataFactory.createMap(6000);
     this.addedContexts = DataFactory.createMap();
-    this.contextFieldMap = DataFactory.createMap(6000);
+    this.contextTable = new ContextTable();
+    this.contextVarNodes = new LongMap<>(16000);
+    this.contextAllocNodes = new LongMap<>(6000);
+    this.contextFields = new LongMap<>(6000);
+    this.contextVarNodesOfBase = DataFactory.createMap(16000);
+    this.contextAllocNodesOfBase = DataFactory.createMap(6000);
+    this.contextFieldsOfField = DataFactory.createMap();
     this.valToAllocNode = DataFactory.createMap(10000);
     this.valToValNode = DataFactory.createMap(100000);
     this.methodToPag = DataFactory.createMap();
@@ -420,11 +434,12 @@ public class PAG {
 
   /** Finds or creates the ContextVarNode for base variable base and context. */
   public ContextVarNode makeContextVarNode(VarNode base, Context context) {
-    Map<Context, ContextVarNode> contextMap =
-        contextVarNodeMap.computeIfAbsent(base, k1 -> DataFactory.createMap());
-    ContextVarNode ret = contextMap.get(context);
+    ContextElements ctx = contextTable.intern(context);
+    long key = key(base, ctx);
+    ContextVarNode ret = contextVarNodes.get(key);
     if (ret == null) {
-      contextMap.put(context, ret = new ContextVarNode(base, context));
+      contextVarNodes.put(key, ret = new ContextVarNode(base, ctx));
+      contextVarNodesOfBase.computeIfAbsent(base, k -> new ArrayList<>(2)).add(ret);
       valNodeNumberer.add(ret);
     }
     return ret;
@@ -432,11 +447,12 @@ public class PAG {
 
   /** Finds or creates the ContextAllocNode for base alloc site and context. */
   public ContextAllocNode makeContextAllocNode(AllocNode allocNode, Context context) {
-    Map<Context, ContextAllocNode> contextMap =
-        contextAllocNodeMap.computeIfAbsent(allocNode, k1 -> DataFactory.createMap());
-    ContextAllocNode ret = contextMap.get(context);
+    ContextElements ctx = contextTable.intern(context);
+    long key = key(allocNode, ctx);
+    ContextAllocNode ret = contextAllocNodes.get(key);
     if (ret == null) {
-      contextMap.put(context, ret = new ContextAllocNode(allocNode, context));
+      contextAllocNodes.put(key, ret = new ContextAllocNode(allocNode, ctx));
+      contextAllocNodesOfBase.computeIfAbsent(allocNode, k -> new ArrayList<>(2)).add(ret);
       allocNodeNumberer.add(ret);
     }
     return ret;
@@ -444,9 +460,10 @@ public class PAG {
 
   /** Finds or creates the ContextMethod for method and context. */
   public ContextMethod makeContextMethod(Context context, SootMethod method) {
+    ContextElements ctx = contextTable.intern(context);
     Map<Context, ContextMethod> contextMap =
         contextMethodMap.computeIfAbsent(method, k1 -> DataFactory.createMap());
-    return contextMap.computeIfAbsent(context, k -> new ContextMethod(method, context));
+    return contextMap.computeIfAbsent(ctx, k -> new ContextMethod(method, ctx));
   }
 
   public AllocNode getAllocNode(Object val) {
@@ -458,46 +475,107 @@ public class PAG {
   }
 
   public Collection<ContextField> getContextFields() {
-    return contextFieldMap.values().stream()
-        .flatMap(m -> m.values().stream())
+    return contextFieldsOfField.values().stream()
+        .flatMap(Collection::stream)
         .collect(Collectors.toSet());
   }
 
+  /** Returns the context-sensitive versions of the given variable. */
+  public Collection<ContextVarNode> getContextVarNodes(VarNode base) {
+    return contextVarNodesOfBase.getOrDefault(base, Collections.emptyList());
+  }
+
+  /** Returns the context-sensitive versions of the given heap object. */
+  public Collection<ContextAllocNode> getContextAllocNodes(AllocNode base) {
+    return contextAllocNodesOfBase.getOrDefault(base, Collections.emptyList());
+  }
+
+  /** Returns the context-sensitive fields of all heap objects for the given field. */
+  public Collection<ContextField> getContextFields(SparkField field) {
+    return contextFieldsOfField.getOrDefault(field, Collections.emptyList());
+  }
+
+  /**
+   * Returns a snapshot of the context-sensitive versions of each variable, keyed by their contexts.
+   *
+   * @deprecated use {@link #getContextVarNodes(VarNode)}, which does not copy the nodes.
+   */
+  @Deprecated
   public Map<VarNode, Map<Context, ContextVarNode>> getContextVarNodeMap() {
-    return contextVarNodeMap;
+    Map<VarNode, Map<Context, ContextVarNode>> ret = new HashMap<>();
+    contextVarNodesOfBase.forEach(
+        (base, nodes) -> {
+          Map<Context, ContextVarNode> byContext = ret.computeIfAbsent(base, k -> new HashMap<>());
+          nodes.forEach(node -> byContext.put(node.context(), node));
+        });
+    return ret;
   }
 
+  /**
+   * Returns a snapshot of the context-sensitive versions of each heap object, keyed by their
+   * contexts.
+   *
+   * @deprecated use {@link #getContextAllocNodes(AllocNode)}, which does not copy the nodes.
+   */
+  @Deprecated
   public Map<AllocNode, Map<Context, ContextAllocNode>> getContextAllocNodeMap() {
-    return contextAllocNodeMap;
+    Map<AllocNode, Map<Context, ContextAllocNode>> ret = new HashMap<>();
+    contextAllocNodesOfBase.forEach(
+        (base, nodes) -> {
+          Map<Context, ContextAllocNode> byContext = ret.computeIfAbsent(base, k -> new HashMap<>());
+          nodes.forEach(node -> byContext.put(node.context(), node));
+        });
+    return ret;
   }
 
-  public Map<SootMethod, Map<Context, ContextMethod>> getContextMethodMap() {
-    return contextMethodMap;
+  /**
+   * Returns a snapshot of the context-sensitive fields of each context, keyed by their fields.
+   *
+   * @deprecated use {@link #getContextFields(SparkField)}, which does not copy the fields.
+   */
+  @Deprecated
+  public Map<Context, Map<SparkField, ContextField>> getContextFieldVarNodeMap() {
+    Map<Context, Map<SparkField, ContextField>> ret = new HashMap<>();
+    contextFieldsOfField.forEach(
+        (field, nodes) ->
+            nodes.forEach(
+                node ->
+                    ret.computeIfAbsent(node.getContext(), k -> new HashMap<>()).put(field, node)));
+    return ret;
   }
 
-  public Map<Context, Map<SparkField, ContextField>> getContextFieldVarNodeMap() {
-    return contextFieldMap;
+  public Map<SootMethod, Map<Context, ContextMethod>> getContextMethodMap() {
+    return contextMethodMap;
   }
 
   public ContextField makeContextField(Context context, FieldValNode fieldValNode) {
-    SparkField field = fieldValNode.getField();
-    Map<SparkField, ContextField> field2odotf =
-        contextFieldMap.computeIfAbsent(context, k -> DataFactory.createMap());
-    ContextField ret = field2odotf.get(field);
+    ContextElements ctx = contextTable.intern(context);
+    long key = key(fieldValNode, ctx);
+    ContextField ret = contextFields.get(key);
     if (ret == null) {
-      field2odotf.put(field, ret = new ContextField(context, field));
+      SparkField field = fieldValNode.getField();
+      contextFields.put(key, ret = new ContextField(ctx, field));
+      contextFieldsOfField.computeIfAbsent(field, k -> new ArrayList<>()).add(ret);
       valNodeNumberer.add(ret);
     }
     return ret;
   }
 
+  /** Returns the key of the node of the given base node and context. */
+  private static long key(Node base, ContextElements context) {
+    return ((long) base.getNumber() << 32) | context.getId();
+  }
+
+  public ContextTable getContextTable() {
+    return contextTable;
+  }
+
   public Collection<VarNode> getVarNodes(SootMethod m, Local local) {
     LocalVarNode lvn = findLocalVarNode(m, local, local.getType());
-    Map<?, ContextVarNode> subMap = contextVarNodeMap.get(lvn);
-    if (subMap == null) {
+    if (lvn == null) {
       return Collections.emptySet();
     }
-    return new HashSet<>(subMap.values());
+    return new HashSet<>(getContextVarNodes(lvn));
   }
 
   // ===================find nodes==============================
@@ -525,8 +603,8 @@ public class PAG {
   /** Finds the ContextVarNode for base variable value and context context, or returns null. */
   public ContextVarNode findContextVarNode(SootMethod m, Local baseValue, Context context) {
     LocalVarNode lvn = findLocalVarNode(m, baseValue, baseValue.getType());
-    Map<Context, ContextVarNode> contextMap = contextVarNodeMap.get(lvn);
-    return contextMap == null ? null : contextMap.get(context);
+    ContextElements ctx = contextTable.find(context);
+    return lvn == null || ctx == null ? null : contextVarNodes.get(key(lvn, ctx));
   }
 
   protected ReflectionModel createReflectionModel() {
@@ -634,12 +712,8 @@ public class PAG {
 
   public void resetPointsToSet() {
     this.addedContexts.clear();
-    contextVarNodeMap.values().stream()
-        .flatMap(m -> m.values().stream())
-        .forEach(ValNode::discardP2Set);
-    contextFieldMap.values().stream()
-        .flatMap(m -> m.values().stream())
-        .forEach(ValNode::discardP2Set);
+    contextVarNodesOfBase.values().forEach(l -> l.forEach(ValNode::discardP2Set));
+    contextFieldsOfField.values().forEach(l -> l.forEach(ValNode::discardP2Set));
     valToValNode.values().forEach(ValNode::discardP2Set);
     addedContexts.clear();
   }
@@ -44,6 +44,11 @@ public class ValNode extends Node implements Comparable, Numberable {
     }
   }
 
+  /** Replaces the points-to set, to share it with the nodes this node has been merged with. */
+  public void setP2Set(DoublePointsToSet p2set) {
+    this.p2set = p2set;
+  }
+
   /** Delete current points-to set and make a new one */
   public void discardP2Set() {
     p2set = null;
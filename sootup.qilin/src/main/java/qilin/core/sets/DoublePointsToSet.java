@@ -19,6 +19,7 @@
 package qilin.core.sets;
 
 import java.util.Iterator;
+import qilin.util.BitVector;
 
 /**
  * Implementation of points-to set that holds two sets: one for new elements that have not yet been
@@ -29,6 +30,9 @@ import java.util.Iterator;
 public class DoublePointsToSet extends PointsToSetInternal {
   protected HybridPointsToSet newSet;
   protected HybridPointsToSet oldSet;
+  // the sets that are shared through a PointsToSetPool are copied before they are modified.
+  private boolean sharedNewSet = false;
+  private boolean sharedOldSet = false;
 
   public DoublePointsToSet() {
     newSet = new HybridPointsToSet();
@@ -79,7 +83,13 @@ public class DoublePointsToSet extends PointsToSetInternal {
    * */
   @Override
   public void clear() {
-    oldSet.clear();
+    if (sharedOldSet) {
+      oldSet = new HybridPointsToSet();
+      sharedOldSet = false;
+    } else {
+      oldSet.clear();
+    }
+    ownNewSet();
     newSet.clear();
   }
 
@@ -88,9 +98,21 @@ public class DoublePointsToSet extends PointsToSetInternal {
     if (exclude != null) {
       throw new RuntimeException("exclude set must be null.");
     }
+    ownNewSet();
     return newSet.addAll(other, oldSet);
   }
 
+  /**
+   * Adds the elements of other that are in typeMask into this set, returns true if this set
+   * changed.
+   *
+   * @param typeMask the elements that may be added, null for all elements
+   */
+  public boolean addAll(HybridPointsToSet other, BitVector typeMask) {
+    ownNewSet();
+    return newSet.addAll(other, oldSet, typeMask);
+  }
+
   /** Calls v's visit method on all nodes in this set. */
   @Override
   public boolean forall(P2SetVisitor v) {
@@ -104,6 +126,7 @@ public class DoublePointsToSet extends PointsToSetInternal {
     if (oldSet.contains(idx)) {
       return false;
     }
+    ownNewSet();
     return newSet.add(idx);
   }
 
@@ -125,8 +148,45 @@ public class DoublePointsToSet extends PointsToSetInternal {
 
   /** Sets all newly-added nodes to old nodes. */
   public void flushNew() {
+    if (sharedOldSet) {
+      HybridPointsToSet copy = new HybridPointsToSet();
+      copy.addAll(oldSet, null, null);
+      oldSet = copy;
+      sharedOldSet = false;
+    }
     oldSet.addAll(newSet, null);
     newSet = new HybridPointsToSet();
+    sharedNewSet = false;
+  }
+
+  /**
+   * Sets all newly-added nodes to old nodes, such that the set of old nodes is shared through the
+   * given pool with the points-to sets that have received the same nodes.
+   */
+  public void flushNew(PointsToSetPool pool) {
+    if (!sharedNewSet) {
+      oldSet = pool.union(oldSet, newSet);
+      sharedOldSet = true;
+      newSet = pool.getEmptySet();
+      sharedNewSet = true;
+    }
+  }
+
+  /**
+   * Replaces the set of old nodes by the set of the pool with the same nodes, once all nodes have
+   * been flushed.
+   */
+  public void intern(PointsToSetPool pool) {
+    oldSet = pool.intern(oldSet);
+    sharedOldSet = true;
+  }
+
+  /** Replaces the shared empty set of newly-added nodes by a set of its own. */
+  private void ownNewSet() {
+    if (sharedNewSet) {
+      newSet = new HybridPointsToSet();
+      sharedNewSet = false;
+    }
   }
 
   /** Returns true iff the set contains idx. */
@@ -82,6 +82,109 @@ public final class HybridPointsToSet extends PointsToSetInternal {
     return nativeAddAll((HybridPointsToSet) other, exclude);
   }
 
+  /**
+   * Adds the elements of other that are in typeMask and not in exclude into this set, returns true
+   * if this set changed. If other is stored as a bit vector, this is a single bitwise operation.
+   *
+   * @param typeMask the elements that may be added, null for all elements
+   * @param exclude the elements that must not be added, may be null
+   */
+  public boolean addAll(HybridPointsToSet other, HybridPointsToSet exclude, BitVector typeMask) {
+    if (other.bits == null) {
+      boolean ret = false;
+      for (int idx : other.nodeIdxs) {
+        if (idx == 0) {
+          break;
+        }
+        if ((typeMask == null || typeMask.get(idx))
+            && (exclude == null || !exclude.contains(idx))) {
+          ret |= add(idx);
+        }
+      }
+      return ret;
+    }
+    if (bits == null) {
+      bits = new BitVector();
+      for (int nodeIdx : nodeIdxs) {
+        if (nodeIdx != 0) {
+          bits.set(nodeIdx);
+        }
+      }
+    }
+    if (exclude == null || exclude.bits != null) {
+      boolean ret = bits.orAndAndNot(other.bits, typeMask, exclude == null ? null : exclude.bits);
+      if (ret) {
+        size = bits.cardinality();
+        empty = false;
+      }
+      return ret;
+    }
+    // an array-based exclude has at most 16 elements, the ones that this set does not contain yet
+    // are removed again after the union instead of converting exclude to a bit vector
+    int absent = 0;
+    for (int i = 0; i < exclude.nodeIdxs.length && exclude.nodeIdxs[i] != 0; i++) {
+      if (!bits.get(exclude.nodeIdxs[i])) {
+        absent |= 1 << i;
+      }
+    }
+    bits.orAndAndNot(other.bits, typeMask, null);
+    for (int i = 0; absent != 0; i++, absent >>>= 1) {
+      if ((absent & 1) != 0) {
+        bits.clear(exclude.nodeIdxs[i]);
+      }
+    }
+    // elements are only added, so the set has changed iff it has grown
+    int newSize = bits.cardinality();
+    if (newSize == size) {
+      return false;
+    }
+    size = newSize;
+    empty = false;
+    return true;
+  }
+
+  /**
+   * Returns a hash code of the elements of this set, which does not depend on how they are stored.
+   */
+  public int contentHashCode() {
+    int ret = 0;
+    if (bits == null) {
+      for (int nodeIdx : nodeIdxs) {
+        if (nodeIdx == 0) {
+          break;
+        }
+        ret += nodeIdx * 0x9E3779B9;
+      }
+    } else {
+      for (BitSetIterator it = bits.iterator(); it.hasNext(); ) {
+        ret += it.next() * 0x9E3779B9;
+      }
+    }
+    return ret;
+  }
+
+  /** Returns true if this set contains the same elements as other. */
+  public boolean contentEquals(HybridPointsToSet other) {
+    if (size != other.size) {
+      return false;
+    }
+    if (bits != null && other.bits != null) {
+      return bits.equals(other.bits);
+    }
+    // both sets have the same size, so one contains the other if it contains the smaller array
+    HybridPointsToSet array = bits == null ? this : other;
+    HybridPointsToSet container = array == this ? other : this;
+    for (int nodeIdx : array.nodeIdxs) {
+      if (nodeIdx == 0) {
+        break;
+      }
+      if (!container.contains(nodeIdx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private class HybridPTSIterator implements Iterator<Integer> {
     private BitSetIterator it;
     private int idx;
@@ -0,0 +1,153 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.core.sets;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares immutable points-to sets between nodes. While propagating, the union of a shared set and a
+ * set of new objects is memoized, as in a context-sensitive analysis the copies of a variable in
+ * different contexts often receive the same objects in the same order. The memo is cleared when it
+ * gets large, so it only keeps the recent unions alive. At the end of the propagation, the final
+ * sets are interned, such that all nodes whose objects are the same share one set.
+ *
+ * <p>The shared sets must not be modified, {@link DoublePointsToSet} copies them before it adds
+ * objects to them.
+ */
+public class PointsToSetPool {
+  // the number of memoized unions at which the memo is cleared.
+  private static final int MAX_UNIONS = 1 << 16;
+
+  private final Map<Key, HybridPointsToSet> sets = new HashMap<>();
+  private final Map<UnionKey, HybridPointsToSet> unions = new HashMap<>();
+  private final HybridPointsToSet emptySet = intern(new HybridPointsToSet());
+  private long unionHits = 0;
+
+  /**
+   * Returns the interned set with the same elements as the given set. If there is none, the given
+   * set is interned, so it must not be modified afterwards.
+   */
+  public HybridPointsToSet intern(HybridPointsToSet set) {
+    Key key = new Key(set);
+    HybridPointsToSet ret = sets.get(key);
+    if (ret == null) {
+      sets.put(key, set);
+      ret = set;
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the union of a set and a set of new objects, which is shared and must not be modified.
+   * Neither set may be modified afterwards, as the memo refers to them.
+   */
+  public HybridPointsToSet union(HybridPointsToSet set, HybridPointsToSet other) {
+    if (other.isEmpty()) {
+      return set;
+    }
+    if (set.isEmpty()) {
+      set = emptySet;
+    }
+    UnionKey key = new UnionKey(set, other);
+    HybridPointsToSet ret = unions.get(key);
+    if (ret != null) {
+      unionHits++;
+      return ret;
+    }
+    if (set == emptySet) {
+      ret = other;
+    } else {
+      ret = new HybridPointsToSet();
+      ret.addAll(set, null, null);
+      ret.addAll(other, null, null);
+    }
+    if (unions.size() >= MAX_UNIONS) {
+      unions.clear();
+    }
+    unions.put(key, ret);
+    return ret;
+  }
+
+  /** Forgets the memoized unions, e.g. after the propagation. */
+  public void clearUnions() {
+    unions.clear();
+  }
+
+  /** Returns the interned empty set. */
+  public HybridPointsToSet getEmptySet() {
+    return emptySet;
+  }
+
+  /** Returns the number of distinct interned sets. */
+  public int size() {
+    return sets.size();
+  }
+
+  /** Returns the number of unions that have been answered by the memo. */
+  public long getUnionHits() {
+    return unionHits;
+  }
+
+  /** A set as a key of its elements. */
+  private static final class Key {
+    private final HybridPointsToSet set;
+    private final int hashCode;
+
+    private Key(HybridPointsToSet set) {
+      this.set = set;
+      this.hashCode = set.contentHashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key && set.contentEquals(((Key) o).set);
+    }
+  }
+
+  /** A shared set, which is compared by identity, and a set of new objects, by its elements. */
+  private static final class UnionKey {
+    private final HybridPointsToSet set;
+    private final Key other;
+
+    private UnionKey(HybridPointsToSet set, HybridPointsToSet other) {
+      this.set = set;
+      this.other = new Key(other);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(set) + other.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof UnionKey)) {
+        return false;
+      }
+      UnionKey key = (UnionKey) o;
+      return set == key.set && other.equals(key.other);
+    }
+  }
+}
@@ -0,0 +1,394 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.core.solver;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import qilin.core.PTA;
+import qilin.core.pag.*;
+import qilin.core.sets.DoublePointsToSet;
+import qilin.core.sets.HybridPointsToSet;
+import qilin.util.BitVector;
+import qilin.util.queue.QueueReader;
+
+/**
+ * A solver that propagates points-to sets along the simple edges of the PAG in waves, using several
+ * threads (see Pereira and Berlin, "Wave Propagation and Deep Propagation for Pointer Analysis",
+ * CGO 2009).
+ *
+ * <p>The solver keeps the strongly connected components of the simple edges in a topological order
+ * while the PAG grows. Every new edge is added before the next wave: if it goes against the order,
+ * the components between its ends are reordered, and the components on a cycle that it closes are
+ * collapsed into one (see Pearce and Kelly, "A Dynamic Topological Sort Algorithm for Directed
+ * Acyclic Graphs", JEA 2007). Only the components between the ends of such an edge are visited.
+ *
+ * <p>In each wave, the components of the nodes whose points-to sets have changed and all components
+ * reachable from them are collected and grouped into levels, such that the components of a level
+ * only have predecessors in lower levels. The components of a level are solved in parallel: every
+ * node pulls the new objects of its predecessors into its own points-to set, and the nodes of a
+ * component do so until none of them changes. After the wave, the field loads and stores, throw
+ * sites and virtual calls on the changed nodes are resolved on a single thread, just as {@link
+ * Solver} does, which adds new edges and nodes to the PAG and starts the next wave.
+ *
+ * <p>Only points-to sets are modified by the threads, each only by the thread of its component, so
+ * the PAG, the call graph, the components and the numbering of the nodes are never modified
+ * concurrently. The points-to sets are the same as the ones computed by {@link Solver}, as both
+ * compute the least solution of the same constraints.
+ */
+public class ParallelSolver extends Solver {
+  private final int threads;
+
+  /** the simple edges that have been added to the PAG, but not yet to the components. */
+  private final QueueReader<Node> newEdges;
+
+  /** the component of each node that is the end of a simple edge or has been propagated. */
+  private final Map<ValNode, Component> componentOf = new HashMap<>();
+
+  /** the position of the next new component in the topological order. */
+  private int nextOrder = 0;
+
+  private int waves = 0;
+  private int collapsedComponents = 0;
+  private long reorderedComponents = 0;
+
+  public ParallelSolver(PTA pta, int threads) {
+    super(pta);
+    if (threads < 1) {
+      throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+    }
+    if (isCycleElimination()) {
+      // the nodes of a cycle are collapsed into a component, but they keep their own points-to sets
+      throw new IllegalArgumentException("The parallel solver does not support cycle elimination.");
+    }
+    this.threads = threads;
+    this.newEdges = edgeQueue.reader();
+  }
+
+  @Override
+  public void propagate() {
+    final QueueReader<ContextMethod> newRMs = rmQueue.reader();
+    final QueueReader<Node> newPAGEdges = edgeQueue.reader();
+    final QueueReader<ExceptionThrowSite> newThrows = throwSiteQueue.reader();
+    final QueueReader<VirtualCallSite> newCalls = virtualCallSiteQueue.reader();
+    cgb.initReachableMethods();
+    processStmts(newRMs);
+    pag.getAlloc().forEach((a, set) -> set.forEach(v -> propagatePTS(v, a)));
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      while (!valNodeWorkList.isEmpty()) {
+        // Step 1: Resolving Direct Constraints.
+        Collection<ValNode> changed = propagateWave(executor);
+        for (ValNode curr : changed) {
+          if (curr instanceof VarNode) {
+            handleComplexConstraints((VarNode) curr, curr.getP2Set().getNewSet(), newRMs);
+          }
+        }
+        for (ValNode curr : changed) {
+          flushNew(curr.getP2Set());
+        }
+        // Step 4: Activating New Constraints.
+        activateConstraints(newCalls, newRMs, newThrows, newPAGEdges);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    internPointsToSets();
+  }
+
+  /**
+   * Propagates the new objects of the nodes in the work list along the simple edges until no
+   * points-to set changes. Returns the nodes with new objects, in the order of the work list.
+   */
+  private Collection<ValNode> propagateWave(ExecutorService executor) {
+    while (newEdges.hasNext()) {
+      Node from = newEdges.next();
+      Node to = newEdges.next();
+      if (from instanceof ValNode && to instanceof ValNode) {
+        addEdge(componentOf((ValNode) from), componentOf((ValNode) to));
+      }
+    }
+
+    // the components of the changed nodes and the components reachable from them
+    final int wave = ++waves;
+    final List<Component> reached = new ArrayList<>();
+    for (ValNode node : valNodeWorkList) {
+      Component component = componentOf(node);
+      if (component.wave != wave) {
+        component.wave = wave;
+        reached.add(component);
+      }
+    }
+    valNodeWorkList.clear();
+    for (int i = 0; i < reached.size(); i++) {
+      for (Component succ : reached.get(i).succs) {
+        if (succ.wave != wave) {
+          succ.wave = wave;
+          reached.add(succ);
+        }
+      }
+    }
+
+    // the type masks and points-to sets are created beforehand, as the type manager and the
+    // lazy creation of points-to sets must not be used concurrently
+    final Map<ValNode, BitVector> typeMasks = new HashMap<>();
+    for (Component component : reached) {
+      for (ValNode node : component.nodes) {
+        typeMasks.put(node, typeManager.get(node.getType()));
+        node.getP2Set();
+      }
+      component.level = 0;
+    }
+
+    // the level of a component is the longest path to it from the start of the wave
+    reached.sort(Comparator.comparingInt(component -> component.order));
+    final List<List<Component>> levels = new ArrayList<>();
+    for (Component component : reached) {
+      if (component.level == levels.size()) {
+        levels.add(new ArrayList<>());
+      }
+      levels.get(component.level).add(component);
+      for (Component succ : component.succs) {
+        succ.level = Math.max(succ.level, component.level + 1);
+      }
+    }
+
+    for (List<Component> level : levels) {
+      List<Callable<Void>> tasks = new ArrayList<>();
+      int chunkSize = Math.max(1, level.size() / (threads * 4));
+      for (int from = 0; from < level.size(); from += chunkSize) {
+        List<Component> chunk = level.subList(from, Math.min(level.size(), from + chunkSize));
+        tasks.add(
+            () -> {
+              for (Component component : chunk) {
+                solveComponent(component, typeMasks);
+              }
+              return null;
+            });
+      }
+      try {
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+          future.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        throw new RuntimeException(e.getCause());
+      }
+    }
+
+    final TreeSet<ValNode> changed = new TreeSet<>();
+    for (Component component : reached) {
+      for (ValNode node : component.nodes) {
+        if (!node.getP2Set().getNewSet().isEmpty()) {
+          changed.add(node);
+        }
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Pulls the new objects of the predecessors into the nodes of a component, until none of them
+   * changes. The predecessors outside the component have been solved in a lower level, the ones
+   * outside the wave have no new objects.
+   */
+  private void solveComponent(Component component, Map<ValNode, BitVector> typeMasks) {
+    final Deque<ValNode> queue = new ArrayDeque<>(component.nodes);
+    final Set<ValNode> queued = new HashSet<>(component.nodes);
+    while (!queue.isEmpty()) {
+      ValNode node = queue.poll();
+      queued.remove(node);
+      if (pull(node, component.wave, typeMasks.get(node))) {
+        for (ValNode succ : pag.simpleLookup(node)) {
+          if (componentOf.get(succ) == component && queued.add(succ)) {
+            queue.add(succ);
+          }
+        }
+      }
+    }
+  }
+
+  private boolean pull(ValNode node, int wave, BitVector typeMask) {
+    final DoublePointsToSet addTo = node.getP2Set();
+    boolean changed = false;
+    for (ValNode pred : pag.simpleInvLookup(node)) {
+      Component predComponent = componentOf.get(pred);
+      if (pred == node || predComponent == null || predComponent.wave != wave) {
+        continue;
+      }
+      HybridPointsToSet newSet = pred.getP2Set().getNewSet();
+      if (!newSet.isEmpty()) {
+        changed |= addTo.addAll(newSet, typeMask);
+      }
+    }
+    return changed;
+  }
+
+  private Component componentOf(ValNode node) {
+    return componentOf.computeIfAbsent(node, k -> new Component(k, nextOrder++));
+  }
+
+  /**
+   * Adds an edge between two components. If the edge goes against the topological order, the
+   * components that are reachable from its target and precede its source are moved behind the ones
+   * that reach its source and follow its target. If its target reaches its source, the components
+   * that are both are collapsed into one.
+   */
+  private void addEdge(Component source, Component target) {
+    if (source == target || !source.succs.add(target)) {
+      return;
+    }
+    target.preds.add(source);
+    if (source.order < target.order) {
+      return;
+    }
+    final int lower = target.order;
+    final int upper = source.order;
+    final List<Component> forward = reach(target, true, lower, upper);
+    final List<Component> backward = reach(source, false, lower, upper);
+    final int[] orders = new int[forward.size() + backward.size()];
+    int i = 0;
+    for (Component component : forward) {
+      orders[i++] = component.order;
+    }
+    for (Component component : backward) {
+      orders[i++] = component.order;
+    }
+    Arrays.sort(orders);
+    reorderedComponents += orders.length;
+
+    // the components on a cycle reach the source and are reachable from the target
+    final Set<Component> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+    reachable.addAll(forward);
+    final Set<Component> cycle = Collections.newSetFromMap(new IdentityHashMap<>());
+    if (reachable.contains(source)) {
+      for (Component component : backward) {
+        if (reachable.contains(component)) {
+          cycle.add(component);
+        }
+      }
+    }
+    final List<Component> reordered = new ArrayList<>();
+    for (Component component : backward) {
+      if (!cycle.contains(component)) {
+        reordered.add(component);
+      }
+    }
+    if (!cycle.isEmpty()) {
+      reordered.add(collapse(cycle));
+    }
+    for (Component component : forward) {
+      if (!cycle.contains(component)) {
+        reordered.add(component);
+      }
+    }
+    i = 0;
+    for (Component component : reordered) {
+      component.order = orders[i++];
+    }
+  }
+
+  /**
+   * Returns the components that are reachable from the given one over its successors or
+   * predecessors and lie between the given positions of the topological order, in that order.
+   */
+  private static List<Component> reach(Component start, boolean forward, int lower, int upper) {
+    final List<Component> ret = new ArrayList<>();
+    final Set<Component> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    ret.add(start);
+    visited.add(start);
+    for (int i = 0; i < ret.size(); i++) {
+      for (Component next : forward ? ret.get(i).succs : ret.get(i).preds) {
+        if (next.order >= lower && next.order <= upper && visited.add(next)) {
+          ret.add(next);
+        }
+      }
+    }
+    ret.sort(Comparator.comparingInt(component -> component.order));
+    return ret;
+  }
+
+  /** Collapses the components of a cycle into one, which takes all their edges to other ones. */
+  private Component collapse(Set<Component> cycle) {
+    final Iterator<Component> it = cycle.iterator();
+    final Component ret = it.next();
+    while (it.hasNext()) {
+      Component component = it.next();
+      for (ValNode node : component.nodes) {
+        componentOf.put(node, ret);
+      }
+      ret.nodes.addAll(component.nodes);
+      for (Component succ : component.succs) {
+        succ.preds.remove(component);
+        if (!cycle.contains(succ)) {
+          succ.preds.add(ret);
+          ret.succs.add(succ);
+        }
+      }
+      for (Component pred : component.preds) {
+        pred.succs.remove(component);
+        if (!cycle.contains(pred)) {
+          pred.succs.add(ret);
+          ret.preds.add(pred);
+        }
+      }
+    }
+    ret.succs.removeAll(cycle);
+    ret.preds.removeAll(cycle);
+    collapsedComponents++;
+    return ret;
+  }
+
+  /** Returns the number of waves in which the points-to sets have been propagated. */
+  public int getWaves() {
+    return waves;
+  }
+
+  /** Returns the number of cycles whose components have been collapsed into one. */
+  public int getCollapsedComponents() {
+    return collapsedComponents;
+  }
+
+  /** Returns the number of times a component has been moved in the topological order. */
+  public long getReorderedComponents() {
+    return reorderedComponents;
+  }
+
+  /** The nodes of a strongly connected component of the simple edges. */
+  private static final class Component {
+    private final List<ValNode> nodes = new ArrayList<>();
+    private final Set<Component> succs = new HashSet<>();
+    private final Set<Component> preds = new HashSet<>();
+    // the position in the topological order of the components
+    private int order;
+    // the last wave that has reached the component, and its level in that wave
+    private int wave = 0;
+    private int level = 0;
+
+    private Component(ValNode node, int order) {
+      this.nodes.add(node);
+      this.order = order;
+    }
+  }
+}
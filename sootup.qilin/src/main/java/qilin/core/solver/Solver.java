@@ -21,6 +21,7 @@ package qilin.core.solver;
 import java.util.*;
 import qilin.CoreConfig;
 import qilin.core.PTA;
+import qilin.core.TypeManager;
 import qilin.core.builder.CallGraphBuilder;
 import qilin.core.builder.ExceptionHandler;
 import qilin.core.builder.MethodNodeFactory;
@@ -29,9 +30,16 @@ import qilin.core.builder.callgraph.Kind;
 import qilin.core.context.Context;
 import qilin.core.pag.*;
 import qilin.core.sets.DoublePointsToSet;
+import qilin.core.sets.HybridPointsToSet;
 import qilin.core.sets.P2SetVisitor;
 import qilin.core.sets.PointsToSetInternal;
+import qilin.core.sets.PointsToSetPool;
+import qilin.util.BitVector;
+import qilin.util.LongSet;
 import qilin.util.PTAUtils;
+import qilin.util.UnionFindSet;
+import qilin.util.graph.DirectedGraphImpl;
+import qilin.util.graph.StronglyConnectedComponents;
 import qilin.util.queue.ChunkedQueue;
 import qilin.util.queue.QueueReader;
 import sootup.core.jimple.basic.Local;
@@ -49,16 +57,33 @@ import sootup.core.types.Type;
 import sootup.java.core.JavaIdentifierFactory;
 
 public class Solver extends Propagator {
-  private final TreeSet<ValNode> valNodeWorkList = new TreeSet<>();
-  private final PAG pag;
-  private final PTA pta;
-  private final CallGraphBuilder cgb;
-  private final ExceptionHandler eh;
-  private final ChunkedQueue<ExceptionThrowSite> throwSiteQueue = new ChunkedQueue<>();
-  private final ChunkedQueue<VirtualCallSite> virtualCallSiteQueue = new ChunkedQueue<>();
-  private final ChunkedQueue<Node> edgeQueue = new ChunkedQueue<>();
+  protected final TreeSet<ValNode> valNodeWorkList = new TreeSet<>();
+  protected final PAG pag;
+  protected final PTA pta;
+  protected final CallGraphBuilder cgb;
+  protected final ExceptionHandler eh;
+  protected final TypeManager typeManager;
+  protected final ChunkedQueue<ExceptionThrowSite> throwSiteQueue = new ChunkedQueue<>();
+  protected final ChunkedQueue<VirtualCallSite> virtualCallSiteQueue = new ChunkedQueue<>();
+  protected final ChunkedQueue<Node> edgeQueue = new ChunkedQueue<>();
 
-  private final ChunkedQueue<ContextMethod> rmQueue = new ChunkedQueue<>();
+  protected final ChunkedQueue<ContextMethod> rmQueue = new ChunkedQueue<>();
+
+  // online cycle elimination, which merges the nodes of cycles of simple edges.
+  private final boolean cycleElimination;
+  private final UnionFindSet<ValNode> mergedNodes = new UnionFindSet<>(Collections.emptySet());
+  private final Map<ValNode, List<ValNode>> membersOfRepresentative = new HashMap<>();
+  private final LongSet checkedEdges = new LongSet();
+  private long cycleDetectionNanos = 0;
+  private int collapsedCycles = 0;
+  private int mergedNodeCount = 0;
+  private long skippedPropagations = 0;
+  // the propagations along edges and their time, to estimate the time of the skipped ones.
+  private long propagations = 0;
+  private long propagationNanos = 0;
+
+  // the pool of the propagated points-to sets, if they are shared.
+  protected final PointsToSetPool setPool;
 
   public Solver(PTA pta) {
     this.cgb = pta.getCgb();
@@ -67,6 +92,9 @@ public class Solver extends Propagator {
     this.pag.setEdgeQueue(edgeQueue);
     this.eh = pta.getExceptionHandler();
     this.pta = pta;
+    this.typeManager = new TypeManager(pta.getView(), pag.getAllocNodeNumberer());
+    this.cycleElimination = CoreConfig.v().getPtaConfig().cycleElimination;
+    this.setPool = CoreConfig.v().getPtaConfig().sharedPointsToSets ? new PointsToSetPool() : null;
   }
 
   @Override
@@ -82,30 +110,67 @@ public class Solver extends Propagator {
       ValNode curr = valNodeWorkList.pollFirst();
       // Step 1: Resolving Direct Constraints
       assert curr != null;
+      if (cycleElimination && representativeOf(curr) != curr) {
+        // merged after it was added, its representative is in the work list.
+        continue;
+      }
       final DoublePointsToSet pts = curr.getP2Set();
       final PointsToSetInternal newset = pts.getNewSet();
-      pag.simpleLookup(curr).forEach(to -> propagatePTS(to, newset));
-
-      if (curr instanceof VarNode) {
-        VarNode mSrc = (VarNode) curr;
-        // Step 1 continues.
-        Collection<ExceptionThrowSite> throwSites = eh.throwSitesLookUp(mSrc);
-        for (ExceptionThrowSite site : throwSites) {
-          eh.exceptionDispatch(newset, site);
+      final Collection<ValNode> members =
+          cycleElimination ? membersOf(curr) : Collections.singleton(curr);
+      final List<ValNode> cycleCandidates = new ArrayList<>();
+      for (ValNode member : members) {
+        for (ValNode to : pag.simpleLookup(member)) {
+          if (!cycleElimination) {
+            propagatePTS(to, newset);
+          } else if (representativeOf(to) == curr) {
+            skippedPropagations++;
+          } else {
+            final long start = System.nanoTime();
+            propagatePTS(to, newset);
+            propagationNanos += System.nanoTime() - start;
+            propagations++;
+            if (isCycleCandidate(curr, to)) {
+              cycleCandidates.add(to);
+            }
+          }
         }
-        // Step 2: Resolving Indirect Constraints.
-        handleStoreAndLoadOnBase(mSrc);
-        // Step 3: Collecting New Constraints.
-        Collection<VirtualCallSite> sites = cgb.callSitesLookUp(mSrc);
-        for (VirtualCallSite site : sites) {
-          cgb.virtualCallDispatch(newset, site);
+      }
+
+      for (ValNode member : members) {
+        if (member instanceof VarNode) {
+          handleComplexConstraints((VarNode) member, newset, newRMs);
         }
-        processStmts(newRMs);
       }
-      pts.flushNew();
+      flushNew(pts);
       // Step 4: Activating New Constraints.
       activateConstraints(newCalls, newRMs, newThrows, newPAGEdges);
+      for (ValNode to : cycleCandidates) {
+        collapseCycle(curr, to);
+      }
     }
+    internPointsToSets();
+  }
+
+  /**
+   * Resolves the throw sites, field loads and stores and virtual calls on the given variable for
+   * the newly added objects of its points-to set.
+   */
+  protected void handleComplexConstraints(
+      VarNode mSrc, PointsToSetInternal newset, Iterator<ContextMethod> newRMs) {
+    // Step 1 continues.
+    Collection<ExceptionThrowSite> throwSites = eh.throwSitesLookUp(mSrc);
+    for (ExceptionThrowSite site : throwSites) {
+      eh.exceptionDispatch(newset, site);
+    }
+    // Step 2: Resolving Indirect Constraints.
+    handleStoreAndLoadOnBase(mSrc);
+    // Step 3: Collecting New Constraints.
+    Collection<VirtualCallSite> sites = cgb.callSitesLookUp(mSrc);
+    for (VirtualCallSite site : sites) {
+      cgb.virtualCallDispatch(newset, site);
+    }
+    processStmts(newRMs);
   }
 
   public void processStmts(Iterator<ContextMethod> newRMs) {
@@ -248,7 +313,7 @@ public class Solver extends Propagator {
     return false;
   }
 
-  private void handleStoreAndLoadOnBase(VarNode base) {
+  protected void handleStoreAndLoadOnBase(VarNode base) {
     for (final FieldRefNode fr : base.getAllFieldRefs()) {
       for (final VarNode v : pag.storeInvLookup(fr)) {
         handleStoreEdge(base.getP2Set().getNewSet(), fr.getField(), v);
@@ -268,7 +333,7 @@ public class Solver extends Propagator {
             }
             final FieldValNode fvn = pag.makeFieldValNode(field);
             final ValNode oDotF =
-                (ValNode) pta.parameterize(fvn, PTAUtils.plusplusOp((AllocNode) n));
+                (ValNode) pta.parameterize(fvn, pag.getContextTable().plusplusOp((AllocNode) n));
             pag.addEdge(from, oDotF);
           }
         });
@@ -283,13 +348,13 @@ public class Solver extends Propagator {
             }
             final FieldValNode fvn = pag.makeFieldValNode(field);
             final ValNode oDotF =
-                (ValNode) pta.parameterize(fvn, PTAUtils.plusplusOp((AllocNode) n));
+                (ValNode) pta.parameterize(fvn, pag.getContextTable().plusplusOp((AllocNode) n));
             pag.addEdge(oDotF, to);
           }
         });
   }
 
-  private void activateConstraints(
+  protected void activateConstraints(
       QueueReader<VirtualCallSite> newCalls,
       QueueReader<ContextMethod> newRMs,
       QueueReader<ExceptionThrowSite> newThrows,
@@ -336,29 +401,159 @@ public class Solver extends Propagator {
     }
   }
 
-  protected void propagatePTS(final ValNode pointer, PointsToSetInternal other) {
+  protected void propagatePTS(ValNode pointer, PointsToSetInternal other) {
+    pointer = representativeOf(pointer);
     final DoublePointsToSet addTo = pointer.getP2Set();
-    P2SetVisitor p2SetVisitor =
-        new P2SetVisitor(pta) {
-          @Override
-          public void visit(Node n) {
-            if (addWithTypeFiltering(addTo, pointer.getType(), n)) {
-              returnValue = true;
+    final BitVector typeMask = typeManager.get(pointer.getType());
+    boolean changed;
+    if (other instanceof HybridPointsToSet) {
+      changed = addTo.addAll((HybridPointsToSet) other, typeMask);
+    } else {
+      P2SetVisitor p2SetVisitor =
+          new P2SetVisitor(pta) {
+            @Override
+            public void visit(Node n) {
+              if ((typeMask == null || typeMask.get(n.getNumber())) && addTo.add(n.getNumber())) {
+                returnValue = true;
+              }
             }
-          }
-        };
-    other.forall(p2SetVisitor);
-    if (p2SetVisitor.getReturnValue()) {
+          };
+      changed = other.forall(p2SetVisitor);
+    }
+    if (changed) {
       valNodeWorkList.add(pointer);
     }
   }
 
-  protected void propagatePTS(final ValNode pointer, AllocNode heap) {
-    if (addWithTypeFiltering(pointer.getP2Set(), pointer.getType(), heap)) {
+  protected void propagatePTS(ValNode pointer, AllocNode heap) {
+    pointer = representativeOf(pointer);
+    if (typeManager.castNeverFails(heap, pointer.getType())
+        && pointer.getP2Set().add(heap.getNumber())) {
       valNodeWorkList.add(pointer);
     }
   }
 
+  /** Moves the new objects of a points-to set to its old ones, sharing them if enabled. */
+  protected void flushNew(DoublePointsToSet pts) {
+    if (setPool != null) {
+      pts.flushNew(setPool);
+    } else {
+      pts.flushNew();
+    }
+  }
+
+  /** Interns the final points-to sets and forgets the memoized unions, if the sets are shared. */
+  protected void internPointsToSets() {
+    if (setPool != null) {
+      for (ValNode node : pag.getValNodes()) {
+        node.getP2Set().intern(setPool);
+      }
+      setPool.clearUnions();
+    }
+  }
+
+  /** Returns the node that the given node has been merged into, or the node itself. */
+  protected ValNode representativeOf(ValNode node) {
+    if (!cycleElimination) {
+      return node;
+    }
+    return mergedNodes.contains(node) ? mergedNodes.find(node) : node;
+  }
+
+  /** Returns the nodes that have been merged into the given representative. */
+  protected Collection<ValNode> membersOf(ValNode representative) {
+    return membersOfRepresentative.getOrDefault(
+        representative, Collections.singletonList(representative));
+  }
+
+  /**
+   * Returns true if the simple edge from curr to the given node may close a cycle, which is the
+   * case when both nodes have points-to sets of the same size after the propagation along the edge
+   * (lazy cycle detection, see Hardekopf and Lin, "The Ant and the Grasshopper", PLDI 2007). Only
+   * nodes of the same type are merged, as their points-to sets are filtered by the same type.
+   */
+  private boolean isCycleCandidate(ValNode curr, ValNode to) {
+    to = representativeOf(to);
+    if (!curr.getType().equals(to.getType()) || curr.getP2Set().size() != to.getP2Set().size()) {
+      return false;
+    }
+    return checkedEdges.add(((long) curr.getNumber() << 32) | to.getNumber());
+  }
+
+  /**
+   * Merges the strongly connected component of the simple edges between nodes of the same type that
+   * contains the edge from source to target into one representative, if there is such a cycle.
+   */
+  private void collapseCycle(ValNode source, ValNode target) {
+    source = representativeOf(source);
+    target = representativeOf(target);
+    if (source == target) {
+      return;
+    }
+    final long start = System.nanoTime();
+    final Type type = source.getType();
+    final DirectedGraphImpl<ValNode> graph = new DirectedGraphImpl<>();
+    final Deque<ValNode> stack = new ArrayDeque<>();
+    final Set<ValNode> visited = new HashSet<>();
+    stack.push(target);
+    visited.add(target);
+    while (!stack.isEmpty()) {
+      ValNode node = stack.pop();
+      graph.addNode(node);
+      for (ValNode member : membersOf(node)) {
+        for (ValNode succ : pag.simpleLookup(member)) {
+          succ = representativeOf(succ);
+          if (succ != node && succ.getType().equals(type)) {
+            graph.addEdge(node, succ);
+            if (visited.add(succ)) {
+              stack.push(succ);
+            }
+          }
+        }
+      }
+    }
+    if (visited.contains(source)) {
+      for (List<ValNode> component : new StronglyConnectedComponents<>(graph).getComponents()) {
+        if (component.contains(source)) {
+          merge(component);
+          break;
+        }
+      }
+    }
+    cycleDetectionNanos += System.nanoTime() - start;
+  }
+
+  /**
+   * Merges the given nodes into one representative, which shares a points-to set with all of them.
+   * All objects of the shared set are new, as the objects that one node has already propagated have
+   * not been seen by the loads, stores and calls of the others.
+   */
+  private void merge(List<ValNode> nodes) {
+    final DoublePointsToSet shared = new DoublePointsToSet();
+    final List<ValNode> members = new ArrayList<>();
+    for (ValNode node : nodes) {
+      final DoublePointsToSet pts = node.getP2Set();
+      shared.getNewSet().addAll(pts.getOldSet(), null);
+      shared.getNewSet().addAll(pts.getNewSet(), null);
+      members.addAll(membersOf(node));
+      membersOfRepresentative.remove(node);
+      mergedNodes.add(node);
+    }
+    for (ValNode node : nodes) {
+      mergedNodes.union(nodes.get(0), node);
+    }
+    final ValNode representative = mergedNodes.find(nodes.get(0));
+    for (ValNode member : members) {
+      member.setP2Set(shared);
+    }
+    membersOfRepresentative.put(representative, members);
+    collapsedCycles++;
+    mergedNodeCount += nodes.size() - 1;
+    if (!shared.getNewSet().isEmpty()) {
+      valNodeWorkList.add(representative);
+    }
+  }
+
   // we do not allow store to and load from constant heap/empty array.
   private boolean disallowStoreOrLoadOn(AllocNode heap) {
     AllocNode base = heap.base();
@@ -366,10 +561,44 @@ public class Solver extends Propagator {
     return PTAUtils.isEmptyArray(base);
   }
 
-  private boolean addWithTypeFiltering(PointsToSetInternal pts, Type type, Node node) {
-    if (PTAUtils.castNeverFails(pta.getView(), node.getType(), type)) {
-      return pts.add(node.getNumber());
-    }
-    return false;
+  public TypeManager getTypeManager() {
+    return typeManager;
+  }
+
+  /** Returns the pool of the shared points-to sets, or null if they are not shared. */
+  public PointsToSetPool getSetPool() {
+    return setPool;
+  }
+
+  public boolean isCycleElimination() {
+    return cycleElimination;
+  }
+
+  /** Returns the number of cycles whose nodes have been merged. */
+  public int getCollapsedCycles() {
+    return collapsedCycles;
+  }
+
+  /** Returns the number of nodes that have been merged into another node. */
+  public int getMergedNodeCount() {
+    return mergedNodeCount;
+  }
+
+  /** Returns the number of propagations along edges between merged nodes, which were skipped. */
+  public long getSkippedPropagations() {
+    return skippedPropagations;
+  }
+
+  /** Returns the time spent on finding and collapsing cycles, in seconds. */
+  public double getCycleDetectionTime() {
+    return cycleDetectionNanos / 1e9;
+  }
+
+  /**
+   * Returns an estimate of the time that the skipped propagations would have taken, in seconds,
+   * based on the average time of the propagations along the other edges.
+   */
+  public double getSavedPropagationTime() {
+    return propagations == 0 ? 0 : skippedPropagations * ((double) propagationNanos / propagations) / 1e9;
   }
 }
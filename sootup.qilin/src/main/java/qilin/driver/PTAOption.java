@@ -114,6 +114,20 @@ public class PTAOption extends Options {
     addOption("pae", "precisearray", "Enable precise Array Element type (default value: false)");
     addOption(
         "pe", "preciseexceptions", "Enable precisely handling exceptions (default value: false)");
+    addOption(
+        "st",
+        "solverthreads",
+        "n",
+        "Propagate points-to sets in parallel with n threads (default value: 1)");
+    addOption(
+        "ce",
+        "cycleelimination",
+        "Merge the pointers of cycles of assignments while solving, only with one solver thread"
+            + " (default value: false)");
+    addOption(
+        "sps",
+        "sharedpointstosets",
+        "Share the points-to sets of pointers that point to the same objects (default value: false)");
 
     // a specific PTA's configuration
     addOption(
@@ -203,6 +217,16 @@ public class PTAOption extends Options {
     if (cmd.hasOption("precisearray")) {
       PTAConfig.v().getPtaConfig().preciseArrayElement = true;
     }
+    if (cmd.hasOption("solverthreads")) {
+      PTAConfig.v().getPtaConfig().solverThreads =
+          Integer.parseInt(cmd.getOptionValue("solverthreads"));
+    }
+    if (cmd.hasOption("cycleelimination")) {
+      PTAConfig.v().getPtaConfig().cycleElimination = true;
+    }
+    if (cmd.hasOption("sharedpointstosets")) {
+      PTAConfig.v().getPtaConfig().sharedPointsToSets = true;
+    }
     // application configuration
     if (cmd.hasOption("mainclass")) {
       PTAConfig.v().getAppConfig().MAIN_CLASS = cmd.getOptionValue("mainclass");
@@ -131,6 +131,11 @@ public class DebloatedPTA extends StagedPTA {
     return basePTA.getPropagator();
   }
 
+  @Override
+  public Propagator getLastPropagator() {
+    return basePTA.getLastPropagator();
+  }
+
   @Override
   public Node parameterize(Node n, Context context) {
     return basePTA.parameterize(n, context);
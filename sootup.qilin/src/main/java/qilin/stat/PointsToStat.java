@@ -25,7 +25,10 @@ import qilin.core.PTA;
 import qilin.core.builder.MethodNodeFactory;
 import qilin.core.context.Context;
 import qilin.core.pag.*;
+import qilin.core.sets.HybridPointsToSet;
 import qilin.core.sets.PointsToSet;
+import qilin.core.solver.Propagator;
+import qilin.core.solver.Solver;
 import qilin.util.PTAUtils;
 import qilin.util.Triple;
 import sootup.core.jimple.basic.Local;
@@ -64,6 +67,12 @@ public class PointsToStat implements AbstractStat {
   private int appLocalCsToCs = 0;
   private int totalFieldPointsToCs = 0;
   private int methodThrowCnt = 0;
+  private int pointsToSetCnt = 0;
+  private int storedPointsToSetCnt = 0;
+  private long pointsToSetElementCnt = 0;
+  private long storedPointsToSetElementCnt = 0;
+  // the solver, if it has eliminated cycles.
+  private Solver cycleEliminatingSolver = null;
 
   private final Map<SootMethod, PointsToSet> methodThrowPts;
   private final Set<LocalVarNode> mLocalVarNodes = new HashSet<>();
@@ -192,6 +201,26 @@ public class PointsToStat implements AbstractStat {
       totalFieldPointsToCs += cfvn.getP2Set().size();
     }
 
+    // shared points-to sets, which are counted once per distinct instance.
+    Set<HybridPointsToSet> storedSets = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (ValNode vn : pag.getValNodes()) {
+      HybridPointsToSet oldSet = vn.getP2Set().getOldSet();
+      if (oldSet.isEmpty()) {
+        continue;
+      }
+      pointsToSetCnt++;
+      pointsToSetElementCnt += oldSet.size();
+      if (storedSets.add(oldSet)) {
+        storedPointsToSetCnt++;
+        storedPointsToSetElementCnt += oldSet.size();
+      }
+    }
+
+    Propagator propagator = pta.getLastPropagator();
+    if (propagator instanceof Solver && ((Solver) propagator).isCycleElimination()) {
+      cycleEliminatingSolver = (Solver) propagator;
+    }
+
     // stat context.
     Map<MethodPAG, Set<Context>> mpag2contexts = pag.getMethod2ContextsMap();
     int[] cnts = new int[2];
@@ -277,6 +306,26 @@ public class PointsToStat implements AbstractStat {
     exporter.collectMetric("#Local CS Pointer-to Relation:", String.valueOf(totalLocalCsToCs));
     exporter.collectMetric("#Field CS Pointer-to Relation:", String.valueOf(totalFieldPointsToCs));
 
+    exporter.collectMetric("#Points-to Set:", String.valueOf(pointsToSetCnt));
+    exporter.collectMetric("#Stored Points-to Set:", String.valueOf(storedPointsToSetCnt));
+    exporter.collectMetric("#Points-to Set Element:", String.valueOf(pointsToSetElementCnt));
+    exporter.collectMetric(
+        "#Stored Points-to Set Element:", String.valueOf(storedPointsToSetElementCnt));
+    if (cycleEliminatingSolver != null) {
+      exporter.collectMetric(
+          "#Collapsed Cycle:", String.valueOf(cycleEliminatingSolver.getCollapsedCycles()));
+      exporter.collectMetric(
+          "#Merged ValNode:", String.valueOf(cycleEliminatingSolver.getMergedNodeCount()));
+      exporter.collectMetric(
+          "#Skipped Propagation:", String.valueOf(cycleEliminatingSolver.getSkippedPropagations()));
+      exporter.collectMetric(
+          "Cycle detection time (sec):",
+          String.valueOf(cycleEliminatingSolver.getCycleDetectionTime()));
+      exporter.collectMetric(
+          "Estimated saved propagation time (sec):",
+          String.valueOf(cycleEliminatingSolver.getSavedPropagationTime()));
+    }
+
     exporter.collectMetric("#Global Pointer (lib + app):", String.valueOf(totalGlobalPointers));
     exporter.collectMetric(
         "#Global Avg Points-To Target(CI):",
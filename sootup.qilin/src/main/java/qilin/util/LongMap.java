@@ -0,0 +1,108 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A hash map from primitive long keys to values with open addressing, which neither boxes its keys
+ * nor allocates an entry per mapping. Null values are not supported.
+ */
+public class LongMap<V> {
+  private long[] keys;
+  private Object[] values;
+  private int size = 0;
+
+  public LongMap() {
+    this(16);
+  }
+
+  public LongMap(int initCapacity) {
+    int capacity = Integer.highestOneBit(2 * Math.max(2, initCapacity) - 1) << 1;
+    this.keys = new long[capacity];
+    this.values = new Object[capacity];
+  }
+
+  /** Returns the value of the given key, or null if there is none. */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int mask = values.length - 1;
+    for (int i = indexOf(key, mask); values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return (V) values[i];
+      }
+    }
+    return null;
+  }
+
+  /** Maps the given key to the given value, returns the previous value or null if there is none. */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    Objects.requireNonNull(value);
+    int mask = values.length - 1;
+    int i = indexOf(key, mask);
+    for (; values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        V old = (V) values[i];
+        values[i] = value;
+        return old;
+      }
+    }
+    keys[i] = key;
+    values[i] = value;
+    // the table is kept at most half full, so that probe sequences stay short
+    if (++size * 2 > values.length) {
+      rehash(values.length * 2);
+    }
+    return null;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new long[capacity];
+    values = new Object[capacity];
+    int mask = capacity - 1;
+    for (int j = 0; j < oldValues.length; j++) {
+      if (oldValues[j] != null) {
+        int i = indexOf(oldKeys[j], mask);
+        while (values[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  private static int indexOf(long key, int mask) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,110 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash set of primitive long values with open addressing, which neither boxes its values nor
+ * allocates an entry per value.
+ */
+public class LongSet {
+  // 0 marks a free slot, so it is tracked separately
+  private long[] values;
+  private boolean containsZero = false;
+  private int size = 0;
+
+  public LongSet() {
+    this(16);
+  }
+
+  public LongSet(int initCapacity) {
+    int capacity = Integer.highestOneBit(2 * Math.max(2, initCapacity) - 1) << 1;
+    this.values = new long[capacity];
+  }
+
+  /** Returns true if the set contains the given value. */
+  public boolean contains(long value) {
+    if (value == 0) {
+      return containsZero;
+    }
+    int mask = values.length - 1;
+    for (int i = indexOf(value, mask); values[i] != 0; i = (i + 1) & mask) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Adds the given value, returns true if it was not already in the set. */
+  public boolean add(long value) {
+    if (value == 0) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    int mask = values.length - 1;
+    int i = indexOf(value, mask);
+    for (; values[i] != 0; i = (i + 1) & mask) {
+      if (values[i] == value) {
+        return false;
+      }
+    }
+    values[i] = value;
+    // the table is kept at most half full, so that probe sequences stay short
+    if (++size * 2 > values.length) {
+      rehash(values.length * 2);
+    }
+    return true;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    Arrays.fill(values, 0);
+    containsZero = false;
+    size = 0;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldValues = values;
+    values = new long[capacity];
+    int mask = capacity - 1;
+    for (long value : oldValues) {
+      if (value != 0) {
+        int i = indexOf(value, mask);
+        while (values[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        values[i] = value;
+      }
+    }
+  }
+
+  private static int indexOf(long value, int mask) {
+    long hash = value * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
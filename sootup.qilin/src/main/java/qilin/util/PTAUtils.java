@@ -351,6 +351,14 @@ public final class PTAUtils {
     return methodToBody.containsKey(m);
   }
 
+  /**
+   * Forgets the bodies of all methods, including the ones that an analysis has modified or
+   * simulated, so that another analysis of the same view starts from the original bodies.
+   */
+  public static void clearMethodBodies() {
+    methodToBody.clear();
+  }
+
   public static boolean isEmptyArray(AllocNode heap) {
     Object var = heap.getNewExpr();
     if (var instanceof JNewArrayExpr) {
@@ -34,6 +34,20 @@ public class UnionFindSet<E> {
     this.nrsets = this.entries.size();
   }
 
+  /** Adds the given element as a set of its own, returns false if it is already contained. */
+  public boolean add(final E e) {
+    if (this.entries.containsKey(e)) {
+      return false;
+    }
+    this.entries.put(e, new Entry(e));
+    ++this.nrsets;
+    return true;
+  }
+
+  public boolean contains(final E e) {
+    return this.entries.containsKey(e);
+  }
+
   public boolean union(final E e1, final E e2) {
     final Entry root1 = this.findRoot(this.entries.get(e1));
     final Entry root2 = this.findRoot(this.entries.get(e2));
@@ -27,6 +27,7 @@ public class StronglyConnectedComponents<N> {
   private Map<N, Integer> indexForNode;
   private Map<N, Integer> lowlinkForNode;
   private Stack<N> stack;
+  private Set<N> onStack;
   private DirectedGraph<N> graph;
 
   public StronglyConnectedComponents(final DirectedGraph<N> graph) {
@@ -35,17 +36,19 @@ public class StronglyConnectedComponents<N> {
     this.index = 0;
     this.graph = graph;
     this.stack = new Stack<>();
+    this.onStack = new HashSet<>();
     this.indexForNode = new HashMap<>();
     this.lowlinkForNode = new HashMap<>();
     for (final N node : graph.allNodes()) {
       if (!this.indexForNode.containsKey(node)) {
-        this.recurse(node);
+        this.visit(node);
       }
     }
     this.validate(graph, this.componentList);
     this.indexForNode = null;
     this.lowlinkForNode = null;
     this.stack = null;
+    this.onStack = null;
     this.graph = null;
   }
 
@@ -57,44 +60,75 @@ public class StronglyConnectedComponents<N> {
     return this.trueComponentList;
   }
 
-  private void recurse(final N node) {
-    this.indexForNode.put(node, this.index);
-    this.lowlinkForNode.put(node, this.index);
-    ++this.index;
-    this.stack.push(node);
-    for (final N succ : this.graph.succsOf(node)) {
-      if (!this.indexForNode.containsKey(succ)) {
-        this.recurse(succ);
-        this.lowlinkForNode.put(
-            node, Math.min(this.lowlinkForNode.get(node), this.lowlinkForNode.get(succ)));
-      } else {
-        if (!this.stack.contains(succ)) {
-          continue;
+  /**
+   * Finds the components of the nodes reachable from the given node with Tarjan's algorithm. The
+   * depth-first search keeps its own stack instead of recursing, so that long paths do not overflow
+   * the stack of the thread.
+   */
+  private void visit(final N root) {
+    final Deque<Frame<N>> callStack = new ArrayDeque<>();
+    callStack.push(this.enter(root));
+    while (!callStack.isEmpty()) {
+      final Frame<N> frame = callStack.peek();
+      final N node = frame.node;
+      if (frame.succs.hasNext()) {
+        final N succ = frame.succs.next();
+        if (!this.indexForNode.containsKey(succ)) {
+          callStack.push(this.enter(succ));
+        } else if (this.onStack.contains(succ)) {
+          this.lowlinkForNode.put(
+              node, Math.min(this.lowlinkForNode.get(node), this.indexForNode.get(succ)));
         }
+        continue;
+      }
+      callStack.pop();
+      if (!callStack.isEmpty()) {
+        final N parent = callStack.peek().node;
         this.lowlinkForNode.put(
-            node, Math.min(this.lowlinkForNode.get(node), this.indexForNode.get(succ)));
+            parent, Math.min(this.lowlinkForNode.get(parent), this.lowlinkForNode.get(node)));
       }
-    }
-    if (this.lowlinkForNode.get(node) == (int) this.indexForNode.get(node)) {
-      final List<N> scc = new ArrayList<>();
-      N v2;
-      do {
-        v2 = this.stack.pop();
-        scc.add(v2);
-      } while (node != v2);
-      this.componentList.add(scc);
-      if (scc.size() > 1) {
-        this.trueComponentList.add(scc);
-      } else {
-        final N n = scc.get(0);
-        if (this.graph.succsOf(n).contains(n)) {
+      if (this.lowlinkForNode.get(node) == (int) this.indexForNode.get(node)) {
+        final List<N> scc = new ArrayList<>();
+        N v2;
+        do {
+          v2 = this.stack.pop();
+          this.onStack.remove(v2);
+          scc.add(v2);
+        } while (node != v2);
+        this.componentList.add(scc);
+        if (scc.size() > 1) {
           this.trueComponentList.add(scc);
+        } else {
+          final N n = scc.get(0);
+          if (this.graph.succsOf(n).contains(n)) {
+            this.trueComponentList.add(scc);
+          }
         }
       }
     }
   }
 
+  private Frame<N> enter(final N node) {
+    this.indexForNode.put(node, this.index);
+    this.lowlinkForNode.put(node, this.index);
+    ++this.index;
+    this.stack.push(node);
+    this.onStack.add(node);
+    return new Frame<>(node, this.graph.succsOf(node).iterator());
+  }
+
   private void validate(final DirectedGraph<N> graph, final List<List<N>> SCCs) {
     assert graph.allNodes().size() == SCCs.stream().mapToInt(List::size).sum();
   }
+
+  /** A node whose successors are being visited by the depth-first search. */
+  private static final class Frame<N> {
+    private final N node;
+    private final Iterator<N> succs;
+
+    private Frame(N node, Iterator<N> succs) {
+      this.node = node;
+      this.succs = succs;
+    }
+  }
 }
@@ -0,0 +1,74 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.test.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import qilin.core.PTA;
+import qilin.core.context.Context;
+import qilin.core.context.ContextElements;
+import qilin.core.context.ContextTable;
+import qilin.core.pag.ContextField;
+import qilin.core.pag.ContextVarNode;
+import qilin.core.pag.ValNode;
+import qilin.test.util.JunitTests;
+
+public class ContextTableTests extends JunitTests {
+  @Test
+  public void testObjectSensitive() {
+    checkInterned("qilin.microben.core.array.MultiArrayComplex", "2o");
+  }
+
+  @Test
+  public void testCallSiteSensitive() {
+    checkInterned("qilin.microben.core.call.VirtualCall1", "2c");
+  }
+
+  private void checkInterned(String mainClass, String ptaPattern) {
+    PTA pta = run(mainClass, ptaPattern);
+    checkAssertions(pta);
+    ContextTable table = pta.getPag().getContextTable();
+    assertEquals(0, table.get(0).size());
+    for (int id = 0; id < table.size(); id++) {
+      ContextElements context = table.get(id);
+      assertEquals(id, context.getId());
+      assertSame(context, table.intern(new ContextElements(context.getElements(), context.size())));
+      assertSame(context, table.find(new ContextElements(context.getElements(), context.size())));
+    }
+    // the contexts of the context-sensitive nodes are the interned ones
+    for (ValNode node : pta.getPag().getValNodes()) {
+      Context context = null;
+      if (node instanceof ContextVarNode) {
+        ContextVarNode cvn = (ContextVarNode) node;
+        context = cvn.context();
+        assertTrue(pta.getPag().getContextVarNodes(cvn.base()).contains(cvn));
+      } else if (node instanceof ContextField) {
+        ContextField cf = (ContextField) node;
+        context = cf.getContext();
+        assertTrue(pta.getPag().getContextFields(cf.getField()).contains(cf));
+      }
+      if (context != null) {
+        assertSame(context, table.intern(context));
+      }
+    }
+  }
+}
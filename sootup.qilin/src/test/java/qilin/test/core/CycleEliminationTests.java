@@ -0,0 +1,92 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.test.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.junit.Test;
+import qilin.core.PTA;
+import qilin.core.pag.ValNode;
+import qilin.core.sets.DoublePointsToSet;
+import qilin.core.solver.Solver;
+import qilin.pta.PTAConfig;
+import qilin.test.util.JunitTests;
+
+public class CycleEliminationTests extends JunitTests {
+  @Test
+  public void testAssignCycle() {
+    PTA pta = solve("qilin.microben.core.assign.AssignCycle", "insens");
+    Solver solver = (Solver) pta.getLastPropagator();
+    // the locals that are swapped in the loop form a cycle
+    assertTrue(solver.getCollapsedCycles() > 0);
+    assertTrue(solver.getMergedNodeCount() > 0);
+    assertEquals(solver.getMergedNodeCount(), countSharingNodes(pta));
+  }
+
+  @Test
+  public void testMultiArrayComplex() {
+    PTA pta = solve("qilin.microben.core.array.MultiArrayComplex", "2o");
+    Solver solver = (Solver) pta.getLastPropagator();
+    assertTrue(solver.getCollapsedCycles() > 0);
+    assertEquals(solver.getMergedNodeCount(), countSharingNodes(pta));
+  }
+
+  @Test
+  public void testParallelSolver() {
+    PTAConfig.v().getPtaConfig().cycleElimination = true;
+    PTAConfig.v().getPtaConfig().solverThreads = 4;
+    try {
+      run("qilin.microben.core.assign.AssignCycle");
+      fail("the parallel solver must reject cycle elimination");
+    } catch (IllegalArgumentException expected) {
+      // the parallel solver does not merge nodes
+    } finally {
+      PTAConfig.v().getPtaConfig().cycleElimination = false;
+      PTAConfig.v().getPtaConfig().solverThreads = 1;
+    }
+  }
+
+  /** Runs the analysis with cycle elimination and checks the assertions of the benchmark. */
+  private PTA solve(String mainClass, String ptaPattern) {
+    PTAConfig.v().getPtaConfig().cycleElimination = true;
+    try {
+      PTA pta = run(mainClass, ptaPattern);
+      checkAssertions(pta);
+      return pta;
+    } finally {
+      PTAConfig.v().getPtaConfig().cycleElimination = false;
+    }
+  }
+
+  /**
+   * Returns the number of nodes that share their points-to set with another node, apart from one
+   * node per set, which is the number of merged nodes.
+   */
+  private static int countSharingNodes(PTA pta) {
+    Map<DoublePointsToSet, Integer> nodesOfSet = new IdentityHashMap<>();
+    for (ValNode node : pta.getPag().getValNodes()) {
+      nodesOfSet.merge(node.getP2Set(), 1, Integer::sum);
+    }
+    return pta.getPag().getValNodes().size() - nodesOfSet.size();
+  }
+}
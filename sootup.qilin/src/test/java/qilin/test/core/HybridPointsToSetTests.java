@@ -0,0 +1,99 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.test.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.Test;
+import qilin.core.sets.HybridPointsToSet;
+import qilin.util.BitVector;
+
+public class HybridPointsToSetTests {
+  /** sets up to this size are stored as an array, larger ones as a bit vector */
+  private static final int ARRAY_SIZE = 16;
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testAddAllFromArray() {
+    checkAddAll(ARRAY_SIZE / 2);
+  }
+
+  @Test
+  public void testAddAllFromBitVector() {
+    checkAddAll(ARRAY_SIZE * 4);
+  }
+
+  /** Adds sets of the given size to sets of all sizes, with and without mask and exclude set. */
+  private void checkAddAll(int otherSize) {
+    for (int round = 0; round < 100; round++) {
+      Set<Integer> other = randomElements(otherSize);
+      Set<Integer> initial = randomElements(random.nextInt(ARRAY_SIZE * 2));
+      Set<Integer> exclude = random.nextBoolean() ? null : randomElements(random.nextInt(40));
+      Set<Integer> mask = random.nextBoolean() ? null : randomElements(100);
+
+      Set<Integer> expected = new TreeSet<>(initial);
+      for (int idx : other) {
+        if ((mask == null || mask.contains(idx)) && (exclude == null || !exclude.contains(idx))) {
+          expected.add(idx);
+        }
+      }
+
+      HybridPointsToSet set = toSet(initial);
+      boolean changed =
+          set.addAll(toSet(other), exclude == null ? null : toSet(exclude), toBitVector(mask));
+      assertEquals(expected.size() != initial.size(), changed);
+      assertEquals(expected, elements(set));
+      assertEquals(expected.size(), set.size());
+      assertEquals(expected.isEmpty(), set.isEmpty());
+    }
+  }
+
+  private Set<Integer> randomElements(int size) {
+    Set<Integer> ret = new TreeSet<>();
+    while (ret.size() < size) {
+      ret.add(1 + random.nextInt(200));
+    }
+    return ret;
+  }
+
+  private static HybridPointsToSet toSet(Set<Integer> elements) {
+    HybridPointsToSet ret = new HybridPointsToSet();
+    elements.forEach(ret::add);
+    return ret;
+  }
+
+  private static BitVector toBitVector(Set<Integer> elements) {
+    if (elements == null) {
+      return null;
+    }
+    BitVector ret = new BitVector();
+    elements.forEach(ret::set);
+    return ret;
+  }
+
+  private static Set<Integer> elements(HybridPointsToSet set) {
+    Set<Integer> ret = new TreeSet<>();
+    set.iterator().forEachRemaining(ret::add);
+    return ret;
+  }
+}
@@ -0,0 +1,62 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.test.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import qilin.core.PTA;
+import qilin.core.solver.ParallelSolver;
+import qilin.pta.PTAConfig;
+import qilin.test.util.JunitTests;
+
+public class ParallelSolverTests extends JunitTests {
+  @Test
+  public void testAssignCycle() {
+    ParallelSolver solver = solve("qilin.microben.core.assign.AssignCycle", "insens");
+    // the locals of the loop form a cycle, which is collapsed once and kept in later waves
+    assertTrue(solver.getCollapsedComponents() > 0);
+    assertTrue(solver.getWaves() > 1);
+  }
+
+  @Test
+  public void testVirtualCall() {
+    ParallelSolver solver = solve("qilin.microben.core.call.VirtualCall1", "insens");
+    assertEquals(0, solver.getCollapsedComponents());
+  }
+
+  @Test
+  public void testMultiArrayComplex() {
+    ParallelSolver solver = solve("qilin.microben.core.array.MultiArrayComplex", "2o");
+    assertTrue(solver.getWaves() > 1);
+  }
+
+  /** Runs the analysis with the parallel solver and checks the assertions of the benchmark. */
+  private ParallelSolver solve(String mainClass, String ptaPattern) {
+    PTAConfig.v().getPtaConfig().solverThreads = 4;
+    try {
+      PTA pta = run(mainClass, ptaPattern);
+      checkAssertions(pta);
+      return (ParallelSolver) pta.getLastPropagator();
+    } finally {
+      PTAConfig.v().getPtaConfig().solverThreads = 1;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.test.core;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.Test;
+import qilin.core.PTA;
+import qilin.core.pag.ValNode;
+import qilin.core.sets.HybridPointsToSet;
+import qilin.core.sets.PointsToSetPool;
+import qilin.core.solver.Solver;
+import qilin.pta.PTAConfig;
+import qilin.test.util.JunitTests;
+
+public class SharedPointsToSetsTests extends JunitTests {
+  @Test
+  public void testVirtualCall() {
+    checkSharedSets(solve("qilin.microben.core.call.VirtualCall1", "insens"));
+  }
+
+  @Test
+  public void testMultiArrayComplex() {
+    PTA pta = solve("qilin.microben.core.array.MultiArrayComplex", "2o");
+    PointsToSetPool pool = checkSharedSets(pta);
+    // the copies of a variable in different contexts receive the same objects
+    assertTrue(pool.getUnionHits() > 0);
+  }
+
+  /** Runs the analysis with shared points-to sets and checks the assertions of the benchmark. */
+  private PTA solve(String mainClass, String ptaPattern) {
+    PTAConfig.v().getPtaConfig().sharedPointsToSets = true;
+    try {
+      PTA pta = run(mainClass, ptaPattern);
+      checkAssertions(pta);
+      return pta;
+    } finally {
+      PTAConfig.v().getPtaConfig().sharedPointsToSets = false;
+    }
+  }
+
+  /**
+   * Checks that the pointers that point to the same objects share their points-to set, which is
+   * the one of the pool, and returns the pool.
+   */
+  private static PointsToSetPool checkSharedSets(PTA pta) {
+    PointsToSetPool pool = ((Solver) pta.getLastPropagator()).getSetPool();
+    Map<Set<Integer>, HybridPointsToSet> setOfElements = new HashMap<>();
+    Set<HybridPointsToSet> sets = Collections.newSetFromMap(new IdentityHashMap<>());
+    int pointers = 0;
+    for (ValNode node : pta.getPag().getValNodes()) {
+      HybridPointsToSet oldSet = node.getP2Set().getOldSet();
+      assertTrue(node.getP2Set().getNewSet().isEmpty());
+      if (oldSet.isEmpty()) {
+        continue;
+      }
+      Set<Integer> elements = new TreeSet<>();
+      oldSet.iterator().forEachRemaining(elements::add);
+      assertSame(oldSet, setOfElements.computeIfAbsent(elements, k -> oldSet));
+      assertSame(oldSet, pool.intern(oldSet));
+      sets.add(oldSet);
+      pointers++;
+    }
+    assertTrue(sets.size() < pointers);
+    // the empty set is interned, too
+    assertTrue(pool.size() <= sets.size() + 1);
+    return pool;
+  }
+}
@@ -0,0 +1,84 @@
+/* Qilin - a Java Pointer Analysis Framework
+ * Copyright (C) 2021-2030 Qilin developers
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3.0 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/lgpl-3.0.en.html>.
+ */
+
+package qilin.test.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import qilin.core.PTA;
+import qilin.core.TypeManager;
+import qilin.core.pag.AllocNode;
+import qilin.core.pag.ValNode;
+import qilin.test.util.JunitTests;
+import qilin.util.ArrayNumberer;
+import qilin.util.BitVector;
+import qilin.util.PTAUtils;
+import sootup.core.types.Type;
+import sootup.core.views.View;
+
+public class TypeManagerTests extends JunitTests {
+  @Test
+  public void testMasks() {
+    PTA pta = run("qilin.microben.core.call.VirtualCall1");
+    View view = pta.getView();
+    Set<Type> allocatedTypes = new LinkedHashSet<>();
+    for (AllocNode node : pta.getPag().getAllocNodes()) {
+      allocatedTypes.add(node.getType());
+    }
+    Set<Type> declaredTypes = new LinkedHashSet<>(allocatedTypes);
+    for (ValNode node : pta.getPag().getValNodes()) {
+      declaredTypes.add(node.getType());
+    }
+    List<Type> allocated = new ArrayList<>(allocatedTypes);
+    List<Type> declared = new ArrayList<>(declaredTypes);
+
+    ArrayNumberer<AllocNode> numberer = new ArrayNumberer<>();
+    TypeManager typeManager = new TypeManager(view, numberer);
+    List<AllocNode> nodes = new ArrayList<>();
+    // the first half of the types is numbered before any mask is built
+    addNodes(allocated.subList(0, allocated.size() / 2), numberer, nodes);
+    for (Type type : declared.subList(0, declared.size() / 2)) {
+      typeManager.get(type);
+    }
+    // nodes of known and of new types are numbered after some masks are built
+    addNodes(allocated, numberer, nodes);
+    for (Type type : declared) {
+      BitVector mask = typeManager.get(type);
+      for (AllocNode node : nodes) {
+        assertEquals(
+            node.getType() + " in " + type,
+            PTAUtils.castNeverFails(view, node.getType(), type),
+            mask.get(node.getNumber()));
+      }
+    }
+  }
+
+  private static void addNodes(
+      List<Type> types, ArrayNumberer<AllocNode> numberer, List<AllocNode> nodes) {
+    for (Type type : types) {
+      AllocNode node = new AllocNode(new Object(), type, null);
+      numberer.add(node);
+      nodes.add(node);
+    }
+  }
+}
@@ -18,13 +18,20 @@
 
 package qilin.test.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import org.junit.BeforeClass;
 import qilin.core.PTA;
+import qilin.core.pag.AllocNode;
+import qilin.core.pag.LocalVarNode;
+import qilin.core.pag.ValNode;
 import qilin.driver.PTAFactory;
 import qilin.driver.PTAOption;
 import qilin.driver.PTAPattern;
@@ -128,4 +135,42 @@ public abstract class JunitTests {
       assertTrue(answer);
     }
   }
+
+  /**
+   * Runs the analysis once as configured and once with the option that enable sets and disable
+   * resets, checks that both runs compute the same call graph and points-to sets and returns the
+   * analysis of the second run.
+   */
+  protected PTA checkSameResults(
+      String mainClass, String ptaPattern, Runnable enable, Runnable disable) {
+    PTA expected = run(mainClass, ptaPattern);
+    enable.run();
+    PTA actual;
+    try {
+      actual = run(mainClass, ptaPattern);
+    } finally {
+      disable.run();
+    }
+    checkAssertions(actual);
+    assertEquals(expected.getCallGraph().size(), actual.getCallGraph().size());
+    assertEquals(pointsToSets(expected), pointsToSets(actual));
+    return actual;
+  }
+
+  /** Returns the objects that each local points to, independent of the numbering of the nodes. */
+  protected static Map<String, Set<String>> pointsToSets(PTA pta) {
+    Map<String, Set<String>> ret = new TreeMap<>();
+    for (ValNode node : pta.getPag().getValNodes()) {
+      if (node instanceof LocalVarNode) {
+        LocalVarNode local = (LocalVarNode) node;
+        Set<String> objects =
+            ret.computeIfAbsent(
+                local.getVariable() + " in " + local.getMethod(), k -> new TreeSet<>());
+        for (AllocNode heap : pta.reachingObjects(local).toCIPointsToSet().toCollection()) {
+          objects.add(heap.toString2());
+        }
+      }
+    }
+    return ret;
+  }
 }
@@ -0,0 +1,107 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorMetrics;
+import sootup.core.transform.BodyInterceptorPipeline;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.ConcurrentJavaView;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks that the {@link BodyInterceptorPipeline} records metrics of the interceptors and that
+ * bodies resolved in parallel do not differ from sequentially resolved ones.
+ */
+@Tag("Java8")
+public class BodyInterceptorPipelineTest {
+
+  private static final List<BodyInterceptor> interceptors =
+      BytecodeBodyInterceptors.Default.getBodyInterceptors();
+
+  private static AnalysisInputLocation inputLocation(BodyInterceptorPipeline pipeline) {
+    return PathBasedAnalysisInputLocation.create(
+        Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar"),
+        SourceType.Application,
+        interceptors,
+        Collections.emptyList(),
+        BytecodeFrontendOptions.DEFAULT.withBodyInterceptorPipeline(pipeline));
+  }
+
+  /** Returns the bodies of all concrete methods, keyed by their signature. */
+  private static Map<String, String> bodies(JavaView view) {
+    Map<String, String> bodies = new TreeMap<>();
+    for (JavaSootClass clazz : view.getClasses()) {
+      for (JavaSootMethod method : clazz.getMethods()) {
+        if (method.isConcrete()) {
+          // names of locals introduced by the TypeAssigner are not deterministic
+          bodies.put(
+              method.getSignature().toString(),
+              method.getBody().toString().replaceAll("#l[0-9]+", "#l"));
+        }
+      }
+    }
+    return bodies;
+  }
+
+  @Test
+  public void parallelResolutionWithMetrics() {
+    Map<String, String> expected =
+        bodies(new JavaView(inputLocation(BodyInterceptorPipeline.DEFAULT)));
+    assertFalse(expected.isEmpty());
+
+    BodyInterceptorMetrics metrics = new BodyInterceptorMetrics();
+    BodyInterceptorPipeline pipeline =
+        new BodyInterceptorPipeline(BodyInterceptorPipeline.Validation.LAST, metrics);
+    ConcurrentJavaView view =
+        new ConcurrentJavaView(Collections.singletonList(inputLocation(pipeline)));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      view.resolveBodies(pool);
+    } finally {
+      pool.shutdown();
+    }
+
+    // every body was resolved exactly once by resolveBodies()
+    assertEquals(expected, bodies(view));
+    Map<Class<?>, Integer> occurrences = new HashMap<>();
+    for (BodyInterceptor interceptor : interceptors) {
+      occurrences.merge(interceptor.getClass(), 1, Integer::sum);
+    }
+    assertEquals(occurrences.size(), metrics.getStatistics().size());
+    for (BodyInterceptor interceptor : interceptors) {
+      BodyInterceptorMetrics.Statistics stats = metrics.getStatistics(interceptor.getClass());
+      assertEquals(
+          (long) occurrences.get(interceptor.getClass()) * expected.size(),
+          stats.getInvocationCount());
+      assertTrue(stats.getTotalTimeNanos() > 0);
+    }
+
+    metrics.reset();
+    assertTrue(metrics.getStatistics().isEmpty());
+  }
+
+  @Test
+  public void validationModesProduceSameBodies() {
+    Map<String, String> expected =
+        bodies(new JavaView(inputLocation(BodyInterceptorPipeline.DEFAULT)));
+    for (BodyInterceptorPipeline.Validation validation :
+        BodyInterceptorPipeline.Validation.values()) {
+      BodyInterceptorPipeline pipeline = new BodyInterceptorPipeline(validation, null);
+      assertEquals(expected, bodies(new JavaView(inputLocation(pipeline))));
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.cache.body.AbstractBodyRetentionPolicy;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.cache.body.BodyRetentionStats;
+import sootup.core.cache.body.LRUBodyCache;
+import sootup.core.cache.body.MemoizingBodyRetention;
+import sootup.core.cache.body.ReferenceBodyRetention;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.java.bytecode.frontend.BytecodeFrontendOptions;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.views.JavaView;
+
+/** Tests the different {@link BodyRetentionPolicy}s of {@link SootMethod}s. */
+@Tag("Java8")
+public class BodyRetentionTest {
+
+  private static List<JavaSootMethod> concreteMethods(BodyRetentionPolicy policy) {
+    JavaView view =
+        new JavaView(
+            PathBasedAnalysisInputLocation.create(
+                Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar"),
+                SourceType.Application,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                BytecodeFrontendOptions.DEFAULT.withBodyRetentionPolicy(policy)));
+    return view.getClasses().stream()
+        .flatMap(clazz -> clazz.getMethods().stream())
+        .filter(SootMethod::isConcrete)
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testMemoizingRetention() {
+    MemoizingBodyRetention policy = new MemoizingBodyRetention();
+    List<JavaSootMethod> methods = concreteMethods(policy);
+    assertTrue(methods.size() > 1);
+
+    for (JavaSootMethod method : methods) {
+      assertSame(policy, method.getBodyRetentionPolicy());
+      assertSame(method.getBody(), method.getBody());
+    }
+    // copies of a method keep its policy
+    JavaSootMethod copy = methods.get(0).withThrownExceptions(Collections.emptyList());
+    assertSame(policy, copy.getBodyRetentionPolicy());
+    BodyRetentionStats stats = policy.getStats();
+    assertEquals(methods.size(), stats.getLoadCount());
+    assertEquals(0, stats.getRebuildCount());
+    assertEquals(0, stats.getReleaseCount());
+  }
+
+  @Test
+  public void testDefaultRetentionRecordsNoStats() {
+    List<JavaSootMethod> methods = concreteMethods(MemoizingBodyRetention.INSTANCE);
+    for (JavaSootMethod method : methods) {
+      assertSame(method.getBody(), method.getBody());
+    }
+    assertEquals(0, MemoizingBodyRetention.INSTANCE.getStats().getLoadCount());
+  }
+
+  @Test
+  public void testLRUBodyCache() {
+    LRUBodyCache policy = new LRUBodyCache(Long.MAX_VALUE);
+    List<JavaSootMethod> methods = concreteMethods(policy);
+    for (JavaSootMethod method : methods) {
+      assertSame(method.getBody(), method.getBody());
+    }
+    assertEquals(methods.size(), policy.size());
+    assertEquals(methods.size(), policy.getStats().getLoadCount());
+    assertEquals(0, policy.getStats().getReleaseCount());
+  }
+
+  @Test
+  public void testLRUBodyCacheEviction() {
+    // no body fits into the budget, so every body is released right after it was built
+    LRUBodyCache policy = new LRUBodyCache(1);
+    JavaSootMethod method = concreteMethods(policy).get(0);
+
+    Body body = method.getBody();
+    Body rebuiltBody = method.getBody();
+    assertNotSame(body, rebuiltBody);
+    assertEquals(body.toString(), rebuiltBody.toString());
+
+    BodyRetentionStats stats = policy.getStats();
+    assertEquals(2, stats.getLoadCount());
+    assertEquals(1, stats.getRebuildCount());
+    assertEquals(2, stats.getReleaseCount());
+    assertEquals(2L * AbstractBodyRetentionPolicy.estimateSize(body), stats.getReleasedBytes());
+    assertEquals(0, policy.size());
+  }
+
+  @Test
+  public void testReferenceRetention() {
+    ReferenceBodyRetention policy =
+        new ReferenceBodyRetention(ReferenceBodyRetention.Strength.SOFT);
+    List<JavaSootMethod> methods = concreteMethods(policy);
+
+    for (JavaSootMethod method : methods) {
+      Body body = method.getBody();
+      // the body is strongly reachable, so it can not be released in between
+      assertSame(body, method.getBody());
+    }
+    assertEquals(methods.size(), policy.getStats().getLoadCount());
+    assertEquals(0, policy.getStats().getRebuildCount());
+  }
+}
@@ -9,8 +9,11 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.core.cache.ClassCacheStats;
+import sootup.core.cache.ClassWeigher;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.cache.provider.LRUCacheProvider;
+import sootup.core.cache.provider.WeightBoundedCacheProvider;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
 import sootup.core.types.ClassType;
@@ -75,4 +78,36 @@ public class CacheTest {
     newView.getClasses();
     assertEquals(6, newView.getCachedClassesCount());
   }
+
+  /** Test the {@link sootup.core.cache.WeightBoundedCache} class */
+  @Test
+  public void weightBoundedCacheTest() {
+    JavaView view =
+        new JavaView(inputLocations, new WeightBoundedCacheProvider(1, ClassWeigher.CLASS_COUNT));
+    assertEquals(0, view.getCachedClassesCount());
+
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    view.getClass(miniAppClassType);
+    assertEquals(1, view.getCachedClassesCount());
+    view.getClass(miniAppClassType);
+
+    ClassType utilsOperationClassType =
+        view.getIdentifierFactory().getClassType("utils.Operations");
+    view.getClass(utilsOperationClassType);
+    assertEquals(1, view.getCachedClassesCount());
+
+    ClassCacheStats stats = view.getCacheStats();
+    assertEquals(1, stats.getHitCount());
+    assertEquals(2, stats.getMissCount());
+    assertEquals(1, stats.getEvictionCount());
+    assertEquals(1, stats.getWeight());
+
+    JavaView newView = new JavaView(inputLocations, new WeightBoundedCacheProvider(100_000));
+    newView.getClasses();
+    assertEquals(6, newView.getCachedClassesCount());
+    long expectedWeight =
+        newView.getClasses().stream().mapToLong(ClassWeigher.MEMBER_COUNT::weigh).sum();
+    assertEquals(expectedWeight, newView.getCacheStats().getWeight());
+    assertEquals(0, newView.getCacheStats().getEvictionCount());
+  }
 }
@@ -0,0 +1,242 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.OverridingJavaClassSource;
+import sootup.java.core.views.ConcurrentJavaView;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Stress tests for the {@link ConcurrentJavaView}: many threads resolve the same classes at the
+ * same time and every class has to be built exactly once.
+ */
+@Tag("Java8")
+public class ConcurrentJavaViewTest {
+  static final Path pathToJar =
+      Paths.get("../shared-test-resources/soot-1580/jpush-android_v3.0.5.jar");
+  static final int THREADS = 8;
+
+  private static List<AnalysisInputLocation> inputLocations() {
+    return Collections.singletonList(
+        PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Application));
+  }
+
+  private static List<ClassType> classTypes(JavaView view) {
+    return view.getClasses().stream().map(JavaSootClass::getType).collect(Collectors.toList());
+  }
+
+  @Test
+  public void concurrentGetClassBuildsEachClassOnce() throws Exception {
+    List<ClassType> types = classTypes(new JavaView(inputLocations()));
+    assertFalse(types.isEmpty());
+
+    ConcurrentJavaView view = new ConcurrentJavaView(inputLocations());
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Map<ClassType, JavaSootClass>>> results = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        List<ClassType> shuffled = new ArrayList<>(types);
+        Collections.shuffle(shuffled, new Random(i));
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  Map<ClassType, JavaSootClass> resolved = new HashMap<>();
+                  for (ClassType type : shuffled) {
+                    resolved.put(type, view.getClass(type).get());
+                  }
+                  return resolved;
+                }));
+      }
+      start.countDown();
+
+      Map<ClassType, JavaSootClass> first = results.get(0).get(1, TimeUnit.MINUTES);
+      for (Future<Map<ClassType, JavaSootClass>> result : results) {
+        Map<ClassType, JavaSootClass> resolved = result.get(1, TimeUnit.MINUTES);
+        for (ClassType type : types) {
+          assertSame(first.get(type), resolved.get(type));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(types.size(), view.getCachedClassesCount());
+  }
+
+  @Test
+  public void concurrentGetClassesAndGetClass() throws Exception {
+    List<ClassType> types = classTypes(new JavaView(inputLocations()));
+
+    ConcurrentJavaView view = new ConcurrentJavaView(inputLocations());
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Collection<JavaSootClass>>> results = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        final boolean resolveAll = i % 2 == 0;
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  if (resolveAll) {
+                    return view.getClasses();
+                  }
+                  List<JavaSootClass> resolved = new ArrayList<>();
+                  for (ClassType type : types) {
+                    view.getClass(type).ifPresent(resolved::add);
+                  }
+                  return resolved;
+                }));
+      }
+      start.countDown();
+
+      Set<JavaSootClass> expected = null;
+      for (Future<Collection<JavaSootClass>> result : results) {
+        Set<JavaSootClass> resolved = Collections.newSetFromMap(new IdentityHashMap<>());
+        resolved.addAll(result.get(1, TimeUnit.MINUTES));
+        assertEquals(types.size(), resolved.size());
+        if (expected == null) {
+          expected = resolved;
+        } else {
+          assertEquals(expected, resolved);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(types.size(), view.getCachedClassesCount());
+    assertEquals(types.size(), view.getClasses().size());
+  }
+
+  @Test
+  public void unknownClassIsNotCached() {
+    ConcurrentJavaView view = new ConcurrentJavaView(inputLocations());
+    ClassType unknown = view.getIdentifierFactory().getClassType("does.not.Exist");
+    assertFalse(view.getClass(unknown).isPresent());
+    assertEquals(0, view.getCachedClassesCount());
+
+    List<AbstractClassSource> sources =
+        new ArrayList<>(inputLocations().get(0).getClassSources(view));
+    assertTrue(view.getClass(sources.get(0).getClassType()).isPresent());
+    assertEquals(1, view.getCachedClassesCount());
+  }
+
+  @Test
+  public void parallelGetClassesKeepsClasspathOrder() {
+    List<AnalysisInputLocation> inputLocations =
+        Arrays.asList(
+            PathBasedAnalysisInputLocation.create(
+                Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar"),
+                SourceType.Application),
+            PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Library));
+    List<ClassType> expected = classTypes(new JavaView(inputLocations));
+
+    ForkJoinPool pool = new ForkJoinPool(THREADS);
+    try {
+      ConcurrentJavaView view = new ConcurrentJavaView(inputLocations);
+      List<ClassType> actual =
+          view.getClasses(pool).stream().map(JavaSootClass::getType).collect(Collectors.toList());
+      assertEquals(expected, actual);
+      assertEquals(expected.size(), view.getCachedClassesCount());
+
+      // served from the cache afterwards, still in the same order
+      assertEquals(expected, classTypes(view));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * A class source that asks the view for its own class while the class is built, e.g. like
+   * resolving an annotation that references its own type.
+   */
+  private static class ReentrantClassSource extends OverridingJavaClassSource {
+    private final View view;
+    private final AtomicInteger depth;
+
+    ReentrantClassSource(JavaSootClassSource delegate, View view, AtomicInteger depth) {
+      super(delegate);
+      this.view = view;
+      this.depth = depth;
+    }
+
+    @Nonnull
+    @Override
+    public JavaSootClass buildClass(@Nonnull SourceType sourceType) {
+      if (depth.getAndIncrement() == 0) {
+        assertTrue(view.getClass(getClassType()).isPresent());
+      }
+      return super.buildClass(sourceType);
+    }
+  }
+
+  @Test
+  public void reentrantGetClassDoesNotDeadlock() {
+    AnalysisInputLocation jar = inputLocations().get(0);
+    AtomicInteger depth = new AtomicInteger();
+    AnalysisInputLocation reentrantLocation =
+        new AnalysisInputLocation() {
+          @Nonnull
+          @Override
+          public Optional<JavaSootClassSource> getClassSource(
+              @Nonnull ClassType type, @Nonnull View view) {
+            return jar.getClassSource(type, view)
+                .map(source -> new ReentrantClassSource((JavaSootClassSource) source, view, depth));
+          }
+
+          @Nonnull
+          @Override
+          public Collection<? extends SootClassSource> getClassSources(@Nonnull View view) {
+            return jar.getClassSources(view);
+          }
+
+          @Nonnull
+          @Override
+          public SourceType getSourceType() {
+            return jar.getSourceType();
+          }
+
+          @Nonnull
+          @Override
+          public List<BodyInterceptor> getBodyInterceptors() {
+            return jar.getBodyInterceptors();
+          }
+        };
+    ConcurrentJavaView view = new ConcurrentJavaView(reentrantLocation);
+    ClassType type = jar.getClassSources(view).iterator().next().getClassType();
+
+    JavaSootClass clazz =
+        assertTimeoutPreemptively(Duration.ofMinutes(1), () -> view.getClass(type).get());
+    assertEquals(2, depth.get());
+    // the class built by the reentrant request is the one that is kept
+    assertSame(clazz, view.getClass(type).get());
+    assertEquals(1, view.getCachedClassesCount());
+  }
+}
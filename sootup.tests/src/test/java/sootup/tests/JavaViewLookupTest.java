@@ -0,0 +1,154 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks that a class is always resolved from the first input location that contains it, with
+ * sequential and speculative parallel lookups.
+ */
+@Tag("Java8")
+public class JavaViewLookupTest {
+  static final Path pathToMiniApp = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+  static final int PARALLELISM = 4;
+
+  /** delays the lookups of the wrapped input location and counts them. */
+  private static class SlowInputLocation implements AnalysisInputLocation {
+    private final AnalysisInputLocation delegate;
+    private final long delayMillis;
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    SlowInputLocation(AnalysisInputLocation delegate, long delayMillis) {
+      this.delegate = delegate;
+      this.delayMillis = delayMillis;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<? extends SootClassSource> getClassSource(
+        @Nonnull ClassType type, @Nonnull View view) {
+      lookups.incrementAndGet();
+      try {
+        Thread.sleep(delayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return delegate.getClassSource(type, view);
+    }
+
+    @Nonnull
+    @Override
+    public Collection<? extends SootClassSource> getClassSources(@Nonnull View view) {
+      return delegate.getClassSources(view);
+    }
+
+    @Nonnull
+    @Override
+    public SourceType getSourceType() {
+      return delegate.getSourceType();
+    }
+
+    @Nonnull
+    @Override
+    public List<BodyInterceptor> getBodyInterceptors() {
+      return delegate.getBodyInterceptors();
+    }
+  }
+
+  private static AnalysisInputLocation miniApp(SourceType sourceType) {
+    return PathBasedAnalysisInputLocation.create(pathToMiniApp, sourceType);
+  }
+
+  @Test
+  public void firstInputLocationWins() {
+    // the first input location answers slower than the others
+    SlowInputLocation first = new SlowInputLocation(miniApp(SourceType.Application), 50);
+    List<AnalysisInputLocation> inputLocations =
+        Arrays.asList(
+            first,
+            miniApp(SourceType.Library),
+            miniApp(SourceType.Library),
+            miniApp(SourceType.Library),
+            miniApp(SourceType.Library));
+
+    for (int parallelism : new int[] {1, 2, PARALLELISM, inputLocations.size() + 1}) {
+      JavaView view = new JavaView(inputLocations);
+      view.setLookupParallelism(parallelism);
+      ClassType employee = view.getIdentifierFactory().getClassType("ds.Employee");
+      Optional<JavaSootClass> clazz = view.getClass(employee);
+      assertTrue(clazz.isPresent());
+      assertTrue(clazz.get().isApplicationClass(), "parallelism " + parallelism);
+      assertSame(first.delegate, clazz.get().getClassSource().getAnalysisInputLocation());
+    }
+  }
+
+  @Test
+  public void lastInputLocationIsFound() {
+    SlowInputLocation last = new SlowInputLocation(miniApp(SourceType.Library), 0);
+    List<AnalysisInputLocation> inputLocations = new ArrayList<>();
+    List<SlowInputLocation> emptyLocations = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      // does not contain the classes of the MiniApp
+      SlowInputLocation empty =
+          new SlowInputLocation(
+              PathBasedAnalysisInputLocation.create(
+                  Paths.get("../shared-test-resources/miniTestSuite/java6/binary"),
+                  SourceType.Application),
+              5);
+      emptyLocations.add(empty);
+      inputLocations.add(empty);
+    }
+    inputLocations.add(last);
+
+    JavaView view = new JavaView(inputLocations);
+    view.setLookupParallelism(PARALLELISM, ForkJoinPool.commonPool());
+    ClassType employee = view.getIdentifierFactory().getClassType("ds.Employee");
+    Optional<JavaSootClass> clazz = view.getClass(employee);
+    assertTrue(clazz.isPresent());
+    assertSame(last.delegate, clazz.get().getClassSource().getAnalysisInputLocation());
+    for (SlowInputLocation empty : emptyLocations) {
+      assertEquals(1, empty.lookups.get());
+    }
+
+    assertFalse(view.getClass(view.getIdentifierFactory().getClassType("ds.Unknown")).isPresent());
+  }
+
+  @Test
+  public void sequentialLookupStopsAtFirstMatch() {
+    SlowInputLocation first = new SlowInputLocation(miniApp(SourceType.Application), 0);
+    SlowInputLocation second = new SlowInputLocation(miniApp(SourceType.Library), 0);
+    JavaView view = new JavaView(Arrays.asList(first, second));
+    assertEquals(1, view.getLookupParallelism());
+
+    assertTrue(view.getClass(view.getIdentifierFactory().getClassType("ds.Employee")).isPresent());
+    assertEquals(1, first.lookups.get());
+    assertEquals(0, second.lookups.get());
+  }
+
+  @Test
+  public void invalidParallelism() {
+    JavaView view = new JavaView(miniApp(SourceType.Application));
+    assertThrows(IllegalArgumentException.class, () -> view.setLookupParallelism(0));
+  }
+}
@@ -0,0 +1,90 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks that the allocation free access to the uses of Stmts and Values yields the same Values in
+ * the same order as their Streams.
+ */
+@Tag("Java8")
+public class UseIterationTest {
+
+  @Test
+  public void usesMatchStreams() {
+    JavaView view =
+        new JavaView(
+            PathBasedAnalysisInputLocation.create(
+                Paths.get("../shared-test-resources/miniTestSuite/java6/binary"),
+                SourceType.Application));
+
+    int checkedStmts = 0;
+    List<SootMethod> methods = new ArrayList<>();
+    view.getClasses().forEach(clazz -> methods.addAll(clazz.getMethods()));
+    for (SootMethod method : methods) {
+      if (!method.hasBody()) {
+        continue;
+      }
+      for (Stmt stmt : method.getBody().getStmts()) {
+        List<Value> uses = stmt.getUses().collect(Collectors.toList());
+
+        List<Value> visited = new ArrayList<>();
+        stmt.forEachUse(visited::add);
+        assertSameValues(uses, visited, stmt);
+        assertEquals(uses.size(), stmt.getUseCount(), stmt.toString());
+        for (int i = 0; i < uses.size(); i++) {
+          assertSame(uses.get(i), stmt.getUse(i), stmt.toString());
+          assertTrue(stmt.containsUse(uses.get(i)));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> stmt.getUse(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> stmt.getUse(uses.size()));
+
+        List<Value> visitedWithDefs = new ArrayList<>();
+        stmt.forEachUseAndDef(visitedWithDefs::add);
+        assertSameValues(stmt.getUsesAndDefs().collect(Collectors.toList()), visitedWithDefs, stmt);
+
+        for (Value use : uses) {
+          checkValue(use);
+        }
+        stmt.getDef().ifPresent(UseIterationTest::checkValue);
+        checkedStmts++;
+      }
+    }
+    assertTrue(checkedStmts > 0);
+  }
+
+  private static void checkValue(Value value) {
+    List<Value> uses = value.getUses().collect(Collectors.toList());
+    List<Value> visited = new ArrayList<>();
+    value.forEachUse(visited::add);
+    assertSameValues(uses, visited, value);
+    assertEquals(uses.size(), value.getUseCount(), value.toString());
+    for (int i = 0; i < uses.size(); i++) {
+      assertSame(uses.get(i), value.getUse(i), value.toString());
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> value.getUse(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> value.getUse(uses.size()));
+  }
+
+  private static void assertSameValues(List<Value> expected, List<Value> actual, Object owner) {
+    assertEquals(expected.size(), actual.size(), owner.toString());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), actual.get(i), owner.toString());
+    }
+  }
+}
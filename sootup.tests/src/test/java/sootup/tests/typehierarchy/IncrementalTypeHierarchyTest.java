@@ -0,0 +1,115 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.SootClass;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks that an incremental {@link ViewTypeHierarchy} gives the same answers as a hierarchy of the
+ * resolved view without resolving all classes.
+ */
+@Tag("Java8")
+public class IncrementalTypeHierarchyTest {
+
+  private static final String classPath =
+      "../shared-test-resources/java-miniapps/MiniApp.jar"
+          + File.pathSeparator
+          + "../shared-test-resources/miniTestSuite/java6/binary";
+
+  private static JavaView createView() {
+    return new JavaView(new JavaClassPathAnalysisInputLocation(classPath));
+  }
+
+  @Test
+  public void headersMatchClasses() {
+    JavaView view = createView();
+    Collection<ClassHeader> headers = view.getClassHeaders();
+    assertEquals(0, view.getCachedClassesCount());
+
+    Map<ClassType, SootClass> classes = new HashMap<>();
+    createView().getClasses().forEach(sootClass -> classes.put(sootClass.getType(), sootClass));
+    assertEquals(classes.size(), headers.size());
+    for (ClassHeader header : headers) {
+      SootClass sootClass = classes.get(header.getType());
+      assertEquals(sootClass.isInterface(), header.isInterface(), header.toString());
+      assertEquals(sootClass.getSuperclass(), header.getSuperclass(), header.toString());
+      assertEquals(sootClass.getInterfaces(), header.getInterfaces(), header.toString());
+    }
+  }
+
+  @Test
+  public void supertypesAreResolvedOnDemand() {
+    JavaView fullView = createView();
+    ViewTypeHierarchy full = new ViewTypeHierarchy(fullView);
+    List<ClassType> types =
+        fullView.getClasses().stream().map(SootClass::getType).collect(Collectors.toList());
+
+    JavaView view = createView();
+    ViewTypeHierarchy incremental = new ViewTypeHierarchy(view, true);
+    ClassType employee = view.getIdentifierFactory().getClassType("ds.Employee");
+    assertEquals(full.superClassOf(employee), incremental.superClassOf(employee));
+    assertEquals(
+        full.implementedInterfacesOf(employee).collect(Collectors.toSet()),
+        incremental.implementedInterfacesOf(employee).collect(Collectors.toSet()));
+    // only the queried class and its supertypes are resolved
+    assertTrue(view.getCachedClassesCount() < types.size());
+
+    assertSameSupertypes(full, incremental, types);
+  }
+
+  @Test
+  public void subtypesAreAnsweredFromHeaders() {
+    JavaView fullView = createView();
+    ViewTypeHierarchy full = new ViewTypeHierarchy(fullView);
+    List<ClassType> types =
+        fullView.getClasses().stream().map(SootClass::getType).collect(Collectors.toList());
+
+    JavaView view = createView();
+    view.setIncrementalTypeHierarchy(true);
+    ViewTypeHierarchy incremental = (ViewTypeHierarchy) view.getTypeHierarchy();
+    assertTrue(incremental.isIncremental());
+    for (ClassType type : types) {
+      assertEquals(
+          full.subtypesOf(type).collect(Collectors.toSet()),
+          incremental.subtypesOf(type).collect(Collectors.toSet()),
+          type.toString());
+      assertEquals(
+          full.directSubtypesOf(type).collect(Collectors.toSet()),
+          incremental.directSubtypesOf(type).collect(Collectors.toSet()),
+          type.toString());
+    }
+    // the subtypes are known without resolving any class
+    assertEquals(0, view.getCachedClassesCount());
+
+    assertSameSupertypes(full, incremental, types);
+  }
+
+  private static void assertSameSupertypes(
+      ViewTypeHierarchy full, ViewTypeHierarchy incremental, List<ClassType> types) {
+    for (ClassType type : types) {
+      assertEquals(full.isInterface(type), incremental.isInterface(type), type.toString());
+      assertEquals(full.superClassOf(type), incremental.superClassOf(type), type.toString());
+      assertEquals(
+          full.implementedInterfacesOf(type).collect(Collectors.toSet()),
+          incremental.implementedInterfacesOf(type).collect(Collectors.toSet()),
+          type.toString());
+      for (ClassType other : types) {
+        assertEquals(
+            full.isSubtype(type, other),
+            incremental.isSubtype(type, other),
+            other + " is subtype of " + type);
+      }
+    }
+  }
+}
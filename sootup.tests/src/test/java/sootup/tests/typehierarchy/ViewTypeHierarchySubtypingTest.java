@@ -0,0 +1,106 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.SootClass;
+import sootup.core.model.SourceType;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.OverridingJavaClassSource;
+import sootup.java.core.types.JavaClassType;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks the indexed subtype queries of {@link ViewTypeHierarchy} against a traversal of the direct
+ * subtypes.
+ */
+@Tag("Java8")
+public class ViewTypeHierarchySubtypingTest {
+
+  private final JavaClassPathAnalysisInputLocation analysisInputLocation =
+      new JavaClassPathAnalysisInputLocation(
+          "../shared-test-resources/java-miniapps/MiniApp.jar"
+              + File.pathSeparator
+              + "../shared-test-resources/miniTestSuite/java6/binary");
+  private final JavaView view = new JavaView(analysisInputLocation);
+
+  @Test
+  public void subtypesMatchTraversal() {
+    ViewTypeHierarchy typeHierarchy = new ViewTypeHierarchy(view);
+    Set<ClassType> types = new LinkedHashSet<>();
+    view.getClasses().forEach(sootClass -> types.add(sootClass.getType()));
+    for (ClassType type : new ArrayList<>(types)) {
+      types.addAll(typeHierarchy.directSubtypesOf(type).collect(Collectors.toList()));
+    }
+
+    for (ClassType type : types) {
+      Set<ClassType> expectedSubtypes = new HashSet<>();
+      Deque<ClassType> worklist = new ArrayDeque<>();
+      worklist.add(type);
+      while (!worklist.isEmpty()) {
+        typeHierarchy
+            .directSubtypesOf(worklist.poll())
+            .filter(expectedSubtypes::add)
+            .forEach(worklist::add);
+      }
+
+      List<ClassType> subtypes = typeHierarchy.subtypesOf(type).collect(Collectors.toList());
+      assertEquals(expectedSubtypes, new HashSet<>(subtypes), type.toString());
+      assertEquals(expectedSubtypes.size(), subtypes.size(), "duplicate subtypes of " + type);
+
+      // any type is a subtype of java.lang.Object, not only the ones that extend it
+      if (type.getFullyQualifiedName().equals("java.lang.Object")) {
+        continue;
+      }
+      for (ClassType other : types) {
+        assertEquals(
+            expectedSubtypes.contains(other),
+            typeHierarchy.isSubtype(type, other),
+            other + " is subtype of " + type);
+      }
+      assertFalse(typeHierarchy.isSubtype(type, type));
+    }
+  }
+
+  @Test
+  public void addedTypeIsSubtype() {
+    ViewTypeHierarchy typeHierarchy = new ViewTypeHierarchy(view);
+    JavaIdentifierFactory factory = view.getIdentifierFactory();
+    ClassType abstractDataStructure = factory.getClassType("ds.AbstractDataStrcture");
+    JavaClassType addedType = factory.getClassType("adummytype.Type");
+    assertEquals(2, typeHierarchy.subclassesOf(abstractDataStructure).count());
+
+    OverridingJavaClassSource classSource =
+        new OverridingJavaClassSource(
+            analysisInputLocation,
+            null,
+            addedType,
+            factory.getClassType("ds.Employee"),
+            Collections.emptySet(),
+            null,
+            Collections.emptySet(),
+            Collections.emptySet(),
+            null,
+            EnumSet.of(ClassModifier.FINAL),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList());
+    typeHierarchy.addType(new SootClass(classSource, SourceType.Application));
+
+    assertTrue(
+        typeHierarchy.subclassesOf(abstractDataStructure).anyMatch(addedType::equals),
+        "Newly added type must be detected as a subtype");
+    assertTrue(typeHierarchy.isSubtype(abstractDataStructure, addedType));
+    assertFalse(typeHierarchy.isSubtype(addedType, abstractDataStructure));
+  }
+}